@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Builds an AppCDS archive for the production jar.
+#
+#   cds/build-archive.sh target/team02-1.0.0.jar target/cds
+#
+# CDS can only archive classes loaded from jar files named on -cp, not from
+# jars nested inside the Spring Boot jar or from directories, so the Boot
+# jar is first unpacked into plain jars (BOOT-INF/classes becomes
+# lib/app.jar). A training run of the unpacked app then loads everything a
+# normal start and a first request load, and the JVM writes those classes
+# to app.jsa on exit (-XX:ArchiveClassesAtExit).
+#
+# The archive is only valid for the exact classpath it was trained with,
+# so train where the app will run (the Dockerfile does) and start it with
+# cds/run.sh.
+
+set -euo pipefail
+
+JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+mkdir -p "$2"
+OUT=$(cd "$2" && pwd)
+PORT=${CDS_TRAINING_PORT:-18080}
+
+rm -rf "$OUT/lib" "$OUT/unpacked" "$OUT/app.jsa"
+mkdir -p "$OUT/lib" "$OUT/unpacked"
+(cd "$OUT/unpacked" && jar xf "$JAR")
+
+# application classes first, then the libraries in Boot's classpath.idx order
+jar cf "$OUT/lib/app.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+CLASSPATH_ENTRIES="$OUT/lib/app.jar"
+while read -r line; do
+  lib=${line#- \"BOOT-INF/lib/}
+  lib=${lib%\"}
+  mv "$OUT/unpacked/BOOT-INF/lib/$lib" "$OUT/lib/$lib"
+  CLASSPATH_ENTRIES="$CLASSPATH_ENTRIES:$OUT/lib/$lib"
+done < "$OUT/unpacked/BOOT-INF/classpath.idx"
+echo "$CLASSPATH_ENTRIES" > "$OUT/classpath"
+sed -n 's/^Start-Class: *//p' "$OUT/unpacked/META-INF/MANIFEST.MF" | tr -d '\r' > "$OUT/main-class"
+rm -rf "$OUT/unpacked"
+
+# the training run uses a throwaway in-memory database so it needs no
+# production credentials
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+  -Dspring.datasource.url="jdbc:h2:mem:cds-training;DB_CLOSE_DELAY=-1" \
+  -Dspring.datasource.username=sa \
+  -Dspring.datasource.password= \
+  -Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect \
+  -Dserver.port="$PORT" \
+  -cp "$(cat "$OUT/classpath")" "$(cat "$OUT/main-class")" > "$OUT/training.log" 2>&1 &
+PID=$!
+
+ready=""
+for _ in $(seq 1 600); do
+  if curl -sf -o /dev/null "http://localhost:$PORT/api/systemInfo"; then
+    ready=yes
+    break
+  fi
+  if ! kill -0 "$PID" 2>/dev/null; then
+    break
+  fi
+  sleep 0.2
+done
+if [ -z "$ready" ]; then
+  echo "training run did not start; see $OUT/training.log" >&2
+  kill "$PID" 2>/dev/null || true
+  exit 1
+fi
+
+# touch the request paths most requests use: security, JSON, JPA, static content
+for path in /api/systemInfo /api/currentUser /api/ucsbdates/all /api/ucsbdiningcommons/all /csrf /; do
+  curl -s -o /dev/null "http://localhost:$PORT$path" || true
+done
+
+kill -TERM "$PID"
+wait "$PID" || true
+
+if [ ! -s "$OUT/app.jsa" ]; then
+  echo "no archive written; see $OUT/training.log" >&2
+  exit 1
+fi
+echo "wrote $OUT/app.jsa ($(du -h "$OUT/app.jsa" | cut -f1))"
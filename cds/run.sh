@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+#
+# Starts an app unpacked by cds/build-archive.sh, using its CDS archive if
+# there is one:
+#
+#   cds/run.sh target/cds [app args...]
+#
+# If the archive is missing or does not match this JVM and classpath, the
+# JVM prints a warning and loads classes normally (-Xshare:auto).
+# Extra JVM options can be passed in JAVA_OPTS.
+
+set -euo pipefail
+
+DIR=$(cd "$1" && pwd)
+shift
+
+ARCHIVE_OPTS=()
+if [ -f "$DIR/app.jsa" ] && [ "${CDS_DISABLED:-}" != "true" ]; then
+  ARCHIVE_OPTS=(-XX:SharedArchiveFile="$DIR/app.jsa" -Xshare:auto)
+fi
+
+# shellcheck disable=SC2086
+exec java ${JAVA_OPTS:-} "${ARCHIVE_OPTS[@]}" -cp "$(cat "$DIR/classpath")" "$(cat "$DIR/main-class")" "$@"
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Measures time to the first successful request and resident memory at
+# that point, for the Boot jar and for the unpacked app with and without
+# its CDS archive:
+#
+#   cds/startup-harness.sh target/team02-1.0.0.jar target/cds [runs]
+#
+# Each run starts the app on an in-memory database, polls /api/systemInfo
+# until it answers 200, reads VmRSS from /proc, and stops the app. Needs
+# Linux, GNU date and curl.
+
+set -euo pipefail
+
+JAR=$1
+DIR=$(cd "$2" && pwd)
+RUNS=${3:-5}
+PORT=${CDS_HARNESS_PORT:-18081}
+HERE=$(cd "$(dirname "$0")" && pwd)
+
+export JAVA_OPTS="-Dspring.datasource.url=jdbc:h2:mem:cds-harness;DB_CLOSE_DELAY=-1 \
+-Dspring.datasource.username=sa -Dspring.datasource.password= \
+-Dspring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect -Dserver.port=$PORT"
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# prints "<millis> <rssKiB>" for one start of the given command
+measure() {
+  local start pid elapsed rss
+  start=$(now_ms)
+  "$@" > /dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT/api/systemInfo"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "app exited before answering" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  # run.sh execs java, so the pid is the JVM's
+  rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+  kill -TERM "$pid"
+  wait "$pid" || true
+  echo "$elapsed $rss"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+report() {
+  local name=$1
+  shift
+  local results=()
+  for _ in $(seq 1 "$RUNS"); do
+    results+=("$(measure "$@")")
+  done
+  local ms rss
+  ms=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+  rss=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+  printf '%-22s firstRequestMs=%-8s rssMiB=%s\n' "$name" "$ms" "$(( ${rss%.*} / 1024 ))"
+}
+
+echo "median of $RUNS runs"
+# shellcheck disable=SC2086
+report "boot jar" java $JAVA_OPTS -jar "$JAR"
+CDS_DISABLED=true report "unpacked, no archive" "$HERE/run.sh" "$DIR"
+report "unpacked, archive" "$HERE/run.sh" "$DIR"
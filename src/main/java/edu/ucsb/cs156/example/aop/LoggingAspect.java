@@ -1,22 +1,35 @@
 package edu.ucsb.cs156.example.aop;
 
+import edu.ucsb.cs156.example.config.ControllerLoggingProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Optional;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Logs which handler serves each request. The decision to log is made
+ * once per handler method and cached, so a stoplisted, unsampled or
+ * disabled call costs a map lookup and nothing is formatted; the lines
+ * themselves are written off the request thread by the ASYNC appender in
+ * logback-spring.xml.
+ */
 @Slf4j
 @Aspect
 @Component
+@EnableConfigurationProperties(ControllerLoggingProperties.class)
 public class LoggingAspect {
   // language=PointcutExpression
   private static final String pointcut = """
@@ -28,25 +41,61 @@ public class LoggingAspect {
       @annotation(org.springframework.web.bind.annotation.PatchMapping)
       """;
 
-  private ArrayList<String> stoplist = new ArrayList<String>(Arrays.asList(
-      "edu.ucsb.cs156.example.controllers.FrontendProxyController"));
+  private final ControllerLoggingProperties properties;
+
+  private final Map<Method, Handler> handlers = new ConcurrentHashMap<>();
+
+  public LoggingAspect(ControllerLoggingProperties properties) {
+    this.properties = properties;
+  }
 
   @Before(pointcut)
-  public void logControllers(JoinPoint joinPoint) {
-    getCurrentHttpRequest().ifPresent(
-        request -> {
-          String declaringTypeName = joinPoint.getSignature().getDeclaringTypeName();
-          if (!stoplist.contains(declaringTypeName)) {
-            log.info("===== %s %s handled by %s in %s".formatted(request.getMethod(), request.getRequestURI(),
-                joinPoint.getSignature().getName(), declaringTypeName));
-          }
-        });
+  public void logControllers(JoinPoint.StaticPart staticPart) {
+    if (!properties.getEnabled() || !log.isInfoEnabled()) {
+      return;
+    }
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+      return;
+    }
+    Handler handler = handlers.computeIfAbsent(((MethodSignature) staticPart.getSignature()).getMethod(),
+        this::handler);
+    if (handler.sample()) {
+      HttpServletRequest request = servletAttributes.getRequest();
+      log.info("===== {} {} handled by {}", request.getMethod(), request.getRequestURI(), handler.description);
+    }
   }
 
-  private static Optional<HttpServletRequest> getCurrentHttpRequest() {
-    return Optional.ofNullable(RequestContextHolder.getRequestAttributes())
-        .filter(ServletRequestAttributes.class::isInstance)
-        .map(ServletRequestAttributes.class::cast)
-        .map(ServletRequestAttributes::getRequest);
+  Handler handler(Method method) {
+    String controller = method.getDeclaringClass().getSimpleName();
+    String qualified = controller + "." + method.getName();
+    int every;
+    if (properties.getStoplist().contains(controller) || properties.getStoplist().contains(qualified)
+        || properties.getStoplist().contains(method.getDeclaringClass().getName())) {
+      every = 0;
+    } else {
+      every = properties.getSampleEvery().getOrDefault(qualified,
+          properties.getSampleEvery().getOrDefault(controller, 1));
+    }
+    return new Handler(method.getName() + " in " + method.getDeclaringClass().getName(), every);
+  }
+
+  static final class Handler {
+    final String description;
+    // 0 never logs, 1 logs every call
+    final int every;
+    private final AtomicLong calls = new AtomicLong();
+
+    Handler(String description, int every) {
+      this.description = description;
+      this.every = every;
+    }
+
+    boolean sample() {
+      if (every <= 1) {
+        return every == 1;
+      }
+      return calls.getAndIncrement() % every == 0;
+    }
   }
 }
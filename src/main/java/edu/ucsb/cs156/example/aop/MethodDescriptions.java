@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.example.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short names for advised methods, e.g. {@code UCSBDateRepository.findAll},
+ * computed once per target class and method.
+ */
+class MethodDescriptions {
+
+  private record Key(Class<?> target, Method method) {
+  }
+
+  private final Map<Key, String> descriptions = new ConcurrentHashMap<>();
+
+  String describe(ProceedingJoinPoint joinPoint) {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    Object target = joinPoint.getTarget();
+    return descriptions.computeIfAbsent(new Key(target.getClass(), method), key -> describe(target, method));
+  }
+
+  private static String describe(Object target, Method method) {
+    // repositories are JDK proxies; name them by their interface rather than the proxy class
+    String type = Proxy.isProxyClass(target.getClass())
+        ? AopProxyUtils.proxiedUserInterfaces(target)[0].getSimpleName()
+        : AopProxyUtils.ultimateTargetClass(target).getSimpleName();
+    return type + "." + method.getName();
+  }
+}
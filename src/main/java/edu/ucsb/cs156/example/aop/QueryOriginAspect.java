@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.sql.QueryOrigin;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the repository method running on each thread, so the slow query
+ * log can say which one issued a statement.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true")
+public class QueryOriginAspect {
+  // language=PointcutExpression
+  private static final String pointcut = """
+      execution(* org.springframework.data.repository.Repository+.*(..))
+      """;
+
+  private final MethodDescriptions descriptions = new MethodDescriptions();
+
+  @Around(pointcut)
+  public Object markRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+    String previous = QueryOrigin.enter(descriptions.describe(joinPoint));
+    try {
+      return joinPoint.proceed();
+    } finally {
+      QueryOrigin.restore(previous);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.datasource.DataSourceRoute;
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+import edu.ucsb.cs156.example.datasource.RoutingContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes {@code @GetMapping} and {@code @ReadOnlyRoute} handlers to the read
+ * replica, and records every other mapped handler as a write by the current
+ * user so their next reads stay on the primary.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadWriteRoutingAspect {
+  // language=PointcutExpression
+  private static final String readPointcut = """
+      @annotation(org.springframework.web.bind.annotation.GetMapping) ||
+      @annotation(edu.ucsb.cs156.example.datasource.ReadOnlyRoute) ||
+      @within(edu.ucsb.cs156.example.datasource.ReadOnlyRoute)
+      """;
+
+  // language=PointcutExpression
+  private static final String writePointcut = """
+      @annotation(org.springframework.web.bind.annotation.PostMapping) ||
+      @annotation(org.springframework.web.bind.annotation.PutMapping) ||
+      @annotation(org.springframework.web.bind.annotation.DeleteMapping) ||
+      @annotation(org.springframework.web.bind.annotation.PatchMapping)
+      """;
+
+  @Autowired
+  RecentWriteTracker recentWriteTracker;
+
+  @Around(readPointcut)
+  public Object routeReads(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (recentWriteTracker.wroteRecently(currentUserName())) {
+      return joinPoint.proceed();
+    }
+    DataSourceRoute previous = RoutingContext.set(DataSourceRoute.REPLICA);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      RoutingContext.restore(previous);
+    }
+  }
+
+  @Around(writePointcut)
+  public Object recordWrites(ProceedingJoinPoint joinPoint) throws Throwable {
+    try {
+      return joinPoint.proceed();
+    } finally {
+      recentWriteTracker.recordWrite(currentUserName());
+    }
+  }
+
+  private static String currentUserName() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication == null ? null : authentication.getName();
+  }
+}
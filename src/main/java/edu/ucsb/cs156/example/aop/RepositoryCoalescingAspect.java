@@ -0,0 +1,83 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.coalesce.Coalesced;
+import edu.ucsb.cs156.example.coalesce.RepositoryCoalescer;
+import edu.ucsb.cs156.example.datasource.DataSourceRoute;
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+import edu.ucsb.cs156.example.datasource.RoutingContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares {@code find*} calls on {@link Coalesced} repositories between
+ * concurrent GET requests that make the same call, so a burst of identical
+ * page loads costs one query.
+ *
+ * Calls inside a transaction are left alone: their entities belong to that
+ * transaction's persistence context.
+ *
+ * Only calls on the same datasource route share a flight. With a read
+ * replica, a GET on the primary is one whose user wrote recently
+ * (read-your-writes), so it is not coalesced at all: a flight that started
+ * before their write committed could return rows without it.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryCoalescingAspect {
+  // language=PointcutExpression
+  private static final String pointcut = """
+      execution(* org.springframework.data.repository.Repository+.find*(..))
+      """;
+
+  private record Key(DataSourceRoute route, Method method, List<Object> args) {
+  }
+
+  @Autowired
+  RepositoryCoalescer repositoryCoalescer;
+
+  // only present with a read replica (app.datasource.replica.url)
+  @Autowired(required = false)
+  RecentWriteTracker recentWriteTracker;
+
+  private final Map<Class<?>, Optional<Class<?>>> coalescedInterfaces = new ConcurrentHashMap<>();
+
+  @Around(pointcut)
+  public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+    Optional<Class<?>> repository = coalescedInterfaces.computeIfAbsent(joinPoint.getTarget().getClass(),
+        c -> Arrays.stream(AopProxyUtils.proxiedUserInterfaces(joinPoint.getTarget()))
+            .filter(i -> i.isAnnotationPresent(Coalesced.class))
+            .findFirst());
+    if (repository.isEmpty() || !isGetRequest() || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+    DataSourceRoute route = RoutingContext.current();
+    if (recentWriteTracker != null && route == DataSourceRoute.PRIMARY) {
+      return joinPoint.proceed();
+    }
+    Key key = new Key(route, ((MethodSignature) joinPoint.getSignature()).getMethod(),
+        Arrays.asList(joinPoint.getArgs()));
+    return repositoryCoalescer.forRepository(repository.get()).execute(key, joinPoint::proceed);
+  }
+
+  private static boolean isGetRequest() {
+    return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+        && "GET".equals(attributes.getRequest().getMethod());
+  }
+}
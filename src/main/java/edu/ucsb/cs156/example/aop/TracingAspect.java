@@ -0,0 +1,67 @@
+package edu.ucsb.cs156.example.aop;
+
+import edu.ucsb.cs156.example.trace.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens trace spans around controller methods, {@code CurrentUserService}
+ * calls and repository calls. Outside a traced request this is a
+ * thread-local read and a straight {@code proceed()}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true")
+public class TracingAspect {
+  // language=PointcutExpression
+  private static final String controllers = """
+      @annotation(org.springframework.web.bind.annotation.RequestMapping) ||
+      @annotation(org.springframework.web.bind.annotation.GetMapping) ||
+      @annotation(org.springframework.web.bind.annotation.PostMapping) ||
+      @annotation(org.springframework.web.bind.annotation.PutMapping) ||
+      @annotation(org.springframework.web.bind.annotation.DeleteMapping) ||
+      @annotation(org.springframework.web.bind.annotation.PatchMapping)
+      """;
+
+  // language=PointcutExpression
+  private static final String currentUser = """
+      execution(public * edu.ucsb.cs156.example.services.CurrentUserService+.*(..))
+      """;
+
+  // language=PointcutExpression
+  private static final String repositories = """
+      execution(* org.springframework.data.repository.Repository+.*(..))
+      """;
+
+  private final MethodDescriptions details = new MethodDescriptions();
+
+  @Around(controllers)
+  public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("controller", joinPoint);
+  }
+
+  @Around(currentUser)
+  public Object traceCurrentUser(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("currentUser", joinPoint);
+  }
+
+  @Around(repositories)
+  public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("repository", joinPoint);
+  }
+
+  private Object trace(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!Tracer.active()) {
+      return joinPoint.proceed();
+    }
+    int span = Tracer.start(name, details.describe(joinPoint));
+    try {
+      return joinPoint.proceed();
+    } finally {
+      Tracer.finish(span);
+    }
+  }
+}
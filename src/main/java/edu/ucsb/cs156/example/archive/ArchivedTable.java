@@ -0,0 +1,46 @@
+package edu.ucsb.cs156.example.archive;
+
+import java.time.Duration;
+import java.util.List;
+
+import edu.ucsb.cs156.example.entities.ArchivedHelpRequest;
+import edu.ucsb.cs156.example.entities.ArchivedRecommendationRequest;
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.RecommendationRequest;
+
+/**
+ * A table whose finished rows move to {@code archiveTable}. A row is
+ * eligible once {@code finishedColumn} is true and {@code ageColumn} is
+ * older than {@code age}; {@code columns} are copied over unchanged.
+ */
+public record ArchivedTable(
+    Class<?> entity,
+    Class<?> archiveEntity,
+    String table,
+    String archiveTable,
+    List<String> columns,
+    String finishedColumn,
+    String ageColumn,
+    Duration age) {
+
+  /**
+   * There is no record of when a request was solved, so the request time
+   * stands in: a request solved long ago was also made long ago.
+   */
+  public static ArchivedTable solvedHelpRequests(Duration age) {
+    return new ArchivedTable(HelpRequest.class, ArchivedHelpRequest.class,
+        "helprequest", "helprequest_archive",
+        List.of("id", "requester_email", "team_id_dict_id", "team_or_breakout_room_dict_id",
+            "request_time", "explanation", "solved"),
+        "solved", "request_time", age);
+  }
+
+  /** As above, with the date the recommendation was needed by. */
+  public static ArchivedTable doneRecommendationRequests(Duration age) {
+    return new ArchivedTable(RecommendationRequest.class, ArchivedRecommendationRequest.class,
+        "recommendationrequest", "recommendationrequest_archive",
+        List.of("id", "requester_email", "professor_email", "explanation",
+            "date_requested", "date_needed", "done"),
+        "done", "date_needed", age);
+  }
+}
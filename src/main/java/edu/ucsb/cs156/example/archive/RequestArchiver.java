@@ -0,0 +1,142 @@
+package edu.ucsb.cs156.example.archive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves finished rows into their archive tables, at most
+ * {@code chunkSize} rows per transaction so that neither table is locked
+ * for long and the hot table (and its indexes) shrinks as it goes.
+ *
+ * Each chunk locks the rows it will move, copies them and deletes them in
+ * one transaction; a row reopened meanwhile is either moved before the
+ * reopen commits or not picked at all.
+ */
+@Slf4j
+public class RequestArchiver {
+
+  private final DataSource dataSource;
+  private final PlatformTransactionManager transactionManager;
+  private final BulkWriteNotifier bulkWriteNotifier;
+  private final List<ArchivedTable> tables;
+  private final int chunkSize;
+
+  public RequestArchiver(DataSource dataSource, PlatformTransactionManager transactionManager,
+      BulkWriteNotifier bulkWriteNotifier, List<ArchivedTable> tables, int chunkSize) {
+    this.dataSource = dataSource;
+    this.transactionManager = transactionManager;
+    this.bulkWriteNotifier = bulkWriteNotifier;
+    this.tables = tables;
+    this.chunkSize = chunkSize;
+  }
+
+  public List<ArchivedTable> getTables() {
+    return tables;
+  }
+
+  /** Archives every table; a failure in one leaves the others to run. */
+  public void archiveAll(LocalDateTime now) {
+    for (ArchivedTable table : tables) {
+      try {
+        archive(table, now);
+      } catch (RuntimeException e) {
+        log.error("archival of {} failed", table.table(), e);
+      }
+    }
+  }
+
+  /** Returns the number of rows moved. */
+  public long archive(ArchivedTable table, LocalDateTime now) {
+    long started = System.nanoTime();
+    Timestamp cutoff = Timestamp.valueOf(now.minus(table.age()));
+    Timestamp archivedAt = Timestamp.valueOf(now);
+    long moved = 0;
+    int chunks = 0;
+    try {
+      int chunk;
+      do {
+        chunk = new TransactionTemplate(transactionManager)
+            .execute(status -> moveChunk(table, cutoff, archivedAt));
+        moved += chunk;
+        chunks++;
+      } while (chunk == chunkSize);
+    } finally {
+      // chunks already committed have left the hot table
+      if (moved > 0) {
+        bulkWriteNotifier.afterBulkWrite(table.entity());
+        bulkWriteNotifier.afterBulkWrite(table.archiveEntity());
+      }
+    }
+    log.info("archival table={} rowsMoved={} chunks={} elapsedMillis={}",
+        table.table(), moved, chunks, (System.nanoTime() - started) / 1_000_000);
+    return moved;
+  }
+
+  private int moveChunk(ArchivedTable table, Timestamp cutoff, Timestamp archivedAt) {
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      List<Long> ids = lockEligible(connection, table, cutoff);
+      if (ids.isEmpty()) {
+        return 0;
+      }
+      String columns = String.join(", ", table.columns());
+      String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+      try (PreparedStatement copy = connection.prepareStatement(
+          "insert into %s (%s, archived_at) select %s, ? from %s where id in (%s)"
+              .formatted(table.archiveTable(), columns, columns, table.table(), in))) {
+        copy.setTimestamp(1, archivedAt);
+        bind(copy, 2, ids);
+        copy.executeUpdate();
+      }
+      try (PreparedStatement delete = connection.prepareStatement(
+          "delete from %s where id in (%s)".formatted(table.table(), in))) {
+        bind(delete, 1, ids);
+        delete.executeUpdate();
+      }
+      return ids.size();
+    } catch (SQLException e) {
+      throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("archive " + table.table(), null, e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  private List<Long> lockEligible(Connection connection, ArchivedTable table, Timestamp cutoff) throws SQLException {
+    try (PreparedStatement select = connection.prepareStatement(
+        "select id from %s where %s = true and %s < ? order by id limit ? for update"
+            .formatted(table.table(), table.finishedColumn(), table.ageColumn()))) {
+      select.setTimestamp(1, cutoff);
+      select.setInt(2, chunkSize);
+      List<Long> ids = new ArrayList<>(chunkSize);
+      try (ResultSet rs = select.executeQuery()) {
+        while (rs.next()) {
+          ids.add(rs.getLong(1));
+        }
+      }
+      return ids;
+    }
+  }
+
+  private static void bind(PreparedStatement statement, int first, List<Long> ids) throws SQLException {
+    for (int i = 0; i < ids.size(); i++) {
+      statement.setLong(first + i, ids.get(i));
+    }
+  }
+}
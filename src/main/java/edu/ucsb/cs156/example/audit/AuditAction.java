@@ -0,0 +1,9 @@
+package edu.ucsb.cs156.example.audit;
+
+public enum AuditAction {
+  INSERT,
+  UPDATE,
+  DELETE,
+  // a JDBC write of many rows, recorded once without per-row detail
+  BULK_WRITE
+}
@@ -0,0 +1,169 @@
+package edu.ucsb.cs156.example.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import edu.ucsb.cs156.example.models.AuditChange;
+import edu.ucsb.cs156.example.models.AuditEntry;
+
+/**
+ * The binary form of an audit entry: a version byte, the timestamp and
+ * lengths as unsigned LEB128 varints, the action as one byte, and strings
+ * as a varint of (UTF-8 length + 1) followed by the bytes, with 0 for
+ * null. An update stores only the changed fields.
+ */
+final class AuditCodec {
+
+  static final int VERSION = 1;
+  // long values (an article's explanation) are cut to this many characters
+  static final int MAX_VALUE_CHARS = 512;
+
+  private static final AuditAction[] ACTIONS = AuditAction.values();
+
+  private AuditCodec() {
+  }
+
+  /** Turns a captured event into an entry, diffing the states of an update. */
+  static AuditEntry toEntry(AuditEvent event) {
+    List<AuditChange> changes = new ArrayList<>();
+    String[] properties = event.properties();
+    if (properties != null) {
+      switch (event.action()) {
+        case INSERT -> {
+          for (int i = 0; i < properties.length; i++) {
+            if (event.after()[i] != null) {
+              changes.add(new AuditChange(properties[i], null, text(event.after()[i])));
+            }
+          }
+        }
+        case DELETE -> {
+          for (int i = 0; i < properties.length; i++) {
+            if (event.before()[i] != null) {
+              changes.add(new AuditChange(properties[i], text(event.before()[i]), null));
+            }
+          }
+        }
+        case UPDATE -> {
+          for (int i = 0; i < properties.length; i++) {
+            // before is unknown (null) when a detached entity was updated
+            Object before = event.before() == null ? null : event.before()[i];
+            if (!Objects.equals(before, event.after()[i])) {
+              changes.add(new AuditChange(properties[i], text(before), text(event.after()[i])));
+            }
+          }
+        }
+        default -> {
+        }
+      }
+    }
+    return AuditEntry.builder()
+        .timestamp(Instant.ofEpochMilli(event.epochMillis()))
+        .user(event.user())
+        .action(event.action().name())
+        .entity(event.entity())
+        .entityId(event.entityId() == null ? null : event.entityId().toString())
+        .request(event.request())
+        .changes(changes)
+        .build();
+  }
+
+  private static String text(Object value) {
+    if (value == null) {
+      return null;
+    }
+    String text = value.toString();
+    return text.length() <= MAX_VALUE_CHARS ? text : text.substring(0, MAX_VALUE_CHARS) + "…";
+  }
+
+  static byte[] encode(AuditEntry entry) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+    out.write(VERSION);
+    writeVarLong(out, entry.getTimestamp().toEpochMilli());
+    out.write(AuditAction.valueOf(entry.getAction()).ordinal());
+    writeString(out, entry.getUser());
+    writeString(out, entry.getRequest());
+    writeString(out, entry.getEntity());
+    writeString(out, entry.getEntityId());
+    writeVarLong(out, entry.getChanges().size());
+    for (AuditChange change : entry.getChanges()) {
+      writeString(out, change.field());
+      writeString(out, change.before());
+      writeString(out, change.after());
+    }
+    return out.toByteArray();
+  }
+
+  /** @throws IllegalArgumentException if the bytes are not an entry */
+  static AuditEntry decode(ByteBuffer in) {
+    try {
+      int version = in.get();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("unknown audit record version " + version);
+      }
+      AuditEntry.AuditEntryBuilder entry = AuditEntry.builder()
+          .timestamp(Instant.ofEpochMilli(readVarLong(in)))
+          .action(ACTIONS[in.get()].name())
+          .user(readString(in))
+          .request(readString(in))
+          .entity(readString(in))
+          .entityId(readString(in));
+      int count = (int) readVarLong(in);
+      List<AuditChange> changes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        changes.add(new AuditChange(readString(in), readString(in), readString(in)));
+      }
+      return entry.changes(changes).build();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("truncated audit record", e);
+    }
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("malformed varint");
+  }
+
+  private static void writeString(ByteArrayOutputStream out, String value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, utf8.length + 1L);
+    out.writeBytes(utf8);
+  }
+
+  private static String readString(ByteBuffer in) {
+    long length = readVarLong(in) - 1;
+    if (length < 0) {
+      return null;
+    }
+    if (length > in.remaining()) {
+      throw new IllegalArgumentException("string runs past the record");
+    }
+    String value = new String(in.array(), in.arrayOffset() + in.position(), (int) length, StandardCharsets.UTF_8);
+    in.position(in.position() + (int) length);
+    return value;
+  }
+}
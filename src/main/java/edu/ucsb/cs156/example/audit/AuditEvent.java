@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.example.audit;
+
+/**
+ * A write as captured on the request thread: the entity states are kept
+ * as Hibernate handed them over, and only diffed and turned into text by
+ * the writer thread.
+ */
+public record AuditEvent(
+    long epochMillis,
+    AuditAction action,
+    String user,
+    String request,
+    String entity,
+    Object entityId,
+    String[] properties,
+    Object[] before,
+    Object[] after) {
+
+  public static AuditEvent bulkWrite(long epochMillis, String user, String request, String entity) {
+    return new AuditEvent(epochMillis, AuditAction.BULK_WRITE, user, request, entity, null, null, null, null);
+  }
+}
@@ -0,0 +1,104 @@
+package edu.ucsb.cs156.example.audit;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Feeds every committed insert, update and delete into the
+ * {@link AuditLog}, with the signed-in user and the request that caused
+ * it. Runs on the committing thread, so it only captures references; the
+ * diffing happens on the audit writer thread.
+ */
+public class AuditEventListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  static final String SYSTEM_USER = "system";
+
+  private final transient AuditLog auditLog;
+
+  public AuditEventListener(AuditLog auditLog) {
+    this.auditLog = auditLog;
+  }
+
+  public void registerListener(EntityManagerFactory entityManagerFactory) {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    record(AuditAction.INSERT, event.getPersister(), event.getId(), null, event.getState());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    record(AuditAction.UPDATE, event.getPersister(), event.getId(), event.getOldState(), event.getState());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    record(AuditAction.DELETE, event.getPersister(), event.getId(), event.getDeletedState(), null);
+  }
+
+  // a write that did not commit changed nothing
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return true;
+  }
+
+  private void record(AuditAction action, EntityPersister persister, Object id, Object[] before, Object[] after) {
+    auditLog.record(new AuditEvent(System.currentTimeMillis(), action, currentUser(), currentRequest(),
+        persister.getMappedClass().getSimpleName(), id, persister.getPropertyNames(), before, after));
+  }
+
+  static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) {
+      return SYSTEM_USER;
+    }
+    if (authentication.getPrincipal() instanceof OAuth2User oAuthUser && oAuthUser.getAttribute("email") != null) {
+      return oAuthUser.getAttribute("email");
+    }
+    return authentication.getName();
+  }
+
+  static String currentRequest() {
+    return Optional.ofNullable(RequestContextHolder.getRequestAttributes())
+        .filter(ServletRequestAttributes.class::isInstance)
+        .map(attributes -> ((ServletRequestAttributes) attributes).getRequest())
+        .map(request -> request.getMethod() + " " + request.getRequestURI())
+        .orElse(null);
+  }
+}
@@ -0,0 +1,147 @@
+package edu.ucsb.cs156.example.audit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import edu.ucsb.cs156.example.models.AuditEntry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rolling, append-only audit files ({@code audit-000001.log}, ...). Each
+ * record is its length and CRC-32 (4 bytes each) followed by the
+ * {@link AuditCodec} bytes. A writer always starts a new file, so a file
+ * torn by a crash is never appended to; readers stop at the first record
+ * that is short or fails its checksum.
+ */
+@Slf4j
+final class AuditFiles {
+
+  private static final Pattern FILE_NAME = Pattern.compile("audit-(\\d{6})\\.log");
+
+  private AuditFiles() {
+  }
+
+  /** Oldest first. */
+  static List<Path> list(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> FILE_NAME.matcher(path.getFileName().toString()).matches()).sorted().toList();
+    }
+  }
+
+  static void read(Path file, Consumer<AuditEntry> sink) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+      while (true) {
+        int length;
+        try {
+          length = in.readInt();
+        } catch (EOFException e) {
+          return;
+        }
+        int crc = in.readInt();
+        byte[] payload = readFully(in, length);
+        if (payload == null || crc(payload) != crc) {
+          log.warn("auditFile file={} ends with a damaged record", file.getFileName());
+          return;
+        }
+        try {
+          sink.accept(AuditCodec.decode(ByteBuffer.wrap(payload)));
+        } catch (IllegalArgumentException e) {
+          log.warn("auditFile file={} has an undecodable record: {}", file.getFileName(), e.getMessage());
+        }
+      }
+    } catch (EOFException e) {
+      // a record header cut short by a crash
+    }
+  }
+
+  private static byte[] readFully(InputStream in, int length) throws IOException {
+    if (length < 0) {
+      return null;
+    }
+    byte[] payload = in.readNBytes(length);
+    return payload.length == length ? payload : null;
+  }
+
+  static int crc(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  static final class Writer implements Closeable {
+    private final Path directory;
+    private final long fileBytes;
+    private final int maxFiles;
+    private int number;
+    private long size;
+    private DataOutputStream out;
+
+    Writer(Path directory, long fileBytes, int maxFiles) throws IOException {
+      this.directory = directory;
+      this.fileBytes = fileBytes;
+      this.maxFiles = maxFiles;
+      Files.createDirectories(directory);
+      List<Path> existing = list(directory);
+      if (!existing.isEmpty()) {
+        Matcher last = FILE_NAME.matcher(existing.get(existing.size() - 1).getFileName().toString());
+        last.matches();
+        number = Integer.parseInt(last.group(1));
+      }
+      roll();
+    }
+
+    void write(byte[] payload) throws IOException {
+      long recordBytes = 8L + payload.length;
+      if (size > 0 && size + recordBytes > fileBytes) {
+        roll();
+      }
+      out.writeInt(payload.length);
+      out.writeInt(crc(payload));
+      out.write(payload);
+      size += recordBytes;
+    }
+
+    void flush() throws IOException {
+      out.flush();
+    }
+
+    private void roll() throws IOException {
+      if (out != null) {
+        out.close();
+      }
+      number++;
+      out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+          directory.resolve("audit-%06d.log".formatted(number)), StandardOpenOption.CREATE_NEW,
+          StandardOpenOption.WRITE), 1 << 16));
+      size = 0;
+      List<Path> files = list(directory);
+      for (int i = 0; i < files.size() - maxFiles; i++) {
+        Files.deleteIfExists(files.get(i));
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
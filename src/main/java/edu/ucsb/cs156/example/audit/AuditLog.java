@@ -0,0 +1,167 @@
+package edu.ucsb.cs156.example.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.ucsb.cs156.example.models.AuditEntry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records writes without making the writer wait: {@link #record} only
+ * puts the captured event into a lock-free ring buffer, and a single
+ * background thread diffs, encodes and appends events to the audit files,
+ * flushing once per batch. If the buffer is ever full the event is dropped
+ * and counted rather than block a request. When there is nothing to write
+ * the thread parks until the next event unparks it.
+ */
+@Slf4j
+public class AuditLog implements Closeable {
+
+  static final int BATCH = 512;
+  // only a backstop: record() unparks an idle writer
+  private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Path directory;
+  private final AuditRingBuffer<AuditEvent> buffer;
+  private final AuditFiles.Writer writer;
+  private final LongAdder dropped = new LongAdder();
+  private long droppedReported;
+  private volatile boolean running;
+  private volatile boolean idle;
+  private volatile Thread thread;
+
+  public AuditLog(Path directory, long fileBytes, int maxFiles, int bufferCapacity) throws IOException {
+    this.directory = directory;
+    this.buffer = new AuditRingBuffer<>(bufferCapacity);
+    this.writer = new AuditFiles.Writer(directory, fileBytes, maxFiles);
+  }
+
+  public synchronized void start() {
+    running = true;
+    thread = new Thread(this::run, "audit-writer");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  public void record(AuditEvent event) {
+    if (!buffer.offer(event)) {
+      dropped.increment();
+    } else if (idle) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  /** For JDBC writes that Hibernate (and so {@link AuditEventListener}) does not see. */
+  public void recordBulkWrite(Class<?> entity) {
+    record(AuditEvent.bulkWrite(System.currentTimeMillis(), AuditEventListener.currentUser(),
+        AuditEventListener.currentRequest(), entity.getSimpleName()));
+  }
+
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  private void run() {
+    while (running) {
+      if (drain() == 0) {
+        idle = true;
+        // an event offered before idle was set did not unpark us, so look once more
+        if (buffer.size() == 0 && running) {
+          LockSupport.parkNanos(this, IDLE_NANOS);
+        }
+        idle = false;
+      }
+    }
+  }
+
+  /** Writes whatever is buffered; only ever called by one thread at a time. */
+  int drain() {
+    int total = 0;
+    int drained;
+    try {
+      do {
+        drained = buffer.drain(this::write, BATCH);
+        total += drained;
+      } while (drained == BATCH);
+      if (total > 0) {
+        writer.flush();
+      }
+    } catch (IOException | UncheckedIOException e) {
+      log.error("audit write failed", e);
+    }
+    long droppedNow = dropped.sum();
+    if (droppedNow > droppedReported) {
+      log.warn("audit buffer was full; {} events dropped so far", droppedNow);
+      droppedReported = droppedNow;
+    }
+    return total;
+  }
+
+  private void write(AuditEvent event) {
+    try {
+      writer.write(AuditCodec.encode(AuditCodec.toEntry(event)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      log.error("audit event for {} {} could not be written", event.entity(), event.entityId(), e);
+    }
+  }
+
+  /**
+   * Entries matching every non-null filter, newest first. Files are read
+   * newest first, and reading stops at a file last written before
+   * {@code since}.
+   */
+  public List<AuditEntry> query(String entity, String entityId, String user, Instant since, int limit)
+      throws IOException {
+    List<Path> files = AuditFiles.list(directory);
+    List<AuditEntry> newestFirst = new ArrayList<>();
+    for (int i = files.size() - 1; i >= 0 && newestFirst.size() < limit; i--) {
+      Path file = files.get(i);
+      if (since != null && Files.getLastModifiedTime(file).toInstant().isBefore(since)) {
+        break;
+      }
+      List<AuditEntry> matches = new ArrayList<>();
+      AuditFiles.read(file, entry -> {
+        if (matches(entry, entity, entityId, user, since)) {
+          matches.add(entry);
+        }
+      });
+      Collections.reverse(matches);
+      newestFirst.addAll(matches.subList(0, Math.min(matches.size(), limit - newestFirst.size())));
+    }
+    return newestFirst;
+  }
+
+  private static boolean matches(AuditEntry entry, String entity, String entityId, String user, Instant since) {
+    return (entity == null || entity.equalsIgnoreCase(entry.getEntity()))
+        && (entityId == null || entityId.equals(entry.getEntityId()))
+        && (user == null || user.equalsIgnoreCase(entry.getUser()))
+        && (since == null || !entry.getTimestamp().isBefore(since));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    running = false;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    drain();
+    writer.close();
+  }
+}
@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.example.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free queue for many producers and one consumer.
+ *
+ * Producers claim a sequence number with a CAS on {@code tail} and then
+ * publish into that slot; the consumer takes slots in sequence order and
+ * stops at the first one claimed but not yet published. When the buffer is
+ * full, {@link #offer} fails at once rather than make a request wait.
+ */
+public class AuditRingBuffer<T> {
+
+  private final AtomicReferenceArray<T> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  /** @param capacity rounded up to a power of two */
+  public AuditRingBuffer(int capacity) {
+    int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  public boolean offer(T item) {
+    while (true) {
+      long claim = tail.get();
+      if (claim - head.get() >= slots.length()) {
+        return false;
+      }
+      if (tail.compareAndSet(claim, claim + 1)) {
+        slots.lazySet((int) claim & mask, item);
+        return true;
+      }
+    }
+  }
+
+  /** Consumer only. Returns how many items were passed to {@code sink}. */
+  public int drain(Consumer<? super T> sink, int max) {
+    long next = head.get();
+    int drained = 0;
+    while (drained < max) {
+      int index = (int) next & mask;
+      T item = slots.get(index);
+      if (item == null) {
+        break;
+      }
+      slots.lazySet(index, null);
+      next++;
+      // frees the slot for producers before the item is processed
+      head.lazySet(next);
+      sink.accept(item);
+      drained++;
+    }
+    return drained;
+  }
+
+  public int size() {
+    return (int) (tail.get() - head.get());
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+}
@@ -0,0 +1,84 @@
+package edu.ucsb.cs156.example.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size Bloom filter over strings. {@link #put} may run concurrently
+ * with {@link #mightContain}; bits are only ever set, with a CAS per word.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bits;
+  private final int hashes;
+
+  private BloomFilter(long bits, int hashes) {
+    this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+    this.bits = bits;
+    this.hashes = hashes;
+  }
+
+  /** Sized for {@code expected} keys at the given false-positive rate. */
+  public static BloomFilter create(long expected, double falsePositiveRate) {
+    long n = Math.max(1, expected);
+    long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+    int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    return new BloomFilter(bits, hashes);
+  }
+
+  public void put(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      long bit = index(h1 + i * h2);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+  }
+
+  /** False means the key was definitely never put. */
+  public boolean mightContain(String key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashes; i++) {
+      long bit = index(h1 + i * h2);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitSize() {
+    return bits;
+  }
+
+  public int hashCount() {
+    return hashes;
+  }
+
+  private long index(int combined) {
+    return (combined & 0x7fffffffL) % bits;
+  }
+
+  // FNV-1a over the chars, then the murmur3 finalizer to spread the bits
+  static long hash(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
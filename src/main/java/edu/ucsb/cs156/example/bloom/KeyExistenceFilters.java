@@ -0,0 +1,200 @@
+package edu.ucsb.cs156.example.bloom;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Bloom filter of the primary keys of each entity, so lookups of keys
+ * that do not exist can be answered without a query.
+ *
+ * Filters are filled from the table on {@link #rebuildAll()} and kept up to
+ * date by a post-commit insert listener; deleted keys stay in the filter
+ * (a false positive, which only costs the query) until the next rebuild.
+ * Until an entity's first rebuild finishes, every key might exist.
+ *
+ * The listener only sees this instance's inserts, so a filter is only
+ * trusted for keys another instance cannot have added since the rebuild:
+ * generated numeric ids at or below the largest id the rebuild read.
+ * Higher ids, and natural keys (which any instance may insert at any
+ * time), always fall through to the query. A row whose id was generated
+ * before a rebuild but committed after it is still missed on other
+ * instances until the next rebuild.
+ *
+ * Keys of rows kept outside the entity's table (see {@link #addKeySource})
+ * are added on each rebuild as well.
+ */
+@Slf4j
+public class KeyExistenceFilters implements PostCommitInsertEventListener {
+
+  private static class Filter {
+    volatile BloomFilter current;
+    // while rebuilding, inserts go into the new filter too
+    volatile BloomFilter pending;
+    // the largest id the current filter was built from; larger ones may have been inserted elsewhere
+    volatile long maxId = Long.MIN_VALUE;
+    final LongAdder shortCircuits = new LongAdder();
+  }
+
+  private final transient EntityManagerFactory entityManagerFactory;
+  private final double falsePositiveRate;
+  private final Map<Class<?>, Filter> filters = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Boolean> numericKeys = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Supplier<? extends Collection<?>>> keySources = new ConcurrentHashMap<>();
+
+  public KeyExistenceFilters(EntityManagerFactory entityManagerFactory, double falsePositiveRate) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.falsePositiveRate = falsePositiveRate;
+    for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+      boolean numeric = Number.class.isAssignableFrom(boxed(entity.getIdType().getJavaType()));
+      numericKeys.put(entity.getJavaType(), numeric);
+      if (numeric) {
+        filters.put(entity.getJavaType(), new Filter());
+      }
+    }
+  }
+
+  public void registerListener() {
+    entityManagerFactory.unwrap(SessionFactoryImpl.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class)
+        .appendListeners(EventType.POST_COMMIT_INSERT, this);
+  }
+
+  /** Adds the keys {@code source} supplies to every later rebuild of the entity's filter. */
+  public void addKeySource(Class<?> entity, Supplier<? extends Collection<?>> source) {
+    keySources.put(entity, source);
+  }
+
+  public void rebuildAll() {
+    for (Class<?> entity : filters.keySet()) {
+      rebuild(entity);
+    }
+  }
+
+  public synchronized void rebuild(Class<?> entity) {
+    Filter filter = filters.get(entity);
+    if (filter == null) {
+      return;
+    }
+    EntityType<?> type = entityManagerFactory.getMetamodel().entity(entity);
+    String idName = type.getId(type.getIdType().getJavaType()).getName();
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      Collection<?> extraKeys = keySources.getOrDefault(entity, List::of).get();
+      long count = entityManager.createQuery("select count(e) from %s e".formatted(type.getName()), Long.class)
+          .getSingleResult() + extraKeys.size();
+      // room to grow until the next rebuild
+      BloomFilter rebuilt = BloomFilter.create(Math.max(1024, count * 2), falsePositiveRate);
+      // set before reading, so a key committed after the read starts is still added
+      filter.pending = rebuilt;
+      long[] maxId = { Long.MIN_VALUE };
+      entityManager.createQuery("select e.%s from %s e".formatted(idName, type.getName()))
+          .getResultStream()
+          .forEach(id -> {
+            rebuilt.put(id.toString());
+            maxId[0] = Math.max(maxId[0], ((Number) id).longValue());
+          });
+      extraKeys.forEach(id -> rebuilt.put(id.toString()));
+      // the filter must not answer for keys above the new max before it holds them
+      filter.maxId = Math.min(filter.maxId, maxId[0]);
+      filter.current = rebuilt;
+      filter.maxId = maxId[0];
+      filter.pending = null;
+      log.info("keyFilter entity={} keys={} maxId={} bits={} hashes={}",
+          entity.getSimpleName(), count, maxId[0], rebuilt.bitSize(), rebuilt.hashCount());
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  /**
+   * @return the key as the filter stores it, or null if it cannot be a key
+   *         of this entity (e.g. a non-number for a numeric id)
+   */
+  public String normalize(Class<?> entity, String key) {
+    if (!Boolean.TRUE.equals(numericKeys.get(entity))) {
+      return key;
+    }
+    try {
+      return Long.toString(Long.parseLong(key.trim()));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /** False means the entity definitely has no row with this (normalized) key. */
+  public boolean mightExist(Class<?> entity, String key) {
+    Filter filter = filters.get(entity);
+    if (filter == null) {
+      return true;
+    }
+    // read before the filter, which a rebuild replaces after lowering maxId
+    long maxId = filter.maxId;
+    BloomFilter current = filter.current;
+    if (current == null || Long.parseLong(key) > maxId || current.mightContain(key)) {
+      return true;
+    }
+    filter.shortCircuits.increment();
+    return false;
+  }
+
+  public long getShortCircuits(Class<?> entity) {
+    Filter filter = filters.get(entity);
+    return filter == null ? 0 : filter.shortCircuits.sum();
+  }
+
+  void add(Class<?> entity, Object id) {
+    Filter filter = filters.get(entity);
+    if (filter == null || id == null) {
+      return;
+    }
+    BloomFilter current = filter.current;
+    BloomFilter pending = filter.pending;
+    if (current != null) {
+      current.put(id.toString());
+    }
+    if (pending != null) {
+      pending.put(id.toString());
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    add(event.getPersister().getMappedClass(), event.getId());
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return true;
+  }
+
+  private static Class<?> boxed(Class<?> type) {
+    if (type == long.class) {
+      return Long.class;
+    }
+    if (type == int.class) {
+      return Integer.class;
+    }
+    return type;
+  }
+}
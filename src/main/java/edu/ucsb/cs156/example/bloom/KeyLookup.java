@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.example.bloom;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a single-row GET handler whose request parameter {@link #param} is
+ * the primary key of {@link #entity}, so that keys the
+ * {@link KeyExistenceFilters} know to be absent get a 404 before the
+ * handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface KeyLookup {
+  Class<?> entity();
+
+  String param();
+
+  /**
+   * A boolean request parameter that, when true, means the key may be in
+   * a table the filter does not cover (an archive), so the lookup always
+   * goes to the handler.
+   */
+  String bypassParam() default "";
+}
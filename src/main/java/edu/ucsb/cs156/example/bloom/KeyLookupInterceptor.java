@@ -0,0 +1,99 @@
+package edu.ucsb.cs156.example.bloom;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.expression.Expression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+
+/**
+ * Answers {@link KeyLookup} handlers with the usual not-found body when the
+ * key is definitely absent, without running the handler or building an
+ * exception.
+ *
+ * Interceptors run before method security, so the handler's
+ * {@link PreAuthorize} expression is evaluated here first: a caller it
+ * would refuse goes on to the handler and gets the usual 403, and never
+ * learns from a 404 which keys are absent.
+ */
+public class KeyLookupInterceptor implements HandlerInterceptor {
+
+  private final KeyExistenceFilters keyExistenceFilters;
+  private final ObjectMapper mapper;
+  private final MethodSecurityExpressionHandler expressionHandler;
+  private final Map<Method, Expression> preAuthorizeExpressions = new ConcurrentHashMap<>();
+
+  public KeyLookupInterceptor(KeyExistenceFilters keyExistenceFilters, ObjectMapper mapper) {
+    this(keyExistenceFilters, mapper, new DefaultMethodSecurityExpressionHandler());
+  }
+
+  public KeyLookupInterceptor(KeyExistenceFilters keyExistenceFilters, ObjectMapper mapper,
+      MethodSecurityExpressionHandler expressionHandler) {
+    this.keyExistenceFilters = keyExistenceFilters;
+    this.mapper = mapper;
+    this.expressionHandler = expressionHandler;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    KeyLookup keyLookup = handlerMethod.getMethodAnnotation(KeyLookup.class);
+    if (keyLookup == null) {
+      return true;
+    }
+    if (!keyLookup.bypassParam().isEmpty() && Boolean.parseBoolean(request.getParameter(keyLookup.bypassParam()))) {
+      return true;
+    }
+    if (!authorized(handlerMethod)) {
+      return true;
+    }
+    String value = request.getParameter(keyLookup.param());
+    String key = value == null ? null : keyExistenceFilters.normalize(keyLookup.entity(), value);
+    // leave missing or malformed keys to the handler's own error handling
+    if (key == null || keyExistenceFilters.mightExist(keyLookup.entity(), key)) {
+      return true;
+    }
+    response.setStatus(HttpStatus.NOT_FOUND.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    mapper.writeValue(response.getOutputStream(), Map.of(
+        "type", EntityNotFoundException.class.getSimpleName(),
+        "message", "%s with id %s not found".formatted(keyLookup.entity().getSimpleName(), key)));
+    return false;
+  }
+
+  private boolean authorized(HandlerMethod handlerMethod) {
+    PreAuthorize preAuthorize = handlerMethod.getMethodAnnotation(PreAuthorize.class);
+    if (preAuthorize == null) {
+      return true;
+    }
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null) {
+      return false;
+    }
+    Expression expression = preAuthorizeExpressions.computeIfAbsent(handlerMethod.getMethod(),
+        method -> expressionHandler.getExpressionParser().parseExpression(preAuthorize.value()));
+    return ExpressionUtils.evaluateAsBoolean(expression, expressionHandler.createEvaluationContext(
+        authentication, new SimpleMethodInvocation(handlerMethod.getBean(), handlerMethod.getMethod())));
+  }
+}
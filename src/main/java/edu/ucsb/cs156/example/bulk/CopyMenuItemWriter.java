@@ -0,0 +1,40 @@
+package edu.ucsb.cs156.example.bulk;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+
+/**
+ * Streams a batch to PostgreSQL with {@code COPY ... FROM STDIN}, which
+ * skips per-row statement parsing and planning entirely.
+ */
+public class CopyMenuItemWriter implements MenuItemBatchWriter {
+
+  static final String COPY = """
+      copy ucsbdiningcommonsmenuitem (dining_commons_code_dict_id, name, station_dict_id)
+      from stdin with (format csv)
+      """;
+
+  static boolean supports(Connection connection) throws SQLException {
+    return connection.isWrapperFor(PGConnection.class);
+  }
+
+  @Override
+  public void write(Connection connection, List<EncodedMenuItem> items) throws SQLException {
+    StringBuilder csv = new StringBuilder(items.size() * 64);
+    for (EncodedMenuItem item : items) {
+      csv.append(item.diningCommonsCodeId()).append(',');
+      csv.append('"').append(item.name().replace("\"", "\"\"")).append('"').append(',');
+      csv.append(item.stationId()).append('\n');
+    }
+    try {
+      connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv.toString()));
+    } catch (IOException e) {
+      throw new SQLException("copy of menu items failed", e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package edu.ucsb.cs156.example.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so a file of any size is never
+ * held in memory: fields are separated by commas, may be quoted with
+ * {@code "} (doubled inside quotes), and quoted fields may span lines.
+ * Blank lines are skipped and a leading byte order mark is ignored.
+ */
+public class CsvReader {
+
+  public static class MalformedCsvException extends IOException {
+    public MalformedCsvException(String message) {
+      super(message);
+    }
+  }
+
+  private static final int NONE = -2;
+
+  private final Reader in;
+  private long line = 1;
+  private long recordLine;
+  private int pushedBack = NONE;
+  private boolean started;
+
+  public CsvReader(Reader in) {
+    this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+  }
+
+  /** The line the last record returned by {@link #next()} started on. */
+  public long getLine() {
+    return recordLine;
+  }
+
+  /** The next record's fields, or null at the end of the input. */
+  public List<String> next() throws IOException {
+    int c = read();
+    while (c == '\n' || c == '\r') {
+      c = read();
+    }
+    if (c == -1) {
+      return null;
+    }
+    recordLine = line;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (c == '"' && !quoted && field.length() == 0) {
+        quoted = true;
+        while (true) {
+          c = read();
+          if (c == -1) {
+            throw new MalformedCsvException("unterminated quoted field starting on line " + recordLine);
+          }
+          if (c == '"') {
+            c = read();
+            if (c != '"') {
+              break;
+            }
+          }
+          field.append((char) c);
+        }
+        continue;
+      }
+      if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+        quoted = false;
+        c = read();
+        continue;
+      }
+      if (c == '\n' || c == '\r' || c == -1) {
+        if (c == '\r') {
+          int after = read();
+          if (after != '\n') {
+            pushedBack = after;
+          }
+        }
+        fields.add(field.toString());
+        return fields;
+      }
+      if (quoted) {
+        throw new MalformedCsvException("unexpected character after a closing quote on line " + line);
+      }
+      field.append((char) c);
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    int c;
+    if (pushedBack != NONE) {
+      c = pushedBack;
+      pushedBack = NONE;
+      return c;
+    }
+    c = in.read();
+    if (!started) {
+      started = true;
+      if (c == '\uFEFF') {
+        c = in.read();
+      }
+    }
+    if (c == '\n') {
+      line++;
+    }
+    return c;
+  }
+}
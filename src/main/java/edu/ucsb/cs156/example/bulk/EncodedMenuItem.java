@@ -0,0 +1,8 @@
+package edu.ucsb.cs156.example.bulk;
+
+/**
+ * A menu item row as stored: the dining commons code and station are
+ * already replaced by their dictionary ids.
+ */
+public record EncodedMenuItem(int diningCommonsCodeId, String name, int stationId) {
+}
@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.example.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+public class JdbcBatchMenuItemWriter implements MenuItemBatchWriter {
+
+  static final String INSERT = """
+      insert into ucsbdiningcommonsmenuitem (dining_commons_code_dict_id, name, station_dict_id)
+      values (?, ?, ?)
+      """;
+
+  @Override
+  public void write(Connection connection, List<EncodedMenuItem> items) throws SQLException {
+    try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+      for (EncodedMenuItem item : items) {
+        insert.setInt(1, item.diningCommonsCodeId());
+        insert.setString(2, item.name());
+        insert.setInt(3, item.stationId());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+  }
+}
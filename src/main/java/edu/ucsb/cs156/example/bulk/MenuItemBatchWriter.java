@@ -0,0 +1,19 @@
+package edu.ucsb.cs156.example.bulk;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserts a batch of menu items on the caller's connection (and so in the
+ * caller's transaction).
+ */
+public interface MenuItemBatchWriter {
+
+  void write(Connection connection, List<EncodedMenuItem> items) throws SQLException;
+
+  /** Uses COPY when the connection is to PostgreSQL, batched inserts otherwise. */
+  static MenuItemBatchWriter forConnection(Connection connection) throws SQLException {
+    return CopyMenuItemWriter.supports(connection) ? new CopyMenuItemWriter() : new JdbcBatchMenuItemWriter();
+  }
+}
@@ -0,0 +1,88 @@
+package edu.ucsb.cs156.example.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+
+/**
+ * Writes organizations keyed by orgCode with the database's own upsert, so
+ * a row added since the caller read the table is updated rather than
+ * failing the batch. Runs on the caller's connection (and so in the
+ * caller's transaction).
+ */
+public class OrganizationUpsertWriter {
+
+  // the WHERE keeps a row that already matches from being rewritten
+  static final String POSTGRES_UPSERT = """
+      insert into ucsborganization (org_code, org_translation_short, org_translation, inactive)
+      values (?, ?, ?, ?)
+      on conflict (org_code) do update
+      set org_translation_short = excluded.org_translation_short,
+          org_translation = excluded.org_translation,
+          inactive = excluded.inactive
+      where (ucsborganization.org_translation_short, ucsborganization.org_translation, ucsborganization.inactive)
+          is distinct from (excluded.org_translation_short, excluded.org_translation, excluded.inactive)
+      """;
+
+  static final String H2_MERGE = """
+      merge into ucsborganization (org_code, org_translation_short, org_translation, inactive)
+      key (org_code)
+      values (?, ?, ?, ?)
+      """;
+
+  static final String DEACTIVATE = """
+      update ucsborganization set inactive = true
+      where org_code = ? and inactive = false
+      """;
+
+  private final int batchSize;
+
+  public OrganizationUpsertWriter(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public void upsert(Connection connection, List<UCSBOrganization> organizations) throws SQLException {
+    try (PreparedStatement upsert = connection.prepareStatement(upsertSql(connection))) {
+      int pending = 0;
+      for (UCSBOrganization org : organizations) {
+        upsert.setString(1, org.getOrgCode());
+        upsert.setString(2, org.getOrgTranslationShort());
+        upsert.setString(3, org.getOrgTranslation());
+        upsert.setBoolean(4, org.getInactive());
+        upsert.addBatch();
+        if (++pending == batchSize) {
+          upsert.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        upsert.executeBatch();
+      }
+    }
+  }
+
+  public void deactivate(Connection connection, List<String> orgCodes) throws SQLException {
+    try (PreparedStatement deactivate = connection.prepareStatement(DEACTIVATE)) {
+      int pending = 0;
+      for (String orgCode : orgCodes) {
+        deactivate.setString(1, orgCode);
+        deactivate.addBatch();
+        if (++pending == batchSize) {
+          deactivate.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        deactivate.executeBatch();
+      }
+    }
+  }
+
+  static String upsertSql(Connection connection) throws SQLException {
+    String product = connection.getMetaData().getDatabaseProductName();
+    return "PostgreSQL".equals(product) ? POSTGRES_UPSERT : H2_MERGE;
+  }
+}
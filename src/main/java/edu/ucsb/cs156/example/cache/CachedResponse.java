@@ -0,0 +1,17 @@
+package edu.ucsb.cs156.example.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized JSON body of a GET handler, per URL and role set,
+ * until the next write to {@link #entity()}'s table. Only use on handlers
+ * whose output depends on nothing but the URL and the caller's roles.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+  Class<?> entity();
+}
@@ -0,0 +1,159 @@
+package edu.ucsb.cs156.example.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized response bodies, with a gzip copy made once at store time,
+ * grouped by the entity whose table they were read from.
+ *
+ * Each entity keeps at most {@code maxEntries} bodies, dropping the least
+ * recently used, and a body is served for at most {@code ttl}, so distinct
+ * URLs can neither grow the cache nor switch it off.
+ *
+ * Each entity has a generation number that {@link #invalidate} bumps; a
+ * body is only stored if no write happened between the start of the
+ * request that produced it and the store. With a read replica, a body
+ * produced within {@code replicaLag} of a write may have been read from a
+ * replica that has not caught up yet, so it is not stored either.
+ */
+public class ResponseCache {
+
+  public record Entry(byte[] body, byte[] gzipBody, String contentType) {
+  }
+
+  private record Stored(Entry entry, long expiresAt) {
+  }
+
+  private final class EntityEntries {
+    final AtomicLong generation = new AtomicLong();
+    volatile long invalidatedAt = nanoTime.getAsLong() - replicaLagNanos;
+    final LinkedHashMap<String, Stored> stored = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  private final Map<Class<?>, EntityEntries> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final int maxEntries;
+  private final int maxEntryBytes;
+  private final long ttlNanos;
+  private final long replicaLagNanos;
+  private final LongSupplier nanoTime;
+
+  public ResponseCache(int maxEntries, int maxEntryBytes, Duration ttl, Duration replicaLag) {
+    this(maxEntries, maxEntryBytes, ttl, replicaLag, System::nanoTime);
+  }
+
+  ResponseCache(int maxEntries, int maxEntryBytes, Duration ttl, Duration replicaLag, LongSupplier nanoTime) {
+    this.maxEntries = maxEntries;
+    this.maxEntryBytes = maxEntryBytes;
+    this.ttlNanos = ttl.toNanos();
+    this.replicaLagNanos = replicaLag.toNanos();
+    this.nanoTime = nanoTime;
+  }
+
+  public Entry get(Class<?> entity, String key) {
+    Map<String, Stored> stored = entriesFor(entity).stored;
+    Entry entry = null;
+    synchronized (stored) {
+      Stored found = stored.get(key);
+      if (found != null) {
+        if (found.expiresAt() - nanoTime.getAsLong() > 0) {
+          entry = found.entry();
+        } else {
+          stored.remove(key);
+        }
+      }
+    }
+    if (entry == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return entry;
+  }
+
+  public long generation(Class<?> entity) {
+    return entriesFor(entity).generation.get();
+  }
+
+  /**
+   * Builds the entry for {@code body} and stores it unless the body is too
+   * large, {@code entity} was written since {@code generation} was read, or
+   * a replica may not have seen that write yet. The entry is returned
+   * either way.
+   */
+  public Entry put(Class<?> entity, String key, long generation, byte[] body, String contentType) {
+    Entry entry = new Entry(body, gzip(body), contentType);
+    if (body.length > maxEntryBytes) {
+      return entry;
+    }
+    EntityEntries forEntity = entriesFor(entity);
+    long now = nanoTime.getAsLong();
+    if (now - forEntity.invalidatedAt < replicaLagNanos) {
+      return entry;
+    }
+    synchronized (forEntity.stored) {
+      // checked under the lock that invalidate() clears with, so a racing write cannot be missed
+      if (forEntity.generation.get() == generation) {
+        forEntity.stored.put(key, new Stored(entry, now + ttlNanos));
+      }
+    }
+    return entry;
+  }
+
+  public void invalidate(Class<?> entity) {
+    EntityEntries forEntity = entriesFor(entity);
+    forEntity.invalidatedAt = nanoTime.getAsLong();
+    forEntity.generation.incrementAndGet();
+    synchronized (forEntity.stored) {
+      forEntity.stored.clear();
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (EntityEntries forEntity : entries.values()) {
+      synchronized (forEntity.stored) {
+        size += forEntity.stored.size();
+      }
+    }
+    return size;
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  private EntityEntries entriesFor(Class<?> entity) {
+    return entries.computeIfAbsent(entity, e -> new EntityEntries());
+  }
+
+  static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,76 @@
+package edu.ucsb.cs156.example.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * On a cache miss, serializes the body once with the application's
+ * ObjectMapper, stores the bytes, and writes them itself; returning null
+ * tells Spring MVC there is nothing left to convert.
+ *
+ * Ordered last so other advice (e.g. response headers) runs first.
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+  @Autowired
+  ObjectMapper mapper;
+
+  @Autowired(required = false)
+  ResponseCache responseCache;
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return responseCache != null && returnType.hasMethodAnnotation(CachedResponse.class);
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)
+        || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+      return body;
+    }
+    HttpServletRequest httpRequest = servletRequest.getServletRequest();
+    if (!(httpRequest.getAttribute(ResponseCacheInterceptor.PENDING_ATTRIBUTE)
+        instanceof ResponseCacheInterceptor.Pending pending)) {
+      return body;
+    }
+    try {
+      ResponseCache.Entry entry = responseCache.put(pending.entity(), pending.key(), pending.generation(),
+          mapper.writeValueAsBytes(body), MediaType.APPLICATION_JSON_VALUE);
+      boolean gzip = ResponseCacheKeys.acceptsGzip(httpRequest);
+      byte[] bytes = gzip ? entry.gzipBody() : entry.body();
+      response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+      response.getHeaders().set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      if (gzip) {
+        response.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+      }
+      response.getHeaders().setContentLength(bytes.length);
+      response.getBody().write(bytes);
+      response.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,77 @@
+package edu.ucsb.cs156.example.cache;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+
+/**
+ * Answers {@link CachedResponse} handlers straight from the cache, writing
+ * the stored bytes to the servlet output without invoking the controller.
+ * On a miss it leaves a note for {@link ResponseCacheAdvice} to store the
+ * body the controller produces.
+ *
+ * With a read replica, a caller who wrote recently is sent to the primary
+ * for read-your-writes, so they bypass the cache entirely: a body cached
+ * from the replica could predate their own write.
+ */
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+  static final String PENDING_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".PENDING";
+
+  record Pending(Class<?> entity, String key, long generation) {
+  }
+
+  private final ResponseCache responseCache;
+  private final RecentWriteTracker recentWriteTracker;
+
+  /** @param recentWriteTracker null when there is no read replica */
+  public ResponseCacheInterceptor(ResponseCache responseCache, RecentWriteTracker recentWriteTracker) {
+    this.responseCache = responseCache;
+    this.recentWriteTracker = recentWriteTracker;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!"GET".equals(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    CachedResponse cachedResponse = handlerMethod.getMethodAnnotation(CachedResponse.class);
+    if (cachedResponse == null || wroteRecently()) {
+      return true;
+    }
+    String key = ResponseCacheKeys.key(request, handlerMethod);
+    // read the generation before the lookup so a write racing with the miss is detected
+    long generation = responseCache.generation(cachedResponse.entity());
+    ResponseCache.Entry entry = responseCache.get(cachedResponse.entity(), key);
+    if (entry == null) {
+      request.setAttribute(PENDING_ATTRIBUTE, new Pending(cachedResponse.entity(), key, generation));
+      return true;
+    }
+    boolean gzip = ResponseCacheKeys.acceptsGzip(request);
+    byte[] body = gzip ? entry.gzipBody() : entry.body();
+    response.setContentType(entry.contentType());
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+    return false;
+  }
+
+  private boolean wroteRecently() {
+    if (recentWriteTracker == null) {
+      return false;
+    }
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null && recentWriteTracker.wroteRecently(authentication.getName());
+  }
+}
@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.example.cache;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached responses for an entity whenever Hibernate commits an insert,
+ * update or delete of that entity. Writes that bypass Hibernate (bulk JDBC)
+ * must call {@link ResponseCache#invalidate} themselves.
+ */
+@Component
+public class ResponseCacheInvalidator
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  @Autowired(required = false)
+  transient ResponseCache responseCache;
+
+  @Autowired
+  transient EntityManagerFactory entityManagerFactory;
+
+  @PostConstruct
+  void register() {
+    if (responseCache == null) {
+      return;
+    }
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  private void invalidate(EntityPersister persister) {
+    responseCache.invalidate(persister.getMappedClass());
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  // a failed commit changed nothing, but invalidating is cheap and always safe
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    invalidate(event.getPersister());
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return true;
+  }
+}
@@ -0,0 +1,91 @@
+package edu.ucsb.cs156.example.cache;
+
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Cache keys are URL path + the handler's own {@code @RequestParam}s +
+ * Accept header + the caller's sorted roles. Other query parameters cannot
+ * change the body, so they are left out rather than each making a new
+ * entry. Authorization on the cached handlers only looks at roles, so a
+ * body cached for one role set is safe to serve to anyone with that set.
+ */
+final class ResponseCacheKeys {
+
+  private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+  private static final Map<Method, List<String>> REQUEST_PARAMS = new ConcurrentHashMap<>();
+
+  private ResponseCacheKeys() {
+  }
+
+  static String key(HttpServletRequest request, HandlerMethod handler) {
+    StringBuilder key = new StringBuilder(request.getRequestURI());
+    char separator = '?';
+    for (String name : REQUEST_PARAMS.computeIfAbsent(handler.getMethod(), m -> requestParams(handler))) {
+      String[] values = request.getParameterValues(name);
+      if (values != null) {
+        for (String value : values) {
+          key.append(separator).append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+          separator = '&';
+        }
+      }
+    }
+    key.append('|');
+    Enumeration<String> accept = request.getHeaders(HttpHeaders.ACCEPT);
+    while (accept != null && accept.hasMoreElements()) {
+      key.append(accept.nextElement()).append(',');
+    }
+    key.append('|');
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null) {
+      TreeSet<String> roles = new TreeSet<>();
+      for (GrantedAuthority authority : authentication.getAuthorities()) {
+        roles.add(authority.getAuthority());
+      }
+      key.append(String.join(",", roles));
+    }
+    return key.toString();
+  }
+
+  /** The sorted names of the handler's {@code @RequestParam} arguments. */
+  private static List<String> requestParams(HandlerMethod handler) {
+    TreeSet<String> names = new TreeSet<>();
+    for (MethodParameter parameter : handler.getMethodParameters()) {
+      RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+      if (requestParam != null) {
+        if (!requestParam.name().isEmpty()) {
+          names.add(requestParam.name());
+        } else if (!requestParam.value().isEmpty()) {
+          names.add(requestParam.value());
+        } else {
+          parameter.initParameterNameDiscovery(PARAMETER_NAMES);
+          names.add(parameter.getParameterName());
+        }
+      }
+    }
+    return List.copyOf(names);
+  }
+
+  static boolean acceptsGzip(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    return acceptEncoding != null && acceptEncoding.contains("gzip");
+  }
+}
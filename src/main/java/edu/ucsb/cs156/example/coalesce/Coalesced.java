@@ -0,0 +1,17 @@
+package edu.ucsb.cs156.example.coalesce;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository whose {@code find*} calls may be shared between
+ * concurrent GET requests with the same arguments (see
+ * {@code RepositoryCoalescingAspect}). Only for repositories whose results
+ * are never modified by the GET handlers that read them.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
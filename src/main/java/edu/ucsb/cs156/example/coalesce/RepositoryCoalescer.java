@@ -0,0 +1,39 @@
+package edu.ucsb.cs156.example.coalesce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ucsb.cs156.example.models.CoalescingStats;
+
+/**
+ * One {@link SingleFlight} per {@link Coalesced} repository, so the
+ * coalescing ratio can be reported per repository.
+ */
+public class RepositoryCoalescer {
+
+  private final Map<Class<?>, SingleFlight> flights = new ConcurrentHashMap<>();
+
+  public SingleFlight forRepository(Class<?> repository) {
+    return flights.computeIfAbsent(repository, r -> new SingleFlight());
+  }
+
+  public List<CoalescingStats> getStats() {
+    List<CoalescingStats> stats = new ArrayList<>();
+    flights.forEach((repository, flight) -> {
+      long calls = flight.getCalls();
+      long executions = flight.getExecutions();
+      long coalesced = flight.getCoalesced();
+      stats.add(CoalescingStats.builder()
+          .repository(repository.getSimpleName())
+          .calls(calls)
+          .executions(executions)
+          .coalesced(coalesced)
+          .coalescingRatio(calls == 0 ? 0.0 : (double) coalesced / calls)
+          .build());
+    });
+    stats.sort((a, b) -> a.getRepository().compareTo(b.getRepository()));
+    return stats;
+  }
+}
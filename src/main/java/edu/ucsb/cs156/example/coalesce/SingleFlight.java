@@ -0,0 +1,67 @@
+package edu.ucsb.cs156.example.coalesce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs at most one call per key at a time: callers that arrive while a
+ * call for their key is in flight wait for it and get its result (or its
+ * exception) instead of making their own.
+ *
+ * Nothing is kept once the call finishes; this is not a cache.
+ */
+public class SingleFlight {
+
+  @FunctionalInterface
+  public interface Call {
+    Object call() throws Throwable;
+  }
+
+  private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  public Object execute(Object key, Call call) throws Throwable {
+    calls.increment();
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+    if (existing != null) {
+      coalesced.increment();
+      try {
+        return existing.join();
+      } catch (CompletionException e) {
+        throw e.getCause();
+      }
+    }
+    executions.increment();
+    try {
+      Object result = call.call();
+      inFlight.remove(key, mine);
+      mine.complete(result);
+      return result;
+    } catch (Throwable t) {
+      inFlight.remove(key, mine);
+      mine.completeExceptionally(t);
+      throw t;
+    }
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  public long getExecutions() {
+    return executions.sum();
+  }
+
+  public long getCoalesced() {
+    return coalesced.sum();
+  }
+
+  public int inFlight() {
+    return inFlight.size();
+  }
+}
@@ -0,0 +1,94 @@
+package edu.ucsb.cs156.example.coldstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+
+/**
+ * The compressed form of one article in a segment: its fields written with
+ * {@link DataOutputStream} (strings as UTF-8 with a length, -1 for null)
+ * and deflated.
+ */
+final class ArticleCodec {
+
+  private ArticleCodec() {
+  }
+
+  static byte[] encode(UCSBArticles article) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+      out.writeLong(article.getId());
+      writeString(out, article.getTitle());
+      writeString(out, article.getUrl());
+      writeString(out, article.getExplanation());
+      writeString(out, article.getEmail());
+      LocalDateTime dateAdded = article.getDateAdded();
+      out.writeBoolean(dateAdded != null);
+      if (dateAdded != null) {
+        out.writeLong(dateAdded.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(dateAdded.getNano());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+  static UCSBArticles decode(byte[] compressed) throws DataFormatException {
+    Inflater inflater = new Inflater();
+    try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+        new ByteArrayInputStream(compressed), inflater))) {
+      UCSBArticles.UCSBArticlesBuilder article = UCSBArticles.builder()
+          .id(in.readLong())
+          .title(readString(in))
+          .url(readString(in))
+          .explanation(readString(in))
+          .email(readString(in));
+      if (in.readBoolean()) {
+        article.dateAdded(LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC));
+      }
+      return article.build();
+    } catch (IOException e) {
+      // the checksum matched, so this is a bug rather than a damaged file
+      throw (DataFormatException) new DataFormatException("undecodable article record").initCause(e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(utf8.length);
+    out.write(utf8);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] utf8 = new byte[length];
+    in.readFully(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+}
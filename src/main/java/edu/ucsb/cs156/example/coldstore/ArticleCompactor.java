@@ -0,0 +1,80 @@
+package edu.ucsb.cs156.example.coldstore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves articles added more than {@code age} ago from the database into
+ * the segment store, {@code chunkSize} at a time. Each chunk is locked,
+ * appended (and forced to disk) and then deleted in one transaction, so an
+ * article is never in neither tier; if the delete fails it is briefly in
+ * both, and the database copy wins.
+ */
+@Slf4j
+public class ArticleCompactor {
+
+  private final ArticleSegmentStore store;
+  private final UCSBArticlesRepository ucsbArticlesRepository;
+  private final PlatformTransactionManager transactionManager;
+  private final BulkWriteNotifier bulkWriteNotifier;
+  private final Duration age;
+  private final int chunkSize;
+
+  public ArticleCompactor(ArticleSegmentStore store, UCSBArticlesRepository ucsbArticlesRepository,
+      PlatformTransactionManager transactionManager, BulkWriteNotifier bulkWriteNotifier, Duration age,
+      int chunkSize) {
+    this.store = store;
+    this.ucsbArticlesRepository = ucsbArticlesRepository;
+    this.transactionManager = transactionManager;
+    this.bulkWriteNotifier = bulkWriteNotifier;
+    this.age = age;
+    this.chunkSize = chunkSize;
+  }
+
+  /** Returns the number of articles moved. */
+  public long compact(LocalDateTime now) {
+    long started = System.nanoTime();
+    LocalDateTime cutoff = now.minus(age);
+    PageRequest chunk = PageRequest.of(0, chunkSize, Sort.by("id"));
+    long moved = 0;
+    try {
+      int count;
+      do {
+        count = new TransactionTemplate(transactionManager).execute(status -> {
+          List<UCSBArticles> articles = ucsbArticlesRepository.findForUpdateByDateAddedBefore(cutoff, chunk);
+          if (articles.isEmpty()) {
+            return 0;
+          }
+          try {
+            store.append(articles);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          ucsbArticlesRepository.deleteByIdIn(articles.stream().map(UCSBArticles::getId).toList());
+          return articles.size();
+        });
+        moved += count;
+      } while (count == chunkSize);
+    } finally {
+      if (moved > 0) {
+        bulkWriteNotifier.afterBulkWrite(UCSBArticles.class);
+      }
+    }
+    log.info("articleCompaction articlesMoved={} coldArticles={} elapsedMillis={}",
+        moved, store.size(), (System.nanoTime() - started) / 1_000_000);
+    return moved;
+  }
+}
@@ -0,0 +1,279 @@
+package edu.ucsb.cs156.example.coldstore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Articles kept on local disk in append-only segment files
+ * ({@code articles-000001.seg}, ...), each record compressed on its own.
+ * An in-memory index maps every article id to where its latest record
+ * starts, and reads copy the record out of a memory-mapped view of the
+ * segment, so a lookup costs no system call.
+ *
+ * A record is a 16-byte header (payload length, article id, CRC-32 of the
+ * payload) followed by the payload; a length of -1 marks a deletion. The
+ * index is rebuilt by scanning the headers when the store is opened, and
+ * a torn record at the end of the newest segment (from a crash part way
+ * through an append) is cut off.
+ *
+ * Appends are serialized and made durable before they are indexed; reads
+ * take no lock.
+ */
+@Slf4j
+public class ArticleSegmentStore implements Closeable {
+
+  static final int HEADER_BYTES = 16;
+  static final int TOMBSTONE = -1;
+  private static final Pattern SEGMENT_NAME = Pattern.compile("articles-(\\d{6})\\.seg");
+
+  private static final class Segment {
+    final int number;
+    final FileChannel channel;
+    // only the appending thread changes this
+    long size;
+    // remapped (larger) when a read reaches past it
+    volatile MappedByteBuffer mapped;
+
+    Segment(int number, FileChannel channel, long size) {
+      this.number = number;
+      this.channel = channel;
+      this.size = size;
+    }
+  }
+
+  private record Location(Segment segment, long offset, int length) {
+  }
+
+  private final Path directory;
+  private final long segmentBytes;
+  private final List<Segment> segments = new ArrayList<>();
+  private final Map<Long, Location> index = new ConcurrentHashMap<>();
+
+  private ArticleSegmentStore(Path directory, long segmentBytes) {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+  }
+
+  /**
+   * @param segmentBytes size at which a new segment is started; records
+   *                     are addressed with int offsets, so at most 2 GiB
+   */
+  public static ArticleSegmentStore open(Path directory, long segmentBytes) throws IOException {
+    if (segmentBytes <= HEADER_BYTES || segmentBytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("segment size must be between %d bytes and 2 GiB".formatted(HEADER_BYTES));
+    }
+    Files.createDirectories(directory);
+    ArticleSegmentStore store = new ArticleSegmentStore(directory, segmentBytes);
+    List<Integer> numbers;
+    try (Stream<Path> files = Files.list(directory)) {
+      numbers = files.map(path -> SEGMENT_NAME.matcher(path.getFileName().toString()))
+          .filter(Matcher::matches)
+          .map(m -> Integer.parseInt(m.group(1)))
+          .sorted()
+          .toList();
+    }
+    for (int i = 0; i < numbers.size(); i++) {
+      store.load(numbers.get(i), i == numbers.size() - 1);
+    }
+    log.info("articleSegmentStore directory={} segments={} articles={}", directory, numbers.size(), store.index.size());
+    return store;
+  }
+
+  private void load(int number, boolean newest) throws IOException {
+    FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long fileSize = channel.size();
+    Segment segment = new Segment(number, channel, fileSize);
+    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+    long offset = 0;
+    while (offset + HEADER_BYTES <= fileSize) {
+      int length = mapped.getInt((int) offset);
+      long id = mapped.getLong((int) offset + 4);
+      if (length == TOMBSTONE) {
+        index.remove(id);
+        offset += HEADER_BYTES;
+        continue;
+      }
+      long end = offset + HEADER_BYTES + length;
+      if (length < 0 || end > fileSize || crc(mapped, (int) offset + HEADER_BYTES, length) != mapped.getInt((int) offset + 12)) {
+        break;
+      }
+      index.put(id, new Location(segment, offset + HEADER_BYTES, length));
+      offset = end;
+    }
+    if (offset < fileSize) {
+      if (newest) {
+        log.warn("articleSegmentStore segment={} truncating torn tail at {} of {} bytes", number, offset, fileSize);
+        channel.truncate(offset);
+        segment.size = offset;
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, offset);
+      } else {
+        log.error("articleSegmentStore segment={} damaged at {} of {} bytes; later records in it are unreadable",
+            number, offset, fileSize);
+      }
+    }
+    segment.mapped = mapped;
+    segments.add(segment);
+  }
+
+  /** Appends the articles, forces them to disk and only then indexes them. */
+  public synchronized void append(Collection<UCSBArticles> articles) throws IOException {
+    Map<Long, Location> written = new LinkedHashMap<>();
+    Set<Segment> touched = new LinkedHashSet<>();
+    for (UCSBArticles article : articles) {
+      byte[] payload = ArticleCodec.encode(article);
+      Segment segment = segmentFor(HEADER_BYTES + payload.length);
+      ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+      record.putInt(payload.length).putLong(article.getId()).putInt(crc(payload)).put(payload).flip();
+      long offset = write(segment, record);
+      written.put(article.getId(), new Location(segment, offset + HEADER_BYTES, payload.length));
+      touched.add(segment);
+    }
+    for (Segment segment : touched) {
+      segment.channel.force(false);
+    }
+    index.putAll(written);
+  }
+
+  /** @return false if the article was not in the store */
+  public synchronized boolean delete(long id) throws IOException {
+    if (!index.containsKey(id)) {
+      return false;
+    }
+    Segment segment = segmentFor(HEADER_BYTES);
+    ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES);
+    record.putInt(TOMBSTONE).putLong(id).putInt(0).flip();
+    write(segment, record);
+    segment.channel.force(false);
+    index.remove(id);
+    return true;
+  }
+
+  public Optional<UCSBArticles> get(long id) {
+    Location location = index.get(id);
+    if (location == null) {
+      return Optional.empty();
+    }
+    byte[] payload = new byte[location.length()];
+    mappedThrough(location).get((int) location.offset(), payload);
+    try {
+      return Optional.of(ArticleCodec.decode(payload));
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("article %d in segment %d is unreadable".formatted(id, location.segment().number), e);
+    }
+  }
+
+  public boolean contains(long id) {
+    return index.containsKey(id);
+  }
+
+  /** A live view of the ids in the store. */
+  public Set<Long> ids() {
+    return index.keySet();
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    index.clear();
+    for (Segment segment : segments) {
+      segment.mapped = null;
+      segment.channel.close();
+    }
+    segments.clear();
+  }
+
+  private Segment segmentFor(int recordBytes) throws IOException {
+    Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+    // an oversized record still gets a segment of its own
+    if (active == null || (active.size > 0 && active.size + recordBytes > segmentBytes)) {
+      int number = active == null ? 1 : active.number + 1;
+      FileChannel channel = FileChannel.open(segmentPath(number),
+          StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      active = new Segment(number, channel, 0);
+      segments.add(active);
+    }
+    if (active.size + recordBytes > Integer.MAX_VALUE) {
+      throw new IOException("article record of %d bytes is too large".formatted(recordBytes));
+    }
+    return active;
+  }
+
+  private static long write(Segment segment, ByteBuffer record) throws IOException {
+    long offset = segment.size;
+    long position = offset;
+    while (record.hasRemaining()) {
+      position += segment.channel.write(record, position);
+    }
+    segment.size = position;
+    return offset;
+  }
+
+  private static MappedByteBuffer mappedThrough(Location location) {
+    Segment segment = location.segment();
+    long end = location.offset() + location.length();
+    MappedByteBuffer mapped = segment.mapped;
+    if (mapped != null && mapped.capacity() >= end) {
+      return mapped;
+    }
+    synchronized (segment) {
+      mapped = segment.mapped;
+      if (mapped == null || mapped.capacity() < end) {
+        try {
+          // the indexed record is on disk, so the file is at least this long
+          mapped = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.max(end, segment.channel.size()));
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        segment.mapped = mapped;
+      }
+      return mapped;
+    }
+  }
+
+  private Path segmentPath(int number) {
+    return directory.resolve("articles-%06d.seg".formatted(number));
+  }
+
+  private static int crc(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private static int crc(MappedByteBuffer mapped, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(mapped.slice(offset, length));
+    return (int) crc.getValue();
+  }
+}
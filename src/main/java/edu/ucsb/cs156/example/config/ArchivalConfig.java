@@ -0,0 +1,62 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.ucsb.cs156.example.archive.ArchivedTable;
+import edu.ucsb.cs156.example.archive.RequestArchiver;
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+
+/**
+ * Moves solved help requests and done recommendation requests older than
+ * the configured ages into their archive tables every
+ * {@code app.archival.interval}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.archival.enabled", havingValue = "true")
+public class ArchivalConfig {
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  @Value("${app.archival.chunk-size:500}")
+  private int chunkSize;
+
+  @Value("${app.archival.help-request-age:P30D}")
+  private Duration helpRequestAge;
+
+  @Value("${app.archival.recommendation-request-age:P90D}")
+  private Duration recommendationRequestAge;
+
+  @Bean
+  public RequestArchiver requestArchiver() {
+    return new RequestArchiver(dataSource, transactionManager, bulkWriteNotifier, List.of(
+        ArchivedTable.solvedHelpRequests(helpRequestAge),
+        ArchivedTable.doneRecommendationRequests(recommendationRequestAge)), chunkSize);
+  }
+
+  @Scheduled(fixedDelayString = "${app.archival.interval:PT1H}",
+      initialDelayString = "${app.archival.interval:PT1H}")
+  public void archive() {
+    requestArchiver().archiveAll(LocalDateTime.now());
+  }
+}
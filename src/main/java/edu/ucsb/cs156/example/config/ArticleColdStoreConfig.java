@@ -0,0 +1,80 @@
+package edu.ucsb.cs156.example.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.ucsb.cs156.example.bloom.KeyExistenceFilters;
+import edu.ucsb.cs156.example.coldstore.ArticleCompactor;
+import edu.ucsb.cs156.example.coldstore.ArticleSegmentStore;
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+
+/**
+ * Keeps articles older than {@code app.article-cold-store.age} in segment
+ * files under {@code app.article-cold-store.directory} instead of the
+ * database, compacting every {@code app.article-cold-store.interval}.
+ * Off unless enabled: the directory must be on a disk that outlives the
+ * application (not the ephemeral filesystem of a dyno or container).
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.article-cold-store.enabled", havingValue = "true")
+public class ArticleColdStoreConfig {
+
+  @Autowired
+  UCSBArticlesRepository ucsbArticlesRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  @Autowired
+  ObjectProvider<KeyExistenceFilters> keyExistenceFilters;
+
+  @Value("${app.article-cold-store.directory}")
+  private Path directory;
+
+  @Value("${app.article-cold-store.segment-bytes:67108864}")
+  private long segmentBytes;
+
+  @Value("${app.article-cold-store.age:P120D}")
+  private Duration age;
+
+  @Value("${app.article-cold-store.chunk-size:500}")
+  private int chunkSize;
+
+  @Bean(destroyMethod = "close")
+  public ArticleSegmentStore articleSegmentStore() throws IOException {
+    ArticleSegmentStore store = ArticleSegmentStore.open(directory, segmentBytes);
+    // cold ids are not in the table the filter is built from
+    keyExistenceFilters.ifAvailable(filters -> filters.addKeySource(UCSBArticles.class, store::ids));
+    return store;
+  }
+
+  @Bean
+  public ArticleCompactor articleCompactor(ArticleSegmentStore articleSegmentStore) {
+    return new ArticleCompactor(articleSegmentStore, ucsbArticlesRepository, transactionManager,
+        bulkWriteNotifier, age, chunkSize);
+  }
+
+  @Scheduled(fixedDelayString = "${app.article-cold-store.interval:PT6H}",
+      initialDelayString = "${app.article-cold-store.interval:PT6H}")
+  public void compact() throws IOException {
+    articleCompactor(articleSegmentStore()).compact(LocalDateTime.now());
+  }
+}
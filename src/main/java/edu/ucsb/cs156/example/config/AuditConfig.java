@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.example.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.ucsb.cs156.example.audit.AuditEventListener;
+import edu.ucsb.cs156.example.audit.AuditLog;
+
+/**
+ * Audits every committed entity write (and each bulk JDBC write) to
+ * rolling files under {@code app.audit.directory}, keeping the newest
+ * {@code app.audit.max-files} of {@code app.audit.file-bytes} each. Off
+ * by default; the directory has no default, since files written to an
+ * ephemeral filesystem would be lost on every deploy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true")
+public class AuditConfig {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Value("${app.audit.directory}")
+  private Path directory;
+
+  @Value("${app.audit.file-bytes:16777216}")
+  private long fileBytes;
+
+  @Value("${app.audit.max-files:64}")
+  private int maxFiles;
+
+  @Value("${app.audit.buffer-capacity:65536}")
+  private int bufferCapacity;
+
+  @Bean(destroyMethod = "close")
+  public AuditLog auditLog() throws IOException {
+    AuditLog auditLog = new AuditLog(directory, fileBytes, maxFiles, bufferCapacity);
+    auditLog.start();
+    new AuditEventListener(auditLog).registerListener(entityManagerFactory);
+    return auditLog;
+  }
+}
@@ -0,0 +1,58 @@
+package edu.ucsb.cs156.example.config;
+
+import java.util.List;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Lets API clients ask for CBOR ({@code application/cbor}), Smile
+ * ({@code application/x-jackson-smile}) or MessagePack
+ * ({@code application/msgpack}) with the Accept header.
+ *
+ * The binary mappers come from Spring Boot's Jackson builder, so they have
+ * the same modules and {@code spring.jackson.*} settings as the JSON one.
+ * They are placed directly after the JSON converter: a request without a
+ * specific Accept header still gets JSON, because negotiation picks the
+ * first converter that can produce a compatible type.
+ */
+@Configuration
+public class BinaryContentNegotiationConfig implements WebMvcConfigurer {
+
+  @Autowired
+  ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    // replace Spring's defaults, which use an unconfigured builder
+    converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter
+        || c instanceof MappingJackson2SmileHttpMessageConverter
+        || c instanceof MessagePackHttpMessageConverter);
+    int json = 0;
+    while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+      json++;
+    }
+    int at = Math.min(json + 1, converters.size());
+    converters.addAll(at, List.of(
+        new MappingJackson2CborHttpMessageConverter(builder(new CBORFactory()).build()),
+        new MappingJackson2SmileHttpMessageConverter(builder(new SmileFactory()).build()),
+        new MessagePackHttpMessageConverter(builder(new MessagePackFactory()).build())));
+  }
+
+  private Jackson2ObjectMapperBuilder builder(JsonFactory factory) {
+    // the builder bean is prototype-scoped, so each call gets a fresh copy
+    return builders.getObject().createXmlMapper(false).factory(factory);
+  }
+}
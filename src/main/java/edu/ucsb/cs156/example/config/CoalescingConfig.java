@@ -0,0 +1,17 @@
+package edu.ucsb.cs156.example.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.ucsb.cs156.example.coalesce.RepositoryCoalescer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class CoalescingConfig {
+
+  @Bean
+  public RepositoryCoalescer repositoryCoalescer() {
+    return new RepositoryCoalescer();
+  }
+}
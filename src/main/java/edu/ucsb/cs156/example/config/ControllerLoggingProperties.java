@@ -0,0 +1,32 @@
+package edu.ucsb.cs156.example.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the "===== GET /api/... handled by ..." lines written by
+ * {@code LoggingAspect}, e.g.
+ *
+ * <pre>
+ * app.controller-logging.stoplist=FrontendProxyController
+ * app.controller-logging.sample-every.UCSBDiningCommonsMenuItemController=100
+ * app.controller-logging.sample-every[UCSBDatesController.getById]=10
+ * </pre>
+ *
+ * Both are keyed by controller simple name, or by controller and method
+ * name; a handler sampled every {@code n} is logged on every n-th call.
+ */
+@Data
+@ConfigurationProperties("app.controller-logging")
+public class ControllerLoggingProperties {
+
+  private boolean enabled = true;
+  private Set<String> stoplist = new HashSet<>(Set.of("FrontendProxyController"));
+  private Map<String, Integer> sampleEvery = new HashMap<>();
+}
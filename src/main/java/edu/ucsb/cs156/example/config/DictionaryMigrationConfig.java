@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.ucsb.cs156.example.dictionary.DictionaryColumnMigration;
+
+/**
+ * Fills the dictionary-encoded id columns from the old text columns when
+ * the session factory starts. Always on: the first deploy against an
+ * existing database adds empty id columns, and until they are filled those
+ * rows would be served with null values. Once every row is encoded it is a
+ * metadata lookup and one short query per column.
+ */
+@Configuration
+public class DictionaryMigrationConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer dictionaryMigrationHibernateProperties() {
+    return hibernateProperties -> hibernateProperties.put(AvailableSettings.SESSION_FACTORY_OBSERVER,
+        new DictionaryColumnMigration());
+  }
+}
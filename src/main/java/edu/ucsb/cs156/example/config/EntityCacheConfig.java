@@ -0,0 +1,97 @@
+package edu.ucsb.cs156.example.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Second-level cache for the entities behind the CRUD controllers, held
+ * on-heap by Ehcache through JCache, so repeat {@code findById} calls for
+ * hot rows are answered without a database round trip.
+ *
+ * Concurrency strategy, size and TTL come from {@link EntityCacheProperties};
+ * each entity's region is named after its class.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+@ConditionalOnProperty(name = "app.cache.entities.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfig {
+
+  static final List<Class<?>> CACHED_ENTITIES = List.of(
+      HelpRequest.class,
+      MenuItemReview.class,
+      RecommendationRequest.class,
+      UCSBArticles.class,
+      UCSBDate.class,
+      UCSBDiningCommons.class,
+      UCSBDiningCommonsMenuItem.class,
+      UCSBOrganization.class);
+
+  // a cache manager of this context's own: the provider's default one is shared by every context in the JVM
+  // (e.g. cached test contexts), and closing it on shutdown would close the others' caches too
+  @Bean(destroyMethod = "close")
+  public CacheManager entityCacheManager(EntityCacheProperties properties) {
+    EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+        EhcacheCachingProvider.class.getName());
+    CacheManager cacheManager = provider.getCacheManager(URI.create("urn:entity-cache:" + UUID.randomUUID()),
+        new DefaultConfiguration(getClass().getClassLoader()));
+    for (Class<?> entity : CACHED_ENTITIES) {
+      EntityCacheProperties.Settings settings = properties.resolve(entity);
+      cacheManager.createCache(entity.getName(), Eh107Configuration.fromEhcacheCacheConfiguration(
+          CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+              ResourcePoolsBuilder.heap(settings.getSize()))
+              .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(settings.getTtl()))));
+      log.info("Entity cache {}: strategy={} size={} ttl={}",
+          entity.getSimpleName(), settings.getStrategy(), settings.getSize(), settings.getTtl());
+    }
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer entityCacheHibernateProperties(
+      CacheManager entityCacheManager, EntityCacheProperties properties) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+      hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+      // defaults to GENERATE_STATISTICS: a listener per session, logging "Session Metrics" at INFO on close
+      hibernateProperties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+      for (Class<?> entity : CACHED_ENTITIES) {
+        // hibernate.classcache.<class>=<strategy> marks the entity cacheable
+        // without needing @Cache on the entity itself
+        hibernateProperties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + entity.getName(),
+            properties.resolve(entity).getStrategy());
+      }
+    };
+  }
+}
@@ -0,0 +1,65 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the Hibernate second-level entity cache, e.g.
+ *
+ * <pre>
+ * app.cache.entities.defaults.size=1000
+ * app.cache.entities.overrides.UCSBOrganization.strategy=read-only
+ * app.cache.entities.overrides.UCSBOrganization.ttl=1h
+ * </pre>
+ *
+ * Overrides are keyed by entity class simple name; anything an override
+ * leaves unset falls back to the defaults.
+ */
+@Data
+@ConfigurationProperties("app.cache.entities")
+public class EntityCacheProperties {
+
+  private boolean enabled = true;
+  private Settings defaults = new Settings("read-write", 1000L, Duration.ofMinutes(10));
+  private Map<String, Settings> overrides = new HashMap<>();
+
+  @Data
+  public static class Settings {
+    // one of read-only, read-write, nonstrict-read-write
+    private String strategy;
+    // maximum entries held on heap
+    private Long size;
+    private Duration ttl;
+
+    public Settings() {
+    }
+
+    public Settings(String strategy, Long size, Duration ttl) {
+      this.strategy = strategy;
+      this.size = size;
+      this.ttl = ttl;
+    }
+  }
+
+  public Settings resolve(Class<?> entity) {
+    Settings override = null;
+    for (Map.Entry<String, Settings> entry : overrides.entrySet()) {
+      if (entry.getKey().toLowerCase(Locale.ROOT).equals(entity.getSimpleName().toLowerCase(Locale.ROOT))) {
+        override = entry.getValue();
+      }
+    }
+    if (override == null) {
+      return defaults;
+    }
+    return new Settings(
+        override.getStrategy() != null ? override.getStrategy() : defaults.getStrategy(),
+        override.getSize() != null ? override.getSize() : defaults.getSize(),
+        override.getTtl() != null ? override.getTtl() : defaults.getTtl());
+  }
+}
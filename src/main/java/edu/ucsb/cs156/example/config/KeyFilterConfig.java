@@ -0,0 +1,63 @@
+package edu.ucsb.cs156.example.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.ucsb.cs156.example.bloom.KeyExistenceFilters;
+import edu.ucsb.cs156.example.bloom.KeyLookupInterceptor;
+
+/**
+ * Bloom filters of existing primary keys, built once the application is
+ * up and rebuilt every {@code app.key-filter.rebuild-interval} to forget
+ * deleted keys. Disabled in the test profile, where repositories are mocks.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.key-filter.enabled", havingValue = "true")
+public class KeyFilterConfig implements WebMvcConfigurer {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  ObjectMapper mapper;
+
+  @Value("${app.key-filter.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  @Bean
+  public KeyExistenceFilters keyExistenceFilters() {
+    KeyExistenceFilters filters = new KeyExistenceFilters(entityManagerFactory, falsePositiveRate);
+    filters.registerListener();
+    return filters;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildFilters() {
+    keyExistenceFilters().rebuildAll();
+  }
+
+  @Scheduled(fixedDelayString = "${app.key-filter.rebuild-interval:PT10M}",
+      initialDelayString = "${app.key-filter.rebuild-interval:PT10M}")
+  public void rebuildFilters() {
+    keyExistenceFilters().rebuildAll();
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new KeyLookupInterceptor(keyExistenceFilters(), mapper)).addPathPatterns("/api/**");
+  }
+}
@@ -0,0 +1,24 @@
+package edu.ucsb.cs156.example.config;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.Assert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * MessagePack counterpart of Spring's CBOR and Smile converters; Spring
+ * does not ship one.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+  public static final MediaType APPLICATION_MSGPACK = MediaType.valueOf("application/msgpack");
+
+  public static final MediaType APPLICATION_X_MSGPACK = MediaType.valueOf("application/x-msgpack");
+
+  public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper, APPLICATION_MSGPACK, APPLICATION_X_MSGPACK);
+    Assert.isInstanceOf(MessagePackFactory.class, objectMapper.getFactory(), "MessagePackFactory required");
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.ucsb.cs156.example.ratelimit.RateLimitInterceptor;
+import edu.ucsb.cs156.example.ratelimit.RateLimiter;
+
+/**
+ * Per-user rate limiting of {@code /api/**}. Disabled in the test profile,
+ * where every test in a cached context runs as the same mock user. Full
+ * buckets are swept every {@code app.rate-limit.sweep-interval}.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+  @Autowired
+  RateLimitProperties properties;
+
+  @Autowired
+  ObjectMapper mapper;
+
+  @Bean
+  public RateLimiter rateLimiter() {
+    return new RateLimiter(properties.budgets(), properties.getMaxBuckets(), System::nanoTime);
+  }
+
+  @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1M}",
+      initialDelayString = "${app.rate-limit.sweep-interval:PT1M}")
+  public void evictFullBuckets() {
+    rateLimiter().evictFull();
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // ahead of the response cache, so cached hits are charged too
+    registry.addInterceptor(new RateLimitInterceptor(rateLimiter(), mapper))
+        .addPathPatterns("/api/**")
+        .order(Ordered.HIGHEST_PRECEDENCE);
+  }
+}
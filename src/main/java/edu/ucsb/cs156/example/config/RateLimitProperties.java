@@ -0,0 +1,55 @@
+package edu.ucsb.cs156.example.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimiter;
+import lombok.Data;
+
+/**
+ * Token-bucket budgets per endpoint class, e.g.
+ *
+ * <pre>
+ * app.rate-limit.expensive-list.capacity=10
+ * app.rate-limit.expensive-list.refill-per-second=0.5
+ * </pre>
+ *
+ * Capacity is the burst a principal may make at once; the bucket then
+ * refills at {@code refill-per-second}.
+ */
+@Data
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+  private boolean enabled = true;
+  // above this many buckets, full ones are swept
+  private int maxBuckets = 10_000;
+  private Budget cheapRead = new Budget(120, 20);
+  private Budget expensiveList = new Budget(10, 1);
+  private Budget adminWrite = new Budget(30, 2);
+
+  @Data
+  public static class Budget {
+    private int capacity;
+    private double refillPerSecond;
+
+    public Budget() {
+    }
+
+    public Budget(int capacity, double refillPerSecond) {
+      this.capacity = capacity;
+      this.refillPerSecond = refillPerSecond;
+    }
+  }
+
+  public Map<EndpointClass, RateLimiter.Budget> budgets() {
+    Map<EndpointClass, RateLimiter.Budget> budgets = new EnumMap<>(EndpointClass.class);
+    budgets.put(EndpointClass.CHEAP_READ, new RateLimiter.Budget(cheapRead.capacity, cheapRead.refillPerSecond));
+    budgets.put(EndpointClass.EXPENSIVE_LIST, new RateLimiter.Budget(expensiveList.capacity, expensiveList.refillPerSecond));
+    budgets.put(EndpointClass.ADMIN_WRITE, new RateLimiter.Budget(adminWrite.capacity, adminWrite.refillPerSecond));
+    return budgets;
+  }
+}
@@ -0,0 +1,81 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import edu.ucsb.cs156.example.datasource.DataSourceRoute;
+import edu.ucsb.cs156.example.datasource.ReadWriteRoutingDataSource;
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits connections between the primary ({@code spring.datasource.*}) and a
+ * read replica ({@code app.datasource.replica.*}). Only active when
+ * {@code app.datasource.replica.url} is set; otherwise Spring Boot's single
+ * auto-configured datasource is used as before.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadWriteRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(
+      DataSourceProperties properties,
+      @Value("${app.datasource.replica.url}") String url,
+      @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+    HikariDataSource replica = properties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .url(url)
+        .username(username)
+        .password(password)
+        .build();
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+    return replica;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica) {
+    ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+    routing.setTargetDataSources(Map.of(
+        DataSourceRoute.PRIMARY, primary,
+        DataSourceRoute.REPLICA, replica));
+    routing.setDefaultTargetDataSource(primary);
+    routing.afterPropertiesSet();
+    log.info("Routing read-only GET requests to replica datasource");
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  @Bean
+  public RecentWriteTracker recentWriteTracker(
+      @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window) {
+    return new RecentWriteTracker(window, Clock.systemUTC());
+  }
+}
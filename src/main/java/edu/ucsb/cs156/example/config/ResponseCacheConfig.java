@@ -0,0 +1,62 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import edu.ucsb.cs156.example.cache.ResponseCache;
+import edu.ucsb.cs156.example.cache.ResponseCacheInterceptor;
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+
+/**
+ * Turns on the serialized-response cache for {@code @CachedResponse}
+ * handlers. Disabled in the test profile so controller tests always reach
+ * their mocked repositories.
+ *
+ * With a read replica ({@code app.datasource.replica.url}), bodies are not
+ * stored for the read-your-writes window after a write, while the replica
+ * may still be behind.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true")
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+  @Value("${app.response-cache.max-entries:1000}")
+  private int maxEntries;
+
+  @Value("${app.response-cache.max-entry-bytes:1048576}")
+  private int maxEntryBytes;
+
+  @Value("${app.response-cache.ttl:60s}")
+  private Duration ttl;
+
+  @Value("${app.datasource.replica.url:}")
+  private String replicaUrl;
+
+  @Value("${app.datasource.replica.read-your-writes-window:5s}")
+  private Duration readYourWritesWindow;
+
+  private final ObjectProvider<RecentWriteTracker> recentWriteTracker;
+
+  public ResponseCacheConfig(ObjectProvider<RecentWriteTracker> recentWriteTracker) {
+    this.recentWriteTracker = recentWriteTracker;
+  }
+
+  @Bean
+  public ResponseCache responseCache() {
+    Duration replicaLag = replicaUrl.isEmpty() ? Duration.ZERO : readYourWritesWindow;
+    return new ResponseCache(maxEntries, maxEntryBytes, ttl, replicaLag);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ResponseCacheInterceptor(responseCache(), recentWriteTracker.getIfAvailable()))
+        .addPathPatterns("/api/**");
+  }
+}
@@ -0,0 +1,90 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Clock;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.reviewstats.MenuItemLeaderboards;
+import edu.ucsb.cs156.example.reviewstats.MenuItemReviewEvents;
+import edu.ucsb.cs156.example.reviewstats.ReviewAggregate;
+import edu.ucsb.cs156.example.reviewstats.ReviewerReviewCounts;
+import edu.ucsb.cs156.example.reviewstats.TrendingMenuItems;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory review aggregates behind the trending, leaderboard and
+ * per-reviewer endpoints. Each aggregate is seeded from the table while the
+ * context starts, before the listener that keeps it current is registered,
+ * so no review is counted twice.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.review-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class ReviewStatsConfig {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  MenuItemReviewRepository menuItemReviewRepository;
+
+  @Autowired
+  UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @Value("${app.review-stats.leaderboard.size:25}")
+  private int leaderboardSize;
+
+  @Value("${app.review-stats.leaderboard.min-reviews:5}")
+  private long leaderboardMinReviews;
+
+  @Value("${app.review-stats.leaderboard.prior-mean:3.0}")
+  private double leaderboardPriorMean;
+
+  @Value("${app.review-stats.leaderboard.prior-weight:5}")
+  private double leaderboardPriorWeight;
+
+  @Bean
+  public TrendingMenuItems trendingMenuItems() {
+    TrendingMenuItems trending = new TrendingMenuItems(Clock.systemDefaultZone());
+    var recent = menuItemReviewRepository.findRowsReviewedSince(trending.retainedSince());
+    recent.forEach(trending::add);
+    log.info("trendingMenuItems seeded reviews={}", recent.size());
+    return trending;
+  }
+
+  @Bean
+  public MenuItemLeaderboards menuItemLeaderboards() {
+    MenuItemLeaderboards leaderboards = new MenuItemLeaderboards(
+        leaderboardSize, leaderboardMinReviews, leaderboardPriorMean, leaderboardPriorWeight);
+    ucsbDiningCommonsMenuItemRepository.findAll().forEach(leaderboards::putMenuItem);
+    var totals = menuItemReviewRepository.findTotalsByItem();
+    totals.forEach(t -> leaderboards.addTotals(t.itemId(), t.reviewCount(), t.starSum()));
+    log.info("menuItemLeaderboards seeded items={}", totals.size());
+    return leaderboards;
+  }
+
+  @Bean
+  public ReviewerReviewCounts reviewerReviewCounts() {
+    ReviewerReviewCounts counts = new ReviewerReviewCounts();
+    var reviewers = menuItemReviewRepository.findCountsByReviewer();
+    reviewers.forEach(r -> counts.addCount(r.reviewerEmail(), r.reviewCount()));
+    log.info("reviewerReviewCounts seeded reviewers={}", reviewers.size());
+    return counts;
+  }
+
+  @Bean
+  public MenuItemReviewEvents menuItemReviewEvents(List<ReviewAggregate> aggregates) {
+    MenuItemReviewEvents events = new MenuItemReviewEvents(aggregates);
+    events.registerListener(entityManagerFactory);
+    return events;
+  }
+}
@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.example.config;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import edu.ucsb.cs156.example.sql.SlowQueryDataSourcePostProcessor;
+import edu.ucsb.cs156.example.sql.SlowQueryRecorder;
+import edu.ucsb.cs156.example.sql.SlowQueryStore;
+
+/**
+ * Records SQL statements that take at least {@code app.slow-query.threshold}
+ * with their bound parameters, the repository method, caller and endpoint
+ * that issued them and, with {@code app.slow-query.explain}, their plan.
+ * The last {@code app.slow-query.capacity} are at /api/admin/slow-queries.
+ * Plans are worked out one at a time on a background thread, which holds
+ * at most one pooled connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true")
+public class SlowQueryConfig {
+
+  @Value("${app.slow-query.threshold:200ms}")
+  private Duration threshold;
+
+  @Value("${app.slow-query.capacity:200}")
+  private int capacity;
+
+  @Value("${app.slow-query.include-parameters:true}")
+  private boolean includeParameters;
+
+  @Value("${app.slow-query.max-parameter-chars:200}")
+  private int maxParameterChars;
+
+  @Value("${app.slow-query.explain:false}")
+  private boolean explain;
+
+  @Value("${app.slow-query.explain-queue-size:100}")
+  private int explainQueueSize;
+
+  // static, as post processors are created before the rest of the configuration
+  @Bean
+  public static SlowQueryDataSourcePostProcessor slowQueryDataSourcePostProcessor(
+      ObjectProvider<SlowQueryRecorder> slowQueryRecorder) {
+    return new SlowQueryDataSourcePostProcessor(slowQueryRecorder);
+  }
+
+  @Bean
+  public SlowQueryStore slowQueryStore() {
+    return new SlowQueryStore(capacity);
+  }
+
+  // the explain executor is not a bean of its own: an Executor bean would replace Spring Boot's applicationTaskExecutor
+  @Bean(destroyMethod = "close")
+  public SlowQueryRecorder slowQueryRecorder() {
+    ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(explainQueueSize), new CustomizableThreadFactory("slow-query-explain-"));
+    return new SlowQueryRecorder(slowQueryStore(), threshold, includeParameters, maxParameterChars, explain, capacity,
+        explainExecutor);
+  }
+}
@@ -0,0 +1,64 @@
+package edu.ucsb.cs156.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import edu.ucsb.cs156.example.trace.TraceFilter;
+import edu.ucsb.cs156.example.trace.TraceInterceptor;
+import edu.ucsb.cs156.example.trace.TraceStore;
+
+/**
+ * In-process request tracing (see {@link TraceFilter}): keeps the last
+ * {@code app.tracing.recent} traces and the
+ * {@code app.tracing.slowest-per-endpoint} slowest of each endpoint, for
+ * /api/admin/traces.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tracing.enabled", havingValue = "true")
+public class TracingConfig implements WebMvcConfigurer {
+
+  @Value("${app.tracing.recent:200}")
+  private int recent;
+
+  @Value("${app.tracing.slowest-per-endpoint:5}")
+  private int slowestPerEndpoint;
+
+  @Value("${app.tracing.max-endpoints:500}")
+  private int maxEndpoints;
+
+  @Value("${app.tracing.max-spans:256}")
+  private int maxSpans;
+
+  @Bean
+  public TraceStore traceStore() {
+    return new TraceStore(recent, slowestPerEndpoint, maxEndpoints);
+  }
+
+  // around the Spring Security filter chain, which is registered at DEFAULT_FILTER_ORDER
+  @Bean
+  public FilterRegistrationBean<TraceFilter> traceFilter() {
+    FilterRegistrationBean<TraceFilter> registration = new FilterRegistrationBean<>(
+        new TraceFilter(traceStore(), maxSpans));
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+
+  @Bean
+  public FilterRegistrationBean<TraceFilter.SecurityBoundary> traceSecurityBoundaryFilter() {
+    FilterRegistrationBean<TraceFilter.SecurityBoundary> registration = new FilterRegistrationBean<>(
+        new TraceFilter.SecurityBoundary());
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+    return registration;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new TraceInterceptor());
+  }
+}
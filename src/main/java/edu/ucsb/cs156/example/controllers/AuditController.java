@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.audit.AuditLog;
+import edu.ucsb.cs156.example.models.AuditEntry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Audit log (admin only)")
+@RequestMapping("/api/admin/audit")
+@RestController
+public class AuditController extends ApiController {
+
+    static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    ObjectProvider<AuditLog> auditLog;
+
+    @Operation(summary= "List audited writes, newest first")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<AuditEntry> auditEntries(
+            @Parameter(name="entity", description="entity class name, e.g. UCSBDate") @RequestParam(required = false) String entity,
+            @Parameter(name="id", description="id of the entity") @RequestParam(required = false) String id,
+            @Parameter(name="user", description="email of the user who made the change") @RequestParam(required = false) String user,
+            @Parameter(name="since", description="in iso format, e.g. YYYY-mm-ddTHH:MM:SS (server time zone)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(name="limit", description="how many entries to return (at most 1000)") @RequestParam(defaultValue = "100") int limit)
+            throws IOException {
+        AuditLog log = auditLog.getIfAvailable();
+        if (log == null) {
+            return List.of();
+        }
+        return log.query(entity, id, user, since == null ? null : since.atZone(ZoneId.systemDefault()).toInstant(),
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,32 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.coalesce.RepositoryCoalescer;
+import edu.ucsb.cs156.example.models.CoalescingStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Request coalescing (admin only)")
+@RequestMapping("/api/admin/coalescing")
+@RestController
+public class CoalescingController extends ApiController {
+
+    @Autowired
+    ObjectProvider<RepositoryCoalescer> repositoryCoalescer;
+
+    @Operation(summary= "Get how many repository reads were shared with a concurrent identical read")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<CoalescingStats> coalescingStats() {
+        RepositoryCoalescer coalescer = repositoryCoalescer.getIfAvailable();
+        return coalescer == null ? List.of() : coalescer.getStats();
+    }
+}
@@ -0,0 +1,30 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.EntityCacheStats;
+import edu.ucsb.cs156.example.services.EntityCacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Entity cache (admin only)")
+@RequestMapping("/api/admin/cache")
+@RestController
+public class EntityCacheController extends ApiController {
+
+    @Autowired
+    EntityCacheStatsService entityCacheStatsService;
+
+    @Operation(summary= "Get hit/miss counts for each second-level cache region")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/entities")
+    public List<EntityCacheStats> entityCacheStats() {
+        return entityCacheStatsService.getEntityCacheStats();
+    }
+}
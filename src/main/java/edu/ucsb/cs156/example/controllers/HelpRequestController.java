@@ -1,7 +1,14 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.entities.ArchivedHelpRequest;
 import edu.ucsb.cs156.example.entities.HelpRequest;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.HelpRequestRow;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.repositories.ArchivedHelpRequestRepository;
 import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,6 +33,9 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.validation.Valid;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "HelpRequests")
 @RequestMapping("/api/helprequests")
@@ -36,11 +46,36 @@ public class HelpRequestController extends ApiController {
     @Autowired
     HelpRequestRepository helpRequestRepository;
 
+    @Autowired
+    ArchivedHelpRequestRepository archivedHelpRequestRepository;
+
+    @Autowired
+    SparseFieldsetService sparseFieldsetService;
+
     @Operation(summary= "List all help requests")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/all")
-    public Iterable<HelpRequest> allUCSBDates() {
-        Iterable<HelpRequest> requests = helpRequestRepository.findAll();
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public List<?> allUCSBDates(
+            @Parameter(name="includeExplanation", description="also return the explanation column") @RequestParam(defaultValue = "false") boolean includeExplanation,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included), e.g. id,teamId") @RequestParam(required = false) String fields,
+            @Parameter(name="includeArchived", description="also return solved requests that have been archived") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (fields != null) {
+            List<Object> rows = new ArrayList<>(sparseFieldsetService.findAll(HelpRequest.class, fields));
+            if (includeArchived) {
+                rows.addAll(sparseFieldsetService.findAll(ArchivedHelpRequest.class, fields));
+            }
+            return rows;
+        }
+        List<HelpRequestRow> requests = includeExplanation
+                ? helpRequestRepository.findAllRows()
+                : helpRequestRepository.findAllRowsWithoutExplanation();
+        if (includeArchived) {
+            requests = new ArrayList<>(requests);
+            requests.addAll(includeExplanation
+                    ? archivedHelpRequestRepository.findAllRows()
+                    : archivedHelpRequestRepository.findAllRowsWithoutExplanation());
+        }
         return requests;
     }
 
@@ -76,13 +111,23 @@ public class HelpRequestController extends ApiController {
 
     @Operation(summary= "Get a single help request")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @KeyLookup(entity = HelpRequest.class, param = "id", bypassParam = "includeArchived")
     @GetMapping("")
-    public HelpRequest getById(
-            @Parameter(name="id") @RequestParam Long id) {
-        HelpRequest helpRequest = helpRequestRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
-
-        return helpRequest;
+    public Object getById(
+            @Parameter(name="id") @RequestParam Long id,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included)") @RequestParam(required = false) String fields,
+            @Parameter(name="includeArchived", description="also look among archived requests") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (fields != null) {
+            return sparseFieldsetService.findById(HelpRequest.class, id, fields)
+                    .or(() -> includeArchived ? sparseFieldsetService.findById(ArchivedHelpRequest.class, id, fields) : Optional.empty())
+                    .orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
+        }
+        Optional<?> helpRequest = helpRequestRepository.findById(id);
+        if (helpRequest.isEmpty() && includeArchived) {
+            helpRequest = archivedHelpRequestRepository.findById(id);
+        }
+
+        return helpRequest.orElseThrow(() -> new EntityNotFoundException(HelpRequest.class, id));
     }
 
     @Operation(summary= "Delete a HelpRequest")
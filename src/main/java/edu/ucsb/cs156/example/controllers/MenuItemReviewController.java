@@ -1,8 +1,15 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
 import edu.ucsb.cs156.example.entities.MenuItemReview;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.MenuItemReviewPage;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+import edu.ucsb.cs156.example.reviewstats.ReviewerReviewCounts;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
 import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,7 +19,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,6 +39,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.validation.Valid;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Tag(name = "MenuItemReviews")
 @RequestMapping("/api/menuitemreviews")
@@ -37,14 +50,61 @@ public class MenuItemReviewController extends ApiController {
     @Autowired
     MenuItemReviewRepository menuItemReviewRepository;
 
+    @Autowired
+    SparseFieldsetService sparseFieldsetService;
+
+    @Autowired
+    ObjectProvider<ReviewerReviewCounts> reviewerReviewCounts;
+
+    @Value("${app.menuitemreviews.max-page-size:100}")
+    int maxPageSize = 100;
+
+    // newest first; id breaks ties between reviews written at the same time
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("dateReviewed"), Sort.Order.desc("id"));
+
     @Operation(summary= "List all menu item reviews")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/all")
-    public Iterable<MenuItemReview> allMenuItemReviews() {
-        Iterable<MenuItemReview> menuItemReviews = menuItemReviewRepository.findAll();
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public List<?> allMenuItemReviews(
+            @Parameter(name="includeComments", description="also return the comments column") @RequestParam(defaultValue = "false") boolean includeComments,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included), e.g. id,stars") @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparseFieldsetService.findAll(MenuItemReview.class, fields);
+        }
+        List<MenuItemReviewRow> menuItemReviews = includeComments
+                ? menuItemReviewRepository.findAllRows()
+                : menuItemReviewRepository.findAllRowsWithoutComments();
         return menuItemReviews;
     }
 
+    @Operation(summary= "Get one page of the reviews written by a reviewer, newest first")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/byReviewer")
+    public MenuItemReviewPage reviewsByReviewer(
+            @Parameter(name="reviewerEmail") @RequestParam String reviewerEmail,
+            @Parameter(name="page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(name="size") @RequestParam(defaultValue = "20") int size) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        Slice<MenuItemReviewRow> reviews = menuItemReviewRepository.findRowsByReviewerEmail(reviewerEmail,
+                PageRequest.of(pageNumber, pageSize, NEWEST_FIRST));
+
+        // the maintained counter is only missing when app.review-stats.enabled is false
+        ReviewerReviewCounts counts = reviewerReviewCounts.getIfAvailable();
+        long totalReviews = counts != null
+                ? counts.getCount(reviewerEmail)
+                : menuItemReviewRepository.countByReviewerEmail(reviewerEmail);
+
+        return MenuItemReviewPage.builder()
+                .content(reviews.getContent())
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(reviews.hasNext())
+                .totalReviews(totalReviews)
+                .build();
+    }
+
     @Operation(summary= "Create a new menu item review")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/post")
@@ -75,9 +135,15 @@ public class MenuItemReviewController extends ApiController {
 
     @Operation(summary= "Get a single menu item review")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @KeyLookup(entity = MenuItemReview.class, param = "id")
     @GetMapping("")
-    public MenuItemReview getById(
-            @Parameter(name="id") @RequestParam Long id) {
+    public Object getById(
+            @Parameter(name="id") @RequestParam Long id,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included)") @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparseFieldsetService.findById(MenuItemReview.class, id, fields)
+                    .orElseThrow(() -> new EntityNotFoundException(MenuItemReview.class, id));
+        }
         MenuItemReview menuItemReview = menuItemReviewRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(MenuItemReview.class, id));
 
@@ -0,0 +1,59 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.LeaderboardEntry;
+import edu.ucsb.cs156.example.models.TrendingMenuItem;
+import edu.ucsb.cs156.example.reviewstats.MenuItemLeaderboards;
+import edu.ucsb.cs156.example.reviewstats.TrendingMenuItems;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "MenuItemReviews")
+@RequestMapping("/api/menuitemreviews")
+@RestController
+public class MenuItemReviewStatsController extends ApiController {
+
+    public static final int MAX_LIMIT = 100;
+
+    @Autowired
+    ObjectProvider<TrendingMenuItems> trendingMenuItems;
+
+    @Autowired
+    ObjectProvider<MenuItemLeaderboards> menuItemLeaderboards;
+
+    @Operation(summary= "List the menu items reviewed most often in the last hour, day or week")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/trending")
+    public List<TrendingMenuItem> trending(
+            @Parameter(name="window", description="HOUR, DAY or WEEK") @RequestParam(defaultValue = "DAY") TrendingMenuItems.Window window,
+            @Parameter(name="limit", description="how many items to return (at most 100)") @RequestParam(defaultValue = "10") int limit) {
+        TrendingMenuItems trending = trendingMenuItems.getIfAvailable();
+        if (trending == null) {
+            return List.of();
+        }
+        return trending.top(window, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @Operation(summary= "List the best-rated menu items of a dining commons")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/leaderboard")
+    public List<LeaderboardEntry> leaderboard(
+            @Parameter(name="diningCommonsCode") @RequestParam String diningCommonsCode,
+            @Parameter(name="limit", description="how many items to return (at most the configured leaderboard size)") @RequestParam(defaultValue = "10") int limit) {
+        MenuItemLeaderboards leaderboards = menuItemLeaderboards.getIfAvailable();
+        if (leaderboards == null) {
+            return List.of();
+        }
+        return leaderboards.top(diningCommonsCode, Math.max(1, Math.min(limit, leaderboards.getSize())));
+    }
+}
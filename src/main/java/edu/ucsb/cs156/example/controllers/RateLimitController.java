@@ -0,0 +1,32 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.RateLimitStats;
+import edu.ucsb.cs156.example.ratelimit.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Rate limiting (admin only)")
+@RequestMapping("/api/admin/ratelimit")
+@RestController
+public class RateLimitController extends ApiController {
+
+    @Autowired
+    ObjectProvider<RateLimiter> rateLimiter;
+
+    @Operation(summary= "Get the budget and allowed/rejected counts for each endpoint class")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<RateLimitStats> rateLimitStats() {
+        RateLimiter limiter = rateLimiter.getIfAvailable();
+        return limiter == null ? List.of() : limiter.getStats();
+    }
+}
@@ -1,8 +1,15 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.entities.ArchivedRecommendationRequest;
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.RecommendationRequestRow;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.repositories.ArchivedRecommendationRequestRepository;
 import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,6 +34,9 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.validation.Valid;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "RecommendationRequest")
 @RequestMapping("/api/recommendationrequest")
@@ -37,11 +47,36 @@ public class RecommendationRequestController extends ApiController {
     @Autowired
     RecommendationRequestRepository RecRequestRepository;
 
+    @Autowired
+    ArchivedRecommendationRequestRepository archivedRecRequestRepository;
+
+    @Autowired
+    SparseFieldsetService sparseFieldsetService;
+
     @Operation(summary= "List all Recommendation Requests")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/all")
-    public Iterable<RecommendationRequest> allRecommendationRequest() {
-        Iterable<RecommendationRequest> requests = RecRequestRepository.findAll();
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public List<?> allRecommendationRequest(
+            @Parameter(name="includeExplanation", description="also return the explanation column") @RequestParam(defaultValue = "false") boolean includeExplanation,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included), e.g. id,professorEmail") @RequestParam(required = false) String fields,
+            @Parameter(name="includeArchived", description="also return done requests that have been archived") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (fields != null) {
+            List<Object> rows = new ArrayList<>(sparseFieldsetService.findAll(RecommendationRequest.class, fields));
+            if (includeArchived) {
+                rows.addAll(sparseFieldsetService.findAll(ArchivedRecommendationRequest.class, fields));
+            }
+            return rows;
+        }
+        List<RecommendationRequestRow> requests = includeExplanation
+                ? RecRequestRepository.findAllRows()
+                : RecRequestRepository.findAllRowsWithoutExplanation();
+        if (includeArchived) {
+            requests = new ArrayList<>(requests);
+            requests.addAll(includeExplanation
+                    ? archivedRecRequestRepository.findAllRows()
+                    : archivedRecRequestRepository.findAllRowsWithoutExplanation());
+        }
         return requests;
     }
 
@@ -80,13 +115,23 @@ public class RecommendationRequestController extends ApiController {
 
     @Operation(summary= "Get a single Recommendation Request")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @KeyLookup(entity = RecommendationRequest.class, param = "id", bypassParam = "includeArchived")
     @GetMapping("")
-    public RecommendationRequest getById(
-            @Parameter(name="id") @RequestParam Long id) {
-        RecommendationRequest RecRequest = RecRequestRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
-
-        return RecRequest;
+    public Object getById(
+            @Parameter(name="id") @RequestParam Long id,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included)") @RequestParam(required = false) String fields,
+            @Parameter(name="includeArchived", description="also look among archived requests") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (fields != null) {
+            return sparseFieldsetService.findById(RecommendationRequest.class, id, fields)
+                    .or(() -> includeArchived ? sparseFieldsetService.findById(ArchivedRecommendationRequest.class, id, fields) : Optional.empty())
+                    .orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
+        }
+        Optional<?> RecRequest = RecRequestRepository.findById(id);
+        if (RecRequest.isEmpty() && includeArchived) {
+            RecRequest = archivedRecRequestRepository.findById(id);
+        }
+
+        return RecRequest.orElseThrow(() -> new EntityNotFoundException(RecommendationRequest.class, id));
     }
 
     @Operation(summary= "Delete a Recommendation Request")
@@ -0,0 +1,35 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.models.SlowQuery;
+import edu.ucsb.cs156.example.sql.SlowQueryStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Slow SQL queries (admin only)")
+@RequestMapping("/api/admin/slow-queries")
+@RestController
+public class SlowQueryController extends ApiController {
+
+    @Autowired
+    ObjectProvider<SlowQueryStore> slowQueryStore;
+
+    @Operation(summary= "Most recent SQL statements over app.slow-query.threshold, newest first")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<SlowQuery> slowQueries(
+            @Parameter(name="limit", description="how many queries to return") @RequestParam(defaultValue = "50") int limit) {
+        SlowQueryStore store = slowQueryStore.getIfAvailable();
+        return store == null ? List.of() : store.recent(limit);
+    }
+}
@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.models.PerformanceSnapshot;
 import edu.ucsb.cs156.example.models.SystemInfo;
 import edu.ucsb.cs156.example.services.SystemInfoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,4 +26,11 @@ public class SystemInfoController extends ApiController {
         return systemInfoService.getSystemInfo();
     }
 
+    @Operation(summary= "Get memory, GC, thread and connection pool usage (admin only)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/performance")
+    public PerformanceSnapshot getPerformanceSnapshot() {
+        return systemInfoService.getPerformanceSnapshot();
+    }
+
 }
\ No newline at end of file
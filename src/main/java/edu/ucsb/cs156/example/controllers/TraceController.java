@@ -0,0 +1,61 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.RequestTrace;
+import edu.ucsb.cs156.example.trace.TraceStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Request traces (admin only)")
+@RequestMapping("/api/admin/traces")
+@RestController
+public class TraceController extends ApiController {
+
+    @Autowired
+    ObjectProvider<TraceStore> traceStore;
+
+    @Operation(summary= "Most recent request traces, newest first")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<RequestTrace> recentTraces(
+            @Parameter(name="limit", description="how many traces to return") @RequestParam(defaultValue = "50") int limit) {
+        TraceStore store = traceStore.getIfAvailable();
+        return store == null ? List.of() : store.recent(limit);
+    }
+
+    @Operation(summary= "Slowest request traces kept for each endpoint, or for one endpoint")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/slowest")
+    public Map<String, List<RequestTrace>> slowestTraces(
+            @Parameter(name="endpoint", description="method and path pattern, e.g. GET /api/ucsbdates/all") @RequestParam(required = false) String endpoint) {
+        TraceStore store = traceStore.getIfAvailable();
+        if (store == null) {
+            return Map.of();
+        }
+        return endpoint == null ? store.slowest() : Map.of(endpoint, store.slowest(endpoint));
+    }
+
+    @Operation(summary= "A single request trace, by the id sent in its X-Request-Id response header")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/{id}")
+    public RequestTrace trace(
+            @Parameter(name="id") @PathVariable String id) {
+        return Optional.ofNullable(traceStore.getIfAvailable())
+                .flatMap(store -> store.find(id))
+                .orElseThrow(() -> new EntityNotFoundException(RequestTrace.class, id));
+    }
+}
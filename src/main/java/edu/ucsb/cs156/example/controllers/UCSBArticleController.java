@@ -1,7 +1,13 @@
 package edu.ucsb.cs156.example.controllers;
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.coldstore.ArticleSegmentStore;
 import edu.ucsb.cs156.example.entities.UCSBArticles;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.UCSBArticleRow;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
 import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,7 +32,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "UCSBArticles")
 @RequestMapping("/api/ucsbarticles")
@@ -35,11 +45,26 @@ public class UCSBArticleController extends ApiController {
     @Autowired
     UCSBArticlesRepository ucsbArticlesRepository;
 
+    @Autowired
+    SparseFieldsetService sparseFieldsetService;
+
+    // old articles, when the cold tier is enabled
+    @Autowired
+    ObjectProvider<ArticleSegmentStore> articleSegmentStore;
+
     @Operation(summary= "List all Articles")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/all")
-    public Iterable<UCSBArticles> allRecommendationRequest() {
-        Iterable<UCSBArticles> requests = ucsbArticlesRepository.findAll();
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public List<?> allRecommendationRequest(
+            @Parameter(name="includeExplanation", description="also return the explanation column") @RequestParam(defaultValue = "false") boolean includeExplanation,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included), e.g. id,title") @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparseFieldsetService.findAll(UCSBArticles.class, fields);
+        }
+        List<UCSBArticleRow> requests = includeExplanation
+                ? ucsbArticlesRepository.findAllRows()
+                : ucsbArticlesRepository.findAllRowsWithoutExplanation();
         return requests;
     }
 
@@ -75,24 +100,41 @@ public class UCSBArticleController extends ApiController {
 
     @Operation(summary= "Get a single Article")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @KeyLookup(entity = UCSBArticles.class, param = "id")
     @GetMapping("")
-    public UCSBArticles getById(
-            @Parameter(name="id") @RequestParam Long id) {
+    public Object getById(
+            @Parameter(name="id") @RequestParam Long id,
+            @Parameter(name="fields", description="comma-separated fields to return (id is always included)") @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparseFieldsetService.findById(UCSBArticles.class, id, fields)
+                    .or(() -> findCold(id).map(article -> sparseFieldsetService.project(article, fields)))
+                    .orElseThrow(() -> new EntityNotFoundException(UCSBArticles.class, id));
+        }
         UCSBArticles RecRequest = ucsbArticlesRepository.findById(id)
+                .or(() -> findCold(id))
                 .orElseThrow(() -> new EntityNotFoundException(UCSBArticles.class, id));
 
         return RecRequest;
     }
 
+    private Optional<UCSBArticles> findCold(long id) {
+        ArticleSegmentStore store = articleSegmentStore.getIfAvailable();
+        return store == null ? Optional.empty() : store.get(id);
+    }
+
     @Operation(summary= "Delete an article")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @DeleteMapping("")
     public Object deleteRecommendationRequest(
-            @Parameter(name="id") @RequestParam Long id) {
-        UCSBArticles ucsbArticle = ucsbArticlesRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(UCSBArticles.class, id));
-
-        ucsbArticlesRepository.delete(ucsbArticle);
+            @Parameter(name="id") @RequestParam Long id) throws IOException {
+        Optional<UCSBArticles> ucsbArticle = ucsbArticlesRepository.findById(id);
+        ucsbArticle.ifPresent(ucsbArticlesRepository::delete);
+        // also drops a cold copy left by an interrupted compaction
+        ArticleSegmentStore store = articleSegmentStore.getIfAvailable();
+        boolean deletedCold = store != null && store.delete(id);
+        if (ucsbArticle.isEmpty() && !deletedCold) {
+            throw new EntityNotFoundException(UCSBArticles.class, id);
+        }
         return genericMessage("UCSBArticles with id %s deleted".formatted(id));
     }
 
@@ -1,5 +1,9 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.cache.CachedResponse;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
@@ -38,7 +42,9 @@ public class UCSBDatesController extends ApiController {
 
     @Operation(summary= "List all ucsb dates")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDate.class)
     @GetMapping("/all")
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
     public Iterable<UCSBDate> allUCSBDates() {
         Iterable<UCSBDate> dates = ucsbDateRepository.findAll();
         return dates;
@@ -70,6 +76,8 @@ public class UCSBDatesController extends ApiController {
 
     @Operation(summary= "Get a single date")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDate.class)
+    @KeyLookup(entity = UCSBDate.class, param = "id")
     @GetMapping("")
     public UCSBDate getById(
             @Parameter(name="id") @RequestParam Long id) {
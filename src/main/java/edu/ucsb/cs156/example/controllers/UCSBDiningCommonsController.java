@@ -1,5 +1,9 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.cache.CachedResponse;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
@@ -33,7 +37,9 @@ public class UCSBDiningCommonsController extends ApiController {
 
     @Operation(summary= "List all ucsb dining commons")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDiningCommons.class)
     @GetMapping("/all")
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
     public Iterable<UCSBDiningCommons> allCommonss() {
         Iterable<UCSBDiningCommons> commons = ucsbDiningCommonsRepository.findAll();
         return commons;
@@ -69,6 +75,8 @@ public class UCSBDiningCommonsController extends ApiController {
 
     @Operation(summary= "Get a single commons")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDiningCommons.class)
+    @KeyLookup(entity = UCSBDiningCommons.class, param = "code")
     @GetMapping("")
     public UCSBDiningCommons getById(
             @Parameter(name="code") @RequestParam String code) {
@@ -1,8 +1,14 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.cache.CachedResponse;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.MenuItemImportResult;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.services.MenuItemImportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,8 +29,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
 @Tag(name = "UCSBDiningCommonsMenuItem")
 @RequestMapping("/api/UCSBDiningCommonsMenuItem")
 @RestController
@@ -33,9 +45,14 @@ public class UCSBDiningCommonsMenuItemController extends ApiController {
     @Autowired
     UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
 
+    @Autowired
+    MenuItemImportService menuItemImportService;
+
     @Operation(summary= "List all ucsb dining commons menu items")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDiningCommonsMenuItem.class)
     @GetMapping("/all")
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
     public Iterable<UCSBDiningCommonsMenuItem> allUCSBDiningCommonsMenuItem() {
         Iterable<UCSBDiningCommonsMenuItem> menuItems = ucsbDiningCommonsMenuItemRepository.findAll();
         return menuItems;
@@ -64,8 +81,18 @@ public class UCSBDiningCommonsMenuItemController extends ApiController {
         return savedUcsbDiningCommonsMenuItem;
     }
 
+    @Operation(summary= "Import menu items from a CSV body (UTF-8) with a diningCommonsCode,name,station header")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    public MenuItemImportResult importUCSBDiningCommonsMenuItems(HttpServletRequest request) throws IOException {
+        // read straight from the request, so the file is never buffered whole
+        return menuItemImportService.importCsv(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+    }
+
     @Operation(summary= "Get a single menu item")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBDiningCommonsMenuItem.class)
+    @KeyLookup(entity = UCSBDiningCommonsMenuItem.class, param = "id")
     @GetMapping("")
     public UCSBDiningCommonsMenuItem getById(
             @Parameter(name="id") @RequestParam Long id) {
@@ -1,10 +1,16 @@
 package edu.ucsb.cs156.example.controllers;
 
+import edu.ucsb.cs156.example.bloom.KeyLookup;
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
+import edu.ucsb.cs156.example.cache.CachedResponse;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
 import edu.ucsb.cs156.example.errors.EntityNotFoundException;
+import edu.ucsb.cs156.example.models.OrganizationSyncResult;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
 import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import edu.ucsb.cs156.example.services.OrganizationSyncService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +30,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
 
+import java.util.List;
+
 @Tag(name = "UCSBOrganization")
 @RequestMapping("/api/ucsborganization")
 @RestController
@@ -33,9 +41,14 @@ public class UCSBOrganizationController extends ApiController {
     @Autowired
     UCSBOrganizationRepository ucsbOrganizationRepository;
 
+    @Autowired
+    OrganizationSyncService organizationSyncService;
+
     @Operation(summary= "List all ucsb organizations")
     @PreAuthorize("hasRole('ROLE_USER')")
+    @CachedResponse(entity = UCSBOrganization.class)
     @GetMapping("/all")
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
     public Iterable<UCSBOrganization> allOrganizations() {
         Iterable<UCSBOrganization> orgs = ucsbOrganizationRepository.findAll();
         return orgs;
@@ -64,8 +77,19 @@ public class UCSBOrganizationController extends ApiController {
         return savedOrganizations;
     }
 
+    @Operation(summary= "Insert or update organizations by orgCode from a full list, writing only the ones that changed")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/sync")
+    public OrganizationSyncResult syncOrganizations(
+        @Parameter(name="deactivateMissing", description="mark organizations that are not in the list inactive") @RequestParam(defaultValue = "true") boolean deactivateMissing,
+        @RequestBody List<UCSBOrganization> organizations) {
+        return organizationSyncService.sync(organizations, deactivateMissing);
+    }
+
     @Operation(summary= "Get a single organization")
             @PreAuthorize("hasRole('ROLE_USER')")
+            @CachedResponse(entity = UCSBOrganization.class)
+            @KeyLookup(entity = UCSBOrganization.class, param = "orgCode")
             @GetMapping("")
             public UCSBOrganization getById(
                     @Parameter(name="orgCode") @RequestParam String orgCode) {
@@ -1,38 +1,120 @@
 package edu.ucsb.cs156.example.controllers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.ucsb.cs156.example.ratelimit.EndpointClass;
+import edu.ucsb.cs156.example.ratelimit.RateLimit;
 import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.UserPage;
 import edu.ucsb.cs156.example.repositories.UserRepository;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletResponse;
+
 
 @Tag(name="User information (admin only)")
 @RequestMapping("/api/admin/users")
 @RestController
 public class UsersController extends ApiController {
+    private static final List<Boolean> ANY_ADMIN = List.of(true, false);
+    // order by lower(u.email)
+    static final Sort BY_LOWER_EMAIL = Sort.by(Sort.Order.asc("email").ignoreCase());
+
     @Autowired
     UserRepository userRepository;
 
     @Autowired
     ObjectMapper mapper;
 
+    @Value("${app.admin.users.stream-batch-size:500}")
+    int streamBatchSize = 500;
+
+    @Value("${app.admin.users.max-page-size:200}")
+    int maxPageSize = 200;
+
     @Operation(summary= "Get a list of all users")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("")
-    public ResponseEntity<String> users()
-            throws JsonProcessingException {
-        Iterable<User> users = userRepository.findAll();
-        String body = mapper.writeValueAsString(users);
-        return ResponseEntity.ok().body(body);
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public void users(HttpServletResponse response)
+            throws IOException {
+        // read in id order one batch at a time and write each user as it
+        // arrives, so memory use does not grow with the number of users
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ObjectWriter writer = mapper.writerFor(User.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            PageRequest batch = PageRequest.of(0, streamBatchSize, Sort.by("id"));
+            long afterId = Long.MIN_VALUE;
+            List<User> users;
+            do {
+                users = userRepository.findByIdGreaterThan(afterId, batch);
+                for (User user : users) {
+                    writer.writeValue(generator, user);
+                    afterId = user.getId();
+                }
+            } while (users.size() == streamBatchSize);
+            generator.writeEndArray();
+        }
+    }
+
+    @Operation(summary= "Get one page of users, optionally filtered by email or name prefix and admin status")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/page")
+    @RateLimit(EndpointClass.EXPENSIVE_LIST)
+    public UserPage usersPage(
+            @Parameter(name="page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(name="size") @RequestParam(defaultValue = "50") int size,
+            @Parameter(name="emailPrefix", description="matches emails starting with this (case-insensitive)") @RequestParam(required = false) String emailPrefix,
+            @Parameter(name="namePrefix", description="matches full names starting with this") @RequestParam(required = false) String namePrefix,
+            @Parameter(name="admin", description="only admins (true) or only non-admins (false)") @RequestParam(required = false) Boolean admin) {
+        int pageNumber = Math.max(0, page);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<Boolean> adminValues = admin == null ? ANY_ADMIN : List.of(admin);
+
+        Slice<User> users;
+        if (emailPrefix != null && !emailPrefix.isEmpty()) {
+            // ordered by lower(email), like the index that answers the filter
+            users = userRepository.findByEmailLike(startsWith(emailPrefix.toLowerCase(Locale.ROOT)), adminValues,
+                    PageRequest.of(pageNumber, pageSize, BY_LOWER_EMAIL));
+        } else if (namePrefix != null && !namePrefix.isEmpty()) {
+            users = userRepository.findByFullNameLike(startsWith(namePrefix), adminValues,
+                    PageRequest.of(pageNumber, pageSize, Sort.by("fullName")));
+        } else {
+            users = userRepository.findByAdminIn(adminValues, PageRequest.of(pageNumber, pageSize, Sort.by("id")));
+        }
+
+        return UserPage.builder()
+                .content(users.getContent())
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext(users.hasNext())
+                .build();
+    }
+
+    // a LIKE pattern for strings starting with prefix; _ (common in emails) and % match only themselves
+    static String startsWith(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package edu.ucsb.cs156.example.datasource;
+
+/**
+ * The pools a {@link ReadWriteRoutingDataSource} can hand connections out of.
+ */
+public enum DataSourceRoute {
+  PRIMARY,
+  REPLICA
+}
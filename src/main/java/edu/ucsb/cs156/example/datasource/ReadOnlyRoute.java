@@ -0,0 +1,15 @@
+package edu.ucsb.cs156.example.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method (or every method of a controller) as safe to
+ * serve from the read replica, in addition to every {@code @GetMapping}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyRoute {
+}
@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends a connection to the replica only when the request was routed there
+ * AND the surrounding transaction is read-only (e.g. Spring Data's
+ * {@code findAll}/{@code findById}); anything that writes, even inside a GET,
+ * still goes to the primary.
+ *
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy} so that the
+ * lookup happens once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (RoutingContext.current() == DataSourceRoute.REPLICA
+        && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return DataSourceRoute.REPLICA;
+    }
+    return DataSourceRoute.PRIMARY;
+  }
+}
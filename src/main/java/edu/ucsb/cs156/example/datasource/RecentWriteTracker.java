@@ -0,0 +1,57 @@
+package edu.ucsb.cs156.example.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so that their reads stay on the
+ * primary until the replica has had time to catch up (read-your-writes).
+ */
+public class RecentWriteTracker {
+
+  // past this many tracked users, expired entries are swept on the next write
+  private static final int SWEEP_THRESHOLD = 10_000;
+
+  private final ConcurrentHashMap<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+  private final long windowMillis;
+  private final Clock clock;
+
+  public RecentWriteTracker(Duration window, Clock clock) {
+    this.windowMillis = window.toMillis();
+    this.clock = clock;
+  }
+
+  public void recordWrite(String user) {
+    if (user != null) {
+      lastWriteMillis.put(user, clock.millis());
+      if (lastWriteMillis.size() > SWEEP_THRESHOLD) {
+        evictExpired();
+      }
+    }
+  }
+
+  public boolean wroteRecently(String user) {
+    if (user == null) {
+      return false;
+    }
+    Long last = lastWriteMillis.get(user);
+    if (last == null) {
+      return false;
+    }
+    if (clock.millis() - last < windowMillis) {
+      return true;
+    }
+    lastWriteMillis.remove(user, last);
+    return false;
+  }
+
+  public void evictExpired() {
+    long cutoff = clock.millis() - windowMillis;
+    lastWriteMillis.values().removeIf(last -> last <= cutoff);
+  }
+
+  public int size() {
+    return lastWriteMillis.size();
+  }
+}
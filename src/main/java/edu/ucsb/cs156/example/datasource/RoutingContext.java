@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.example.datasource;
+
+/**
+ * Holds, per thread, whether the current request may read from the replica.
+ * The default (nothing set) is the primary.
+ */
+public final class RoutingContext {
+
+  private static final ThreadLocal<DataSourceRoute> CURRENT = new ThreadLocal<>();
+
+  private RoutingContext() {
+  }
+
+  public static DataSourceRoute current() {
+    DataSourceRoute route = CURRENT.get();
+    return route == null ? DataSourceRoute.PRIMARY : route;
+  }
+
+  /**
+   * Sets the route for this thread and returns the previous one (possibly
+   * null), which must be handed back to {@link #restore} in a finally block.
+   */
+  public static DataSourceRoute set(DataSourceRoute route) {
+    DataSourceRoute previous = CURRENT.get();
+    CURRENT.set(route);
+    return previous;
+  }
+
+  public static void restore(DataSourceRoute previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
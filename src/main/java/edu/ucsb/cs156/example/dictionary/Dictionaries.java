@@ -0,0 +1,31 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+/**
+ * The dictionaries of each database. Attribute converters are created by
+ * Hibernate (through Spring's bean container) once per persistence unit,
+ * so they find their dictionary here by data source rather than as a bean;
+ * code that writes encoded columns over plain JDBC does the same.
+ */
+public final class Dictionaries {
+
+  public static final String STATION = "station";
+  public static final String DINING_COMMONS_CODE = "diningCommonsCode";
+  public static final String TEAM_ID = "teamId";
+  public static final String TEAM_OR_BREAKOUT_ROOM = "teamOrBreakoutRoom";
+  public static final String QUARTER = "quarterYYYYQ";
+
+  private static final Map<DataSource, Map<String, Dictionary>> BY_DATA_SOURCE = new ConcurrentHashMap<>();
+
+  private Dictionaries() {
+  }
+
+  public static Dictionary get(DataSource dataSource, String name) {
+    return BY_DATA_SOURCE.computeIfAbsent(dataSource, ds -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, n -> new Dictionary(n, dataSource));
+  }
+}
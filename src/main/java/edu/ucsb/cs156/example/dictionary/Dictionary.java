@@ -0,0 +1,212 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The distinct values of one dictionary-encoded column and their ids in
+ * {@code dictionary_entries}. Every entity loaded with a value shares the
+ * one canonical {@code String} held here.
+ *
+ * Values are added the first time they are written, on the surrounding
+ * transaction's connection (so on the primary, and without taking a second
+ * one from the pool); until that transaction commits the new id is only
+ * visible to it. Ids and values written by another instance are loaded one
+ * entry at a time when first read, and a value found missing is not looked
+ * up again for {@link #MISS_TTL_SECONDS}.
+ */
+@Slf4j
+public class Dictionary {
+
+  static final long MISS_TTL_SECONDS = 10;
+
+  private final String name;
+  private final DataSource dataSource;
+  private final LongSupplier nanoTime;
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private final Map<Integer, String> terms = new ConcurrentHashMap<>();
+  private final Map<String, Long> missingUntil = new ConcurrentHashMap<>();
+
+  Dictionary(String name, DataSource dataSource) {
+    this(name, dataSource, System::nanoTime);
+  }
+
+  Dictionary(String name, DataSource dataSource, LongSupplier nanoTime) {
+    this.name = name;
+    this.dataSource = dataSource;
+    this.nanoTime = nanoTime;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int size() {
+    return ids.size();
+  }
+
+  /** The id of the value, adding it to the dictionary if it is new. */
+  public int encode(String term) {
+    Integer id = idOf(term);
+    return id != null ? id : insert(term);
+  }
+
+  /**
+   * The id of the value, or null if it has never been written; never adds
+   * it, so this is what query parameters are bound with.
+   */
+  public Integer idOf(String term) {
+    Integer id = ids.get(term);
+    if (id != null) {
+      return id;
+    }
+    Map<String, Integer> pending = pending();
+    if (pending != null && (id = pending.get(term)) != null) {
+      return id;
+    }
+    Long until = missingUntil.get(term);
+    if (until != null && until - nanoTime.getAsLong() > 0) {
+      return null;
+    }
+    id = load("select id, term from dictionary_entries where dictionary = ? and term = ?", term);
+    if (id == null) {
+      missingUntil.put(term, nanoTime.getAsLong() + TimeUnit.SECONDS.toNanos(MISS_TTL_SECONDS));
+    }
+    return id;
+  }
+
+  public String decode(int id) {
+    String term = terms.get(id);
+    if (term == null) {
+      Map<String, Integer> pending = pending();
+      if (pending != null) {
+        for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+          if (entry.getValue() == id) {
+            return entry.getKey();
+          }
+        }
+      }
+      // a row referencing the id is committed, so its entry is too
+      if (load("select id, term from dictionary_entries where dictionary = ? and id = ?", id) == null) {
+        throw new IllegalStateException("no entry %d in dictionary %s".formatted(id, name));
+      }
+      term = terms.get(id);
+    }
+    return term;
+  }
+
+  /** Loads the one entry matching {@code key}, returning its id. */
+  private Integer load(String sql, Object key) {
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement select = connection.prepareStatement(sql)) {
+      select.setString(1, name);
+      select.setObject(2, key);
+      try (ResultSet rows = select.executeQuery()) {
+        if (!rows.next()) {
+          return null;
+        }
+        int id = rows.getInt(1);
+        put(id, rows.getString(2));
+        return id;
+      }
+    } catch (SQLException e) {
+      throw new DataAccessResourceFailureException("could not load from dictionary " + name, e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  private int insert(String term) {
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      boolean inTransaction = !connection.getAutoCommit();
+      // a failed statement aborts a PostgreSQL transaction, so a lost race must only undo the insert
+      Savepoint savepoint = inTransaction ? connection.setSavepoint() : null;
+      Integer id;
+      try (PreparedStatement insert = connection.prepareStatement(
+          "insert into dictionary_entries (dictionary, term) values (?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+        insert.setString(1, name);
+        insert.setString(2, term);
+        insert.executeUpdate();
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+          keys.next();
+          id = keys.getInt(1);
+        }
+      } catch (SQLException e) {
+        // most likely another instance added it first (unique constraint)
+        if (savepoint != null) {
+          connection.rollback(savepoint);
+        }
+        missingUntil.remove(term);
+        id = idOf(term);
+        if (id == null) {
+          throw new DataAccessResourceFailureException("could not add %s to dictionary %s".formatted(term, name), e);
+        }
+        return id;
+      }
+      if (savepoint != null) {
+        connection.releaseSavepoint(savepoint);
+      }
+      if (inTransaction && TransactionSynchronizationManager.isSynchronizationActive()) {
+        addPending(term, id);
+      } else {
+        put(id, term);
+      }
+      missingUntil.remove(term);
+      log.info("dictionary={} added term={} id={}", name, term, id);
+      return id;
+    } catch (SQLException e) {
+      throw new DataAccessResourceFailureException("could not add %s to dictionary %s".formatted(term, name), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Integer> pending() {
+    return (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+  }
+
+  /** Holds an id added in the current transaction until it commits, and forgets it if it rolls back. */
+  private void addPending(String term, int id) {
+    Map<String, Integer> pending = pending();
+    if (pending == null) {
+      Map<String, Integer> added = new HashMap<>();
+      TransactionSynchronizationManager.bindResource(this, added);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(Dictionary.this);
+          if (status == STATUS_COMMITTED) {
+            added.forEach((t, i) -> put(i, t));
+          }
+        }
+      });
+      pending = added;
+    }
+    pending.put(term, id);
+  }
+
+  private void put(int id, String term) {
+    String canonical = terms.computeIfAbsent(id, i -> term);
+    ids.putIfAbsent(canonical, id);
+  }
+}
@@ -0,0 +1,117 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves databases created before dictionary encoding onto it: each old
+ * text column's distinct values are added to {@code dictionary_entries}
+ * and its id column is filled in. The text columns are kept, unmapped, so
+ * a rollback to the previous release still has its data; drop them by
+ * hand once that is no longer needed.
+ *
+ * Registered as a session factory observer (see
+ * {@code DictionaryMigrationConfig}), so on every startup it runs once
+ * {@code ddl-auto} has added the id columns and before anything reads
+ * them; otherwise existing rows would read back with null values. It only
+ * does work while a text column still has rows with an empty id column,
+ * and only fills those, so running it again is harmless, and it does
+ * nothing on a schema that never had the text columns.
+ */
+@Slf4j
+public class DictionaryColumnMigration implements SessionFactoryObserver {
+
+  record EncodedColumn(String table, String textColumn, String idColumn, String dictionary) {
+  }
+
+  static final List<EncodedColumn> COLUMNS = List.of(
+      new EncodedColumn("ucsbdiningcommonsmenuitem", "station", "station_dict_id", Dictionaries.STATION),
+      new EncodedColumn("ucsbdiningcommonsmenuitem", "dining_commons_code", "dining_commons_code_dict_id",
+          Dictionaries.DINING_COMMONS_CODE),
+      new EncodedColumn("helprequest", "team_id", "team_id_dict_id", Dictionaries.TEAM_ID),
+      new EncodedColumn("helprequest", "team_or_breakout_room", "team_or_breakout_room_dict_id",
+          Dictionaries.TEAM_OR_BREAKOUT_ROOM),
+      new EncodedColumn("ucsbdates", "quarteryyyyq", "quarteryyyyq_dict_id", Dictionaries.QUARTER));
+
+  @Override
+  public void sessionFactoryCreated(SessionFactory factory) {
+    ConnectionProvider connections = ((SessionFactoryImplementor) factory).getServiceRegistry()
+        .getService(ConnectionProvider.class);
+    try {
+      Connection connection = connections.getConnection();
+      try {
+        for (EncodedColumn column : COLUMNS) {
+          if (hasColumn(connection, column.table(), column.textColumn()) && needsMigration(connection, column)) {
+            migrate(connection, column);
+          }
+        }
+      } finally {
+        connections.closeConnection(connection);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("could not move text columns to dictionary encoding", e);
+    }
+  }
+
+  /** Whether any row has a value in the text column but none in the id column. */
+  static boolean needsMigration(Connection connection, EncodedColumn column) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rows = statement.executeQuery("""
+            select 1 from %1$s where %3$s is null and %2$s is not null fetch first 1 rows only
+            """.formatted(column.table(), column.textColumn(), column.idColumn()))) {
+      return rows.next();
+    }
+  }
+
+  static void migrate(Connection connection, EncodedColumn column) throws SQLException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      int added = statement.executeUpdate("""
+          insert into dictionary_entries (dictionary, term)
+          select distinct '%1$s', t.%2$s from %3$s t
+          where t.%2$s is not null
+            and not exists (select 1 from dictionary_entries d where d.dictionary = '%1$s' and d.term = t.%2$s)
+          """.formatted(column.dictionary(), column.textColumn(), column.table()));
+      int encoded = statement.executeUpdate("""
+          update %3$s t
+          set %4$s = (select d.id from dictionary_entries d where d.dictionary = '%1$s' and d.term = t.%2$s)
+          where t.%4$s is null and t.%2$s is not null
+          """.formatted(column.dictionary(), column.textColumn(), column.table(), column.idColumn()));
+      connection.commit();
+      log.info("dictionary={} table={} column={} terms added={} rows encoded={}",
+          column.dictionary(), column.table(), column.textColumn(), added, encoded);
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+    DatabaseMetaData metaData = connection.getMetaData();
+    // unquoted names are folded to lower case by PostgreSQL and upper case by H2
+    for (String tableName : List.of(table.toLowerCase(), table.toUpperCase())) {
+      try (ResultSet columns = metaData.getColumns(null, null, tableName, null)) {
+        while (columns.next()) {
+          if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,44 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.AttributeConverter;
+import javax.sql.DataSource;
+
+/**
+ * Stores a low-cardinality string column as the id of its value in a
+ * {@link Dictionary}; the entity attribute, and so the JSON, stays a string.
+ *
+ * Binding a query parameter against an encoded attribute also goes through
+ * {@link #convertToDatabaseColumn}, so it only looks values up: one never
+ * written binds as {@link #NO_SUCH_ID}, which matches no row. New values
+ * are added by {@link DictionaryEncodingListener} before the entity is
+ * inserted or updated.
+ */
+public abstract class DictionaryConverter implements AttributeConverter<String, Integer> {
+
+  /** Dictionary ids are identity values, so never negative. */
+  public static final int NO_SUCH_ID = -1;
+
+  private final Dictionary dictionary;
+
+  protected DictionaryConverter(DataSource dataSource, String dictionaryName) {
+    this.dictionary = Dictionaries.get(dataSource, dictionaryName);
+  }
+
+  public Dictionary getDictionary() {
+    return dictionary;
+  }
+
+  @Override
+  public Integer convertToDatabaseColumn(String attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    Integer id = dictionary.idOf(attribute);
+    return id == null ? NO_SUCH_ID : id;
+  }
+
+  @Override
+  public String convertToEntityAttribute(Integer dbData) {
+    return dbData == null ? null : dictionary.decode(dbData);
+  }
+}
@@ -0,0 +1,63 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.Convert;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.sql.DataSource;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Adds the values of an entity's dictionary-encoded attributes to their
+ * dictionaries before it is inserted or updated, so that
+ * {@link DictionaryConverter#convertToDatabaseColumn} only has to look them
+ * up. Created by Hibernate through Spring's bean container, like the
+ * converters.
+ */
+public class DictionaryEncodingListener {
+
+  private record EncodedField(Field field, Dictionary dictionary) {
+  }
+
+  private final DataSource dataSource;
+  private final Map<Class<?>, List<EncodedField>> encodedFields = new ConcurrentHashMap<>();
+
+  public DictionaryEncodingListener(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @PrePersist
+  @PreUpdate
+  public void encode(Object entity) {
+    for (EncodedField encoded : encodedFields.computeIfAbsent(entity.getClass(), this::encodedFields)) {
+      Object value = ReflectionUtils.getField(encoded.field(), entity);
+      if (value != null) {
+        encoded.dictionary().encode((String) value);
+      }
+    }
+  }
+
+  private List<EncodedField> encodedFields(Class<?> entityClass) {
+    List<EncodedField> fields = new ArrayList<>();
+    ReflectionUtils.doWithFields(entityClass, field -> {
+      Class<?> converter = field.getAnnotation(Convert.class).converter();
+      if (DictionaryConverter.class.isAssignableFrom(converter)) {
+        ReflectionUtils.makeAccessible(field);
+        try {
+          DictionaryConverter instance = (DictionaryConverter) converter.getConstructor(DataSource.class)
+              .newInstance(dataSource);
+          fields.add(new EncodedField(field, instance.getDictionary()));
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException("could not create " + converter.getName(), e);
+        }
+      }
+    }, field -> field.isAnnotationPresent(Convert.class));
+    return List.copyOf(fields);
+  }
+}
@@ -0,0 +1,12 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.Converter;
+import javax.sql.DataSource;
+
+@Converter
+public class DiningCommonsCodeConverter extends DictionaryConverter {
+
+  public DiningCommonsCodeConverter(DataSource dataSource) {
+    super(dataSource, Dictionaries.DINING_COMMONS_CODE);
+  }
+}
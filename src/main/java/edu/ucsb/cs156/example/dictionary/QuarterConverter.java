@@ -0,0 +1,12 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.Converter;
+import javax.sql.DataSource;
+
+@Converter
+public class QuarterConverter extends DictionaryConverter {
+
+  public QuarterConverter(DataSource dataSource) {
+    super(dataSource, Dictionaries.QUARTER);
+  }
+}
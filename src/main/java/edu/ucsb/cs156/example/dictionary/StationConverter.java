@@ -0,0 +1,12 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.Converter;
+import javax.sql.DataSource;
+
+@Converter
+public class StationConverter extends DictionaryConverter {
+
+  public StationConverter(DataSource dataSource) {
+    super(dataSource, Dictionaries.STATION);
+  }
+}
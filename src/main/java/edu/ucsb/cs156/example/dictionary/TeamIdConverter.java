@@ -0,0 +1,12 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.Converter;
+import javax.sql.DataSource;
+
+@Converter
+public class TeamIdConverter extends DictionaryConverter {
+
+  public TeamIdConverter(DataSource dataSource) {
+    super(dataSource, Dictionaries.TEAM_ID);
+  }
+}
@@ -0,0 +1,12 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import javax.persistence.Converter;
+import javax.sql.DataSource;
+
+@Converter
+public class TeamOrBreakoutRoomConverter extends DictionaryConverter {
+
+  public TeamOrBreakoutRoomConverter(DataSource dataSource) {
+    super(dataSource, Dictionaries.TEAM_OR_BREAKOUT_ROOM);
+  }
+}
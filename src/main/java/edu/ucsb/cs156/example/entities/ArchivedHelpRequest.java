@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.example.entities;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.Id;
+
+import edu.ucsb.cs156.example.dictionary.DictionaryEncodingListener;
+import edu.ucsb.cs156.example.dictionary.TeamIdConverter;
+import edu.ucsb.cs156.example.dictionary.TeamOrBreakoutRoomConverter;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * A solved help request moved out of {@code helprequest} by the archiver;
+ * the columns (and id) are copied as they were.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "helprequest_archive")
+@EntityListeners(DictionaryEncodingListener.class)
+public class ArchivedHelpRequest {
+  @Id
+  private long id;
+
+  private String requesterEmail;
+  @Convert(converter = TeamIdConverter.class)
+  @Column(name = "team_id_dict_id")
+  private String teamId;
+  @Convert(converter = TeamOrBreakoutRoomConverter.class)
+  @Column(name = "team_or_breakout_room_dict_id")
+  private String teamOrBreakoutRoom;
+  private LocalDateTime requestTime;
+  private String explanation;
+  private boolean solved;
+  private LocalDateTime archivedAt;
+}
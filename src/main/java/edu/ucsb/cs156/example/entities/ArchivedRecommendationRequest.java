@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.entities;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * A done recommendation request moved out of {@code recommendationrequest}
+ * by the archiver; the columns (and id) are copied as they were.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "recommendationrequest_archive")
+public class ArchivedRecommendationRequest {
+    @Id
+    private long id;
+
+    private String requesterEmail;
+    private String professorEmail;
+    private String explanation;
+    private LocalDateTime dateRequested;
+    private LocalDateTime dateNeeded;
+    private boolean done;
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.example.entities;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+/**
+ * One distinct value of a dictionary-encoded column; the column itself
+ * stores only the id. Written by {@code edu.ucsb.cs156.example.dictionary.Dictionary}
+ * over plain JDBC, mapped here so the table is created with the schema.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@Entity(name = "dictionary_entries")
+@Table(uniqueConstraints = @UniqueConstraint(name = "dictionary_entries_term_uk", columnNames = { "dictionary", "term" }))
+public class DictionaryEntry {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Integer id;
+
+  private String dictionary;
+  private String term;
+}
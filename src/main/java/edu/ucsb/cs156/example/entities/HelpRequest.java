@@ -3,8 +3,15 @@ package edu.ucsb.cs156.example.entities;
 import java.time.LocalDateTime;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+
+import edu.ucsb.cs156.example.dictionary.DictionaryEncodingListener;
+import edu.ucsb.cs156.example.dictionary.TeamIdConverter;
+import edu.ucsb.cs156.example.dictionary.TeamOrBreakoutRoomConverter;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,13 +23,19 @@ import lombok.Builder;
 @NoArgsConstructor
 @Builder
 @Entity(name = "helprequest")
+@EntityListeners(DictionaryEncodingListener.class)
 public class HelpRequest {
   @Id
   @GeneratedValue (strategy = javax.persistence.GenerationType.IDENTITY)
   private Long id;
   
   private String requesterEmail;
+  // dictionary-encoded: the row holds the id of the value in dictionary_entries
+  @Convert(converter = TeamIdConverter.class)
+  @Column(name = "team_id_dict_id")
   private String teamId;
+  @Convert(converter = TeamOrBreakoutRoomConverter.class)
+  @Column(name = "team_or_breakout_room_dict_id")
   private String teamOrBreakoutRoom;
   private LocalDateTime requestTime;
   private String explanation;
@@ -6,6 +6,8 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +19,11 @@ import lombok.Builder;
 @NoArgsConstructor
 @Builder
 @Entity(name = "menuitemreviews")
+@Table(indexes = {
+  @Index(name = "menuitemreviews_date_reviewed_idx", columnList = "dateReviewed"),
+  // reviewerEmail = ? order by dateReviewed desc, id desc: the whole ordering comes from the index
+  @Index(name = "menuitemreviews_reviewer_date_id_idx", columnList = "reviewerEmail, dateReviewed, id")
+})
 public class MenuItemReview {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
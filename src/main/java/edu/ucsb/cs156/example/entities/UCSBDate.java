@@ -3,9 +3,17 @@ package edu.ucsb.cs156.example.entities;
 import java.time.LocalDateTime;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.GeneratedValue;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import edu.ucsb.cs156.example.dictionary.DictionaryEncodingListener;
+import edu.ucsb.cs156.example.dictionary.QuarterConverter;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,11 +25,18 @@ import lombok.Builder;
 @NoArgsConstructor
 @Builder
 @Entity(name = "ucsbdates")
+@EntityListeners(DictionaryEncodingListener.class)
+@Table(indexes = {
+  @Index(name = "ucsbdates_quarter_idx", columnList = "quarteryyyyq_dict_id")
+})
 public class UCSBDate {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private long id;
 
+  // dictionary-encoded: the row holds the id of the value in dictionary_entries
+  @Convert(converter = QuarterConverter.class)
+  @Column(name = "quarteryyyyq_dict_id")
   private String quarterYYYYQ;
   private String name;  
   private LocalDateTime localDateTime;
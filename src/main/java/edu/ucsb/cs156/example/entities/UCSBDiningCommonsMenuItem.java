@@ -1,9 +1,18 @@
 package edu.ucsb.cs156.example.entities;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import edu.ucsb.cs156.example.dictionary.DictionaryEncodingListener;
+import edu.ucsb.cs156.example.dictionary.DiningCommonsCodeConverter;
+import edu.ucsb.cs156.example.dictionary.StationConverter;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,12 +24,21 @@ import lombok.Builder;
 @NoArgsConstructor
 @Builder
 @Entity(name = "ucsbdiningcommonsmenuitem")
+@EntityListeners(DictionaryEncodingListener.class)
+@Table(indexes = {
+  @Index(name = "ucsbdiningcommonsmenuitem_dining_commons_code_idx", columnList = "dining_commons_code_dict_id")
+})
 public class UCSBDiningCommonsMenuItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
+    // dictionary-encoded: the row holds the id of the value in dictionary_entries
+    @Convert(converter = DiningCommonsCodeConverter.class)
+    @Column(name = "dining_commons_code_dict_id")
     private String diningCommonsCode;
     private String name;
+    @Convert(converter = StationConverter.class)
+    @Column(name = "station_dict_id")
     private String station;
 }
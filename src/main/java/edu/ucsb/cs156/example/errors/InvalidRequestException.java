@@ -0,0 +1,7 @@
+package edu.ucsb.cs156.example.errors;
+
+public class InvalidRequestException extends RuntimeException {
+  public InvalidRequestException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package edu.ucsb.cs156.example.errors;
+
+public class UnknownFieldException extends RuntimeException {
+  public UnknownFieldException(Class<?> entityType, String field) {
+    super("%s has no field %s"
+      .formatted(entityType.getSimpleName(), field));
+  }
+}
@@ -0,0 +1,8 @@
+package edu.ucsb.cs156.example.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** One field of an audited write; before is null for inserts, after for deletes. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AuditChange(String field, String before, String after) {
+}
@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class AuditEntry {
+  private Instant timestamp;
+  private String user;
+  // INSERT, UPDATE, DELETE or BULK_WRITE
+  private String action;
+  private String entity;
+  // null for BULK_WRITE
+  private String entityId;
+  // e.g. "PUT /api/ucsbdates", or null outside a request
+  private String request;
+  private List<AuditChange> changes;
+}
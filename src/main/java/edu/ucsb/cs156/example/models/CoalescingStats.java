@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class CoalescingStats {
+  private String repository;
+  // repository reads that went through the single-flight
+  private long calls;
+  // of those, the ones that actually ran a query
+  private long executions;
+  private long coalesced;
+  private double coalescingRatio;
+}
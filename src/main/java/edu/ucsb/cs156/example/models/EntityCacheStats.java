@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class EntityCacheStats {
+  private String region;
+  private long hitCount;
+  private long missCount;
+  private long putCount;
+  // hits / (hits + misses); 0.0 before the first lookup
+  private double hitRatio;
+  private long elementCountInMemory;
+}
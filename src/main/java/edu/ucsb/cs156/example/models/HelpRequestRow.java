@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A help request read straight into an immutable value, without a managed
+ * entity; {@code explanation} is null (and left out of the JSON) unless it
+ * was asked for.
+ */
+public record HelpRequestRow(
+    long id,
+    String requesterEmail,
+    String teamId,
+    String teamOrBreakoutRoom,
+    LocalDateTime requestTime,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String explanation,
+    boolean solved) {
+
+  public HelpRequestRow(long id, String requesterEmail, String teamId, String teamOrBreakoutRoom,
+      LocalDateTime requestTime, boolean solved) {
+    this(id, requesterEmail, teamId, teamOrBreakoutRoom, requestTime, null, solved);
+  }
+}
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class MenuItemImportResult {
+  private long rowsRead;
+  private long rowsImported;
+  private long rowsRejected;
+  // only the first app.menu-import.max-reported-errors
+  private List<ImportRowError> errors;
+  private long elapsedMillis;
+  private double rowsPerSecond;
+}
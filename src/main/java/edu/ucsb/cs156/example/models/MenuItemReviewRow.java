@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A menu item review read straight into an immutable value, without a
+ * managed entity; {@code comments} is null (and left out of the JSON) unless
+ * it was asked for.
+ */
+public record MenuItemReviewRow(
+    long id,
+    Long itemId,
+    String reviewerEmail,
+    int stars,
+    LocalDateTime dateReviewed,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String comments) {
+
+  public MenuItemReviewRow(long id, Long itemId, String reviewerEmail, int stars, LocalDateTime dateReviewed) {
+    this(id, itemId, reviewerEmail, stars, dateReviewed, null);
+  }
+}
@@ -0,0 +1,7 @@
+package edu.ucsb.cs156.example.models;
+
+/**
+ * The number of reviews of one menu item and the sum of their stars.
+ */
+public record MenuItemReviewTotals(Long itemId, long reviewCount, long starSum) {
+}
@@ -0,0 +1,20 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class OrganizationSyncResult {
+  private int inserted;
+  private int updated;
+  private int unchanged;
+  // present in the table but missing from the list, and now marked inactive
+  private int deactivated;
+  private long elapsedMillis;
+}
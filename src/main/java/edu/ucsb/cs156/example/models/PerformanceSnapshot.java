@@ -0,0 +1,83 @@
+package edu.ucsb.cs156.example.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class PerformanceSnapshot {
+  private long uptimeMillis;
+  private MemoryStats heap;
+  private MemoryStats nonHeap;
+  private List<GarbageCollectorStats> garbageCollectors;
+  private ThreadStats threads;
+  private List<ConnectionPoolStats> connectionPools;
+  // null when not running inside an embedded Tomcat (e.g. in tests)
+  private WebServerThreadPoolStats webServerThreadPool;
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  @Builder
+  public static class MemoryStats {
+    private long usedBytes;
+    private long committedBytes;
+    // -1 when the JVM reports no limit
+    private long maxBytes;
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  @Builder
+  public static class GarbageCollectorStats {
+    private String name;
+    private long collectionCount;
+    private long collectionTimeMillis;
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  @Builder
+  public static class ThreadStats {
+    private int live;
+    private int daemon;
+    private int peak;
+    private Map<Thread.State, Integer> byState;
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  @Builder
+  public static class ConnectionPoolStats {
+    private String poolName;
+    private int active;
+    private int idle;
+    private int total;
+    private int pending;
+    private long timeouts;
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  @Builder
+  public static class WebServerThreadPoolStats {
+    private int active;
+    private int poolSize;
+    private int maxPoolSize;
+    private int queued;
+    // active / maxPoolSize, between 0.0 and 1.0
+    private double saturation;
+  }
+}
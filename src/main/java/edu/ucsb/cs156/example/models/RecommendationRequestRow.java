@@ -0,0 +1,25 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A recommendation request read straight into an immutable value, without a
+ * managed entity; {@code explanation} is null (and left out of the JSON)
+ * unless it was asked for.
+ */
+public record RecommendationRequestRow(
+    long id,
+    String requesterEmail,
+    String professorEmail,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String explanation,
+    LocalDateTime dateRequested,
+    LocalDateTime dateNeeded,
+    boolean done) {
+
+  public RecommendationRequestRow(long id, String requesterEmail, String professorEmail,
+      LocalDateTime dateRequested, LocalDateTime dateNeeded, boolean done) {
+    this(id, requesterEmail, professorEmail, null, dateRequested, dateNeeded, done);
+  }
+}
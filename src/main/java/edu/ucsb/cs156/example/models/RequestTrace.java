@@ -0,0 +1,30 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class RequestTrace {
+  private String id;
+  // the caller's X-Request-Id, if it sent a usable one; the id starts with it
+  private String correlationId;
+  private String method;
+  private String uri;
+  // method and handler path pattern, e.g. GET /api/ucsbdates
+  private String endpoint;
+  private int status;
+  private Instant startedAt;
+  private long durationMicros;
+  private List<TraceSpan> spans;
+  // spans past app.tracing.max-spans that were not kept
+  private int droppedSpans;
+}
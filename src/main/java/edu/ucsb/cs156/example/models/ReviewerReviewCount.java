@@ -0,0 +1,7 @@
+package edu.ucsb.cs156.example.models;
+
+/**
+ * The number of menu item reviews written by one reviewer.
+ */
+public record ReviewerReviewCount(String reviewerEmail, long reviewCount) {
+}
@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class SlowQuery {
+  private Instant timestamp;
+  private long durationMicros;
+  private String sql;
+  // bound values in parameter order (the first row's, for a batch); null when not captured
+  private List<String> parameters;
+  // rows in the batch, or 0 for a single execution
+  private int batchSize;
+  // e.g. UCSBDateRepository.findAll; null for JDBC outside a repository
+  private String repositoryMethod;
+  // first application frame on the stack, e.g. UCSBDatesController.allUCSBDates
+  private String caller;
+  // e.g. GET /api/ucsbdates/all; null outside a request
+  private String endpoint;
+  private String traceId;
+  // EXPLAIN output, when app.slow-query.explain is on and the statement is a query
+  private String plan;
+}
@@ -0,0 +1,9 @@
+package edu.ucsb.cs156.example.models;
+
+/**
+ * One timed step of a request. Spans nest: {@code depth} 1 is directly
+ * under the request, and {@code startMicros} is measured from the start
+ * of the request. An unfinished span has a {@code durationMicros} of -1.
+ */
+public record TraceSpan(String name, String detail, int depth, long startMicros, long durationMicros) {
+}
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.example.models;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An article read straight into an immutable value, without a managed
+ * entity; {@code explanation} is null (and left out of the JSON) unless it
+ * was asked for.
+ */
+public record UCSBArticleRow(
+    long id,
+    String title,
+    String url,
+    @JsonInclude(JsonInclude.Include.NON_NULL) String explanation,
+    String email,
+    LocalDateTime dateAdded) {
+
+  public UCSBArticleRow(long id, String title, String url, String email, LocalDateTime dateAdded) {
+    this(id, title, url, null, email, dateAdded);
+  }
+}
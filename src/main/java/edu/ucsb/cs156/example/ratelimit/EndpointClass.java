@@ -0,0 +1,14 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+/**
+ * Rate-limit budgets are per principal and per endpoint class, so a burst
+ * of cheap lookups does not use up a user's allowance for list endpoints.
+ */
+public enum EndpointClass {
+  /** single-row GETs; the default for GET handlers */
+  CHEAP_READ,
+  /** whole-table GETs such as the {@code /all} endpoints */
+  EXPENSIVE_LIST,
+  /** POST/PUT/DELETE; all of which are admin-only in this app */
+  ADMIN_WRITE
+}
@@ -0,0 +1,16 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler in a different {@link EndpointClass} than its HTTP method
+ * implies (GET is {@code CHEAP_READ}, anything else {@code ADMIN_WRITE}).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+  EndpointClass value();
+}
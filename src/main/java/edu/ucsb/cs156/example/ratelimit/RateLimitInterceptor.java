@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Charges each API request to its principal's bucket for the handler's
+ * {@link EndpointClass}, and answers 429 with Retry-After when it is empty.
+ * Requests without a logged-in user are charged to their remote address,
+ * which is the client's rather than the proxy's because
+ * {@code server.forward-headers-strategy=native} applies X-Forwarded-For
+ * from trusted (internal) proxies only.
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  private final RateLimiter rateLimiter;
+  private final ObjectMapper mapper;
+
+  public RateLimitInterceptor(RateLimiter rateLimiter, ObjectMapper mapper) {
+    this.rateLimiter = rateLimiter;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    EndpointClass endpointClass = endpointClass(request, handlerMethod);
+    String principal = principal(request);
+    long waitNanos = rateLimiter.tryAcquire(principal, endpointClass);
+    if (waitNanos == 0) {
+      return true;
+    }
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    if (log.isDebugEnabled()) {
+      log.debug("rateLimited principal={} endpointClass={} uri={} retryAfter={}",
+          principal, endpointClass, request.getRequestURI(), retryAfterSeconds);
+    }
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    mapper.writeValue(response.getOutputStream(), Map.of(
+        "type", "RateLimitExceeded",
+        "message", "Too many %s requests; retry after %d seconds".formatted(endpointClass, retryAfterSeconds)));
+    return false;
+  }
+
+  static EndpointClass endpointClass(HttpServletRequest request, HandlerMethod handlerMethod) {
+    RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+    if (rateLimit != null) {
+      return rateLimit.value();
+    }
+    return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+        ? EndpointClass.CHEAP_READ
+        : EndpointClass.ADMIN_WRITE;
+  }
+
+  static String principal(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken)) {
+      return "user:" + authentication.getName();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+}
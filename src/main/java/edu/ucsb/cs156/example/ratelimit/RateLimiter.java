@@ -0,0 +1,117 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import edu.ucsb.cs156.example.models.RateLimitStats;
+
+/**
+ * Per-principal, per-{@link EndpointClass} token buckets.
+ *
+ * Lookups are lock-free. A full bucket behaves exactly like one that was
+ * never created, so {@link #evictFull()}, run on a timer, drops those. The
+ * map holds about {@code maxBuckets}: adding one at the cap evicts a full
+ * bucket from a small sample, or failing that the sampled bucket closest to
+ * full, so a flood of new principals costs O(1) per request and cannot
+ * reset the limits of principals that are draining their buckets.
+ */
+public class RateLimiter {
+
+  static final int EVICTION_SAMPLE = 16;
+
+  public record Budget(int capacity, double refillPerSecond) {
+  }
+
+  private record Key(String principal, EndpointClass endpointClass) {
+  }
+
+  private final Map<EndpointClass, Budget> budgets;
+  private final int maxBuckets;
+  private final LongSupplier nanoTime;
+  private final ConcurrentHashMap<Key, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final Map<EndpointClass, LongAdder> allowed = new EnumMap<>(EndpointClass.class);
+  private final Map<EndpointClass, LongAdder> rejected = new EnumMap<>(EndpointClass.class);
+
+  public RateLimiter(Map<EndpointClass, Budget> budgets, int maxBuckets, LongSupplier nanoTime) {
+    this.budgets = new EnumMap<>(budgets);
+    this.maxBuckets = maxBuckets;
+    this.nanoTime = nanoTime;
+    for (EndpointClass endpointClass : EndpointClass.values()) {
+      allowed.put(endpointClass, new LongAdder());
+      rejected.put(endpointClass, new LongAdder());
+    }
+  }
+
+  /**
+   * @return 0 if the request may proceed, otherwise the nanoseconds until
+   *         this principal has a token for this endpoint class again
+   */
+  public long tryAcquire(String principal, EndpointClass endpointClass) {
+    Budget budget = budgets.get(endpointClass);
+    if (budget == null) {
+      return 0;
+    }
+    long now = nanoTime.getAsLong();
+    Key key = new Key(principal, endpointClass);
+    TokenBucket bucket = buckets.get(key);
+    if (bucket == null) {
+      if (buckets.size() >= maxBuckets) {
+        evictOne(now);
+      }
+      bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(budget.capacity(), budget.refillPerSecond(), now));
+    }
+    long wait = bucket.tryAcquire(now);
+    (wait == 0 ? allowed : rejected).get(endpointClass).increment();
+    return wait;
+  }
+
+  /** Drops the first full bucket among a sample, or else the sampled one that will be full soonest. */
+  private void evictOne(long now) {
+    Map.Entry<Key, TokenBucket> fullest = null;
+    int sampled = 0;
+    for (Map.Entry<Key, TokenBucket> entry : buckets.entrySet()) {
+      if (entry.getValue().isFull(now)) {
+        buckets.remove(entry.getKey(), entry.getValue());
+        return;
+      }
+      if (fullest == null || entry.getValue().fullAt() < fullest.getValue().fullAt()) {
+        fullest = entry;
+      }
+      if (++sampled == EVICTION_SAMPLE) {
+        break;
+      }
+    }
+    if (fullest != null) {
+      buckets.remove(fullest.getKey(), fullest.getValue());
+    }
+  }
+
+  public void evictFull() {
+    long now = nanoTime.getAsLong();
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+  }
+
+  public int size() {
+    return buckets.size();
+  }
+
+  public List<RateLimitStats> getStats() {
+    List<RateLimitStats> stats = new ArrayList<>();
+    for (EndpointClass endpointClass : EndpointClass.values()) {
+      Budget budget = budgets.get(endpointClass);
+      stats.add(RateLimitStats.builder()
+          .endpointClass(endpointClass.name())
+          .capacity(budget == null ? 0 : budget.capacity())
+          .refillPerSecond(budget == null ? 0 : budget.refillPerSecond())
+          .allowed(allowed.get(endpointClass).sum())
+          .rejected(rejected.get(endpointClass).sum())
+          .build());
+    }
+    return stats;
+  }
+}
@@ -0,0 +1,53 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single "theoretical arrival time" (the GCRA
+ * formulation), so taking a token is one compare-and-set with no lock.
+ *
+ * Each request pushes the arrival time forward by one refill interval; a
+ * request is allowed while that time stays within {@code capacity}
+ * intervals of now. A bucket whose arrival time is in the past is full.
+ */
+public class TokenBucket {
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final AtomicLong arrivalNanos;
+
+  public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+    this.intervalNanos = (long) (1_000_000_000L / refillPerSecond);
+    this.toleranceNanos = capacity * intervalNanos;
+    this.arrivalNanos = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes a token if one is available.
+   *
+   * @return 0 if the request is allowed, otherwise how many nanoseconds
+   *         until a token will be available
+   */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = arrivalNanos.get();
+      long next = Math.max(current, nowNanos) + intervalNanos;
+      long wait = next - nowNanos - toleranceNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (arrivalNanos.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  public boolean isFull(long nowNanos) {
+    return arrivalNanos.get() <= nowNanos;
+  }
+
+  /** When the bucket will be full again if no more tokens are taken. */
+  public long fullAt() {
+    return arrivalNanos.get();
+  }
+}
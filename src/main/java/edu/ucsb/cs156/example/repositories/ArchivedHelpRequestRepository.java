@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.repositories;
+
+import edu.ucsb.cs156.example.entities.ArchivedHelpRequest;
+import edu.ucsb.cs156.example.models.HelpRequestRow;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedHelpRequestRepository extends CrudRepository<ArchivedHelpRequest, Long> {
+  // same row shapes as HelpRequestRepository, so the two can be listed together
+
+  @Query("select new edu.ucsb.cs156.example.models.HelpRequestRow(h.id, h.requesterEmail, h.teamId, h.teamOrBreakoutRoom, h.requestTime, h.explanation, h.solved) from helprequest_archive h")
+  List<HelpRequestRow> findAllRows();
+
+  @Query("select new edu.ucsb.cs156.example.models.HelpRequestRow(h.id, h.requesterEmail, h.teamId, h.teamOrBreakoutRoom, h.requestTime, h.solved) from helprequest_archive h")
+  List<HelpRequestRow> findAllRowsWithoutExplanation();
+}
@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.example.repositories;
+
+import edu.ucsb.cs156.example.entities.ArchivedRecommendationRequest;
+import edu.ucsb.cs156.example.models.RecommendationRequestRow;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedRecommendationRequestRepository extends CrudRepository<ArchivedRecommendationRequest, Long> {
+    // same row shapes as RecommendationRequestRepository, so the two can be listed together
+
+    @Query("select new edu.ucsb.cs156.example.models.RecommendationRequestRow(r.id, r.requesterEmail, r.professorEmail, r.explanation, r.dateRequested, r.dateNeeded, r.done) from recommendationrequest_archive r")
+    List<RecommendationRequestRow> findAllRows();
+
+    @Query("select new edu.ucsb.cs156.example.models.RecommendationRequestRow(r.id, r.requesterEmail, r.professorEmail, r.dateRequested, r.dateNeeded, r.done) from recommendationrequest_archive r")
+    List<RecommendationRequestRow> findAllRowsWithoutExplanation();
+}
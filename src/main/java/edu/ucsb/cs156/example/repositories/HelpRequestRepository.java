@@ -1,11 +1,24 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.models.HelpRequestRow;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface HelpRequestRepository extends CrudRepository<HelpRequest, Long> {
-}
\ No newline at end of file
+  // constructor expressions return plain values, not managed entities
+
+  @Query("select new edu.ucsb.cs156.example.models.HelpRequestRow(h.id, h.requesterEmail, h.teamId, h.teamOrBreakoutRoom, h.requestTime, h.explanation, h.solved) from helprequest h")
+  List<HelpRequestRow> findAllRows();
+
+  @Query("select new edu.ucsb.cs156.example.models.HelpRequestRow(h.id, h.requesterEmail, h.teamId, h.teamOrBreakoutRoom, h.requestTime, h.solved) from helprequest h")
+  List<HelpRequestRow> findAllRowsWithoutExplanation();
+}
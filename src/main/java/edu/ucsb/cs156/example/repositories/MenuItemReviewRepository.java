@@ -1,12 +1,45 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+import edu.ucsb.cs156.example.models.MenuItemReviewTotals;
+import edu.ucsb.cs156.example.models.ReviewerReviewCount;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface MenuItemReviewRepository extends CrudRepository<MenuItemReview, Long> {
- 
-}
\ No newline at end of file
+  // constructor expressions return plain values, not managed entities
+
+  @Query("select new edu.ucsb.cs156.example.models.MenuItemReviewRow(r.id, r.itemId, r.reviewerEmail, r.stars, r.dateReviewed, r.comments) from menuitemreviews r")
+  List<MenuItemReviewRow> findAllRows();
+
+  @Query("select new edu.ucsb.cs156.example.models.MenuItemReviewRow(r.id, r.itemId, r.reviewerEmail, r.stars, r.dateReviewed) from menuitemreviews r")
+  List<MenuItemReviewRow> findAllRowsWithoutComments();
+
+  @Query("select new edu.ucsb.cs156.example.models.MenuItemReviewRow(r.id, r.itemId, r.reviewerEmail, r.stars, r.dateReviewed) from menuitemreviews r where r.dateReviewed >= :since")
+  List<MenuItemReviewRow> findRowsReviewedSince(@Param("since") LocalDateTime since);
+
+  @Query("select new edu.ucsb.cs156.example.models.MenuItemReviewTotals(r.itemId, count(r), sum(r.stars)) from menuitemreviews r where r.itemId is not null group by r.itemId")
+  List<MenuItemReviewTotals> findTotalsByItem();
+
+  // filtered and ordered by the (reviewerEmail, dateReviewed, id) index on MenuItemReview; only the page's rows are read
+  @Query("select new edu.ucsb.cs156.example.models.MenuItemReviewRow(r.id, r.itemId, r.reviewerEmail, r.stars, r.dateReviewed, r.comments) from menuitemreviews r where r.reviewerEmail = :reviewerEmail")
+  Slice<MenuItemReviewRow> findRowsByReviewerEmail(@Param("reviewerEmail") String reviewerEmail, Pageable pageable);
+
+  long countByReviewerEmail(String reviewerEmail);
+
+  @Query("select new edu.ucsb.cs156.example.models.ReviewerReviewCount(r.reviewerEmail, count(r)) from menuitemreviews r where r.reviewerEmail is not null group by r.reviewerEmail")
+  List<ReviewerReviewCount> findCountsByReviewer();
+}
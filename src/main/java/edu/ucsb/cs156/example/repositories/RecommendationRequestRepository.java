@@ -1,12 +1,23 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import edu.ucsb.cs156.example.models.RecommendationRequestRow;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
+@Coalesced
 public interface RecommendationRequestRepository extends CrudRepository<RecommendationRequest,Long> {
-    
-    
+    // constructor expressions return plain values, not managed entities
+
+    @Query("select new edu.ucsb.cs156.example.models.RecommendationRequestRow(r.id, r.requesterEmail, r.professorEmail, r.explanation, r.dateRequested, r.dateNeeded, r.done) from recommendationrequest r")
+    List<RecommendationRequestRow> findAllRows();
+
+    @Query("select new edu.ucsb.cs156.example.models.RecommendationRequestRow(r.id, r.requesterEmail, r.professorEmail, r.dateRequested, r.dateNeeded, r.done) from recommendationrequest r")
+    List<RecommendationRequestRow> findAllRowsWithoutExplanation();
 }
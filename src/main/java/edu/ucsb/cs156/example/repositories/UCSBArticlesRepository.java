@@ -1,12 +1,41 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.models.UCSBArticleRow;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface UCSBArticlesRepository extends CrudRepository<UCSBArticles, Long> {
- 
-}
\ No newline at end of file
+  // constructor expressions return plain values, not managed entities
+
+  @Query("select new edu.ucsb.cs156.example.models.UCSBArticleRow(a.id, a.title, a.url, a.explanation, a.email, a.dateAdded) from ucsbarticles a")
+  List<UCSBArticleRow> findAllRows();
+
+  @Query("select new edu.ucsb.cs156.example.models.UCSBArticleRow(a.id, a.title, a.url, a.email, a.dateAdded) from ucsbarticles a")
+  List<UCSBArticleRow> findAllRowsWithoutExplanation();
+
+  // for moving old articles to the segment store (see ArticleCompactor)
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from ucsbarticles a where a.dateAdded < :cutoff")
+  List<UCSBArticles> findForUpdateByDateAddedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+  @Modifying
+  @Query("delete from ucsbarticles a where a.id in :ids")
+  int deleteByIdIn(@Param("ids") List<Long> ids);
+}
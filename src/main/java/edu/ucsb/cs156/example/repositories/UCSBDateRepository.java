@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 
 import org.springframework.data.repository.CrudRepository;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface UCSBDateRepository extends CrudRepository<UCSBDate, Long> {
   Iterable<UCSBDate> findAllByQuarterYYYYQ(String quarterYYYYQ);
 }
\ No newline at end of file
@@ -1,12 +1,22 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface UCSBDiningCommonsMenuItemRepository extends CrudRepository<UCSBDiningCommonsMenuItem, Long> {
-    
+    // keyset batches, e.g. for walking the rows a bulk import added
+    List<UCSBDiningCommonsMenuItem> findByIdGreaterThan(long afterId, Pageable pageable);
+
+    @Query("select max(m.id) from ucsbdiningcommonsmenuitem m")
+    Long findMaxId();
 }
@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
 
 import org.springframework.beans.propertyeditors.StringArrayPropertyEditor;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface UCSBDiningCommonsRepository extends CrudRepository<UCSBDiningCommons, String> {
  
 }
\ No newline at end of file
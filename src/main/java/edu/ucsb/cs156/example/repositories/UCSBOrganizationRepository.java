@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.example.repositories;
 
+import edu.ucsb.cs156.example.coalesce.Coalesced;
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
 
 import org.springframework.beans.propertyeditors.StringArrayPropertyEditor;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 
 @Repository
+@Coalesced
 public interface UCSBOrganizationRepository extends CrudRepository<UCSBOrganization, String> {
  
 }
\ No newline at end of file
@@ -1,12 +1,33 @@
 package edu.ucsb.cs156.example.repositories;
 
 import edu.ucsb.cs156.example.entities.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long> {
   Optional<User> findByEmail(String email);
+
+  // keyset batches for streaming the whole table without holding it in memory
+  List<User> findByIdGreaterThan(long afterId, Pageable pageable);
+
+  Slice<User> findByAdminIn(Collection<Boolean> admin, Pageable pageable);
+
+  // prefix searches take a LIKE pattern ending in % with \ as the escape character; on PostgreSQL they
+  // use the text_pattern_ops indexes in schema-postgresql.sql
+  @Query("select u from users u where lower(u.email) like :pattern escape '\\' and u.admin in :admin")
+  Slice<User> findByEmailLike(@Param("pattern") String pattern,
+      @Param("admin") Collection<Boolean> admin, Pageable pageable);
+
+  @Query("select u from users u where u.fullName like :pattern escape '\\' and u.admin in :admin")
+  Slice<User> findByFullNameLike(@Param("pattern") String pattern,
+      @Param("admin") Collection<Boolean> admin, Pageable pageable);
 }
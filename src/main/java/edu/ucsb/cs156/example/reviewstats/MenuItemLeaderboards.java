@@ -0,0 +1,217 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.LeaderboardEntry;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+/**
+ * The best-rated menu items of each dining commons, ranked by a Bayesian
+ * average: {@code (priorWeight * priorMean + starSum) / (priorWeight + reviewCount)},
+ * so a single five-star review does not outrank a hundred four-star ones.
+ * Items with fewer than {@code minReviews} reviews are not ranked.
+ *
+ * The prior is fixed rather than the global mean, so a review only moves
+ * the score of its own item. Each commons keeps just its top {@code size}
+ * items; an item joining or improving displaces the last one, and only an
+ * item of the top getting worse (or leaving) rescans that commons' items
+ * for its replacement.
+ */
+public class MenuItemLeaderboards implements ReviewAggregate {
+
+  private record Ranked(long itemId, double score, long reviewCount) {
+  }
+
+  // best score first, then most reviews, then lowest id so the order is stable
+  private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+      .thenComparing(Comparator.comparingLong(Ranked::reviewCount).reversed())
+      .thenComparingLong(Ranked::itemId);
+
+  private static class Item {
+    final long id;
+    String diningCommonsCode;
+    String name;
+    String station;
+    long reviewCount;
+    long starSum;
+    // its entry in the top of its commons, if it is there
+    Ranked ranked;
+
+    Item(long id) {
+      this.id = id;
+    }
+  }
+
+  private static class Board {
+    final Set<Long> itemIds = new HashSet<>();
+    final TreeSet<Ranked> top = new TreeSet<>(ORDER);
+  }
+
+  private final int size;
+  private final long minReviews;
+  private final double priorMean;
+  private final double priorWeight;
+  private final Map<Long, Item> items = new HashMap<>();
+  private final Map<String, Board> boards = new HashMap<>();
+
+  public MenuItemLeaderboards(int size, long minReviews, double priorMean, double priorWeight) {
+    this.size = size;
+    this.minReviews = minReviews;
+    this.priorMean = priorMean;
+    this.priorWeight = priorWeight;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public void add(MenuItemReviewRow review) {
+    addTotals(review.itemId(), 1, review.stars());
+  }
+
+  @Override
+  public void remove(MenuItemReviewRow review) {
+    addTotals(review.itemId(), -1, -review.stars());
+  }
+
+  /** Adds a batch of reviews of one item at once; used to seed from the table. */
+  public synchronized void addTotals(Long itemId, long reviewCount, long starSum) {
+    if (itemId == null) {
+      return;
+    }
+    Item item = items.computeIfAbsent(itemId, Item::new);
+    item.reviewCount += reviewCount;
+    item.starSum += starSum;
+    reposition(item);
+  }
+
+  @Override
+  public synchronized void putMenuItem(UCSBDiningCommonsMenuItem menuItem) {
+    Item item = items.computeIfAbsent(menuItem.getId(), Item::new);
+    if (!Objects.equals(item.diningCommonsCode, menuItem.getDiningCommonsCode())) {
+      leave(item);
+      item.diningCommonsCode = menuItem.getDiningCommonsCode();
+      if (item.diningCommonsCode != null) {
+        boards.computeIfAbsent(item.diningCommonsCode, code -> new Board()).itemIds.add(item.id);
+      }
+    }
+    item.name = menuItem.getName();
+    item.station = menuItem.getStation();
+    reposition(item);
+  }
+
+  @Override
+  public synchronized void removeMenuItem(UCSBDiningCommonsMenuItem menuItem) {
+    Item item = items.remove(menuItem.getId());
+    if (item != null) {
+      leave(item);
+    }
+  }
+
+  /** Up to {@code limit} (at most {@link #getSize()}) of the best items of a commons. */
+  public synchronized List<LeaderboardEntry> top(String diningCommonsCode, int limit) {
+    Board board = boards.get(diningCommonsCode);
+    if (board == null) {
+      return List.of();
+    }
+    List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, board.top.size()));
+    for (Ranked ranked : board.top) {
+      if (entries.size() >= limit) {
+        break;
+      }
+      Item item = items.get(ranked.itemId());
+      entries.add(LeaderboardEntry.builder()
+          .itemId(item.id)
+          .name(item.name)
+          .station(item.station)
+          .reviewCount(item.reviewCount)
+          .averageStars((double) item.starSum / item.reviewCount)
+          .score(ranked.score())
+          .build());
+    }
+    return entries;
+  }
+
+  private Board boardOf(Item item) {
+    return item.diningCommonsCode == null ? null : boards.get(item.diningCommonsCode);
+  }
+
+  private boolean eligible(Item item) {
+    return item.reviewCount > 0 && item.reviewCount >= minReviews;
+  }
+
+  private Ranked rank(Item item) {
+    double score = (priorWeight * priorMean + item.starSum) / (priorWeight + item.reviewCount);
+    return new Ranked(item.id, score, item.reviewCount);
+  }
+
+  private void reposition(Item item) {
+    Board board = boardOf(item);
+    if (board == null) {
+      return;
+    }
+    Ranked before = item.ranked;
+    Ranked after = eligible(item) ? rank(item) : null;
+    if (before != null) {
+      board.top.remove(before);
+      item.ranked = null;
+      if (after == null || ORDER.compare(after, before) > 0) {
+        // it got worse, so an item outside the top may now beat it
+        refill(board);
+        return;
+      }
+    }
+    if (after != null) {
+      offer(board, item, after);
+    }
+  }
+
+  private void leave(Item item) {
+    Board board = boardOf(item);
+    if (board == null) {
+      return;
+    }
+    board.itemIds.remove(item.id);
+    if (item.ranked != null) {
+      board.top.remove(item.ranked);
+      item.ranked = null;
+      refill(board);
+    }
+  }
+
+  private void offer(Board board, Item item, Ranked ranked) {
+    if (board.top.size() >= size) {
+      Ranked last = board.top.last();
+      if (ORDER.compare(ranked, last) >= 0) {
+        return;
+      }
+      board.top.pollLast();
+      items.get(last.itemId()).ranked = null;
+    }
+    board.top.add(ranked);
+    item.ranked = ranked;
+  }
+
+  private void refill(Board board) {
+    for (Ranked ranked : board.top) {
+      items.get(ranked.itemId()).ranked = null;
+    }
+    board.top.clear();
+    for (Long id : board.itemIds) {
+      Item item = items.get(id);
+      if (eligible(item)) {
+        offer(board, item, rank(item));
+      }
+    }
+  }
+}
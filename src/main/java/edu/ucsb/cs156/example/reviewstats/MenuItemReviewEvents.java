@@ -0,0 +1,112 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.entity.EntityMetamodel;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+/**
+ * Passes committed inserts, updates and deletes of menu item reviews, and
+ * of the menu items they review, on to each {@link ReviewAggregate}. An
+ * update of a review takes it back as it was loaded and adds it as it was
+ * saved; writes that bypass Hibernate (bulk JPQL or plain JDBC) are not seen.
+ */
+public class MenuItemReviewEvents
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  private final transient List<ReviewAggregate> aggregates;
+
+  public MenuItemReviewEvents(List<ReviewAggregate> aggregates) {
+    this.aggregates = aggregates;
+  }
+
+  public void registerListener(EntityManagerFactory entityManagerFactory) {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+        .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof MenuItemReview review) {
+      MenuItemReviewRow added = row(review);
+      aggregates.forEach(a -> a.add(added));
+    } else if (event.getEntity() instanceof UCSBDiningCommonsMenuItem menuItem) {
+      aggregates.forEach(a -> a.putMenuItem(menuItem));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof UCSBDiningCommonsMenuItem menuItem) {
+      aggregates.forEach(a -> a.putMenuItem(menuItem));
+      return;
+    }
+    if (!(event.getEntity() instanceof MenuItemReview review)) {
+      return;
+    }
+    Object[] oldState = event.getOldState();
+    if (oldState != null) {
+      EntityMetamodel metamodel = event.getPersister().getEntityMetamodel();
+      MenuItemReviewRow removed = new MenuItemReviewRow(review.getId(),
+          (Long) oldState[metamodel.getPropertyIndex("itemId")],
+          (String) oldState[metamodel.getPropertyIndex("reviewerEmail")],
+          (Integer) oldState[metamodel.getPropertyIndex("stars")],
+          (LocalDateTime) oldState[metamodel.getPropertyIndex("dateReviewed")]);
+      aggregates.forEach(a -> a.remove(removed));
+    }
+    MenuItemReviewRow added = row(review);
+    aggregates.forEach(a -> a.add(added));
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof MenuItemReview review) {
+      MenuItemReviewRow removed = row(review);
+      aggregates.forEach(a -> a.remove(removed));
+    } else if (event.getEntity() instanceof UCSBDiningCommonsMenuItem menuItem) {
+      aggregates.forEach(a -> a.removeMenuItem(menuItem));
+    }
+  }
+
+  private static MenuItemReviewRow row(MenuItemReview review) {
+    return new MenuItemReviewRow(review.getId(), review.getItemId(), review.getReviewerEmail(),
+        review.getStars(), review.getDateReviewed());
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+  }
+
+  @Override
+  public boolean requiresPostCommitHanding(EntityPersister persister) {
+    return persister.getMappedClass() == MenuItemReview.class
+        || persister.getMappedClass() == UCSBDiningCommonsMenuItem.class;
+  }
+}
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+/**
+ * An in-memory summary of menu item reviews, kept current by
+ * {@link MenuItemReviewEvents} as reviews and menu items are written.
+ */
+public interface ReviewAggregate {
+
+  // comments are never passed on
+  void add(MenuItemReviewRow review);
+
+  void remove(MenuItemReviewRow review);
+
+  /** A menu item was created or changed; aggregates that only count reviews ignore it. */
+  default void putMenuItem(UCSBDiningCommonsMenuItem menuItem) {
+  }
+
+  default void removeMenuItem(UCSBDiningCommonsMenuItem menuItem) {
+  }
+}
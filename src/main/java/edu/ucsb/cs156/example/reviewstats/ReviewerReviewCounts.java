@@ -0,0 +1,42 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+/**
+ * How many reviews each reviewer has written, so a page of their history
+ * can report the total without a {@code count(*)}.
+ */
+public class ReviewerReviewCounts implements ReviewAggregate {
+
+  private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+  @Override
+  public void add(MenuItemReviewRow review) {
+    addCount(review.reviewerEmail(), 1);
+  }
+
+  @Override
+  public void remove(MenuItemReviewRow review) {
+    addCount(review.reviewerEmail(), -1);
+  }
+
+  /** Adds several reviews by one reviewer at once; used to seed from the table. */
+  public void addCount(String reviewerEmail, long delta) {
+    if (reviewerEmail == null) {
+      return;
+    }
+    if (delta > 0) {
+      counts.merge(reviewerEmail, delta, Long::sum);
+    } else {
+      // reviewers with no reviews left are dropped rather than kept at zero
+      counts.computeIfPresent(reviewerEmail, (email, count) -> count + delta > 0 ? count + delta : null);
+    }
+  }
+
+  public long getCount(String reviewerEmail) {
+    return reviewerEmail == null ? 0 : counts.getOrDefault(reviewerEmail, 0L);
+  }
+}
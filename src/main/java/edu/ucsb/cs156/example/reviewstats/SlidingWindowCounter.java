@@ -0,0 +1,80 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import java.util.Arrays;
+
+/**
+ * Review counts and star sums over a fixed number of equal time buckets,
+ * kept in a ring: a slot is reused for a new bucket once its old bucket has
+ * fallen out of the window, so memory does not grow with the number of
+ * reviews.
+ *
+ * Reviews are placed by the time they were reviewed, not by when they were
+ * recorded; reviews dated in the future or before the window are ignored.
+ */
+public class SlidingWindowCounter {
+
+  public record Totals(long count, long starSum) {
+    public double averageStars() {
+      return count == 0 ? 0 : (double) starSum / count;
+    }
+  }
+
+  private final long bucketMillis;
+  // the absolute bucket number (time / bucketMillis) each slot currently holds
+  private final long[] bucketOf;
+  private final long[] counts;
+  private final long[] starSums;
+
+  public SlidingWindowCounter(long bucketMillis, int buckets) {
+    this.bucketMillis = bucketMillis;
+    this.bucketOf = new long[buckets];
+    this.counts = new long[buckets];
+    this.starSums = new long[buckets];
+    Arrays.fill(bucketOf, Long.MIN_VALUE);
+  }
+
+  public int buckets() {
+    return bucketOf.length;
+  }
+
+  /** Adds (delta 1) or takes back (delta -1) a review with this many stars. */
+  public synchronized void add(long atMillis, int stars, int delta, long nowMillis) {
+    long bucket = Math.floorDiv(atMillis, bucketMillis);
+    long current = Math.floorDiv(nowMillis, bucketMillis);
+    if (bucket > current || bucket <= current - bucketOf.length) {
+      return;
+    }
+    int slot = (int) Math.floorMod(bucket, bucketOf.length);
+    if (bucketOf[slot] != bucket) {
+      if (delta < 0) {
+        // the review was never counted in this window
+        return;
+      }
+      bucketOf[slot] = bucket;
+      counts[slot] = 0;
+      starSums[slot] = 0;
+    }
+    counts[slot] += delta;
+    starSums[slot] += (long) delta * stars;
+  }
+
+  /** Totals over the most recent {@code lastBuckets} buckets, including the current one. */
+  public synchronized Totals sum(int lastBuckets, long nowMillis) {
+    long current = Math.floorDiv(nowMillis, bucketMillis);
+    long count = 0;
+    long starSum = 0;
+    for (int i = 0; i < Math.min(lastBuckets, bucketOf.length); i++) {
+      long bucket = current - i;
+      int slot = (int) Math.floorMod(bucket, bucketOf.length);
+      if (bucketOf[slot] == bucket) {
+        count += counts[slot];
+        starSum += starSums[slot];
+      }
+    }
+    return new Totals(count, starSum);
+  }
+
+  public boolean isEmpty(long nowMillis) {
+    return sum(bucketOf.length, nowMillis).count() <= 0;
+  }
+}
@@ -0,0 +1,139 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+import edu.ucsb.cs156.example.models.TrendingMenuItem;
+
+/**
+ * Review counts and average stars of each menu item over the last hour, day
+ * and week, so trending items can be ranked without a query.
+ *
+ * Each item keeps two rings: 60 one-minute buckets for the hour, and 168
+ * one-hour buckets for the day and the week. Items with no reviews left in
+ * the week are dropped the next time the ranking is computed.
+ */
+public class TrendingMenuItems implements ReviewAggregate {
+
+  public enum Window {
+    HOUR, DAY, WEEK
+  }
+
+  public static final Duration RETENTION = Duration.ofDays(7);
+
+  private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+  private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+  // most reviews first, then best average, then lowest id so the order is stable
+  private static final Comparator<TrendingMenuItem> RANKING = Comparator
+      .comparingLong(TrendingMenuItem::getReviewCount).reversed()
+      .thenComparing(Comparator.comparingDouble(TrendingMenuItem::getAverageStars).reversed())
+      .thenComparing(TrendingMenuItem::getItemId);
+
+  private static class ItemWindows {
+    final SlidingWindowCounter minutes = new SlidingWindowCounter(MINUTE_MILLIS, 60);
+    final SlidingWindowCounter hours = new SlidingWindowCounter(HOUR_MILLIS, (int) RETENTION.toHours());
+
+    void add(long atMillis, int stars, int delta, long nowMillis) {
+      minutes.add(atMillis, stars, delta, nowMillis);
+      hours.add(atMillis, stars, delta, nowMillis);
+    }
+
+    SlidingWindowCounter.Totals sum(Window window, long nowMillis) {
+      return switch (window) {
+        case HOUR -> minutes.sum(60, nowMillis);
+        case DAY -> hours.sum(24, nowMillis);
+        case WEEK -> hours.sum(hours.buckets(), nowMillis);
+      };
+    }
+  }
+
+  private final Clock clock;
+  private final Map<Long, ItemWindows> items = new ConcurrentHashMap<>();
+
+  public TrendingMenuItems(Clock clock) {
+    this.clock = clock;
+  }
+
+  /** The earliest review date that can still count; used to seed from the table. */
+  public LocalDateTime retainedSince() {
+    return LocalDateTime.now(clock).minus(RETENTION);
+  }
+
+  @Override
+  public void add(MenuItemReviewRow review) {
+    add(review.itemId(), review.stars(), review.dateReviewed());
+  }
+
+  @Override
+  public void remove(MenuItemReviewRow review) {
+    remove(review.itemId(), review.stars(), review.dateReviewed());
+  }
+
+  public void add(Long itemId, int stars, LocalDateTime dateReviewed) {
+    if (itemId == null || dateReviewed == null) {
+      return;
+    }
+    long at = toMillis(dateReviewed);
+    long now = clock.millis();
+    // under the map's lock, so a concurrent eviction cannot drop the update
+    items.compute(itemId, (id, windows) -> {
+      ItemWindows updated = windows == null ? new ItemWindows() : windows;
+      updated.add(at, stars, 1, now);
+      return updated;
+    });
+  }
+
+  public void remove(Long itemId, int stars, LocalDateTime dateReviewed) {
+    if (itemId == null || dateReviewed == null) {
+      return;
+    }
+    long at = toMillis(dateReviewed);
+    long now = clock.millis();
+    items.computeIfPresent(itemId, (id, windows) -> {
+      windows.add(at, stars, -1, now);
+      return windows;
+    });
+  }
+
+  /** The {@code limit} items with the most reviews in the window. */
+  public List<TrendingMenuItem> top(Window window, int limit) {
+    long now = clock.millis();
+    // worst of the best so far at the head
+    PriorityQueue<TrendingMenuItem> best = new PriorityQueue<>(RANKING.reversed());
+    for (Map.Entry<Long, ItemWindows> entry : items.entrySet()) {
+      SlidingWindowCounter.Totals totals = entry.getValue().sum(window, now);
+      if (totals.count() <= 0) {
+        items.computeIfPresent(entry.getKey(), (id, windows) -> windows.hours.isEmpty(now) ? null : windows);
+        continue;
+      }
+      best.add(TrendingMenuItem.builder()
+          .itemId(entry.getKey())
+          .reviewCount(totals.count())
+          .averageStars(totals.averageStars())
+          .build());
+      if (best.size() > limit) {
+        best.poll();
+      }
+    }
+    List<TrendingMenuItem> ranked = new ArrayList<>(best);
+    ranked.sort(RANKING);
+    return ranked;
+  }
+
+  int trackedItems() {
+    return items.size();
+  }
+
+  private long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,41 @@
+package edu.ucsb.cs156.example.services;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.example.audit.AuditLog;
+import edu.ucsb.cs156.example.bloom.KeyExistenceFilters;
+import edu.ucsb.cs156.example.cache.ResponseCache;
+
+/**
+ * Writes made over plain JDBC are not seen by the Hibernate listeners that
+ * keep the in-memory views of a table current; bulk writers call
+ * {@link #afterBulkWrite} once they have committed instead.
+ */
+@Service
+public class BulkWriteNotifier {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  ObjectProvider<ResponseCache> responseCache;
+
+  @Autowired
+  ObjectProvider<KeyExistenceFilters> keyExistenceFilters;
+
+  @Autowired
+  ObjectProvider<AuditLog> auditLog;
+
+  public void afterBulkWrite(Class<?> entity) {
+    entityManagerFactory.getCache().evict(entity);
+    responseCache.ifAvailable(cache -> cache.invalidate(entity));
+    // new keys would otherwise be answered 404 until the next scheduled rebuild
+    keyExistenceFilters.ifAvailable(filters -> filters.rebuild(entity));
+    // one entry for the whole write; the rows themselves are not audited
+    auditLog.ifAvailable(log -> log.recordBulkWrite(entity));
+  }
+}
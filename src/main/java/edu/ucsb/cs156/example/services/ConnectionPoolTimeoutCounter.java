@@ -0,0 +1,47 @@
+package edu.ucsb.cs156.example.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Hooks into every Hikari pool before it starts and counts connection
+ * timeouts per pool, which the pool's own MXBean does not report.
+ */
+@Component
+public class ConnectionPoolTimeoutCounter implements MetricsTrackerFactory, BeanPostProcessor {
+
+  private final Map<String, LongAdder> timeouts = new ConcurrentHashMap<>();
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+      hikari.setMetricsTrackerFactory(this);
+    }
+    return bean;
+  }
+
+  @Override
+  public IMetricsTracker create(String poolName, PoolStats poolStats) {
+    LongAdder counter = timeouts.computeIfAbsent(poolName, name -> new LongAdder());
+    return new IMetricsTracker() {
+      @Override
+      public void recordConnectionTimeout() {
+        counter.increment();
+      }
+    };
+  }
+
+  public long getTimeouts(String poolName) {
+    LongAdder counter = timeouts.get(poolName);
+    return counter == null ? 0 : counter.sum();
+  }
+}
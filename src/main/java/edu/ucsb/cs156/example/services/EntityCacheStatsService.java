@@ -0,0 +1,43 @@
+package edu.ucsb.cs156.example.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.example.models.EntityCacheStats;
+
+@Service
+public class EntityCacheStatsService {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  public List<EntityCacheStats> getEntityCacheStats() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    String[] regions = statistics.getSecondLevelCacheRegionNames();
+    Arrays.sort(regions);
+    List<EntityCacheStats> stats = new ArrayList<>();
+    for (String region : regions) {
+      CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+      long hits = regionStats.getHitCount();
+      long misses = regionStats.getMissCount();
+      stats.add(EntityCacheStats.builder()
+          .region(region)
+          .hitCount(hits)
+          .missCount(misses)
+          .putCount(regionStats.getPutCount())
+          .hitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+          .elementCountInMemory(regionStats.getElementCountInMemory())
+          .build());
+    }
+    return stats;
+  }
+}
@@ -0,0 +1,216 @@
+package edu.ucsb.cs156.example.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.example.bulk.CsvReader;
+import edu.ucsb.cs156.example.bulk.EncodedMenuItem;
+import edu.ucsb.cs156.example.bulk.MenuItemBatchWriter;
+import edu.ucsb.cs156.example.dictionary.Dictionaries;
+import edu.ucsb.cs156.example.dictionary.Dictionary;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.ImportRowError;
+import edu.ucsb.cs156.example.models.MenuItemImportResult;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import edu.ucsb.cs156.example.reviewstats.ReviewAggregate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports menu items from CSV with a {@code diningCommonsCode,name,station}
+ * header (in any order). Rows are read one at a time and written in
+ * batches of {@code app.menu-import.batch-size}, each batch in its own
+ * transaction, so neither the file nor the import is ever held whole.
+ *
+ * Rows naming an unknown dining commons, or missing a name or station, are
+ * skipped and reported by line; the rest are still imported.
+ */
+@Slf4j
+@Service
+public class MenuItemImportService {
+
+  static final int MAX_LENGTH = 255;
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
+
+  @Autowired
+  UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  @Autowired
+  ObjectProvider<ReviewAggregate> reviewAggregates;
+
+  @Value("${app.menu-import.batch-size:1000}")
+  int batchSize = 1000;
+
+  @Value("${app.menu-import.max-reported-errors:100}")
+  int maxReportedErrors = 100;
+
+  private class Run {
+    final long started = System.nanoTime();
+    final List<ImportRowError> errors = new ArrayList<>();
+    long rowsRead;
+    long rowsImported;
+    long rowsRejected;
+
+    void reject(long line, String message) {
+      rowsRejected++;
+      if (errors.size() < maxReportedErrors) {
+        errors.add(ImportRowError.builder().line(line).message(message).build());
+      }
+    }
+
+    MenuItemImportResult result() {
+      long elapsedNanos = System.nanoTime() - started;
+      return MenuItemImportResult.builder()
+          .rowsRead(rowsRead)
+          .rowsImported(rowsImported)
+          .rowsRejected(rowsRejected)
+          .errors(errors)
+          .elapsedMillis(elapsedNanos / 1_000_000)
+          .rowsPerSecond(elapsedNanos == 0 ? 0 : rowsImported * 1e9 / elapsedNanos)
+          .build();
+    }
+  }
+
+  public MenuItemImportResult importCsv(Reader input) throws IOException {
+    Run run = new Run();
+    Set<String> commonsCodes = new HashSet<>();
+    for (UCSBDiningCommons commons : ucsbDiningCommonsRepository.findAll()) {
+      commonsCodes.add(commons.getCode());
+    }
+    Dictionary commonsDictionary = Dictionaries.get(dataSource, Dictionaries.DINING_COMMONS_CODE);
+    Dictionary stationDictionary = Dictionaries.get(dataSource, Dictionaries.STATION);
+    Long lastIdBefore = ucsbDiningCommonsMenuItemRepository.findMaxId();
+
+    CsvReader csv = new CsvReader(input);
+    List<EncodedMenuItem> batch = new ArrayList<>(batchSize);
+    try {
+      readInto(csv, run, batch, commonsCodes, commonsDictionary, stationDictionary);
+      run.rowsImported += write(batch);
+    } finally {
+      // batches already committed stay, even if a later one failed
+      if (run.rowsImported > 0) {
+        afterImport(lastIdBefore);
+      }
+    }
+
+    MenuItemImportResult result = run.result();
+    log.info("menuItemImport read={} imported={} rejected={} elapsedMillis={} rowsPerSecond={}",
+        result.getRowsRead(), result.getRowsImported(), result.getRowsRejected(),
+        result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+    return result;
+  }
+
+  private void readInto(CsvReader csv, Run run, List<EncodedMenuItem> batch, Set<String> commonsCodes,
+      Dictionary commonsDictionary, Dictionary stationDictionary) throws IOException {
+    try {
+      List<String> header = csv.next();
+      if (header == null) {
+        run.reject(1, "the file is empty");
+        return;
+      }
+      List<String> columns = header.stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+      int codeColumn = columns.indexOf("diningcommonscode");
+      int nameColumn = columns.indexOf("name");
+      int stationColumn = columns.indexOf("station");
+      if (codeColumn < 0 || nameColumn < 0 || stationColumn < 0) {
+        run.reject(csv.getLine(), "header must name the columns diningCommonsCode, name and station");
+        return;
+      }
+
+      List<String> record;
+      while ((record = csv.next()) != null) {
+        run.rowsRead++;
+        if (record.size() != columns.size()) {
+          run.reject(csv.getLine(), "expected %d fields but found %d".formatted(columns.size(), record.size()));
+          continue;
+        }
+        String code = record.get(codeColumn).trim();
+        String name = record.get(nameColumn).trim();
+        String station = record.get(stationColumn).trim();
+        if (!commonsCodes.contains(code)) {
+          run.reject(csv.getLine(), "unknown diningCommonsCode '%s'".formatted(code));
+        } else if (name.isEmpty() || station.isEmpty()) {
+          run.reject(csv.getLine(), "name and station are required");
+        } else if (name.length() > MAX_LENGTH || station.length() > MAX_LENGTH) {
+          run.reject(csv.getLine(), "name and station must be at most %d characters".formatted(MAX_LENGTH));
+        } else {
+          batch.add(new EncodedMenuItem(commonsDictionary.encode(code), name, stationDictionary.encode(station)));
+          if (batch.size() >= batchSize) {
+            run.rowsImported += write(batch);
+          }
+        }
+      }
+    } catch (CsvReader.MalformedCsvException e) {
+      run.reject(csv.getLine(), e.getMessage());
+    }
+  }
+
+  private int write(List<EncodedMenuItem> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    int written = batch.size();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      Connection connection = DataSourceUtils.getConnection(dataSource);
+      try {
+        MenuItemBatchWriter.forConnection(connection).write(connection, batch);
+      } catch (SQLException e) {
+        throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("menu item import", null, e);
+      } finally {
+        DataSourceUtils.releaseConnection(connection, dataSource);
+      }
+    });
+    batch.clear();
+    return written;
+  }
+
+  private void afterImport(Long lastIdBefore) {
+    bulkWriteNotifier.afterBulkWrite(UCSBDiningCommonsMenuItem.class);
+    // the review aggregates track which commons each item is in
+    if (reviewAggregates.stream().findAny().isEmpty()) {
+      return;
+    }
+    PageRequest page = PageRequest.of(0, batchSize, Sort.by("id"));
+    long afterId = lastIdBefore == null ? Long.MIN_VALUE : lastIdBefore;
+    List<UCSBDiningCommonsMenuItem> added;
+    do {
+      added = ucsbDiningCommonsMenuItemRepository.findByIdGreaterThan(afterId, page);
+      for (UCSBDiningCommonsMenuItem item : added) {
+        reviewAggregates.forEach(aggregate -> aggregate.putMenuItem(item));
+        afterId = item.getId();
+      }
+    } while (added.size() == batchSize);
+  }
+}
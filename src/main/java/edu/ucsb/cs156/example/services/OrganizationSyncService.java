@@ -0,0 +1,127 @@
+package edu.ucsb.cs156.example.services;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.example.bulk.OrganizationUpsertWriter;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.errors.InvalidRequestException;
+import edu.ucsb.cs156.example.models.OrganizationSyncResult;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Brings the organization table in line with a full list (such as the
+ * registrar's). The list is compared with what is stored and only new or
+ * changed organizations are written, with batched upserts in a single
+ * transaction; organizations missing from the list can be marked inactive.
+ */
+@Slf4j
+@Service
+public class OrganizationSyncService {
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  UCSBOrganizationRepository ucsbOrganizationRepository;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  @Value("${app.organization-sync.batch-size:500}")
+  int batchSize = 500;
+
+  public OrganizationSyncResult sync(List<UCSBOrganization> incoming, boolean deactivateMissing) {
+    long started = System.nanoTime();
+    validate(incoming);
+
+    Map<String, UCSBOrganization> stored = new HashMap<>();
+    for (UCSBOrganization org : ucsbOrganizationRepository.findAll()) {
+      stored.put(org.getOrgCode(), org);
+    }
+
+    List<UCSBOrganization> changed = new ArrayList<>();
+    int inserted = 0;
+    int unchanged = 0;
+    for (UCSBOrganization org : incoming) {
+      UCSBOrganization current = stored.remove(org.getOrgCode());
+      if (current == null) {
+        inserted++;
+        changed.add(org);
+      } else if (current.equals(org)) {
+        unchanged++;
+      } else {
+        changed.add(org);
+      }
+    }
+    // whatever is left in stored was not in the list
+    List<String> toDeactivate = deactivateMissing
+        ? stored.values().stream().filter(org -> !org.getInactive()).map(UCSBOrganization::getOrgCode).toList()
+        : List.of();
+
+    if (!changed.isEmpty() || !toDeactivate.isEmpty()) {
+      write(changed, toDeactivate);
+      bulkWriteNotifier.afterBulkWrite(UCSBOrganization.class);
+    }
+
+    OrganizationSyncResult result = OrganizationSyncResult.builder()
+        .inserted(inserted)
+        .updated(changed.size() - inserted)
+        .unchanged(unchanged)
+        .deactivated(toDeactivate.size())
+        .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+        .build();
+    log.info("organizationSync inserted={} updated={} unchanged={} deactivated={} elapsedMillis={}",
+        result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getDeactivated(),
+        result.getElapsedMillis());
+    return result;
+  }
+
+  private void validate(List<UCSBOrganization> incoming) {
+    Set<String> seen = new HashSet<>();
+    for (UCSBOrganization org : incoming) {
+      String orgCode = org.getOrgCode();
+      if (orgCode == null || orgCode.isBlank()) {
+        throw new InvalidRequestException("every organization needs an orgCode");
+      }
+      if (!seen.add(orgCode)) {
+        throw new InvalidRequestException("orgCode %s appears more than once".formatted(orgCode));
+      }
+    }
+  }
+
+  private void write(List<UCSBOrganization> changed, List<String> toDeactivate) {
+    OrganizationUpsertWriter writer = new OrganizationUpsertWriter(batchSize);
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      Connection connection = DataSourceUtils.getConnection(dataSource);
+      try {
+        writer.upsert(connection, changed);
+        writer.deactivate(connection, toDeactivate);
+      } catch (SQLException e) {
+        throw new SQLErrorCodeSQLExceptionTranslator(dataSource).translate("organization sync", null, e);
+      } finally {
+        DataSourceUtils.releaseConnection(connection, dataSource);
+      }
+    });
+  }
+}
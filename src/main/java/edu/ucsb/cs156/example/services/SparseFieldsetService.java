@@ -0,0 +1,111 @@
+package edu.ucsb.cs156.example.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
+
+/**
+ * Serves {@code fields=} requests: only the named columns (plus the id) are
+ * selected, via a Criteria tuple query, and each row comes back as a map in
+ * the order the fields were asked for.
+ */
+@Service
+public class SparseFieldsetService {
+
+  @Autowired
+  EntityManager entityManager;
+
+  @Transactional(readOnly = true)
+  public List<Map<String, Object>> findAll(Class<?> type, String fields) {
+    List<String> selected = parse(type, fields);
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<?> root = query.from(type);
+    select(query, root, selected);
+    return toMaps(entityManager.createQuery(query).getResultList(), selected);
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<Map<String, Object>> findById(Class<?> type, Object id, String fields) {
+    List<String> selected = parse(type, fields);
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<?> root = query.from(type);
+    select(query, root, selected);
+    query.where(cb.equal(root.get(selected.get(0)), id));
+    return toMaps(entityManager.createQuery(query).getResultList(), selected).stream().findFirst();
+  }
+
+  /** The same map for an entity that was not read from the database. */
+  public Map<String, Object> project(Object entity, String fields) {
+    List<String> selected = parse(entity.getClass(), fields);
+    BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (String field : selected) {
+      row.put(field, bean.getPropertyValue(field));
+    }
+    return row;
+  }
+
+  /**
+   * Splits a comma-separated field list, checks each name against the
+   * entity's basic attributes and puts the id first (it is always returned,
+   * since the tables key their rows and actions on it).
+   */
+  List<String> parse(Class<?> type, String fields) {
+    EntityType<?> entity = entityManager.getMetamodel().entity(type);
+    String idName = entity.getId(entity.getIdType().getJavaType()).getName();
+    Set<String> selected = new LinkedHashSet<>();
+    selected.add(idName);
+    for (String field : fields.split(",")) {
+      String name = field.trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      boolean basic = entity.getSingularAttributes().stream()
+          .anyMatch(a -> a.getName().equals(name) && a.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC);
+      if (!basic) {
+        throw new UnknownFieldException(type, name);
+      }
+      selected.add(name);
+    }
+    return new ArrayList<>(selected);
+  }
+
+  private static void select(CriteriaQuery<Tuple> query, Root<?> root, List<String> selected) {
+    query.multiselect(selected.stream().<Selection<?>>map(f -> root.get(f).alias(f)).toList());
+  }
+
+  private static List<Map<String, Object>> toMaps(List<Tuple> tuples, List<String> selected) {
+    List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      for (String field : selected) {
+        row.put(field, tuple.get(field));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+}
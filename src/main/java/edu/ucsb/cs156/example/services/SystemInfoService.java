@@ -1,7 +1,9 @@
 package edu.ucsb.cs156.example.services;
 
+import edu.ucsb.cs156.example.models.PerformanceSnapshot;
 import edu.ucsb.cs156.example.models.SystemInfo;
 
 public abstract class SystemInfoService {
   public abstract SystemInfo getSystemInfo();
+  public abstract PerformanceSnapshot getPerformanceSnapshot();
 }
@@ -1,12 +1,39 @@
 package edu.ucsb.cs156.example.services;
 
 
+import edu.ucsb.cs156.example.models.PerformanceSnapshot;
 import edu.ucsb.cs156.example.models.SystemInfo;
 import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
 // This class relies on property values
 // For hints on testing, see: https://www.baeldung.com/spring-boot-testing-configurationproperties
 
@@ -21,13 +48,128 @@ public class SystemInfoServiceImpl extends SystemInfoService {
   @Value("${app.showSwaggerUILink:false}")
   private boolean showSwaggerUILink;
 
+  @Autowired
+  private ObjectProvider<DataSource> dataSources;
+
+  @Autowired
+  private ObjectProvider<ConnectionPoolTimeoutCounter> connectionPoolTimeoutCounter;
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
   public SystemInfo getSystemInfo() {
     SystemInfo si = SystemInfo.builder()
     .springH2ConsoleEnabled(this.springH2ConsoleEnabled)
     .showSwaggerUILink(this.showSwaggerUILink)
     .build();
-  log.info("getSystemInfo returns {}",si);
+  log.debug("getSystemInfo returns {}",si);
   return si;
   }
 
+  public PerformanceSnapshot getPerformanceSnapshot() {
+    return PerformanceSnapshot.builder()
+        .uptimeMillis(ManagementFactory.getRuntimeMXBean().getUptime())
+        .heap(memoryStats(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()))
+        .nonHeap(memoryStats(ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage()))
+        .garbageCollectors(garbageCollectorStats())
+        .threads(threadStats())
+        .connectionPools(connectionPoolStats())
+        .webServerThreadPool(webServerThreadPoolStats(webServer()))
+        .build();
+  }
+
+  static PerformanceSnapshot.MemoryStats memoryStats(MemoryUsage usage) {
+    return PerformanceSnapshot.MemoryStats.builder()
+        .usedBytes(usage.getUsed())
+        .committedBytes(usage.getCommitted())
+        .maxBytes(usage.getMax())
+        .build();
+  }
+
+  static List<PerformanceSnapshot.GarbageCollectorStats> garbageCollectorStats() {
+    List<PerformanceSnapshot.GarbageCollectorStats> stats = new ArrayList<>();
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      stats.add(PerformanceSnapshot.GarbageCollectorStats.builder()
+          .name(gc.getName())
+          .collectionCount(gc.getCollectionCount())
+          .collectionTimeMillis(gc.getCollectionTime())
+          .build());
+    }
+    return stats;
+  }
+
+  static PerformanceSnapshot.ThreadStats threadStats() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    Map<Thread.State, Integer> byState = new EnumMap<>(Thread.State.class);
+    for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+      // threads that died between the two calls come back as null
+      if (info != null) {
+        byState.merge(info.getThreadState(), 1, Integer::sum);
+      }
+    }
+    return PerformanceSnapshot.ThreadStats.builder()
+        .live(threads.getThreadCount())
+        .daemon(threads.getDaemonThreadCount())
+        .peak(threads.getPeakThreadCount())
+        .byState(byState)
+        .build();
+  }
+
+  List<PerformanceSnapshot.ConnectionPoolStats> connectionPoolStats() {
+    ConnectionPoolTimeoutCounter counter = connectionPoolTimeoutCounter.getIfAvailable();
+    List<PerformanceSnapshot.ConnectionPoolStats> stats = new ArrayList<>();
+    // pools may be wrapped (slow query capture, read/write routing), and one pool may be reachable from two beans
+    dataSources.orderedStream().map(SystemInfoServiceImpl::hikari).filter(Objects::nonNull).distinct().forEach(hikari -> {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      // the pool starts lazily, so there is nothing to report before the first connection
+      if (pool != null) {
+        stats.add(PerformanceSnapshot.ConnectionPoolStats.builder()
+            .poolName(hikari.getPoolName())
+            .active(pool.getActiveConnections())
+            .idle(pool.getIdleConnections())
+            .total(pool.getTotalConnections())
+            .pending(pool.getThreadsAwaitingConnection())
+            .timeouts(counter == null ? 0 : counter.getTimeouts(hikari.getPoolName()))
+            .build());
+      }
+    });
+    return stats;
+  }
+
+  static HikariDataSource hikari(DataSource dataSource) {
+    if (dataSource instanceof HikariDataSource hikari) {
+      return hikari;
+    }
+    try {
+      return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+    } catch (SQLException e) {
+      return null;
+    }
+  }
+
+  WebServer webServer() {
+    if (applicationContext instanceof ServletWebServerApplicationContext webContext) {
+      return webContext.getWebServer();
+    }
+    return null;
+  }
+
+  static PerformanceSnapshot.WebServerThreadPoolStats webServerThreadPoolStats(WebServer webServer) {
+    if (!(webServer instanceof TomcatWebServer tomcat)) {
+      return null;
+    }
+    Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+    if (!(executor instanceof ThreadPoolExecutor pool)) {
+      return null;
+    }
+    int max = pool.getMaximumPoolSize();
+    return PerformanceSnapshot.WebServerThreadPoolStats.builder()
+        .active(pool.getActiveCount())
+        .poolSize(pool.getPoolSize())
+        .maxPoolSize(max)
+        .queued(pool.getQueue().size())
+        .saturation(max == 0 ? 0.0 : (double) pool.getActiveCount() / max)
+        .build();
+  }
+
 }
@@ -0,0 +1,16 @@
+package edu.ucsb.cs156.example.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through {@code hibernate.session_factory.statement_inspector};
+ * Hibernate instantiates it itself, so it only talks to static state.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    SqlStatementCounter.increment();
+    return sql;
+  }
+}
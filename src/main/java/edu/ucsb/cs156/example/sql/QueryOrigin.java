@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.sql;
+
+/**
+ * The repository method running on this thread, e.g.
+ * {@code UCSBDateRepository.findAll}, so a slow statement can be traced back
+ * to it. Set around repository calls by {@code QueryOriginAspect}.
+ */
+public final class QueryOrigin {
+
+  private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+  private QueryOrigin() {
+  }
+
+  /** Sets the current repository method and returns the one it replaces, for {@link #restore}. */
+  public static String enter(String repositoryMethod) {
+    String previous = REPOSITORY_METHOD.get();
+    REPOSITORY_METHOD.set(repositoryMethod);
+    return previous;
+  }
+
+  public static void restore(String previous) {
+    if (previous == null) {
+      REPOSITORY_METHOD.remove();
+    } else {
+      REPOSITORY_METHOD.set(previous);
+    }
+  }
+
+  public static String current() {
+    return REPOSITORY_METHOD.get();
+  }
+}
@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.example.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections wrapped by {@link SlowQueryJdbc}. Code that needs
+ * the pool itself (e.g. a {@code HikariDataSource}) gets it with
+ * {@link #unwrap}.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+  private final SlowQueryRecorder recorder;
+
+  public SlowQueryDataSource(DataSource target, SlowQueryRecorder recorder) {
+    super(target);
+    this.recorder = recorder;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return SlowQueryJdbc.wrap(obtainTargetDataSource().getConnection(), recorder);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return SlowQueryJdbc.wrap(obtainTargetDataSource().getConnection(username, password), recorder);
+  }
+}
@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.example.sql;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Replaces the application's {@code dataSource} bean with a
+ * {@link SlowQueryDataSource} around it, so that every connection it hands
+ * out (to Hibernate and to the JDBC writers alike) goes through
+ * {@link SlowQueryJdbc}. EXPLAIN runs on connections from the unwrapped
+ * data source, so it is not itself timed.
+ */
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+  static final String DATA_SOURCE_BEAN = "dataSource";
+
+  private final ObjectProvider<SlowQueryRecorder> recorder;
+
+  public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+    this.recorder = recorder;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+      return bean;
+    }
+    SlowQueryRecorder slowQueryRecorder = recorder.getObject();
+    slowQueryRecorder.setExplainDataSource(dataSource);
+    return new SlowQueryDataSource(dataSource, slowQueryRecorder);
+  }
+}
@@ -0,0 +1,211 @@
+package edu.ucsb.cs156.example.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * JDBC proxies that time each statement execution. A connection is
+ * wrapped when it leaves the datasource; the statements it creates are
+ * wrapped so that bound parameters and batch sizes are remembered, and an
+ * execution that took at least the threshold is handed to
+ * {@link SlowQueryRecorder}. A fast statement costs two
+ * {@code System.nanoTime()} calls and the reflective dispatch.
+ *
+ * Result sets are wrapped too, only so that {@code getStatement()} answers
+ * the wrapped statement, as {@code Statement.getConnection()} answers the
+ * wrapped connection; code that closes or executes through either
+ * back-reference stays inside the capture layer.
+ */
+public final class SlowQueryJdbc {
+
+  private SlowQueryJdbc() {
+  }
+
+  public static Connection wrap(Connection connection, SlowQueryRecorder recorder) {
+    return (Connection) Proxy.newProxyInstance(SlowQueryJdbc.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, new ConnectionHandler(connection, recorder));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static final class ConnectionHandler implements InvocationHandler {
+    private final Connection connection;
+    private final SlowQueryRecorder recorder;
+
+    ConnectionHandler(Connection connection, SlowQueryRecorder recorder) {
+      this.connection = connection;
+      this.recorder = recorder;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "SlowQueryJdbc wrapping " + connection;
+        default:
+          break;
+      }
+      Object result = SlowQueryJdbc.invoke(connection, method, args);
+      if (result instanceof Statement statement) {
+        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+        Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+            : result instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return Proxy.newProxyInstance(SlowQueryJdbc.class.getClassLoader(), new Class<?>[] { type },
+            new StatementHandler((Connection) proxy, statement, sql, recorder));
+      }
+      return result;
+    }
+  }
+
+  private static final class StatementHandler implements InvocationHandler {
+    // the wrapped connection, for getConnection()
+    private final Connection connection;
+    private final Statement statement;
+    // null for a plain Statement, whose sql comes with each execute call
+    private final String sql;
+    private final SlowQueryRecorder recorder;
+    private Object[] parameters;
+    private int parameterCount;
+    private Object[] firstBatchRow;
+    // for a plain Statement, the first addBatch(sql)
+    private String firstBatchSql;
+    private int batchSize;
+
+    StatementHandler(Connection connection, Statement statement, String sql, SlowQueryRecorder recorder) {
+      this.connection = connection;
+      this.statement = statement;
+      this.sql = sql;
+      this.recorder = recorder;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (name.startsWith("execute")) {
+        return wrap(execute(method, args), proxy);
+      }
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "getConnection":
+          return connection;
+        case "getResultSet":
+        case "getGeneratedKeys":
+          return wrap(SlowQueryJdbc.invoke(statement, method, args), proxy);
+        case "clearParameters":
+          parameterCount = 0;
+          break;
+        case "addBatch":
+          if (batchSize++ == 0) {
+            firstBatchRow = boundParameters();
+            firstBatchSql = args != null && args.length > 0 ? (String) args[0] : null;
+          }
+          break;
+        case "clearBatch":
+          resetBatch();
+          break;
+        case "setNull":
+          bind((Integer) args[0], null);
+          break;
+        default:
+          // setString(int, String), setObject(int, Object, int), ... but not setFetchSize(int)
+          if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+            bind(index, args[1]);
+          }
+      }
+      return SlowQueryJdbc.invoke(statement, method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+      long start = System.nanoTime();
+      try {
+        return SlowQueryJdbc.invoke(statement, method, args);
+      } finally {
+        long nanos = System.nanoTime() - start;
+        if (recorder.isSlow(nanos)) {
+          boolean batch = method.getName().contains("Batch");
+          String executed = sql != null ? sql
+              : batch ? firstBatchSql
+              : (String) args[0];
+          recorder.record(executed, batch ? firstBatchRow : boundParameters(), batch ? batchSize : 0, nanos);
+        }
+        if (method.getName().contains("Batch")) {
+          resetBatch();
+        }
+      }
+    }
+
+    private static Object wrap(Object result, Object statementProxy) {
+      if (result instanceof ResultSet resultSet) {
+        return Proxy.newProxyInstance(SlowQueryJdbc.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+            new ResultSetHandler(resultSet, (Statement) statementProxy));
+      }
+      return result;
+    }
+
+    private void resetBatch() {
+      batchSize = 0;
+      firstBatchRow = null;
+      firstBatchSql = null;
+    }
+
+    private void bind(int index, Object value) {
+      if (parameters == null) {
+        parameters = new Object[Math.max(8, index)];
+      } else if (index > parameters.length) {
+        parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+      }
+      parameters[index - 1] = value;
+      parameterCount = Math.max(parameterCount, index);
+    }
+
+    private Object[] boundParameters() {
+      return parameters == null ? null : Arrays.copyOf(parameters, parameterCount);
+    }
+  }
+
+  private static final class ResultSetHandler implements InvocationHandler {
+    private final ResultSet resultSet;
+    private final Statement statement;
+
+    ResultSetHandler(ResultSet resultSet, Statement statement) {
+      this.resultSet = resultSet;
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "getStatement":
+          return statement;
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return SlowQueryJdbc.invoke(resultSet, method, args);
+      }
+    }
+  }
+}
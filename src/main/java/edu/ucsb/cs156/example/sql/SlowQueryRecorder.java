@@ -0,0 +1,226 @@
+package edu.ucsb.cs156.example.sql;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import edu.ucsb.cs156.example.models.SlowQuery;
+import edu.ucsb.cs156.example.trace.Tracer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether a timed statement was slow and, only then, works out
+ * where it came from (repository method, calling class, endpoint, trace
+ * id) and stores it.
+ *
+ * With EXPLAIN on, a slow query whose plan is not cached yet is handed,
+ * with its bound parameters, to {@code explainExecutor}, which explains it
+ * on its own connection from {@code explainDataSource} and only then
+ * stores it; the request's connection and transaction are never used, and
+ * the request does not wait. When the executor is busy the query is stored
+ * without a plan.
+ */
+@Slf4j
+public class SlowQueryRecorder implements AutoCloseable {
+
+  static final String APPLICATION_PACKAGE = "edu.ucsb.cs156.example.";
+  // frames from the capture layer itself and from aspects are skipped when looking for the caller
+  private static final String[] SKIPPED_CLASSES = { SlowQueryJdbc.class.getName(), SlowQueryRecorder.class.getName() };
+  private static final String SKIPPED_PACKAGE = APPLICATION_PACKAGE + "aop.";
+
+  private final SlowQueryStore store;
+  private final long thresholdNanos;
+  private final boolean includeParameters;
+  private final int maxParameterChars;
+  private final boolean explain;
+  // plans by statement text, so a statement that is slow every time is explained once
+  private final Map<String, String> plans = new ConcurrentHashMap<>();
+  private final int maxPlans;
+  private final Executor explainExecutor;
+  private volatile DataSource explainDataSource;
+
+  public SlowQueryRecorder(SlowQueryStore store, Duration threshold, boolean includeParameters,
+      int maxParameterChars, boolean explain, int maxPlans, Executor explainExecutor) {
+    this.store = store;
+    this.thresholdNanos = threshold.toNanos();
+    this.includeParameters = includeParameters;
+    this.maxParameterChars = maxParameterChars;
+    this.explain = explain;
+    this.maxPlans = maxPlans;
+    this.explainExecutor = explainExecutor;
+  }
+
+  /** The data source (not wrapped for capture) that EXPLAIN takes its connections from. */
+  public void setExplainDataSource(DataSource explainDataSource) {
+    this.explainDataSource = explainDataSource;
+  }
+
+  public boolean isSlow(long nanos) {
+    return nanos >= thresholdNanos;
+  }
+
+  /** Records a statement that took {@code nanos}. */
+  public void record(String sql, Object[] parameters, int batchSize, long nanos) {
+    // everything that depends on the request thread is captured here
+    String repositoryMethod = QueryOrigin.current();
+    String caller = caller();
+    String endpoint = endpoint();
+    SlowQuery.SlowQueryBuilder query = SlowQuery.builder()
+        .timestamp(Instant.now())
+        .durationMicros(TimeUnit.NANOSECONDS.toMicros(nanos))
+        .sql(sql)
+        .parameters(includeParameters ? text(parameters) : null)
+        .batchSize(batchSize)
+        .repositoryMethod(repositoryMethod)
+        .caller(caller)
+        .endpoint(endpoint)
+        .traceId(Tracer.currentId());
+    log.warn("slow query: {} ms {} from {} ({})", TimeUnit.NANOSECONDS.toMillis(nanos), sql,
+        repositoryMethod == null ? caller : repositoryMethod, endpoint);
+
+    DataSource dataSource = explainDataSource;
+    if (!explain || batchSize != 0 || sql == null || !isQuery(sql) || dataSource == null) {
+      store.add(query.build());
+      return;
+    }
+    String plan = plans.get(sql);
+    if (plan != null) {
+      store.add(query.plan(plan).build());
+      return;
+    }
+    Object[] values = parameters == null ? null : parameters.clone();
+    try {
+      explainExecutor.execute(() -> store.add(query.plan(plan(dataSource, sql, values)).build()));
+    } catch (RejectedExecutionException e) {
+      store.add(query.plan("EXPLAIN skipped: too many queries waiting to be explained").build());
+    }
+  }
+
+  private List<String> text(Object[] parameters) {
+    if (parameters == null) {
+      return List.of();
+    }
+    List<String> text = new ArrayList<>(parameters.length);
+    for (Object parameter : parameters) {
+      text.add(text(parameter));
+    }
+    return text;
+  }
+
+  private String text(Object parameter) {
+    if (parameter == null) {
+      return null;
+    }
+    if (parameter instanceof byte[] bytes) {
+      return "<%d bytes>".formatted(bytes.length);
+    }
+    if (parameter instanceof InputStream || parameter instanceof Reader) {
+      return "<stream>";
+    }
+    String text = parameter.toString();
+    return text.length() <= maxParameterChars ? text : text.substring(0, maxParameterChars) + "…";
+  }
+
+  static String caller() {
+    return StackWalker.getInstance().walk(frames -> frames
+        .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+            && !frame.getClassName().contains("$$")
+            && !skipped(frame.getClassName()))
+        .findFirst()
+        .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+            + "." + frame.getMethodName())
+        .orElse(null));
+  }
+
+  private static boolean skipped(String className) {
+    if (className.startsWith(SKIPPED_PACKAGE)) {
+      return true;
+    }
+    for (String skipped : SKIPPED_CLASSES) {
+      // nested classes too, e.g. SlowQueryJdbc$StatementHandler
+      if (className.equals(skipped) || className.startsWith(skipped + "$")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static String endpoint() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+      return null;
+    }
+    Object pattern = attributes.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return attributes.getRequest().getMethod() + " "
+        + (pattern == null ? attributes.getRequest().getRequestURI() : pattern);
+  }
+
+  private String plan(DataSource dataSource, String sql, Object[] parameters) {
+    String plan = plans.get(sql);
+    if (plan != null) {
+      return plan;
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      plan = explain(connection, sql, parameters);
+    } catch (SQLException | RuntimeException e) {
+      return "EXPLAIN failed: " + e.getMessage();
+    }
+    if (plans.size() < maxPlans) {
+      plans.put(sql, plan);
+    }
+    return plan;
+  }
+
+  private static String explain(Connection connection, String sql, Object[] parameters) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      if (parameters != null) {
+        for (int i = 0; i < parameters.length; i++) {
+          statement.setObject(i + 1, parameters[i]);
+        }
+      }
+      StringBuilder text = new StringBuilder();
+      try (ResultSet rows = statement.executeQuery()) {
+        int columns = rows.getMetaData().getColumnCount();
+        while (rows.next()) {
+          for (int column = 1; column <= columns; column++) {
+            text.append(column > 1 ? " | " : "").append(rows.getString(column));
+          }
+          text.append('\n');
+        }
+      }
+      return text.toString().stripTrailing();
+    }
+  }
+
+  /** Stops explaining; queries still waiting for a plan are not stored. */
+  @Override
+  public void close() {
+    if (explainExecutor instanceof ExecutorService executorService) {
+      executorService.shutdownNow();
+    }
+  }
+
+  static boolean isQuery(String sql) {
+    String start = sql.stripLeading().toLowerCase(Locale.ROOT);
+    return start.startsWith("select") || start.startsWith("with");
+  }
+}
@@ -0,0 +1,41 @@
+package edu.ucsb.cs156.example.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.ucsb.cs156.example.models.SlowQuery;
+
+/** The last {@code capacity} slow queries, in a ring. */
+public class SlowQueryStore {
+
+  private final AtomicReferenceArray<SlowQuery> queries;
+  private final AtomicLong added = new AtomicLong();
+
+  public SlowQueryStore(int capacity) {
+    queries = new AtomicReferenceArray<>(capacity);
+  }
+
+  public void add(SlowQuery query) {
+    queries.set((int) (added.getAndIncrement() % queries.length()), query);
+  }
+
+  /** The most recent slow queries, newest first. */
+  public List<SlowQuery> recent(int limit) {
+    long end = added.get();
+    long start = Math.max(0, end - Math.min(limit, queries.length()));
+    List<SlowQuery> recent = new ArrayList<>();
+    for (long n = end - 1; n >= start; n--) {
+      SlowQuery query = queries.get((int) (n % queries.length()));
+      if (query != null) {
+        recent.add(query);
+      }
+    }
+    return recent;
+  }
+
+  public long getTotal() {
+    return added.get();
+  }
+}
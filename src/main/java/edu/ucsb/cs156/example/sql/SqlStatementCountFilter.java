@@ -0,0 +1,60 @@
+package edu.ucsb.cs156.example.sql;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements each request issues, reports the count in the
+ * {@value #HEADER} response header and logs it at DEBUG, warning when a
+ * request goes over {@code app.sql.statement-warn-threshold} (usually an
+ * N+1 query).
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-SQL-Statement-Count";
+
+  @Value("${app.sql.statement-warn-threshold:10}")
+  private int warnThreshold;
+
+  public SqlStatementCountFilter() {
+  }
+
+  SqlStatementCountFilter(int warnThreshold) {
+    this.warnThreshold = warnThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    SqlStatementCounter.reset();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      int count = SqlStatementCounter.get();
+      // responses with a body already got the header from SqlStatementCountResponseAdvice
+      if (!response.isCommitted()) {
+        response.setHeader(HEADER, Integer.toString(count));
+      }
+      if (count > warnThreshold) {
+        log.warn("sqlStatements={} threshold={} method={} uri={} status={}",
+            count, warnThreshold, request.getMethod(), request.getRequestURI(), response.getStatus());
+      } else if (log.isDebugEnabled()) {
+        log.debug("sqlStatements={} method={} uri={} status={}",
+            count, request.getMethod(), request.getRequestURI(), response.getStatus());
+      }
+      SqlStatementCounter.reset();
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package edu.ucsb.cs156.example.sql;
+
+/**
+ * Per-thread count of SQL statements prepared by Hibernate. The request
+ * filter resets it at the start of each request; tests can reset and read it
+ * around any block of repository calls.
+ */
+public final class SqlStatementCounter {
+
+  private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+  private SqlStatementCounter() {
+  }
+
+  public static void increment() {
+    COUNT.get()[0]++;
+  }
+
+  public static int get() {
+    return COUNT.get()[0];
+  }
+
+  public static void reset() {
+    COUNT.get()[0] = 0;
+  }
+}
@@ -0,0 +1,99 @@
+package edu.ucsb.cs156.example.trace;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ucsb.cs156.example.models.RequestTrace;
+import edu.ucsb.cs156.example.models.TraceSpan;
+
+/**
+ * The trace of the request on this thread while it runs. Spans are kept
+ * in parallel arrays sized once per request, so opening and closing a
+ * span allocates nothing.
+ */
+final class ActiveTrace {
+
+  final String id;
+  final String correlationId;
+  final String method;
+  final String uri;
+  private final long startEpochMillis = System.currentTimeMillis();
+  private final long startNanos = System.nanoTime();
+
+  private final String[] names;
+  private final String[] details;
+  private final int[] depths;
+  private final long[] starts;
+  private final long[] ends;
+  private int size;
+  private int depth;
+  private int dropped;
+
+  // the response body is written after the controller returns, see TraceResponseAdvice
+  boolean serializing;
+  int serializationSpan;
+
+  ActiveTrace(String id, String correlationId, String method, String uri, int maxSpans) {
+    this.id = id;
+    this.correlationId = correlationId;
+    this.method = method;
+    this.uri = uri;
+    names = new String[maxSpans];
+    details = new String[maxSpans];
+    depths = new int[maxSpans];
+    starts = new long[maxSpans];
+    ends = new long[maxSpans];
+  }
+
+  /** Opens a span and returns its index, or -1 when the trace is full. */
+  int start(String name, String detail) {
+    depth++;
+    if (size == names.length) {
+      dropped++;
+      return -1;
+    }
+    names[size] = name;
+    details[size] = detail;
+    depths[size] = depth;
+    starts[size] = System.nanoTime();
+    ends[size] = 0;
+    return size++;
+  }
+
+  /** Closes a span opened by {@link #start}; closing it again does nothing. */
+  void finish(int span) {
+    if (span == -1) {
+      depth--;
+    } else if (span < size && ends[span] == 0) {
+      ends[span] = System.nanoTime();
+      depth--;
+    }
+  }
+
+  RequestTrace toRequestTrace(String endpoint, int status) {
+    long endNanos = System.nanoTime();
+    List<TraceSpan> spans = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      spans.add(new TraceSpan(names[i], details[i], depths[i], micros(starts[i] - startNanos),
+          ends[i] == 0 ? -1 : micros(ends[i] - starts[i])));
+    }
+    return RequestTrace.builder()
+        .id(id)
+        .correlationId(correlationId)
+        .method(method)
+        .uri(uri)
+        .endpoint(endpoint)
+        .status(status)
+        .startedAt(Instant.ofEpochMilli(startEpochMillis))
+        .durationMicros(micros(endNanos - startNanos))
+        .spans(spans)
+        .droppedSpans(dropped)
+        .build();
+  }
+
+  private static long micros(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos);
+  }
+}
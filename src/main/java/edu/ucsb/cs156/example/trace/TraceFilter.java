@@ -0,0 +1,97 @@
+package edu.ucsb.cs156.example.trace;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Traces each request: puts a correlation id in the MDC (as
+ * {@value #MDC_KEY}) and the {@value #HEADER} response header, opens the
+ * "security" span that {@link SecurityBoundary} closes once the Spring
+ * Security filters are through, and hands the finished trace to the
+ * {@link TraceStore}.
+ *
+ * Ids are generated here, so they are unique; a caller-supplied
+ * {@value #HEADER} is kept as the trace's correlation id and as the
+ * prefix of its id, so a trace can be matched up with the client or proxy
+ * log that sent it. Traces are grouped by endpoint (method and handler
+ * pattern); requests no handler matched, and methods outside HTTP's
+ * standard ones, share an endpoint each, so junk requests cannot use up
+ * {@code app.tracing.max-endpoints}.
+ */
+public class TraceFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Request-Id";
+  public static final String MDC_KEY = "traceId";
+  // endpoint of requests no handler mapping matched, so that probes for random paths share one entry
+  static final String UNMATCHED = "(unmatched)";
+  static final String OTHER_METHOD = "(other)";
+
+  private static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS",
+      "TRACE");
+
+  private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+  private final TraceStore traceStore;
+  private final int maxSpans;
+
+  public TraceFilter(TraceStore traceStore, int maxSpans) {
+    this.traceStore = traceStore;
+    this.maxSpans = maxSpans;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String correlationId = request.getHeader(HEADER);
+    String id;
+    if (correlationId != null && VALID_ID.matcher(correlationId).matches()) {
+      id = correlationId + "." + Integer.toHexString(ThreadLocalRandom.current().nextInt() | Integer.MIN_VALUE);
+    } else {
+      correlationId = null;
+      id = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+    ActiveTrace trace = Tracer.begin(id, correlationId, request.getMethod(), request.getRequestURI(), maxSpans);
+    MDC.put(MDC_KEY, id);
+    response.setHeader(HEADER, id);
+    trace.start("security", null);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      // still open when security turned the request away
+      trace.finish(Tracer.SECURITY_SPAN);
+      traceStore.add(trace.toRequestTrace(endpoint(request), response.getStatus()));
+      Tracer.end();
+      MDC.remove(MDC_KEY);
+    }
+  }
+
+  static String endpoint(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    if (pattern == null) {
+      return UNMATCHED;
+    }
+    String method = request.getMethod();
+    return (METHODS.contains(method) ? method : OTHER_METHOD) + " " + pattern;
+  }
+
+  /** Registered just after the Spring Security filter chain, to close its span. */
+  public static class SecurityBoundary extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+      Tracer.finish(Tracer.SECURITY_SPAN);
+      filterChain.doFilter(request, response);
+    }
+  }
+}
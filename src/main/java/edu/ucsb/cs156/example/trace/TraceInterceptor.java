@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.example.trace;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Closes the "serialization" span opened by {@link TraceResponseAdvice}:
+ * a {@code @ResponseBody} is written before {@code postHandle} runs, and
+ * {@code afterCompletion} covers handlers that threw.
+ */
+public class TraceInterceptor implements HandlerInterceptor {
+
+  @Override
+  public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+      ModelAndView modelAndView) {
+    Tracer.finishSerialization();
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    Tracer.finishSerialization();
+  }
+}
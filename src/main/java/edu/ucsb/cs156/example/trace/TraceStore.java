@@ -0,0 +1,127 @@
+package edu.ucsb.cs156.example.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.ucsb.cs156.example.models.RequestTrace;
+
+/**
+ * Finished traces: the last {@code recent} in a ring, plus the
+ * {@code slowestPerEndpoint} slowest seen for each endpoint, for at most
+ * {@code maxEndpoints} endpoints. Memory is bounded by those three numbers
+ * and {@code app.tracing.max-spans}.
+ */
+public class TraceStore {
+
+  private final AtomicReferenceArray<RequestTrace> recent;
+  private final AtomicLong added = new AtomicLong();
+  private final int slowestPerEndpoint;
+  private final int maxEndpoints;
+  private final Map<String, Slowest> slowest = new ConcurrentHashMap<>();
+
+  public TraceStore(int recent, int slowestPerEndpoint, int maxEndpoints) {
+    this.recent = new AtomicReferenceArray<>(recent);
+    this.slowestPerEndpoint = slowestPerEndpoint;
+    this.maxEndpoints = maxEndpoints;
+  }
+
+  public void add(RequestTrace trace) {
+    long n = added.getAndIncrement();
+    recent.set((int) (n % recent.length()), trace);
+    Slowest forEndpoint = slowest.get(trace.getEndpoint());
+    if (forEndpoint == null) {
+      if (slowest.size() >= maxEndpoints) {
+        return;
+      }
+      forEndpoint = slowest.computeIfAbsent(trace.getEndpoint(), e -> new Slowest(slowestPerEndpoint));
+    }
+    forEndpoint.offer(trace);
+  }
+
+  /** The most recent traces, newest first. */
+  public List<RequestTrace> recent(int limit) {
+    long end = added.get();
+    long start = Math.max(0, end - Math.min(limit, recent.length()));
+    List<RequestTrace> traces = new ArrayList<>();
+    for (long n = end - 1; n >= start; n--) {
+      RequestTrace trace = recent.get((int) (n % recent.length()));
+      if (trace != null) {
+        traces.add(trace);
+      }
+    }
+    return traces;
+  }
+
+  /** The slowest traces kept for each endpoint, slowest first, by endpoint. */
+  public Map<String, List<RequestTrace>> slowest() {
+    Map<String, List<RequestTrace>> byEndpoint = new TreeMap<>();
+    slowest.forEach((endpoint, traces) -> byEndpoint.put(endpoint, traces.snapshot()));
+    return byEndpoint;
+  }
+
+  public List<RequestTrace> slowest(String endpoint) {
+    Slowest traces = slowest.get(endpoint);
+    return traces == null ? List.of() : traces.snapshot();
+  }
+
+  public Optional<RequestTrace> find(String id) {
+    for (int i = 0; i < recent.length(); i++) {
+      RequestTrace trace = recent.get(i);
+      if (trace != null && trace.getId().equals(id)) {
+        return Optional.of(trace);
+      }
+    }
+    return slowest.values().stream()
+        .flatMap(traces -> traces.snapshot().stream())
+        .filter(trace -> trace.getId().equals(id))
+        .findFirst();
+  }
+
+  // kept sorted slowest first
+  private static final class Slowest {
+    private final RequestTrace[] traces;
+    // duration of the fastest kept trace once full; anything at or under it is not kept
+    private volatile long floorMicros = -1;
+
+    Slowest(int size) {
+      traces = new RequestTrace[size];
+    }
+
+    void offer(RequestTrace trace) {
+      if (trace.getDurationMicros() <= floorMicros) {
+        return;
+      }
+      synchronized (this) {
+        int at = traces.length - 1;
+        if (traces[at] != null && traces[at].getDurationMicros() >= trace.getDurationMicros()) {
+          return;
+        }
+        while (at > 0 && (traces[at - 1] == null || traces[at - 1].getDurationMicros() < trace.getDurationMicros())) {
+          traces[at] = traces[at - 1];
+          at--;
+        }
+        traces[at] = trace;
+        RequestTrace last = traces[traces.length - 1];
+        if (last != null) {
+          floorMicros = last.getDurationMicros();
+        }
+      }
+    }
+
+    synchronized List<RequestTrace> snapshot() {
+      List<RequestTrace> kept = new ArrayList<>();
+      for (RequestTrace trace : traces) {
+        if (trace != null) {
+          kept.add(trace);
+        }
+      }
+      return kept;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package edu.ucsb.cs156.example.trace;
+
+/**
+ * Per-thread access to the trace of the current request. {@link TraceFilter}
+ * begins and ends traces; everywhere else only opens and closes spans,
+ * which does nothing on a thread that is not tracing (tests, scheduled
+ * jobs, or tracing turned off).
+ *
+ * <pre>
+ * int span = Tracer.start("repository", "UCSBDateRepository.findAll");
+ * try {
+ *   ...
+ * } finally {
+ *   Tracer.finish(span);
+ * }
+ * </pre>
+ */
+public final class Tracer {
+
+  /** The span {@link TraceFilter} opens for the security filter chain. */
+  static final int SECURITY_SPAN = 0;
+
+  private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+  private Tracer() {
+  }
+
+  public static boolean active() {
+    return CURRENT.get() != null;
+  }
+
+  public static int start(String name, String detail) {
+    ActiveTrace trace = CURRENT.get();
+    return trace == null ? -1 : trace.start(name, detail);
+  }
+
+  public static void finish(int span) {
+    ActiveTrace trace = CURRENT.get();
+    if (trace != null) {
+      trace.finish(span);
+    }
+  }
+
+  /** The id of the current trace, or null. */
+  public static String currentId() {
+    ActiveTrace trace = CURRENT.get();
+    return trace == null ? null : trace.id;
+  }
+
+  static void startSerialization(String contentType) {
+    ActiveTrace trace = CURRENT.get();
+    if (trace != null && !trace.serializing) {
+      trace.serializing = true;
+      trace.serializationSpan = trace.start("serialization", contentType);
+    }
+  }
+
+  static void finishSerialization() {
+    ActiveTrace trace = CURRENT.get();
+    if (trace != null && trace.serializing) {
+      trace.serializing = false;
+      trace.finish(trace.serializationSpan);
+    }
+  }
+
+  static ActiveTrace begin(String id, String correlationId, String method, String uri, int maxSpans) {
+    ActiveTrace trace = new ActiveTrace(id, correlationId, method, uri, maxSpans);
+    CURRENT.set(trace);
+    return trace;
+  }
+
+  static void end() {
+    CURRENT.remove();
+  }
+}
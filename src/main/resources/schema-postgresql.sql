@@ -0,0 +1,19 @@
+-- Run after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization),
+-- in production only; these indexes cannot be declared with @Index, and ddl-auto=update never
+-- drops the ones an @Index no longer declares.
+
+-- prefix searches on /api/admin/users/page. An email search is
+-- lower(email) LIKE 'prefix%' ORDER BY lower(email): with email in the "C" (byte-order) collation,
+-- one plain index on lower(email) answers both the LIKE and the order, so a page reads only its
+-- rows. (A text_pattern_ops index answers the LIKE but cannot supply an ORDER BY.) Re-running the
+-- ALTER keeps the existing index storage, as neither the type nor the collation changes.
+ALTER TABLE users ALTER COLUMN email TYPE varchar(255) COLLATE "C";
+DROP INDEX IF EXISTS users_lower_email_pattern_idx;
+DROP INDEX IF EXISTS users_email_idx;
+CREATE INDEX IF NOT EXISTS users_lower_email_idx ON users (lower(email));
+-- full_name LIKE 'prefix%'
+DROP INDEX IF EXISTS users_full_name_idx;
+CREATE INDEX IF NOT EXISTS users_full_name_pattern_idx ON users (full_name text_pattern_ops);
+
+-- replaced by menuitemreviews_reviewer_date_id_idx, which also supplies the id tie-break order
+DROP INDEX IF EXISTS menuitemreviews_reviewer_date_idx;
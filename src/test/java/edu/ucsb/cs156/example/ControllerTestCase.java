@@ -9,6 +9,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import edu.ucsb.cs156.example.services.CurrentUserService;
+import edu.ucsb.cs156.example.sql.SqlStatementCountFilter;
 import edu.ucsb.cs156.example.services.GrantedAuthoritiesService;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import org.springframework.test.web.servlet.MvcResult;
@@ -16,6 +17,8 @@ import org.springframework.test.web.servlet.MvcResult;
 import java.io.UnsupportedEncodingException;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @ActiveProfiles("test")
 @Import(TestConfig.class)
 public abstract class ControllerTestCase {
@@ -35,4 +38,14 @@ public abstract class ControllerTestCase {
     String responseString = result.getResponse().getContentAsString();
     return mapper.readValue(responseString, Map.class);
   }
+
+  /**
+   * Pins the number of SQL statements a request issued. Only meaningful when
+   * the repositories are real (e.g. under @SpringBootTest); with @MockBean
+   * repositories the count is always 0.
+   */
+  protected void assertSqlStatementCount(int expected, MvcResult result) {
+    assertEquals(Integer.toString(expected), result.getResponse().getHeader(SqlStatementCountFilter.HEADER),
+        "SQL statements issued by " + result.getRequest().getMethod() + " " + result.getRequest().getRequestURI());
+  }
 }
@@ -0,0 +1,67 @@
+package edu.ucsb.cs156.example.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.config.ControllerLoggingProperties;
+import edu.ucsb.cs156.example.controllers.FrontendProxyController;
+import edu.ucsb.cs156.example.controllers.UCSBDatesController;
+
+public class LoggingAspectTests {
+
+  ControllerLoggingProperties properties;
+
+  LoggingAspect loggingAspect;
+
+  @BeforeEach
+  public void setup() {
+    properties = new ControllerLoggingProperties();
+    loggingAspect = new LoggingAspect(properties);
+  }
+
+  private static Method method(Class<?> controller, String name) {
+    for (Method method : controller.getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        return method;
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  private static long logged(LoggingAspect.Handler handler, int calls) {
+    return IntStream.range(0, calls).filter(i -> handler.sample()).count();
+  }
+
+  @Test
+  public void handlers_are_logged_on_every_call_by_default() {
+    LoggingAspect.Handler handler = loggingAspect.handler(method(UCSBDatesController.class, "getById"));
+
+    assertEquals("getById in edu.ucsb.cs156.example.controllers.UCSBDatesController", handler.description);
+    assertEquals(10, logged(handler, 10));
+  }
+
+  @Test
+  public void stoplisted_controllers_are_never_logged() {
+    assertFalse(loggingAspect.handler(method(FrontendProxyController.class, "proxy")).sample());
+
+    properties.getStoplist().add("UCSBDatesController.getById");
+    assertFalse(loggingAspect.handler(method(UCSBDatesController.class, "getById")).sample());
+    assertTrue(loggingAspect.handler(method(UCSBDatesController.class, "allUCSBDates")).sample());
+  }
+
+  @Test
+  public void sampled_handlers_log_every_nth_call_and_methods_override_controllers() {
+    properties.getSampleEvery().put("UCSBDatesController", 10);
+    properties.getSampleEvery().put("UCSBDatesController.getById", 4);
+
+    assertEquals(3, logged(loggingAspect.handler(method(UCSBDatesController.class, "allUCSBDates")), 30));
+    assertEquals(8, logged(loggingAspect.handler(method(UCSBDatesController.class, "getById")), 30));
+  }
+}
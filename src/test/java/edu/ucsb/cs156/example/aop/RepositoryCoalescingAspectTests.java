@@ -0,0 +1,165 @@
+package edu.ucsb.cs156.example.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import edu.ucsb.cs156.example.coalesce.RepositoryCoalescer;
+import edu.ucsb.cs156.example.coalesce.SingleFlight;
+import edu.ucsb.cs156.example.datasource.DataSourceRoute;
+import edu.ucsb.cs156.example.datasource.RecentWriteTracker;
+import edu.ucsb.cs156.example.datasource.RoutingContext;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+
+/**
+ * Applies the aspect to the real {@link UCSBDateRepository}. The first call
+ * to reach the repository is held until the other callers have arrived, so
+ * any that may join its flight find it still running.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RepositoryCoalescingAspectTests {
+
+  @Autowired
+  UCSBDateRepository ucsbDateRepository;
+
+  RepositoryCoalescer coalescer = new RepositoryCoalescer();
+  RepositoryCoalescingAspect aspect = new RepositoryCoalescingAspect();
+  ExecutorService executor = Executors.newFixedThreadPool(4);
+  AtomicInteger queries = new AtomicInteger();
+  UCSBDate saved;
+
+  @BeforeEach
+  public void setup() {
+    ucsbDateRepository.deleteAll();
+    saved = ucsbDateRepository.save(UCSBDate.builder().quarterYYYYQ("20222").name("firstDayOfClasses").build());
+    aspect.repositoryCoalescer = coalescer;
+  }
+
+  @AfterEach
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private SingleFlight flight() {
+    return coalescer.forRepository(UCSBDateRepository.class);
+  }
+
+  /** The repository behind the aspect, with the first query held until {@code release} is true. */
+  private UCSBDateRepository proxied(BooleanSupplier release) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(ucsbDateRepository);
+    factory.addAspect(aspect);
+    // added after the aspect, so it runs inside it, just before the repository
+    factory.addAdvice((MethodInterceptor) invocation -> {
+      if (queries.incrementAndGet() == 1) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!release.getAsBoolean() && System.nanoTime() < deadline) {
+          Thread.sleep(1);
+        }
+      }
+      return invocation.proceed();
+    });
+    return factory.getProxy();
+  }
+
+  /** Runs {@code findById} as a GET request on the given route. */
+  private Callable<Optional<UCSBDate>> get(UCSBDateRepository repository, DataSourceRoute route) {
+    return () -> {
+      RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("GET", "/")));
+      DataSourceRoute previous = RoutingContext.set(route);
+      try {
+        return repository.findById(saved.getId());
+      } finally {
+        RoutingContext.restore(previous);
+        RequestContextHolder.resetRequestAttributes();
+      }
+    };
+  }
+
+  private List<Optional<UCSBDate>> run(List<Callable<Optional<UCSBDate>>> calls) throws Exception {
+    List<Future<Optional<UCSBDate>>> futures = new ArrayList<>();
+    for (Callable<Optional<UCSBDate>> call : calls) {
+      futures.add(executor.submit(call));
+    }
+    List<Optional<UCSBDate>> results = new ArrayList<>();
+    for (Future<Optional<UCSBDate>> future : futures) {
+      results.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return results;
+  }
+
+  @Test
+  public void concurrent_find_by_id_calls_share_one_query() throws Exception {
+    UCSBDateRepository repository = proxied(() -> flight().getCoalesced() == 3);
+    Callable<Optional<UCSBDate>> call = get(repository, DataSourceRoute.REPLICA);
+
+    List<Optional<UCSBDate>> results = run(List.of(call, call, call, call));
+
+    for (Optional<UCSBDate> result : results) {
+      assertEquals(saved.getId(), result.orElseThrow().getId());
+    }
+    assertEquals(1, queries.get());
+    assertEquals(4, flight().getCalls());
+    assertEquals(1, flight().getExecutions());
+    assertEquals(3, flight().getCoalesced());
+    assertEquals(0, flight().inFlight());
+  }
+
+  @Test
+  public void primary_and_replica_calls_do_not_share_a_flight() throws Exception {
+    UCSBDateRepository repository = proxied(() -> flight().getCalls() == 2);
+
+    run(List.of(get(repository, DataSourceRoute.REPLICA), get(repository, DataSourceRoute.PRIMARY)));
+
+    assertEquals(2, queries.get());
+    assertEquals(2, flight().getExecutions());
+    assertEquals(0, flight().getCoalesced());
+  }
+
+  @Test
+  public void reads_your_writes_on_the_primary_are_not_coalesced() throws Exception {
+    aspect.recentWriteTracker = new RecentWriteTracker(Duration.ofSeconds(5), Clock.systemUTC());
+    UCSBDateRepository repository = proxied(() -> true);
+    Callable<Optional<UCSBDate>> call = get(repository, DataSourceRoute.PRIMARY);
+
+    run(List.of(call, call));
+
+    assertEquals(2, queries.get());
+    assertEquals(0, flight().getCalls());
+  }
+
+  @Test
+  public void calls_outside_a_get_request_are_not_coalesced() {
+    UCSBDateRepository repository = proxied(() -> true);
+
+    assertEquals(saved.getId(), repository.findById(saved.getId()).orElseThrow().getId());
+
+    assertEquals(1, queries.get());
+    assertEquals(0, flight().getCalls());
+  }
+}
@@ -0,0 +1,139 @@
+package edu.ucsb.cs156.example.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.ArchivedHelpRequest;
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import edu.ucsb.cs156.example.repositories.ArchivedHelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.ArchivedRecommendationRequestRepository;
+import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
+import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+
+@DataJpaTest
+@Import(BulkWriteNotifier.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RequestArchiverTests {
+
+  static final LocalDateTime NOW = LocalDateTime.parse("2022-06-01T12:00:00");
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  @Autowired
+  HelpRequestRepository helpRequestRepository;
+
+  @Autowired
+  ArchivedHelpRequestRepository archivedHelpRequestRepository;
+
+  @Autowired
+  RecommendationRequestRepository recommendationRequestRepository;
+
+  @Autowired
+  ArchivedRecommendationRequestRepository archivedRecommendationRequestRepository;
+
+  RequestArchiver archiver;
+
+  @BeforeEach
+  public void setup() {
+    helpRequestRepository.deleteAll();
+    archivedHelpRequestRepository.deleteAll();
+    recommendationRequestRepository.deleteAll();
+    archivedRecommendationRequestRepository.deleteAll();
+    archiver = new RequestArchiver(dataSource, transactionManager, bulkWriteNotifier, List.of(
+        ArchivedTable.solvedHelpRequests(Duration.ofDays(30)),
+        ArchivedTable.doneRecommendationRequests(Duration.ofDays(90))), 2);
+  }
+
+  private HelpRequest helpRequest(String teamId, int daysAgo, boolean solved) {
+    return helpRequestRepository.save(HelpRequest.builder()
+        .requesterEmail("cgaucho@ucsb.edu")
+        .teamId(teamId)
+        .teamOrBreakoutRoom("table-1")
+        .requestTime(NOW.minusDays(daysAgo))
+        .explanation("stuck on " + teamId)
+        .solved(solved)
+        .build());
+  }
+
+  private static <T> List<T> all(Iterable<T> rows) {
+    return StreamSupport.stream(rows.spliterator(), false).toList();
+  }
+
+  @Test
+  public void solved_help_requests_older_than_the_age_move_in_chunks() {
+    HelpRequest old1 = helpRequest("team-1", 40, true);
+    HelpRequest old2 = helpRequest("team-2", 35, true);
+    HelpRequest old3 = helpRequest("team-3", 31, true);
+    HelpRequest openButOld = helpRequest("team-4", 60, false);
+    HelpRequest solvedButRecent = helpRequest("team-5", 5, true);
+
+    // three eligible rows with chunks of two: one full chunk, then a short one
+    long moved = archiver.archive(archiver.getTables().get(0), NOW);
+
+    assertEquals(3, moved);
+    assertEquals(List.of(openButOld.getId(), solvedButRecent.getId()),
+        all(helpRequestRepository.findAll()).stream().map(HelpRequest::getId).sorted().toList());
+    List<ArchivedHelpRequest> archived = all(archivedHelpRequestRepository.findAll());
+    assertEquals(List.of(old1.getId(), old2.getId(), old3.getId()),
+        archived.stream().map(ArchivedHelpRequest::getId).sorted().toList());
+
+    ArchivedHelpRequest first = archivedHelpRequestRepository.findById(old1.getId()).get();
+    assertEquals("team-1", first.getTeamId());
+    assertEquals("table-1", first.getTeamOrBreakoutRoom());
+    assertEquals("stuck on team-1", first.getExplanation());
+    assertEquals(old1.getRequestTime(), first.getRequestTime());
+    assertTrue(first.getSolved());
+    assertEquals(NOW, first.getArchivedAt());
+  }
+
+  @Test
+  public void a_second_run_finds_nothing_left_to_move() {
+    helpRequest("team-1", 40, true);
+    archiver.archiveAll(NOW);
+
+    assertEquals(0, archiver.archive(archiver.getTables().get(0), NOW));
+    assertEquals(1, archivedHelpRequestRepository.count());
+  }
+
+  @Test
+  public void done_recommendation_requests_age_by_the_date_needed() {
+    RecommendationRequest pastDue = recommendationRequestRepository.save(RecommendationRequest.builder()
+        .requesterEmail("cgaucho@ucsb.edu").professorEmail("phtcon@ucsb.edu").explanation("grad school")
+        .dateRequested(NOW.minusDays(200)).dateNeeded(NOW.minusDays(100)).done(true).build());
+    RecommendationRequest neededRecently = recommendationRequestRepository.save(RecommendationRequest.builder()
+        .requesterEmail("cgaucho@ucsb.edu").professorEmail("phtcon@ucsb.edu").explanation("internship")
+        .dateRequested(NOW.minusDays(200)).dateNeeded(NOW.minusDays(10)).done(true).build());
+
+    archiver.archiveAll(NOW);
+
+    assertEquals(List.of(neededRecently.getId()),
+        all(recommendationRequestRepository.findAll()).stream().map(RecommendationRequest::getId).toList());
+    assertEquals("grad school", archivedRecommendationRequestRepository.findById(pastDue.getId()).get().getExplanation());
+    assertEquals(1, archivedRecommendationRequestRepository.findAllRowsWithoutExplanation().size());
+  }
+}
@@ -0,0 +1,82 @@
+package edu.ucsb.cs156.example.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.models.AuditChange;
+import edu.ucsb.cs156.example.models.AuditEntry;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+
+// the listener is appended to the shared session factory, so the context is not reused
+@DataJpaTest
+@DirtiesContext
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AuditEventListenerTests {
+
+  @TempDir
+  Path directory;
+
+  @Autowired
+  UCSBDateRepository ucsbDateRepository;
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  AuditLog auditLog;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    ucsbDateRepository.deleteAll();
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    new AuditEventListener(auditLog).registerListener(entityManagerFactory);
+  }
+
+  @AfterEach
+  public void close() throws IOException {
+    auditLog.close();
+  }
+
+  @Test
+  public void committed_writes_are_audited_with_their_changes() throws IOException {
+    UCSBDate date = ucsbDateRepository.save(UCSBDate.builder()
+        .quarterYYYYQ("20221")
+        .name("firstDayOfClasses")
+        .localDateTime(LocalDateTime.parse("2022-01-03T00:00:00"))
+        .build());
+    date.setName("lastDayOfClasses");
+    ucsbDateRepository.save(date);
+    ucsbDateRepository.delete(date);
+
+    auditLog.drain();
+    List<AuditEntry> entries = auditLog.query("UCSBDate", Long.toString(date.getId()), null, null, 10);
+
+    assertEquals(List.of("DELETE", "UPDATE", "INSERT"), entries.stream().map(AuditEntry::getAction).toList());
+    for (AuditEntry entry : entries) {
+      assertEquals(AuditEventListener.SYSTEM_USER, entry.getUser());
+      assertNull(entry.getRequest());
+    }
+    assertEquals(List.of(new AuditChange("name", "firstDayOfClasses", "lastDayOfClasses")),
+        entries.get(1).getChanges());
+    assertTrue(entries.get(2).getChanges().contains(new AuditChange("quarterYYYYQ", null, "20221")));
+    assertTrue(entries.get(0).getChanges().contains(new AuditChange("name", "lastDayOfClasses", null)));
+  }
+}
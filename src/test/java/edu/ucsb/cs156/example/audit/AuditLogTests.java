@@ -0,0 +1,139 @@
+package edu.ucsb.cs156.example.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ucsb.cs156.example.models.AuditChange;
+import edu.ucsb.cs156.example.models.AuditEntry;
+
+public class AuditLogTests {
+
+  static final String[] PROPERTIES = { "name", "quarterYYYYQ", "localDateTime" };
+
+  @TempDir
+  Path directory;
+
+  AuditLog auditLog;
+
+  @AfterEach
+  public void close() throws IOException {
+    if (auditLog != null) {
+      auditLog.close();
+    }
+  }
+
+  private static AuditEvent update(long id, String user, long epochMillis) {
+    return new AuditEvent(epochMillis, AuditAction.UPDATE, user, "PUT /api/ucsbdates", "UCSBDate", id, PROPERTIES,
+        new Object[] { "firstDayOfClasses", "20221", null },
+        new Object[] { "lastDayOfClasses", "20221", null });
+  }
+
+  @Test
+  public void entries_are_written_with_only_the_changed_fields_and_read_back_newest_first() throws IOException {
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    auditLog.record(new AuditEvent(1_000, AuditAction.INSERT, "admin@ucsb.edu", "POST /api/ucsbdates/post",
+        "UCSBDate", 7L, PROPERTIES, null, new Object[] { "firstDayOfClasses", "20221", null }));
+    auditLog.record(update(7, "admin@ucsb.edu", 2_000));
+    auditLog.record(new AuditEvent(3_000, AuditAction.DELETE, "other@ucsb.edu", "DELETE /api/ucsbdates",
+        "UCSBDate", 7L, PROPERTIES, new Object[] { "lastDayOfClasses", "20221", null }, null));
+
+    assertEquals(3, auditLog.drain());
+    List<AuditEntry> entries = auditLog.query(null, null, null, null, 10);
+
+    assertEquals(List.of("DELETE", "UPDATE", "INSERT"), entries.stream().map(AuditEntry::getAction).toList());
+    assertEquals(AuditEntry.builder()
+        .timestamp(Instant.ofEpochMilli(2_000))
+        .user("admin@ucsb.edu")
+        .action("UPDATE")
+        .entity("UCSBDate")
+        .entityId("7")
+        .request("PUT /api/ucsbdates")
+        .changes(List.of(new AuditChange("name", "firstDayOfClasses", "lastDayOfClasses")))
+        .build(), entries.get(1));
+    assertEquals(List.of(new AuditChange("name", null, "firstDayOfClasses"), new AuditChange("quarterYYYYQ", null, "20221")),
+        entries.get(2).getChanges());
+    assertEquals(List.of(new AuditChange("name", "lastDayOfClasses", null), new AuditChange("quarterYYYYQ", "20221", null)),
+        entries.get(0).getChanges());
+  }
+
+  @Test
+  public void query_filters_and_limits() throws IOException {
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    for (long id = 1; id <= 5; id++) {
+      auditLog.record(update(id, id % 2 == 0 ? "even@ucsb.edu" : "odd@ucsb.edu", id * 1_000));
+    }
+    auditLog.recordBulkWrite(String.class);
+    auditLog.drain();
+
+    assertEquals(List.of("3"), auditLog.query("ucsbdate", "3", null, null, 10).stream().map(AuditEntry::getEntityId).toList());
+    assertEquals(List.of("4", "2"), auditLog.query(null, null, "EVEN@ucsb.edu", null, 10).stream().map(AuditEntry::getEntityId).toList());
+    assertEquals(List.of("5", "4"), auditLog.query("UCSBDate", null, null, Instant.ofEpochMilli(4_000), 10).stream().map(AuditEntry::getEntityId).toList());
+    assertEquals(2, auditLog.query(null, null, null, null, 2).size());
+    assertEquals("BULK_WRITE", auditLog.query("String", null, null, null, 10).get(0).getAction());
+  }
+
+  @Test
+  public void files_roll_and_only_the_newest_are_kept() throws IOException {
+    auditLog = new AuditLog(directory, 256, 2, 64);
+    for (long id = 1; id <= 30; id++) {
+      auditLog.record(update(id, "admin@ucsb.edu", id));
+    }
+    auditLog.drain();
+
+    List<Path> files = AuditFiles.list(directory);
+    assertEquals(2, files.size());
+    for (Path file : files) {
+      assertTrue(Files.size(file) <= 256);
+    }
+    assertEquals("30", auditLog.query(null, null, null, null, 1).get(0).getEntityId());
+  }
+
+  @Test
+  public void a_full_buffer_drops_and_counts_instead_of_blocking() throws IOException {
+    auditLog = new AuditLog(directory, 1 << 20, 4, 4);
+    for (long id = 1; id <= 6; id++) {
+      auditLog.record(update(id, "admin@ucsb.edu", id));
+    }
+
+    assertEquals(2, auditLog.getDropped());
+    assertEquals(4, auditLog.drain());
+  }
+
+  @Test
+  public void a_torn_record_hides_only_itself_and_a_restart_starts_a_new_file() throws IOException {
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    auditLog.record(update(1, "admin@ucsb.edu", 1));
+    auditLog.drain();
+    auditLog.close();
+    Files.write(AuditFiles.list(directory).get(0), new byte[] { 0, 0, 1, 0, 0 }, StandardOpenOption.APPEND);
+
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    auditLog.record(update(2, "admin@ucsb.edu", 2));
+    auditLog.drain();
+
+    assertEquals(2, AuditFiles.list(directory).size());
+    assertEquals(List.of("2", "1"), auditLog.query(null, null, null, null, 10).stream().map(AuditEntry::getEntityId).toList());
+  }
+
+  @Test
+  public void long_values_are_cut() throws IOException {
+    auditLog = new AuditLog(directory, 1 << 20, 4, 64);
+    auditLog.record(new AuditEvent(1, AuditAction.INSERT, "admin@ucsb.edu", null, "UCSBArticles", 1L,
+        new String[] { "explanation" }, null, new Object[] { "x".repeat(5_000) }));
+    auditLog.drain();
+
+    String after = auditLog.query(null, null, null, null, 1).get(0).getChanges().get(0).after();
+    assertEquals(AuditCodec.MAX_VALUE_CHARS + 1, after.length());
+  }
+}
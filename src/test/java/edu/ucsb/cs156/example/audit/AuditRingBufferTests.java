@@ -0,0 +1,67 @@
+package edu.ucsb.cs156.example.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class AuditRingBufferTests {
+
+  @Test
+  public void capacity_is_rounded_up_to_a_power_of_two() {
+    assertEquals(8, new AuditRingBuffer<String>(8).capacity());
+    assertEquals(16, new AuditRingBuffer<String>(9).capacity());
+    assertEquals(2, new AuditRingBuffer<String>(1).capacity());
+  }
+
+  @Test
+  public void items_come_out_in_order_and_a_full_buffer_refuses_more() {
+    AuditRingBuffer<String> buffer = new AuditRingBuffer<>(4);
+    for (String item : List.of("a", "b", "c", "d")) {
+      assertTrue(buffer.offer(item));
+    }
+    assertFalse(buffer.offer("e"));
+
+    List<String> drained = new ArrayList<>();
+    assertEquals(3, buffer.drain(drained::add, 3));
+    assertTrue(buffer.offer("e"));
+    assertEquals(2, buffer.drain(drained::add, 10));
+
+    assertEquals(List.of("a", "b", "c", "d", "e"), drained);
+    assertEquals(0, buffer.size());
+  }
+
+  @Test
+  public void concurrent_producers_lose_nothing_that_was_accepted() throws Exception {
+    AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+    int producers = 4;
+    int perProducer = 20_000;
+    CountDownLatch done = new CountDownLatch(producers);
+    Set<Integer> accepted = java.util.concurrent.ConcurrentHashMap.newKeySet();
+    for (int p = 0; p < producers; p++) {
+      int base = p * perProducer;
+      new Thread(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          if (buffer.offer(base + i)) {
+            accepted.add(base + i);
+          }
+        }
+        done.countDown();
+      }).start();
+    }
+
+    Set<Integer> drained = new HashSet<>();
+    while (done.getCount() > 0 || buffer.size() > 0) {
+      buffer.drain(drained::add, 256);
+    }
+
+    assertEquals(accepted, drained);
+  }
+}
@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.example.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTests {
+
+  @Test
+  public void keys_that_were_put_are_always_found() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(Integer.toString(i));
+    }
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain(Integer.toString(i)));
+    }
+  }
+
+  @Test
+  public void false_positive_rate_is_near_the_target() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(Integer.toString(i));
+    }
+    int falsePositives = 0;
+    for (int i = 10_000; i < 110_000; i++) {
+      if (filter.mightContain(Integer.toString(i))) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 2_000, "falsePositives=" + falsePositives);
+  }
+
+  @Test
+  public void empty_filter_contains_nothing() {
+    BloomFilter filter = BloomFilter.create(100, 0.01);
+    assertFalse(filter.mightContain("carrillo"));
+  }
+
+  @Test
+  public void sizing_follows_the_standard_formulas() {
+    BloomFilter filter = BloomFilter.create(1000, 0.01);
+    // m = -n ln p / (ln 2)^2, k = m/n ln 2
+    assertEquals(9586, filter.bitSize());
+    assertEquals(7, filter.hashCount());
+  }
+}
@@ -0,0 +1,130 @@
+package edu.ucsb.cs156.example.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class KeyExistenceFiltersTests {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  UCSBDateRepository ucsbDateRepository;
+
+  @Autowired
+  UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
+
+  KeyExistenceFilters filters;
+
+  @BeforeEach
+  public void setup() {
+    ucsbDateRepository.deleteAll();
+    ucsbDiningCommonsRepository.deleteAll();
+    filters = new KeyExistenceFilters(entityManagerFactory, 0.01);
+    filters.registerListener();
+  }
+
+  private UCSBDate saveDate() {
+    return ucsbDateRepository.save(UCSBDate.builder().quarterYYYYQ("20222").name("firstDayOfClasses").build());
+  }
+
+  @Test
+  public void every_key_might_exist_before_the_first_rebuild() {
+    assertTrue(filters.mightExist(UCSBDate.class, "12345"));
+  }
+
+  @Test
+  public void rebuild_loads_existing_keys() {
+    UCSBDate saved = saveDate();
+
+    filters.rebuildAll();
+
+    assertTrue(filters.mightExist(UCSBDate.class, Long.toString(saved.getId())));
+    assertFalse(filters.mightExist(UCSBDate.class, Long.toString(saved.getId() - 1)));
+    assertEquals(1, filters.getShortCircuits(UCSBDate.class));
+  }
+
+  @Test
+  public void ids_above_the_largest_rebuilt_id_always_might_exist() {
+    UCSBDate saved = saveDate();
+    // another instance: it never hears about this instance's inserts
+    KeyExistenceFilters elsewhere = new KeyExistenceFilters(entityManagerFactory, 0.01);
+    elsewhere.rebuildAll();
+
+    UCSBDate insertedHere = saveDate();
+
+    assertTrue(elsewhere.mightExist(UCSBDate.class, Long.toString(insertedHere.getId())));
+    assertTrue(elsewhere.mightExist(UCSBDate.class, Long.toString(saved.getId() + 1000)));
+    assertFalse(elsewhere.mightExist(UCSBDate.class, Long.toString(saved.getId() - 1)));
+  }
+
+  @Test
+  public void natural_keys_always_might_exist() {
+    ucsbDiningCommonsRepository.save(UCSBDiningCommons.builder().code("carrillo").name("Carrillo").build());
+
+    filters.rebuildAll();
+
+    // another instance may have added it since the rebuild
+    assertTrue(filters.mightExist(UCSBDiningCommons.class, "nowhere"));
+    assertEquals(0, filters.getShortCircuits(UCSBDiningCommons.class));
+  }
+
+  @Test
+  public void keys_from_a_key_source_are_added_on_rebuild() {
+    UCSBDate saved = saveDate();
+    filters.addKeySource(UCSBDate.class, () -> Set.of(saved.getId() - 1));
+
+    filters.rebuild(UCSBDate.class);
+
+    assertTrue(filters.mightExist(UCSBDate.class, Long.toString(saved.getId())));
+    assertTrue(filters.mightExist(UCSBDate.class, Long.toString(saved.getId() - 1)));
+  }
+
+  @Test
+  public void inserts_are_added_after_commit() {
+    filters.rebuildAll();
+
+    UCSBDate saved = saveDate();
+
+    assertTrue(filters.mightExist(UCSBDate.class, Long.toString(saved.getId())));
+  }
+
+  @Test
+  public void deleted_keys_are_dropped_by_the_next_rebuild() {
+    UCSBDate saved = saveDate();
+    saveDate();
+    filters.rebuildAll();
+    ucsbDateRepository.delete(saved);
+
+    assertTrue(filters.mightExist(UCSBDate.class, Long.toString(saved.getId())));
+    filters.rebuildAll();
+    assertFalse(filters.mightExist(UCSBDate.class, Long.toString(saved.getId())));
+  }
+
+  @Test
+  public void numeric_keys_are_normalized() {
+    assertEquals("7", filters.normalize(UCSBDate.class, " 007"));
+    assertNull(filters.normalize(UCSBDate.class, "seven"));
+    assertEquals("007", filters.normalize(UCSBDiningCommons.class, "007"));
+  }
+}
@@ -0,0 +1,149 @@
+package edu.ucsb.cs156.example.bloom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+
+public class KeyLookupInterceptorTests {
+
+  static class Handlers {
+    @KeyLookup(entity = UCSBDate.class, param = "id")
+    public void getById() {
+    }
+
+    @KeyLookup(entity = UCSBDate.class, param = "id", bypassParam = "includeArchived")
+    public void getByIdWithArchive() {
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @KeyLookup(entity = UCSBDate.class, param = "id")
+    public void getByIdAsUser() {
+    }
+
+    public void unannotated() {
+    }
+  }
+
+  KeyExistenceFilters filters = mock(KeyExistenceFilters.class);
+  ObjectMapper mapper = new ObjectMapper();
+  KeyLookupInterceptor interceptor = new KeyLookupInterceptor(filters, mapper);
+
+  @AfterEach
+  public void clearSecurityContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private HandlerMethod handler(String name) throws NoSuchMethodException {
+    return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+  }
+
+  @Test
+  public void definite_miss_is_a_404_without_the_handler() throws Exception {
+    when(filters.normalize(UCSBDate.class, "7")).thenReturn("7");
+    when(filters.mightExist(UCSBDate.class, "7")).thenReturn(false);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "7");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor.preHandle(request, response, handler("getById")));
+
+    assertEquals(404, response.getStatus());
+    assertEquals(Map.of("type", "EntityNotFoundException", "message", "UCSBDate with id 7 not found"),
+        mapper.readValue(response.getContentAsString(), Map.class));
+  }
+
+  @Test
+  public void possible_hit_goes_to_the_handler() throws Exception {
+    when(filters.normalize(UCSBDate.class, "7")).thenReturn("7");
+    when(filters.mightExist(UCSBDate.class, "7")).thenReturn(true);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "7");
+
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getById")));
+  }
+
+  @Test
+  public void malformed_or_missing_key_goes_to_the_handler() throws Exception {
+    when(filters.normalize(UCSBDate.class, "seven")).thenReturn(null);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "seven");
+
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getById")));
+    assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/ucsbdates"),
+        new MockHttpServletResponse(), handler("getById")));
+    verify(filters, never()).mightExist(any(), any());
+  }
+
+  @Test
+  public void bypass_parameter_sends_the_lookup_to_the_handler() throws Exception {
+    when(filters.normalize(UCSBDate.class, "7")).thenReturn("7");
+    when(filters.mightExist(UCSBDate.class, "7")).thenReturn(false);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "7");
+    request.setParameter("includeArchived", "true");
+
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getByIdWithArchive")));
+
+    request.setParameter("includeArchived", "false");
+    assertFalse(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getByIdWithArchive")));
+  }
+
+  @Test
+  public void unannotated_handlers_are_not_checked() throws Exception {
+    assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/ucsbdates/all"),
+        new MockHttpServletResponse(), handler("unannotated")));
+    verify(filters, never()).mightExist(any(), any());
+  }
+
+  @Test
+  public void definite_miss_is_a_404_once_the_caller_passes_pre_authorize() throws Exception {
+    when(filters.normalize(UCSBDate.class, "7")).thenReturn("7");
+    when(filters.mightExist(UCSBDate.class, "7")).thenReturn(false);
+    SecurityContextHolder.getContext().setAuthentication(
+        new TestingAuthenticationToken("cgaucho", null, "ROLE_USER"));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "7");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertFalse(interceptor.preHandle(request, response, handler("getByIdAsUser")));
+
+    assertEquals(404, response.getStatus());
+  }
+
+  @Test
+  public void caller_refused_by_pre_authorize_goes_to_the_handler() throws Exception {
+    when(filters.normalize(UCSBDate.class, "7")).thenReturn("7");
+    when(filters.mightExist(UCSBDate.class, "7")).thenReturn(false);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates");
+    request.setParameter("id", "7");
+
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getByIdAsUser")));
+
+    SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+        "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("getByIdAsUser")));
+    verify(filters, never()).mightExist(any(), any());
+  }
+}
@@ -0,0 +1,60 @@
+package edu.ucsb.cs156.example.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CsvReaderTests {
+
+  @Test
+  public void reads_plain_and_quoted_fields() throws Exception {
+    CsvReader csv = new CsvReader(new StringReader("a,b,c\r\nortega,\"Tofu, \"\"Banh\"\" Mi\",\n"));
+
+    assertEquals(List.of("a", "b", "c"), csv.next());
+    assertEquals(1, csv.getLine());
+    assertEquals(List.of("ortega", "Tofu, \"Banh\" Mi", ""), csv.next());
+    assertEquals(2, csv.getLine());
+    assertNull(csv.next());
+  }
+
+  @Test
+  public void quoted_fields_may_span_lines_and_blank_lines_are_skipped() throws Exception {
+    CsvReader csv = new CsvReader(new StringReader("\"two\nlines\",x\n\n\nlast,y"));
+
+    assertEquals(List.of("two\nlines", "x"), csv.next());
+    assertEquals(List.of("last", "y"), csv.next());
+    assertEquals(5, csv.getLine());
+    assertNull(csv.next());
+  }
+
+  @Test
+  public void leading_byte_order_mark_is_ignored() throws Exception {
+    CsvReader csv = new CsvReader(new StringReader("﻿name\n"));
+
+    assertEquals(List.of("name"), csv.next());
+  }
+
+  @Test
+  public void empty_input_has_no_records() throws Exception {
+    assertNull(new CsvReader(new StringReader("")).next());
+  }
+
+  @Test
+  public void unterminated_quote_is_malformed() {
+    CsvReader csv = new CsvReader(new StringReader("\"never closed,x\n"));
+
+    assertThrows(CsvReader.MalformedCsvException.class, csv::next);
+  }
+
+  @Test
+  public void text_after_a_closing_quote_is_malformed() {
+    CsvReader csv = new CsvReader(new StringReader("\"quoted\"text,x\n"));
+
+    assertThrows(CsvReader.MalformedCsvException.class, csv::next);
+  }
+}
@@ -0,0 +1,83 @@
+package edu.ucsb.cs156.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+
+public class ResponseCacheInvalidatorTests {
+
+  @Test
+  public void registers_post_commit_listeners_when_cache_is_enabled() {
+    EventListenerRegistry registry = mock(EventListenerRegistry.class);
+    ServiceRegistryImplementor services = mock(ServiceRegistryImplementor.class);
+    when(services.getService(EventListenerRegistry.class)).thenReturn(registry);
+    SessionFactoryImpl sessionFactory = mock(SessionFactoryImpl.class);
+    when(sessionFactory.getServiceRegistry()).thenReturn(services);
+    EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    when(emf.unwrap(SessionFactoryImpl.class)).thenReturn(sessionFactory);
+
+    ResponseCacheInvalidator invalidator = new ResponseCacheInvalidator();
+    invalidator.entityManagerFactory = emf;
+    invalidator.responseCache = new ResponseCache(10, 1024, Duration.ofMinutes(1), Duration.ZERO);
+    invalidator.register();
+
+    verify(registry).appendListeners(EventType.POST_COMMIT_INSERT, invalidator);
+    verify(registry).appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+    verify(registry).appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+  }
+
+  @Test
+  public void does_nothing_when_cache_is_disabled() {
+    EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    ResponseCacheInvalidator invalidator = new ResponseCacheInvalidator();
+    invalidator.entityManagerFactory = emf;
+    invalidator.register();
+    verifyNoInteractions(emf);
+  }
+
+  @Test
+  public void every_event_invalidates_the_mapped_entity() {
+    ResponseCache cache = new ResponseCache(10, 1024, Duration.ofMinutes(1), Duration.ZERO);
+    ResponseCacheInvalidator invalidator = new ResponseCacheInvalidator();
+    invalidator.responseCache = cache;
+    EntityPersister persister = mock(EntityPersister.class);
+    when(persister.getMappedClass()).thenReturn((Class) UCSBDate.class);
+
+    PostInsertEvent insert = mock(PostInsertEvent.class, Answers.RETURNS_DEEP_STUBS);
+    when(insert.getPersister()).thenReturn(persister);
+    PostUpdateEvent update = mock(PostUpdateEvent.class);
+    when(update.getPersister()).thenReturn(persister);
+    PostDeleteEvent delete = mock(PostDeleteEvent.class);
+    when(delete.getPersister()).thenReturn(persister);
+
+    invalidator.onPostInsert(insert);
+    invalidator.onPostUpdate(update);
+    invalidator.onPostDelete(delete);
+    invalidator.onPostInsertCommitFailed(insert);
+    invalidator.onPostUpdateCommitFailed(update);
+    invalidator.onPostDeleteCommitFailed(delete);
+
+    assertEquals(6, cache.generation(UCSBDate.class));
+    assertTrue(invalidator.requiresPostCommitHanding(persister));
+  }
+}
@@ -0,0 +1,132 @@
+package edu.ucsb.cs156.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+
+public class ResponseCacheTests {
+
+  private static final byte[] BODY = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  private ResponseCache cache(int maxEntries, int maxEntryBytes) {
+    return new ResponseCache(maxEntries, maxEntryBytes, Duration.ofMinutes(1), Duration.ZERO, nanoTime::get);
+  }
+
+  @Test
+  public void stores_body_and_gzip_copy() throws Exception {
+    ResponseCache cache = cache(10, 1024);
+    long generation = cache.generation(UCSBDate.class);
+
+    assertNull(cache.get(UCSBDate.class, "k"));
+    cache.put(UCSBDate.class, "k", generation, BODY, "application/json");
+    ResponseCache.Entry entry = cache.get(UCSBDate.class, "k");
+
+    assertArrayEquals(BODY, entry.body());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.gzipBody()))) {
+      assertArrayEquals(BODY, in.readAllBytes());
+    }
+    assertEquals("application/json", entry.contentType());
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+  }
+
+  @Test
+  public void invalidate_only_drops_that_entity() {
+    ResponseCache cache = cache(10, 1024);
+    cache.put(UCSBDate.class, "k", 0, BODY, "application/json");
+    cache.put(UCSBOrganization.class, "k", 0, BODY, "application/json");
+
+    cache.invalidate(UCSBDate.class);
+
+    assertNull(cache.get(UCSBDate.class, "k"));
+    assertNotNull(cache.get(UCSBOrganization.class, "k"));
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.generation(UCSBDate.class));
+  }
+
+  @Test
+  public void body_read_before_a_write_is_not_stored() {
+    ResponseCache cache = cache(10, 1024);
+    long generation = cache.generation(UCSBDate.class);
+    cache.invalidate(UCSBDate.class);
+
+    ResponseCache.Entry entry = cache.put(UCSBDate.class, "k", generation, BODY, "application/json");
+
+    assertArrayEquals(BODY, entry.body());
+    assertNull(cache.get(UCSBDate.class, "k"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void respects_entry_count_and_size_limits() {
+    ResponseCache cache = cache(1, BODY.length);
+    cache.put(UCSBDate.class, "a", 0, BODY, "application/json");
+    cache.put(UCSBDate.class, "b", 0, BODY, "application/json");
+    cache.put(UCSBDate.class, "a", 0, BODY, "application/json");
+    cache(10, BODY.length - 1).put(UCSBDate.class, "big", 0, BODY, "application/json");
+
+    assertNotNull(cache.get(UCSBDate.class, "a"));
+    assertNull(cache.get(UCSBDate.class, "b"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void least_recently_used_is_dropped_per_entity() {
+    ResponseCache cache = cache(2, 1024);
+    cache.put(UCSBDate.class, "a", 0, BODY, "application/json");
+    cache.put(UCSBDate.class, "b", 0, BODY, "application/json");
+    cache.get(UCSBDate.class, "a");
+    cache.put(UCSBDate.class, "c", 0, BODY, "application/json");
+    cache.put(UCSBOrganization.class, "a", 0, BODY, "application/json");
+
+    assertNotNull(cache.get(UCSBDate.class, "a"));
+    assertNull(cache.get(UCSBDate.class, "b"));
+    assertNotNull(cache.get(UCSBDate.class, "c"));
+    // a full entity does not stop another from caching
+    assertNotNull(cache.get(UCSBOrganization.class, "a"));
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  public void entries_expire_after_the_ttl() {
+    ResponseCache cache = cache(10, 1024);
+    cache.put(UCSBDate.class, "k", 0, BODY, "application/json");
+
+    nanoTime.addAndGet(Duration.ofSeconds(59).toNanos());
+    assertNotNull(cache.get(UCSBDate.class, "k"));
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertNull(cache.get(UCSBDate.class, "k"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void bodies_are_not_stored_while_the_replica_may_lag_a_write() {
+    ResponseCache cache = new ResponseCache(10, 1024, Duration.ofMinutes(1), Duration.ofSeconds(5), nanoTime::get);
+    cache.put(UCSBDate.class, "k", 0, BODY, "application/json");
+    assertNotNull(cache.get(UCSBDate.class, "k"));
+
+    cache.invalidate(UCSBDate.class);
+    nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+    cache.put(UCSBDate.class, "k", 1, BODY, "application/json");
+    assertNull(cache.get(UCSBDate.class, "k"));
+
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    cache.put(UCSBDate.class, "k", 1, BODY, "application/json");
+    assertNotNull(cache.get(UCSBDate.class, "k"));
+  }
+}
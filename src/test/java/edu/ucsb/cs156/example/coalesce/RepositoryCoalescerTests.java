@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.example.coalesce;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.CoalescingStats;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+
+public class RepositoryCoalescerTests {
+
+  @Test
+  public void one_single_flight_per_repository() {
+    RepositoryCoalescer coalescer = new RepositoryCoalescer();
+
+    assertSame(coalescer.forRepository(UCSBDateRepository.class), coalescer.forRepository(UCSBDateRepository.class));
+  }
+
+  @Test
+  public void stats_are_sorted_by_repository_name() throws Throwable {
+    RepositoryCoalescer coalescer = new RepositoryCoalescer();
+    coalescer.forRepository(UCSBDiningCommonsRepository.class).execute("key", () -> "x");
+    coalescer.forRepository(UCSBDateRepository.class);
+
+    List<CoalescingStats> stats = coalescer.getStats();
+
+    assertEquals(List.of(
+        CoalescingStats.builder().repository("UCSBDateRepository").build(),
+        CoalescingStats.builder().repository("UCSBDiningCommonsRepository").calls(1).executions(1).build()),
+        stats);
+  }
+}
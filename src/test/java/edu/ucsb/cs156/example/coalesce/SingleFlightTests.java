@@ -0,0 +1,100 @@
+package edu.ucsb.cs156.example.coalesce;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTests {
+
+  @Test
+  public void concurrent_calls_with_the_same_key_share_one_execution() throws Exception {
+    SingleFlight singleFlight = new SingleFlight();
+    AtomicInteger executions = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Object result = new Object();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<Object> leader = executor.submit(() -> {
+        try {
+          return singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            release.await();
+            return result;
+          });
+        } catch (Throwable t) {
+          throw new RuntimeException(t);
+        }
+      });
+      started.await(5, TimeUnit.SECONDS);
+      List<Future<Object>> followers = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        followers.add(executor.submit(() -> {
+          try {
+            return singleFlight.execute("key", () -> {
+              executions.incrementAndGet();
+              return new Object();
+            });
+          } catch (Throwable t) {
+            throw new RuntimeException(t);
+          }
+        }));
+      }
+      // wait until all three followers have joined the leader's call
+      while (singleFlight.getCoalesced() < 3) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      assertSame(result, leader.get(5, TimeUnit.SECONDS));
+      for (Future<Object> follower : followers) {
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, executions.get());
+    assertEquals(4, singleFlight.getCalls());
+    assertEquals(1, singleFlight.getExecutions());
+    assertEquals(3, singleFlight.getCoalesced());
+    assertEquals(0, singleFlight.inFlight());
+  }
+
+  @Test
+  public void sequential_calls_each_execute() throws Throwable {
+    SingleFlight singleFlight = new SingleFlight();
+
+    assertEquals("a", singleFlight.execute("key", () -> "a"));
+    assertEquals("b", singleFlight.execute("key", () -> "b"));
+
+    assertEquals(2, singleFlight.getExecutions());
+  }
+
+  @Test
+  public void exception_is_rethrown_and_the_key_released() throws Throwable {
+    SingleFlight singleFlight = new SingleFlight();
+    IllegalStateException failure = new IllegalStateException("boom");
+
+    IllegalStateException thrown = assertThrows(IllegalStateException.class,
+        () -> singleFlight.execute("key", () -> {
+          throw failure;
+        }));
+
+    assertSame(failure, thrown);
+    assertEquals(0, singleFlight.inFlight());
+    assertEquals("ok", singleFlight.execute("key", () -> "ok"));
+  }
+}
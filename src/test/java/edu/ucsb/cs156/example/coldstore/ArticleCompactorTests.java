@@ -0,0 +1,98 @@
+package edu.ucsb.cs156.example.coldstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
+import edu.ucsb.cs156.example.services.BulkWriteNotifier;
+
+@DataJpaTest
+@Import(BulkWriteNotifier.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ArticleCompactorTests {
+
+  static final LocalDateTime NOW = LocalDateTime.parse("2022-06-01T12:00:00");
+
+  @TempDir
+  Path directory;
+
+  @Autowired
+  UCSBArticlesRepository ucsbArticlesRepository;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  BulkWriteNotifier bulkWriteNotifier;
+
+  ArticleSegmentStore store;
+
+  ArticleCompactor compactor;
+
+  @BeforeEach
+  public void setup() throws IOException {
+    ucsbArticlesRepository.deleteAll();
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+    compactor = new ArticleCompactor(store, ucsbArticlesRepository, transactionManager, bulkWriteNotifier,
+        Duration.ofDays(120), 2);
+  }
+
+  @AfterEach
+  public void close() throws IOException {
+    store.close();
+  }
+
+  private UCSBArticles save(String title, int daysAgo) {
+    return ucsbArticlesRepository.save(UCSBArticles.builder()
+        .title(title)
+        .url("https://dailynexus.com/" + title)
+        .explanation("All about " + title)
+        .email("cgaucho@ucsb.edu")
+        .dateAdded(NOW.minusDays(daysAgo))
+        .build());
+  }
+
+  @Test
+  public void old_articles_move_to_the_segment_store_in_chunks() {
+    UCSBArticles old1 = save("old1", 400);
+    UCSBArticles old2 = save("old2", 200);
+    UCSBArticles old3 = save("old3", 121);
+    UCSBArticles recent = save("recent", 30);
+
+    assertEquals(3, compactor.compact(NOW));
+
+    assertEquals(List.of(recent.getId()),
+        StreamSupport.stream(ucsbArticlesRepository.findAll().spliterator(), false).map(UCSBArticles::getId).toList());
+    assertEquals(Optional.of(old1), store.get(old1.getId()));
+    assertEquals(Optional.of(old2), store.get(old2.getId()));
+    assertEquals(Optional.of(old3), store.get(old3.getId()));
+    assertEquals(Optional.empty(), store.get(recent.getId()));
+  }
+
+  @Test
+  public void nothing_to_move_writes_nothing() {
+    save("recent", 30);
+
+    assertEquals(0, compactor.compact(NOW));
+    assertEquals(0, store.size());
+  }
+}
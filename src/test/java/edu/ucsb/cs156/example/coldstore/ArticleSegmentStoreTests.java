@@ -0,0 +1,143 @@
+package edu.ucsb.cs156.example.coldstore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+
+public class ArticleSegmentStoreTests {
+
+  @TempDir
+  Path directory;
+
+  ArticleSegmentStore store;
+
+  @AfterEach
+  public void close() throws IOException {
+    if (store != null) {
+      store.close();
+    }
+  }
+
+  private static UCSBArticles article(long id) {
+    return UCSBArticles.builder()
+        .id(id)
+        .title("Article " + id)
+        .url("https://dailynexus.com/" + id)
+        .explanation("Long explanation of article %d. ".formatted(id).repeat(40))
+        .email("cgaucho@ucsb.edu")
+        .dateAdded(LocalDateTime.parse("2021-09-23T10:15:30.123456789"))
+        .build();
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  @Test
+  public void appended_articles_read_back_unchanged() throws IOException {
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+    UCSBArticles noEmail = UCSBArticles.builder().id(9).title("No email").build();
+
+    store.append(List.of(article(1), article(2), noEmail));
+
+    assertEquals(Optional.of(article(1)), store.get(1));
+    assertEquals(Optional.of(article(2)), store.get(2));
+    assertEquals(Optional.of(noEmail), store.get(9));
+    assertEquals(Optional.empty(), store.get(3));
+    assertEquals(Set.of(1L, 2L, 9L), store.ids());
+  }
+
+  @Test
+  public void records_are_compressed() throws IOException {
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+
+    store.append(List.of(article(1)));
+
+    assertTrue(Files.size(segments().get(0)) < article(1).getExplanation().length() / 4);
+  }
+
+  @Test
+  public void a_new_segment_is_started_when_the_current_one_is_full() throws IOException {
+    store = ArticleSegmentStore.open(directory, 512);
+
+    store.append(IntStream.rangeClosed(1, 20).mapToObj(ArticleSegmentStoreTests::article).toList());
+
+    assertTrue(segments().size() > 1);
+    for (Path segment : segments()) {
+      assertTrue(Files.size(segment) <= 512);
+    }
+    for (long id = 1; id <= 20; id++) {
+      assertEquals(Optional.of(article(id)), store.get(id));
+    }
+  }
+
+  @Test
+  public void reopening_rebuilds_the_index_with_the_latest_record_for_each_id() throws IOException {
+    store = ArticleSegmentStore.open(directory, 512);
+    store.append(List.of(article(1), article(2), article(3)));
+    UCSBArticles retitled = article(2);
+    retitled.setTitle("Retitled");
+    store.append(List.of(retitled));
+    assertTrue(store.delete(3));
+    assertFalse(store.delete(3));
+    store.close();
+
+    store = ArticleSegmentStore.open(directory, 512);
+
+    assertEquals(Set.of(1L, 2L), store.ids());
+    assertEquals("Retitled", store.get(2).get().getTitle());
+    assertEquals(Optional.of(article(1)), store.get(1));
+  }
+
+  @Test
+  public void a_torn_record_at_the_end_is_cut_off_on_open() throws IOException {
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+    store.append(List.of(article(1)));
+    store.close();
+    Path segment = segments().get(0);
+    long goodSize = Files.size(segment);
+    // the start of a header claiming a 50-byte payload that never made it to disk
+    Files.write(segment, new byte[] { 0, 0, 0, 50, 0, 0, 0 }, StandardOpenOption.APPEND);
+
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+
+    assertEquals(goodSize, Files.size(segment));
+    assertEquals(Optional.of(article(1)), store.get(1));
+    store.append(List.of(article(2)));
+    assertEquals(Optional.of(article(2)), store.get(2));
+  }
+
+  @Test
+  public void a_damaged_payload_is_not_indexed() throws IOException {
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+    store.append(List.of(article(1)));
+    store.close();
+    Path segment = segments().get(0);
+    byte[] bytes = Files.readAllBytes(segment);
+    bytes[bytes.length - 1] ^= 0x5a;
+    Files.write(segment, bytes);
+
+    store = ArticleSegmentStore.open(directory, 1 << 20);
+
+    assertEquals(Optional.empty(), store.get(1));
+  }
+}
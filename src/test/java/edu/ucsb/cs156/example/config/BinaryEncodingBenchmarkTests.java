@@ -0,0 +1,80 @@
+package edu.ucsb.cs156.example.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Payload size and encode time of a large review list in each supported
+ * encoding. Opt-in:
+ *
+ * <pre>
+ * mvn test -Dtest=BinaryEncodingBenchmarkTests -Dbenchmarks=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class BinaryEncodingBenchmarkTests {
+
+  private static ObjectMapper mapper(JsonFactory factory) {
+    return Jackson2ObjectMapperBuilder.json().factory(factory)
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+  }
+
+  @Test
+  public void benchmark_encodings() throws IOException {
+    List<MenuItemReview> reviews = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      reviews.add(MenuItemReview.builder()
+          .id(i)
+          .itemId((long) (i % 200))
+          .reviewerEmail("reviewer" + (i % 500) + "@ucsb.edu")
+          .stars(i % 5 + 1)
+          .dateReviewed(LocalDateTime.parse("2022-01-03T00:00:00").plusMinutes(i))
+          .comments("comment " + i)
+          .build());
+    }
+
+    measure("json", new JsonFactory(), reviews);
+    measure("cbor", new CBORFactory(), reviews);
+    measure("smile", new SmileFactory(), reviews);
+    measure("msgpack", new MessagePackFactory(), reviews);
+  }
+
+  private static void measure(String name, JsonFactory factory, List<MenuItemReview> reviews) throws IOException {
+    ObjectMapper mapper = mapper(factory);
+    byte[] bytes = null;
+    for (int i = 0; i < 20; i++) {
+      bytes = mapper.writeValueAsBytes(reviews);
+    }
+    int runs = 50;
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      bytes = mapper.writeValueAsBytes(reviews);
+    }
+    long nanos = System.nanoTime() - start;
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+      out.write(bytes);
+    }
+    log.info("benchmark encoding={} bytes={} gzipBytes={} meanEncodeMillis={}",
+        name, bytes.length, gzipped.size(), nanos / runs / 1_000_000.0);
+  }
+}
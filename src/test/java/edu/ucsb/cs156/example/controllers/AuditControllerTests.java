@@ -0,0 +1,96 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.audit.AuditLog;
+import edu.ucsb.cs156.example.models.AuditChange;
+import edu.ucsb.cs156.example.models.AuditEntry;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@WebMvcTest(controllers = AuditController.class)
+@Import(TestConfig.class)
+public class AuditControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  AuditLog auditLog;
+
+  @Test
+  public void audit__logged_out() throws Exception {
+    mockMvc.perform(get("/api/admin/audit"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void audit__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/audit"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void audit__admin_logged_in() throws Exception {
+
+    // arrange
+
+    List<AuditEntry> expected = List.of(AuditEntry.builder()
+        .timestamp(Instant.parse("2022-01-03T00:00:00Z"))
+        .user("admin@ucsb.edu")
+        .action("UPDATE")
+        .entity("UCSBDate")
+        .entityId("7")
+        .request("PUT /api/ucsbdates")
+        .changes(List.of(new AuditChange("name", "firstDayOfClasses", "lastDayOfClasses")))
+        .build());
+    when(auditLog.query(null, null, null, null, 100)).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/audit"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void audit__filters_are_passed_through_and_limit_is_capped() throws Exception {
+
+    // arrange
+
+    Instant since = LocalDateTime.parse("2022-01-03T00:00:00").atZone(ZoneId.systemDefault()).toInstant();
+    when(auditLog.query("UCSBDate", "7", "admin@ucsb.edu", since, AuditController.MAX_LIMIT)).thenReturn(List.of());
+
+    // act
+
+    mockMvc.perform(get("/api/admin/audit?entity=UCSBDate&id=7&user=admin@ucsb.edu&since=2022-01-03T00:00:00&limit=5000"))
+        .andExpect(status().isOk()).andExpect(content().string("[]"));
+
+    // assert
+
+    verify(auditLog).query("UCSBDate", "7", "admin@ucsb.edu", since, AuditController.MAX_LIMIT);
+  }
+}
@@ -0,0 +1,101 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@WebMvcTest(controllers = UCSBDatesController.class)
+@Import(TestConfig.class)
+public class BinaryContentNegotiationTests extends ControllerTestCase {
+
+        @MockBean
+        UCSBDateRepository ucsbDateRepository;
+
+        @MockBean
+        UserRepository userRepository;
+
+        List<UCSBDate> dates = List.of(
+                        UCSBDate.builder().id(1).name("firstDayOfClasses").quarterYYYYQ("20222")
+                                        .localDateTime(LocalDateTime.parse("2022-01-03T00:00:00")).build(),
+                        UCSBDate.builder().id(2).name("lastDayOfClasses").quarterYYYYQ("20222")
+                                        .localDateTime(LocalDateTime.parse("2022-03-11T00:00:00")).build());
+
+        @BeforeEach
+        public void setup() {
+                when(ucsbDateRepository.findAll()).thenReturn(dates);
+        }
+
+        private void assertDecodesToJson(String accept, JsonFactory factory) throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(get("/api/ucsbdates/all").accept(accept))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                assertEquals(accept, response.getResponse().getContentType());
+                JsonNode decoded = new ObjectMapper(factory).readTree(response.getResponse().getContentAsByteArray());
+                assertEquals(mapper.readTree(mapper.writeValueAsString(dates)), decoded);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void json_is_the_default() throws Exception {
+                MvcResult response = mockMvc.perform(get("/api/ucsbdates/all"))
+                                .andExpect(status().isOk()).andReturn();
+
+                assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getResponse().getContentType());
+                assertEquals(mapper.writeValueAsString(dates), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void json_is_chosen_for_a_wildcard_accept() throws Exception {
+                MvcResult response = mockMvc.perform(get("/api/ucsbdates/all").accept(MediaType.ALL))
+                                .andExpect(status().isOk()).andReturn();
+
+                assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getResponse().getContentType());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void cbor_can_be_requested() throws Exception {
+                assertDecodesToJson("application/cbor", new CBORFactory());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void smile_can_be_requested() throws Exception {
+                assertDecodesToJson("application/x-jackson-smile", new SmileFactory());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void msgpack_can_be_requested() throws Exception {
+                assertDecodesToJson("application/msgpack", new MessagePackFactory());
+        }
+}
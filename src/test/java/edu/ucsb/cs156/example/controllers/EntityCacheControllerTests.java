@@ -0,0 +1,67 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.EntityCacheStats;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.EntityCacheStatsService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+@WebMvcTest(controllers = EntityCacheController.class)
+@Import(TestConfig.class)
+public class EntityCacheControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  EntityCacheStatsService entityCacheStatsService;
+
+  @Test
+  public void entities__logged_out() throws Exception {
+    mockMvc.perform(get("/api/admin/cache/entities"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void entities__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/cache/entities"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void entities__admin_logged_in() throws Exception {
+
+    // arrange
+
+    List<EntityCacheStats> expected = List.of(EntityCacheStats.builder()
+        .region("edu.ucsb.cs156.example.entities.UCSBDate")
+        .hitCount(3).missCount(1).putCount(1).hitRatio(0.75).elementCountInMemory(1)
+        .build());
+    when(entityCacheStatsService.getEntityCacheStats()).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/cache/entities"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+}
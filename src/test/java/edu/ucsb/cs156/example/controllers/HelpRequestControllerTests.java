@@ -1,13 +1,19 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.HelpRequestRow;
+import edu.ucsb.cs156.example.entities.ArchivedHelpRequest;
 import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.repositories.ArchivedHelpRequestRepository;
 import edu.ucsb.cs156.example.repositories.HelpRequestRepository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -26,8 +32,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +50,12 @@ public class HelpRequestControllerTests extends ControllerTestCase {
         @MockBean
         UserRepository userRepository;
 
+        @MockBean
+        SparseFieldsetService sparseFieldsetService;
+
+        @MockBean
+        ArchivedHelpRequestRepository archivedHelpRequestRepository;
+
         // Tests for GET /api/helprequests/all
         
         @Test
@@ -62,41 +76,46 @@ public class HelpRequestControllerTests extends ControllerTestCase {
         public void logged_in_user_can_get_all_help_requests() throws Exception {
 
                 // arrange
-                LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
+                List<HelpRequestRow> expectedRows = List.of(
+                                new HelpRequestRow(1L, "jgaucho@ucsb.edu", "team-1", "table-1", LocalDateTime.parse("2022-01-03T00:00:00"), false),
+                                new HelpRequestRow(2L, "jgaucho@ucsb.edu", "team-2", "table-2", LocalDateTime.parse("2022-03-11T00:00:00"), true));
 
-                HelpRequest helpRequest1 = HelpRequest.builder()
-                                .requesterEmail("jgaucho@ucsb.edu")
-                                .teamId("team-1")
-                                .teamOrBreakoutRoom("table-1")
-                                .requestTime(ldt1)
-                                .explanation("I need help with team02")
-                                .solved(false)
-                                .build();
+                when(helpRequestRepository.findAllRowsWithoutExplanation()).thenReturn(expectedRows);
 
-                LocalDateTime ldt2 = LocalDateTime.parse("2022-03-11T00:00:00");
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests/all"))
+                                .andExpect(status().isOk()).andReturn();
 
-                HelpRequest helpRequest2 = HelpRequest.builder()
-                                .requesterEmail("jgaucho@ucsb.edu")
-                                .teamId("team-2")
-                                .teamOrBreakoutRoom("table-2")
-                                .requestTime(ldt2)
-                                .explanation("I need help with team03")
-                                .solved(true)
-                                .build();
+                // assert
 
-                ArrayList<HelpRequest> expectedHelpRequests = new ArrayList<>();
-                expectedHelpRequests.addAll(Arrays.asList(helpRequest1, helpRequest2));
+                verify(helpRequestRepository, times(1)).findAllRowsWithoutExplanation();
+                verify(helpRequestRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+                assertFalse(responseString.contains("\"explanation\""));
+        }
 
-                when(helpRequestRepository.findAll()).thenReturn(expectedHelpRequests);
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_help_requests_with_explanation() throws Exception {
+
+                // arrange
+                List<HelpRequestRow> expectedRows = List.of(
+                                new HelpRequestRow(1L, "jgaucho@ucsb.edu", "team-1", "table-1", LocalDateTime.parse("2022-01-03T00:00:00"), "I need help with team02", false),
+                                new HelpRequestRow(2L, "jgaucho@ucsb.edu", "team-2", "table-2", LocalDateTime.parse("2022-03-11T00:00:00"), "I need help with team03", true));
+
+                when(helpRequestRepository.findAllRows()).thenReturn(expectedRows);
 
                 // act
-                MvcResult response = mockMvc.perform(get("/api/helprequests/all"))
+                MvcResult response = mockMvc.perform(get("/api/helprequests/all").param("includeExplanation", "true"))
                                 .andExpect(status().isOk()).andReturn();
 
                 // assert
 
-                verify(helpRequestRepository, times(1)).findAll();
-                String expectedJson = mapper.writeValueAsString(expectedHelpRequests);
+                verify(helpRequestRepository, times(1)).findAllRows();
+                verify(helpRequestRepository, never()).findAllRowsWithoutExplanation();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
                 String responseString = response.getResponse().getContentAsString();
                 assertEquals(expectedJson, responseString);
         }
@@ -343,4 +362,156 @@ public class HelpRequestControllerTests extends ControllerTestCase {
                 assertEquals("HelpRequest with id 67 not found", json.get("message"));
 
         }
+
+        // Tests for the fields= parameter
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_with_sparse_fields() throws Exception {
+
+                // arrange
+                List<Map<String, Object>> expectedRows = List.of(Map.of("id", 1L, "teamId", "team-1"));
+                when(sparseFieldsetService.findAll(HelpRequest.class, "teamId")).thenReturn(expectedRows);
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests/all").param("fields", "teamId"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(helpRequestRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_by_id_with_sparse_fields() throws Exception {
+
+                // arrange
+                Map<String, Object> expectedRow = Map.of("id", 7L, "teamId", "team-1");
+                when(sparseFieldsetService.findById(HelpRequest.class, 7L, "teamId")).thenReturn(Optional.of(expectedRow));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests?id=7").param("fields", "teamId"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(helpRequestRepository, never()).findById(any());
+                String expectedJson = mapper.writeValueAsString(expectedRow);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_sparse_fields_when_the_id_does_not_exist() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findById(HelpRequest.class, 7L, "teamId")).thenReturn(Optional.empty());
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests?id=7").param("fields", "teamId"))
+                                .andExpect(status().isNotFound()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("EntityNotFoundException", json.get("type"));
+                assertEquals("HelpRequest with id 7 not found", json.get("message"));
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void unknown_sparse_field_is_a_bad_request() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findAll(HelpRequest.class, "nope"))
+                                .thenThrow(new UnknownFieldException(HelpRequest.class, "nope"));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests/all").param("fields", "nope"))
+                                .andExpect(status().isBadRequest()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("UnknownFieldException", json.get("type"));
+                assertEquals("HelpRequest has no field nope", json.get("message"));
+        }
+
+        // Tests for includeArchived
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_all_with_archived_lists_hot_rows_then_archived_rows() throws Exception {
+
+                // arrange
+                HelpRequestRow hot = new HelpRequestRow(9L, "jgaucho@ucsb.edu", "team-1", "table-1", LocalDateTime.parse("2022-05-03T00:00:00"), false);
+                HelpRequestRow archived = new HelpRequestRow(2L, "jgaucho@ucsb.edu", "team-2", "table-2", LocalDateTime.parse("2022-01-11T00:00:00"), true);
+                when(helpRequestRepository.findAllRowsWithoutExplanation()).thenReturn(List.of(hot));
+                when(archivedHelpRequestRepository.findAllRowsWithoutExplanation()).thenReturn(List.of(archived));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests/all").param("includeArchived", "true"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(archivedHelpRequestRepository, times(1)).findAllRowsWithoutExplanation();
+                assertEquals(mapper.writeValueAsString(List.of(hot, archived)), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_all_leaves_archived_rows_out_by_default() throws Exception {
+
+                // arrange
+                when(helpRequestRepository.findAllRowsWithoutExplanation()).thenReturn(List.of());
+
+                // act
+                mockMvc.perform(get("/api/helprequests/all")).andExpect(status().isOk());
+
+                // assert
+                verify(archivedHelpRequestRepository, never()).findAllRowsWithoutExplanation();
+                verify(archivedHelpRequestRepository, never()).findAllRows();
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_archived_falls_back_to_the_archive() throws Exception {
+
+                // arrange
+                ArchivedHelpRequest archived = ArchivedHelpRequest.builder()
+                                .id(7L)
+                                .requesterEmail("jgaucho@ucsb.edu")
+                                .teamId("team-1")
+                                .teamOrBreakoutRoom("table-1")
+                                .requestTime(LocalDateTime.parse("2022-01-03T00:00:00"))
+                                .explanation("I need help with team02")
+                                .solved(true)
+                                .archivedAt(LocalDateTime.parse("2022-03-01T00:00:00"))
+                                .build();
+                when(helpRequestRepository.findById(eq(7L))).thenReturn(Optional.empty());
+                when(archivedHelpRequestRepository.findById(eq(7L))).thenReturn(Optional.of(archived));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/helprequests?id=7&includeArchived=true"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(helpRequestRepository, times(1)).findById(eq(7L));
+                assertEquals(mapper.writeValueAsString(archived), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_does_not_look_in_the_archive_by_default() throws Exception {
+
+                // arrange
+                when(helpRequestRepository.findById(eq(7L))).thenReturn(Optional.empty());
+
+                // act
+                mockMvc.perform(get("/api/helprequests?id=7")).andExpect(status().isNotFound());
+
+                // assert
+                verify(archivedHelpRequestRepository, never()).findById(any());
+        }
 }
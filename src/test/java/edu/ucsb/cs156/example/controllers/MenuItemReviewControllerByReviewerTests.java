@@ -0,0 +1,71 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.reviewstats.ReviewerReviewCounts;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+/**
+ * /byReviewer with the review stats enabled, where the total comes from the
+ * maintained per-reviewer counter instead of a count query.
+ */
+@WebMvcTest(controllers = MenuItemReviewController.class)
+@Import(TestConfig.class)
+public class MenuItemReviewControllerByReviewerTests extends ControllerTestCase {
+
+  @MockBean
+  MenuItemReviewRepository menuItemReviewRepository;
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  SparseFieldsetService sparseFieldsetService;
+
+  @MockBean
+  ReviewerReviewCounts reviewerReviewCounts;
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void total_comes_from_the_counter() throws Exception {
+
+    // arrange
+
+    when(menuItemReviewRepository.findRowsByReviewerEmail(eq("cgaucho@ucsb.edu"), any(Pageable.class)))
+        .thenReturn(new SliceImpl<MenuItemReviewRow>(List.of()));
+    when(reviewerReviewCounts.getCount("cgaucho@ucsb.edu")).thenReturn(42L);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/menuitemreviews/byReviewer?reviewerEmail=cgaucho@ucsb.edu"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(42, mapper.readTree(response.getResponse().getContentAsString()).get("totalReviews").asLong());
+    verify(menuItemReviewRepository, never()).countByReviewerEmail(any());
+  }
+}
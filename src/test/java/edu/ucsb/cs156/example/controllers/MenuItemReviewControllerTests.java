@@ -1,19 +1,27 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.MenuItemReviewPage;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
 import edu.ucsb.cs156.example.entities.MenuItemReview;
 import edu.ucsb.cs156.example.entities.UCSBDate;
 import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
@@ -27,8 +35,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +52,9 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
         @MockBean
         UserRepository userRepository;
 
+        @MockBean
+        SparseFieldsetService sparseFieldsetService;
+
         // Tests for GET /api/menuitemreviews/all
 
         @Test
@@ -62,43 +75,101 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
         public void logged_in_user_can_get_all_menuitemreviews() throws Exception {
 
                 // arrange
-                LocalDateTime ldt1 = LocalDateTime.parse("2022-01-03T00:00:00");
+                List<MenuItemReviewRow> expectedRows = List.of(
+                                new MenuItemReviewRow(1L, 0L, "test1", 0, LocalDateTime.parse("2022-01-03T00:00:00")),
+                                new MenuItemReviewRow(2L, 0L, "test2", 0, LocalDateTime.parse("2022-03-11T00:00:00")));
 
-                MenuItemReview menuItemReview1 = MenuItemReview.builder()
-                                .itemId((long) 0)
-                                .reviewerEmail("test1")
-                                .stars(0)
-                                .dateReviewed(ldt1)
-                                .comments("test1")
-                                .build();
+                when(menuItemReviewRepository.findAllRowsWithoutComments()).thenReturn(expectedRows);
 
-                LocalDateTime ldt2 = LocalDateTime.parse("2022-03-11T00:00:00");
+                // act
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews/all"))
+                                .andExpect(status().isOk()).andReturn();
 
-                MenuItemReview menuItemReview2 = MenuItemReview.builder()
-                                .itemId((long) 0)
-                                .reviewerEmail("test2")
-                                .stars(0)
-                                .dateReviewed(ldt2)
-                                .comments("test2")
-                                .build();
+                // assert
 
-                ArrayList<MenuItemReview> expectedMenuItemReviews = new ArrayList<>();
-                expectedMenuItemReviews.addAll(Arrays.asList(menuItemReview1, menuItemReview2));
+                verify(menuItemReviewRepository, times(1)).findAllRowsWithoutComments();
+                verify(menuItemReviewRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+                assertFalse(responseString.contains("\"comments\""));
+        }
 
-                when(menuItemReviewRepository.findAll()).thenReturn(expectedMenuItemReviews);
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_menuitemreviews_with_comments() throws Exception {
+
+                // arrange
+                List<MenuItemReviewRow> expectedRows = List.of(
+                                new MenuItemReviewRow(1L, 0L, "test1", 0, LocalDateTime.parse("2022-01-03T00:00:00"), "test1"),
+                                new MenuItemReviewRow(2L, 0L, "test2", 0, LocalDateTime.parse("2022-03-11T00:00:00"), "test2"));
+
+                when(menuItemReviewRepository.findAllRows()).thenReturn(expectedRows);
 
                 // act
-                MvcResult response = mockMvc.perform(get("/api/menuitemreviews/all"))
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews/all").param("includeComments", "true"))
                                 .andExpect(status().isOk()).andReturn();
 
                 // assert
 
-                verify(menuItemReviewRepository, times(1)).findAll();
-                String expectedJson = mapper.writeValueAsString(expectedMenuItemReviews);
+                verify(menuItemReviewRepository, times(1)).findAllRows();
+                verify(menuItemReviewRepository, never()).findAllRowsWithoutComments();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
                 String responseString = response.getResponse().getContentAsString();
                 assertEquals(expectedJson, responseString);
         }
 
+        // Tests for GET /api/menuitemreviews/byReviewer
+
+        @Test
+        public void logged_out_users_cannot_get_by_reviewer() throws Exception {
+                mockMvc.perform(get("/api/menuitemreviews/byReviewer?reviewerEmail=cgaucho@ucsb.edu"))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_a_page_of_reviews_by_reviewer() throws Exception {
+
+                // arrange
+                List<MenuItemReviewRow> expectedRows = List.of(
+                                new MenuItemReviewRow(2L, 7L, "cgaucho@ucsb.edu", 4, LocalDateTime.parse("2022-03-11T00:00:00"), "good"),
+                                new MenuItemReviewRow(1L, 8L, "cgaucho@ucsb.edu", 2, LocalDateTime.parse("2022-01-03T00:00:00"), "meh"));
+                PageRequest expectedRequest = PageRequest.of(1, 2,
+                                Sort.by(Sort.Order.desc("dateReviewed"), Sort.Order.desc("id")));
+                when(menuItemReviewRepository.findRowsByReviewerEmail("cgaucho@ucsb.edu", expectedRequest))
+                                .thenReturn(new SliceImpl<>(expectedRows, expectedRequest, true));
+                when(menuItemReviewRepository.countByReviewerEmail("cgaucho@ucsb.edu")).thenReturn(5L);
+
+                // act
+                MvcResult response = mockMvc.perform(
+                                get("/api/menuitemreviews/byReviewer?reviewerEmail=cgaucho@ucsb.edu&page=1&size=2"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                MenuItemReviewPage expected = MenuItemReviewPage.builder()
+                                .content(expectedRows).page(1).size(2).hasNext(true).totalReviews(5).build();
+                assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void by_reviewer_page_size_is_capped() throws Exception {
+
+                // arrange
+                PageRequest expectedRequest = PageRequest.of(0, 100,
+                                Sort.by(Sort.Order.desc("dateReviewed"), Sort.Order.desc("id")));
+                when(menuItemReviewRepository.findRowsByReviewerEmail("cgaucho@ucsb.edu", expectedRequest))
+                                .thenReturn(new SliceImpl<>(List.of(), expectedRequest, false));
+
+                // act
+                mockMvc.perform(get("/api/menuitemreviews/byReviewer?reviewerEmail=cgaucho@ucsb.edu&page=-3&size=5000"))
+                                .andExpect(status().isOk());
+
+                // assert
+                verify(menuItemReviewRepository, times(1)).findRowsByReviewerEmail("cgaucho@ucsb.edu", expectedRequest);
+        }
+
         // Tests for POST /api/menuitemreviews/post...
 
         @Test
@@ -336,4 +407,79 @@ public class MenuItemReviewControllerTests extends ControllerTestCase {
                 assertEquals("MenuItemReview with id 67 not found", json.get("message"));
 
         }
+
+        // Tests for the fields= parameter
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_with_sparse_fields() throws Exception {
+
+                // arrange
+                List<Map<String, Object>> expectedRows = List.of(Map.of("id", 1L, "stars", 4));
+                when(sparseFieldsetService.findAll(MenuItemReview.class, "stars")).thenReturn(expectedRows);
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews/all").param("fields", "stars"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(menuItemReviewRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_by_id_with_sparse_fields() throws Exception {
+
+                // arrange
+                Map<String, Object> expectedRow = Map.of("id", 7L, "stars", 4);
+                when(sparseFieldsetService.findById(MenuItemReview.class, 7L, "stars")).thenReturn(Optional.of(expectedRow));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews?id=7").param("fields", "stars"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(menuItemReviewRepository, never()).findById(any());
+                String expectedJson = mapper.writeValueAsString(expectedRow);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_sparse_fields_when_the_id_does_not_exist() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findById(MenuItemReview.class, 7L, "stars")).thenReturn(Optional.empty());
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews?id=7").param("fields", "stars"))
+                                .andExpect(status().isNotFound()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("EntityNotFoundException", json.get("type"));
+                assertEquals("MenuItemReview with id 7 not found", json.get("message"));
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void unknown_sparse_field_is_a_bad_request() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findAll(MenuItemReview.class, "nope"))
+                                .thenThrow(new UnknownFieldException(MenuItemReview.class, "nope"));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/menuitemreviews/all").param("fields", "nope"))
+                                .andExpect(status().isBadRequest()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("UnknownFieldException", json.get("type"));
+                assertEquals("MenuItemReview has no field nope", json.get("message"));
+        }
 }
@@ -0,0 +1,123 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.LeaderboardEntry;
+import edu.ucsb.cs156.example.models.TrendingMenuItem;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.reviewstats.MenuItemLeaderboards;
+import edu.ucsb.cs156.example.reviewstats.TrendingMenuItems;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+@WebMvcTest(controllers = MenuItemReviewStatsController.class)
+@Import(TestConfig.class)
+public class MenuItemReviewStatsControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  TrendingMenuItems trendingMenuItems;
+
+  @MockBean
+  MenuItemLeaderboards menuItemLeaderboards;
+
+  @Test
+  public void trending__logged_out() throws Exception {
+    mockMvc.perform(get("/api/menuitemreviews/trending"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void trending__defaults_to_top_ten_of_the_day() throws Exception {
+
+    // arrange
+
+    List<TrendingMenuItem> expected = List.of(
+        TrendingMenuItem.builder().itemId(7L).reviewCount(12).averageStars(4.5).build(),
+        TrendingMenuItem.builder().itemId(3L).reviewCount(9).averageStars(3.0).build());
+    when(trendingMenuItems.top(TrendingMenuItems.Window.DAY, 10)).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/menuitemreviews/trending"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void trending__window_and_limit() throws Exception {
+    when(trendingMenuItems.top(TrendingMenuItems.Window.HOUR, 100)).thenReturn(List.of());
+
+    mockMvc.perform(get("/api/menuitemreviews/trending?window=HOUR&limit=5000"))
+        .andExpect(status().isOk());
+
+    verify(trendingMenuItems).top(TrendingMenuItems.Window.HOUR, 100);
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void trending__unknown_window_is_a_bad_request() throws Exception {
+    mockMvc.perform(get("/api/menuitemreviews/trending?window=fortnight"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void leaderboard__logged_out() throws Exception {
+    mockMvc.perform(get("/api/menuitemreviews/leaderboard?diningCommonsCode=carrillo"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void leaderboard__returns_the_commons_top_items() throws Exception {
+
+    // arrange
+
+    List<LeaderboardEntry> expected = List.of(LeaderboardEntry.builder()
+        .itemId(7L).name("Tofu Banh Mi").station("Entree Specials")
+        .reviewCount(12).averageStars(4.5).score(4.2).build());
+    when(menuItemLeaderboards.getSize()).thenReturn(25);
+    when(menuItemLeaderboards.top("carrillo", 10)).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/menuitemreviews/leaderboard?diningCommonsCode=carrillo"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void leaderboard__limit_is_capped_at_the_leaderboard_size() throws Exception {
+    when(menuItemLeaderboards.getSize()).thenReturn(25);
+    when(menuItemLeaderboards.top("ortega", 25)).thenReturn(List.of());
+
+    mockMvc.perform(get("/api/menuitemreviews/leaderboard?diningCommonsCode=ortega&limit=500"))
+        .andExpect(status().isOk());
+
+    verify(menuItemLeaderboards).top("ortega", 25);
+  }
+}
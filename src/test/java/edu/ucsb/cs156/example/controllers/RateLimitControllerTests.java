@@ -0,0 +1,66 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.RateLimitStats;
+import edu.ucsb.cs156.example.ratelimit.RateLimiter;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+@WebMvcTest(controllers = RateLimitController.class)
+@Import(TestConfig.class)
+public class RateLimitControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  RateLimiter rateLimiter;
+
+  @Test
+  public void ratelimit__logged_out() throws Exception {
+    mockMvc.perform(get("/api/admin/ratelimit"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void ratelimit__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/ratelimit"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void ratelimit__admin_logged_in() throws Exception {
+
+    // arrange
+
+    List<RateLimitStats> expected = List.of(RateLimitStats.builder()
+        .endpointClass("EXPENSIVE_LIST").capacity(10).refillPerSecond(1).allowed(40).rejected(3)
+        .build());
+    when(rateLimiter.getStats()).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/ratelimit"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+}
@@ -1,13 +1,19 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.RecommendationRequestRow;
+import edu.ucsb.cs156.example.entities.ArchivedRecommendationRequest;
 import edu.ucsb.cs156.example.entities.RecommendationRequest;
+import edu.ucsb.cs156.example.repositories.ArchivedRecommendationRequestRepository;
 import edu.ucsb.cs156.example.repositories.RecommendationRequestRepository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -26,8 +32,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,6 +50,12 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
         @MockBean
         UserRepository userRepository;
 
+        @MockBean
+        SparseFieldsetService sparseFieldsetService;
+
+        @MockBean
+        ArchivedRecommendationRequestRepository archivedRecRequestRepository;
+
         // Tests for GET /api/recommendationrequest/all
         
         @Test
@@ -61,43 +75,46 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
         public void logged_in_user_can_get_all_recrequests() throws Exception {
 
                 // arrange
-                LocalDateTime ldt0 = LocalDateTime.parse("2022-01-03T00:00:00");
-                LocalDateTime ldt1 = LocalDateTime.parse("2022-01-15T00:00:00");
+                List<RecommendationRequestRow> expectedRows = List.of(
+                                new RecommendationRequestRow(1L, "omar@ucsb.edu", "martin@ucsb.edu", LocalDateTime.parse("2022-01-03T00:00:00"), LocalDateTime.parse("2022-01-15T00:00:00"), true),
+                                new RecommendationRequestRow(2L, "ricky@ucsb.edu", "thomas@ucsb.edu", LocalDateTime.parse("2022-03-11T00:00:00"), LocalDateTime.parse("2022-03-25T00:00:00"), false));
 
-                RecommendationRequest RecRequest1 = RecommendationRequest.builder()
-                                .requesterEmail("omar@ucsb.edu")
-                                .professorEmail("martin@ucsb.edu")
-                                .explanation("i_need_grad_school")
-                                .dateRequested(ldt0)
-                                .dateNeeded(ldt1)
-                                .done(true)
-                                .build();
+                when(RecRequestRepository.findAllRowsWithoutExplanation()).thenReturn(expectedRows);
 
-                LocalDateTime ldt2 = LocalDateTime.parse("2022-03-11T00:00:00");
-                LocalDateTime ldt3 = LocalDateTime.parse("2022-03-25T00:00:00");
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all"))
+                                .andExpect(status().isOk()).andReturn();
 
-                RecommendationRequest RecRequest2 = RecommendationRequest.builder()
-                                .requesterEmail("ricky@ucsb.edu")
-                                .professorEmail("thomas@ucsb.edu")
-                                .explanation("ms_application")
-                                .dateRequested(ldt2)
-                                .dateNeeded(ldt3)
-                                .done(false)
-                                .build();
+                // assert
 
-                ArrayList<RecommendationRequest> exceptedRecRequest = new ArrayList<>();
-                exceptedRecRequest.addAll(Arrays.asList(RecRequest1, RecRequest2));
+                verify(RecRequestRepository, times(1)).findAllRowsWithoutExplanation();
+                verify(RecRequestRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+                assertFalse(responseString.contains("\"explanation\""));
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_recrequests_with_explanation() throws Exception {
+
+                // arrange
+                List<RecommendationRequestRow> expectedRows = List.of(
+                                new RecommendationRequestRow(1L, "omar@ucsb.edu", "martin@ucsb.edu", "i_need_grad_school", LocalDateTime.parse("2022-01-03T00:00:00"), LocalDateTime.parse("2022-01-15T00:00:00"), true),
+                                new RecommendationRequestRow(2L, "ricky@ucsb.edu", "thomas@ucsb.edu", "ms_application", LocalDateTime.parse("2022-03-11T00:00:00"), LocalDateTime.parse("2022-03-25T00:00:00"), false));
 
-                when(RecRequestRepository.findAll()).thenReturn(exceptedRecRequest);
+                when(RecRequestRepository.findAllRows()).thenReturn(expectedRows);
 
                 // act
-                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all"))
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all").param("includeExplanation", "true"))
                                 .andExpect(status().isOk()).andReturn();
 
                 // assert
 
-                verify(RecRequestRepository, times(1)).findAll();
-                String expectedJson = mapper.writeValueAsString(exceptedRecRequest);
+                verify(RecRequestRepository, times(1)).findAllRows();
+                verify(RecRequestRepository, never()).findAllRowsWithoutExplanation();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
                 String responseString = response.getResponse().getContentAsString();
                 assertEquals(expectedJson, responseString);
         }
@@ -351,4 +368,145 @@ public class RecommendationRequestControllerTests extends ControllerTestCase {
                 assertEquals("RecommendationRequest with id 67 not found", json.get("message"));
 
         }
+
+        // Tests for the fields= parameter
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_all_with_sparse_fields() throws Exception {
+
+                // arrange
+                List<Map<String, Object>> expectedRows = List.of(Map.of("id", 1L, "professorEmail", "martin@ucsb.edu"));
+                when(sparseFieldsetService.findAll(RecommendationRequest.class, "professorEmail")).thenReturn(expectedRows);
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all").param("fields", "professorEmail"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(RecRequestRepository, never()).findAll();
+                String expectedJson = mapper.writeValueAsString(expectedRows);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void logged_in_user_can_get_by_id_with_sparse_fields() throws Exception {
+
+                // arrange
+                Map<String, Object> expectedRow = Map.of("id", 7L, "professorEmail", "martin@ucsb.edu");
+                when(sparseFieldsetService.findById(RecommendationRequest.class, 7L, "professorEmail")).thenReturn(Optional.of(expectedRow));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest?id=7").param("fields", "professorEmail"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(RecRequestRepository, never()).findById(any());
+                String expectedJson = mapper.writeValueAsString(expectedRow);
+                String responseString = response.getResponse().getContentAsString();
+                assertEquals(expectedJson, responseString);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_sparse_fields_when_the_id_does_not_exist() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findById(RecommendationRequest.class, 7L, "professorEmail")).thenReturn(Optional.empty());
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest?id=7").param("fields", "professorEmail"))
+                                .andExpect(status().isNotFound()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("EntityNotFoundException", json.get("type"));
+                assertEquals("RecommendationRequest with id 7 not found", json.get("message"));
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void unknown_sparse_field_is_a_bad_request() throws Exception {
+
+                // arrange
+                when(sparseFieldsetService.findAll(RecommendationRequest.class, "nope"))
+                                .thenThrow(new UnknownFieldException(RecommendationRequest.class, "nope"));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all").param("fields", "nope"))
+                                .andExpect(status().isBadRequest()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("UnknownFieldException", json.get("type"));
+                assertEquals("RecommendationRequest has no field nope", json.get("message"));
+        }
+
+        // Tests for includeArchived
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_all_with_archived_and_explanation_lists_hot_rows_then_archived_rows() throws Exception {
+
+                // arrange
+                RecommendationRequestRow hot = new RecommendationRequestRow(9L, "ricky@ucsb.edu", "thomas@ucsb.edu", "ms_application", LocalDateTime.parse("2022-03-11T00:00:00"), LocalDateTime.parse("2022-03-25T00:00:00"), false);
+                RecommendationRequestRow archived = new RecommendationRequestRow(1L, "omar@ucsb.edu", "martin@ucsb.edu", "i_need_grad_school", LocalDateTime.parse("2022-01-03T00:00:00"), LocalDateTime.parse("2022-01-15T00:00:00"), true);
+                when(RecRequestRepository.findAllRows()).thenReturn(List.of(hot));
+                when(archivedRecRequestRepository.findAllRows()).thenReturn(List.of(archived));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest/all")
+                                .param("includeExplanation", "true")
+                                .param("includeArchived", "true"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(archivedRecRequestRepository, never()).findAllRowsWithoutExplanation();
+                assertEquals(mapper.writeValueAsString(List.of(hot, archived)), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_archived_falls_back_to_the_archive() throws Exception {
+
+                // arrange
+                ArchivedRecommendationRequest archived = ArchivedRecommendationRequest.builder()
+                                .id(7L)
+                                .requesterEmail("omar@ucsb.edu")
+                                .professorEmail("martin@ucsb.edu")
+                                .explanation("i_need_grad_school")
+                                .dateRequested(LocalDateTime.parse("2022-01-03T00:00:00"))
+                                .dateNeeded(LocalDateTime.parse("2022-01-15T00:00:00"))
+                                .done(true)
+                                .archivedAt(LocalDateTime.parse("2022-05-01T00:00:00"))
+                                .build();
+                when(RecRequestRepository.findById(eq(7L))).thenReturn(Optional.empty());
+                when(archivedRecRequestRepository.findById(eq(7L))).thenReturn(Optional.of(archived));
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest?id=7&includeArchived=true"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                assertEquals(mapper.writeValueAsString(archived), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void get_by_id_with_archived_is_not_found_when_in_neither_table() throws Exception {
+
+                // arrange
+                when(RecRequestRepository.findById(eq(7L))).thenReturn(Optional.empty());
+                when(archivedRecRequestRepository.findById(eq(7L))).thenReturn(Optional.empty());
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/recommendationrequest?id=7&includeArchived=true"))
+                                .andExpect(status().isNotFound()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("RecommendationRequest with id 7 not found", json.get("message"));
+        }
 }
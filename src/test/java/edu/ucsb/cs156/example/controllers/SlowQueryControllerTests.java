@@ -0,0 +1,74 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.SlowQuery;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.sql.SlowQueryStore;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@WebMvcTest(controllers = SlowQueryController.class)
+@Import(TestConfig.class)
+public class SlowQueryControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  SlowQueryStore slowQueryStore;
+
+  @Test
+  public void slow_queries__logged_out() throws Exception {
+    mockMvc.perform(get("/api/admin/slow-queries"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void slow_queries__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/slow-queries"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void slow_queries__admin_logged_in() throws Exception {
+
+    // arrange
+
+    List<SlowQuery> expected = List.of(SlowQuery.builder()
+        .timestamp(Instant.parse("2022-01-03T00:00:00Z"))
+        .durationMicros(412_000)
+        .sql("select u1_0.id, u1_0.name from ucsbdate u1_0 where u1_0.name=?")
+        .parameters(List.of("firstDayOfClasses"))
+        .repositoryMethod("UCSBDateRepository.findByName")
+        .caller("UCSBDatesController.getByName")
+        .endpoint("GET /api/ucsbdates")
+        .traceId("8f3a1c2b4d5e6f70")
+        .build());
+    when(slowQueryStore.recent(10)).thenReturn(expected);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/slow-queries").param("limit", "10"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+}
@@ -1,6 +1,7 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.PerformanceSnapshot;
 import edu.ucsb.cs156.example.models.SystemInfo;
 import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.services.SystemInfoService;
@@ -16,6 +17,9 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.List;
+import java.util.Map;
+
 @WebMvcTest(controllers = SystemInfoController.class)
 public class SystemInfoControllerTests extends ControllerTestCase {
 
@@ -48,4 +52,43 @@ public class SystemInfoControllerTests extends ControllerTestCase {
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
   }
+
+  @Test
+  public void performance__logged_out() throws Exception {
+    mockMvc.perform(get("/api/systemInfo/performance"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void performance__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/systemInfo/performance"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void performance__admin_logged_in() throws Exception {
+
+    // arrange
+
+    PerformanceSnapshot snapshot = PerformanceSnapshot.builder()
+        .uptimeMillis(12345L)
+        .heap(PerformanceSnapshot.MemoryStats.builder().usedBytes(10).committedBytes(20).maxBytes(40).build())
+        .threads(PerformanceSnapshot.ThreadStats.builder().live(3).daemon(2).peak(4)
+            .byState(Map.of(Thread.State.RUNNABLE, 3)).build())
+        .connectionPools(List.of(PerformanceSnapshot.ConnectionPoolStats.builder()
+            .poolName("HikariPool-1").active(1).idle(9).total(10).pending(0).timeouts(0).build()))
+        .build();
+    when(mockSystemInfoService.getPerformanceSnapshot()).thenReturn(snapshot);
+    String expectedJson = mapper.writeValueAsString(snapshot);
+
+    // act
+    MvcResult response = mockMvc.perform(get("/api/systemInfo/performance"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+    String responseString = response.getResponse().getContentAsString();
+    assertEquals(expectedJson, responseString);
+  }
 }
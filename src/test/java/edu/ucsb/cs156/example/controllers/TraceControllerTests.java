@@ -0,0 +1,137 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.RequestTrace;
+import edu.ucsb.cs156.example.models.TraceSpan;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+import edu.ucsb.cs156.example.trace.TraceStore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@WebMvcTest(controllers = TraceController.class)
+@Import(TestConfig.class)
+public class TraceControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  TraceStore traceStore;
+
+  RequestTrace trace = RequestTrace.builder()
+      .id("8f3a1c2b4d5e6f70")
+      .method("GET")
+      .uri("/api/ucsbdates/all")
+      .endpoint("GET /api/ucsbdates/all")
+      .status(200)
+      .startedAt(Instant.parse("2022-01-03T00:00:00Z"))
+      .durationMicros(1500)
+      .spans(List.of(
+          new TraceSpan("security", null, 1, 0, 200),
+          new TraceSpan("controller", "UCSBDatesController.allUCSBDates", 1, 300, 900),
+          new TraceSpan("repository", "UCSBDateRepository.findAll", 2, 350, 800)))
+      .build();
+
+  @Test
+  public void traces__logged_out() throws Exception {
+    mockMvc.perform(get("/api/admin/traces"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void traces__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/traces/slowest"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void traces__admin_gets_recent() throws Exception {
+
+    // arrange
+
+    when(traceStore.recent(50)).thenReturn(List.of(trace));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/traces"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(List.of(trace)), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void traces__admin_gets_slowest_for_one_endpoint() throws Exception {
+
+    // arrange
+
+    when(traceStore.slowest("GET /api/ucsbdates/all")).thenReturn(List.of(trace));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/traces/slowest").param("endpoint", "GET /api/ucsbdates/all"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(Map.of("GET /api/ucsbdates/all", List.of(trace))),
+        response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void traces__admin_gets_one_by_id() throws Exception {
+
+    // arrange
+
+    when(traceStore.find("8f3a1c2b4d5e6f70")).thenReturn(Optional.of(trace));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/traces/8f3a1c2b4d5e6f70"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    assertEquals(mapper.writeValueAsString(trace), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void traces__unknown_id_is_404() throws Exception {
+
+    // arrange
+
+    when(traceStore.find("missing")).thenReturn(Optional.empty());
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/traces/missing"))
+        .andExpect(status().isNotFound()).andReturn();
+
+    // assert
+
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("RequestTrace with id missing not found", json.get("message"));
+  }
+}
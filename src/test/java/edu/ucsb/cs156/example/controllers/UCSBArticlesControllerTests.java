@@ -1,13 +1,18 @@
 package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.services.SparseFieldsetService;
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.models.UCSBArticleRow;
+import edu.ucsb.cs156.example.coldstore.ArticleSegmentStore;
 import edu.ucsb.cs156.example.entities.UCSBArticles;
 import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -26,8 +31,10 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,6 +48,12 @@ public class UCSBArticlesControllerTests extends ControllerTestCase {
     @MockBean
     UserRepository userRepository;
 
+    @MockBean
+    SparseFieldsetService sparseFieldsetService;
+
+    @MockBean
+    ArticleSegmentStore articleSegmentStore;
+
     // Tests for GET /api/recommendationrequest/all
     
     @Test
@@ -60,39 +73,46 @@ public class UCSBArticlesControllerTests extends ControllerTestCase {
     public void logged_in_user_can_get_all_recrequests() throws Exception {
 
             // arrange
-            LocalDateTime ldt0 = LocalDateTime.parse("2022-01-03T00:00:00");
+            List<UCSBArticleRow> expectedRows = List.of(
+                            new UCSBArticleRow(1L, "UCSB", "https://www.ucsb.edu/", "omar@ucsb.edu", LocalDateTime.parse("2022-01-03T00:00:00")),
+                            new UCSBArticleRow(2L, "UCSB", "https://www.ucsb.edu/", "omar@ucsb.edu", LocalDateTime.parse("2022-03-11T00:00:00")));
 
-            UCSBArticles ucsbArticles1 = UCSBArticles.builder()
-                            .title("UCSB")
-                            .url("https://www.ucsb.edu/")
-                            .explanation("UCSB Website")
-                            .email("omar@ucsb.edu")
-                            .dateAdded(ldt0)
-                            .build();
+            when(ucsbArticlesRepository.findAllRowsWithoutExplanation()).thenReturn(expectedRows);
+
+            // act
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles/all"))
+                            .andExpect(status().isOk()).andReturn();
 
-            LocalDateTime ldt1 = LocalDateTime.parse("2022-03-11T00:00:00");
+            // assert
 
-            UCSBArticles ucsbArticles2 = UCSBArticles.builder()
-                            .title("UCSB")
-                            .url("https://www.ucsb.edu/")
-                            .explanation("UCSB Website")
-                            .email("omar@ucsb.edu")
-                            .dateAdded(ldt1)
-                            .build();
+            verify(ucsbArticlesRepository, times(1)).findAllRowsWithoutExplanation();
+            verify(ucsbArticlesRepository, never()).findAll();
+            String expectedJson = mapper.writeValueAsString(expectedRows);
+            String responseString = response.getResponse().getContentAsString();
+            assertEquals(expectedJson, responseString);
+            assertFalse(responseString.contains("\"explanation\""));
+    }
 
-            ArrayList<UCSBArticles> exceptedUcsbArticles = new ArrayList<>();
-            exceptedUcsbArticles.addAll(Arrays.asList(ucsbArticles1, ucsbArticles2));
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void logged_in_user_can_get_all_recrequests_with_explanation() throws Exception {
 
-            when(ucsbArticlesRepository.findAll()).thenReturn(exceptedUcsbArticles);
+            // arrange
+            List<UCSBArticleRow> expectedRows = List.of(
+                            new UCSBArticleRow(1L, "UCSB", "https://www.ucsb.edu/", "UCSB Website", "omar@ucsb.edu", LocalDateTime.parse("2022-01-03T00:00:00")),
+                            new UCSBArticleRow(2L, "UCSB", "https://www.ucsb.edu/", "UCSB Website", "omar@ucsb.edu", LocalDateTime.parse("2022-03-11T00:00:00")));
+
+            when(ucsbArticlesRepository.findAllRows()).thenReturn(expectedRows);
 
             // act
-            MvcResult response = mockMvc.perform(get("/api/ucsbarticles/all"))
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles/all").param("includeExplanation", "true"))
                             .andExpect(status().isOk()).andReturn();
 
             // assert
 
-            verify(ucsbArticlesRepository, times(1)).findAll();
-            String expectedJson = mapper.writeValueAsString(exceptedUcsbArticles);
+            verify(ucsbArticlesRepository, times(1)).findAllRows();
+            verify(ucsbArticlesRepository, never()).findAllRowsWithoutExplanation();
+            String expectedJson = mapper.writeValueAsString(expectedRows);
             String responseString = response.getResponse().getContentAsString();
             assertEquals(expectedJson, responseString);
     }
@@ -335,4 +355,159 @@ public class UCSBArticlesControllerTests extends ControllerTestCase {
 
         }
 
+    // Tests for the fields= parameter
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void logged_in_user_can_get_all_with_sparse_fields() throws Exception {
+
+            // arrange
+            List<Map<String, Object>> expectedRows = List.of(Map.of("id", 1L, "title", "UCSB"));
+            when(sparseFieldsetService.findAll(UCSBArticles.class, "title")).thenReturn(expectedRows);
+
+            // act
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles/all").param("fields", "title"))
+                            .andExpect(status().isOk()).andReturn();
+
+            // assert
+            verify(ucsbArticlesRepository, never()).findAll();
+            String expectedJson = mapper.writeValueAsString(expectedRows);
+            String responseString = response.getResponse().getContentAsString();
+            assertEquals(expectedJson, responseString);
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void logged_in_user_can_get_by_id_with_sparse_fields() throws Exception {
+
+            // arrange
+            Map<String, Object> expectedRow = Map.of("id", 7L, "title", "UCSB");
+            when(sparseFieldsetService.findById(UCSBArticles.class, 7L, "title")).thenReturn(Optional.of(expectedRow));
+
+            // act
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles?id=7").param("fields", "title"))
+                            .andExpect(status().isOk()).andReturn();
+
+            // assert
+            verify(ucsbArticlesRepository, never()).findById(any());
+            String expectedJson = mapper.writeValueAsString(expectedRow);
+            String responseString = response.getResponse().getContentAsString();
+            assertEquals(expectedJson, responseString);
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void get_by_id_with_sparse_fields_when_the_id_does_not_exist() throws Exception {
+
+            // arrange
+            when(sparseFieldsetService.findById(UCSBArticles.class, 7L, "title")).thenReturn(Optional.empty());
+
+            // act
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles?id=7").param("fields", "title"))
+                            .andExpect(status().isNotFound()).andReturn();
+
+            // assert
+            Map<String, Object> json = responseToJson(response);
+            assertEquals("EntityNotFoundException", json.get("type"));
+            assertEquals("UCSBArticles with id 7 not found", json.get("message"));
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void unknown_sparse_field_is_a_bad_request() throws Exception {
+
+            // arrange
+            when(sparseFieldsetService.findAll(UCSBArticles.class, "nope"))
+                            .thenThrow(new UnknownFieldException(UCSBArticles.class, "nope"));
+
+            // act
+            MvcResult response = mockMvc.perform(get("/api/ucsbarticles/all").param("fields", "nope"))
+                            .andExpect(status().isBadRequest()).andReturn();
+
+            // assert
+            Map<String, Object> json = responseToJson(response);
+            assertEquals("UnknownFieldException", json.get("type"));
+            assertEquals("UCSBArticles has no field nope", json.get("message"));
+    }
+
+    // Tests for articles in the cold tier
+
+    private static UCSBArticles coldArticle() {
+        return UCSBArticles.builder()
+                .id(15L)
+                .title("Old news")
+                .url("https://dailynexus.com/old-news")
+                .explanation("from several quarters ago")
+                .email("cgaucho@ucsb.edu")
+                .dateAdded(LocalDateTime.parse("2021-01-03T00:00:00"))
+                .build();
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void get_by_id_falls_back_to_the_cold_tier() throws Exception {
+
+        // arrange
+        when(ucsbArticlesRepository.findById(eq(15L))).thenReturn(Optional.empty());
+        when(articleSegmentStore.get(15L)).thenReturn(Optional.of(coldArticle()));
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/ucsbarticles?id=15"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(ucsbArticlesRepository, times(1)).findById(eq(15L));
+        assertEquals(mapper.writeValueAsString(coldArticle()), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void get_by_id_reads_the_database_first() throws Exception {
+
+        // arrange
+        when(ucsbArticlesRepository.findById(eq(15L))).thenReturn(Optional.of(coldArticle()));
+
+        // act
+        mockMvc.perform(get("/api/ucsbarticles?id=15")).andExpect(status().isOk());
+
+        // assert
+        verify(articleSegmentStore, never()).get(15L);
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void get_by_id_with_sparse_fields_falls_back_to_the_cold_tier() throws Exception {
+
+        // arrange
+        Map<String, Object> expectedRow = Map.of("id", 15, "title", "Old news");
+        when(sparseFieldsetService.findById(UCSBArticles.class, 15L, "title")).thenReturn(Optional.empty());
+        when(articleSegmentStore.get(15L)).thenReturn(Optional.of(coldArticle()));
+        when(sparseFieldsetService.project(coldArticle(), "title")).thenReturn(expectedRow);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/ucsbarticles").param("id", "15").param("fields", "title"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(expectedRow, responseToJson(response));
+    }
+
+    @WithMockUser(roles = { "ADMIN", "USER" })
+    @Test
+    public void admin_can_delete_a_cold_article() throws Exception {
+
+        // arrange
+        when(ucsbArticlesRepository.findById(eq(15L))).thenReturn(Optional.empty());
+        when(articleSegmentStore.delete(15L)).thenReturn(true);
+
+        // act
+        MvcResult response = mockMvc.perform(delete("/api/ucsbarticles?id=15").with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(articleSegmentStore, times(1)).delete(15L);
+        verify(ucsbArticlesRepository, never()).delete(any());
+        Map<String, Object> json = responseToJson(response);
+        assertEquals("UCSBArticles with id 15 deleted", json.get("message"));
+    }
 }
@@ -0,0 +1,73 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@WebMvcTest(controllers = UCSBDatesController.class)
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+    "app.rate-limit.enabled=true",
+    "app.rate-limit.expensive-list.capacity=2",
+    "app.rate-limit.expensive-list.refill-per-second=0.1",
+    "app.rate-limit.cheap-read.capacity=100"
+})
+public class UCSBDatesControllerRateLimitTests extends ControllerTestCase {
+
+  @MockBean
+  UCSBDateRepository ucsbDateRepository;
+
+  @MockBean
+  UserRepository userRepository;
+
+  @WithMockUser(username = "lister", roles = { "USER" })
+  @Test
+  public void get_all_is_limited_after_the_burst() throws Exception {
+    when(ucsbDateRepository.findAll()).thenReturn(List.of());
+
+    mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().isOk());
+    MvcResult response = mockMvc.perform(get("/api/ucsbdates/all"))
+        .andExpect(status().isTooManyRequests()).andReturn();
+
+    verify(ucsbDateRepository, times(2)).findAll();
+    assertEquals("10", response.getResponse().getHeader("Retry-After"));
+    Map<String, Object> json = responseToJson(response);
+    assertEquals("RateLimitExceeded", json.get("type"));
+    assertEquals("Too many EXPENSIVE_LIST requests; retry after 10 seconds", json.get("message"));
+  }
+
+  @WithMockUser(username = "reader", roles = { "USER" })
+  @Test
+  public void get_by_id_has_its_own_budget() throws Exception {
+    when(ucsbDateRepository.findAll()).thenReturn(List.of());
+    when(ucsbDateRepository.findById(7L)).thenReturn(Optional.of(UCSBDate.builder().id(7).build()));
+
+    mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/ucsbdates/all")).andExpect(status().isTooManyRequests());
+
+    mockMvc.perform(get("/api/ucsbdates?id=7")).andExpect(status().isOk());
+  }
+}
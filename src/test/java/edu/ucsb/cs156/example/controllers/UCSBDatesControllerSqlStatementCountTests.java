@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Runs UCSBDatesController against real repositories (an embedded database)
+ * and pins how many SQL statements each endpoint issues, so an N+1 query
+ * shows up as a failing test.
+ */
+@WebMvcTest(controllers = UCSBDatesController.class)
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase
+@Import(TestConfig.class)
+public class UCSBDatesControllerSqlStatementCountTests extends ControllerTestCase {
+
+  @Autowired
+  UCSBDateRepository ucsbDateRepository;
+
+  UCSBDate saved;
+
+  @BeforeEach
+  public void setup() {
+    ucsbDateRepository.deleteAll();
+    for (int i = 0; i < 5; i++) {
+      saved = ucsbDateRepository.save(UCSBDate.builder()
+          .quarterYYYYQ("20222")
+          .name("date" + i)
+          .localDateTime(LocalDateTime.parse("2022-01-03T00:00:00").plusDays(i))
+          .build());
+    }
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void all_is_one_statement_however_many_rows() throws Exception {
+    MvcResult response = mockMvc.perform(get("/api/ucsbdates/all"))
+        .andExpect(status().isOk()).andReturn();
+
+    assertSqlStatementCount(1, response);
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void get_by_id_is_one_statement() throws Exception {
+    MvcResult response = mockMvc.perform(get("/api/ucsbdates").param("id", Long.toString(saved.getId())))
+        .andExpect(status().isOk()).andReturn();
+
+    assertSqlStatementCount(1, response);
+  }
+}
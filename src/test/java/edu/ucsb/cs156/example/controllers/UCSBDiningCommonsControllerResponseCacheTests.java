@@ -0,0 +1,128 @@
+package edu.ucsb.cs156.example.controllers;
+
+import edu.ucsb.cs156.example.ControllerTestCase;
+import edu.ucsb.cs156.example.cache.ResponseCache;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import edu.ucsb.cs156.example.repositories.UserRepository;
+import edu.ucsb.cs156.example.testconfig.TestConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@WebMvcTest(controllers = UCSBDiningCommonsController.class)
+@Import(TestConfig.class)
+@TestPropertySource(properties = "app.response-cache.enabled=true")
+public class UCSBDiningCommonsControllerResponseCacheTests extends ControllerTestCase {
+
+  @MockBean
+  UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
+
+  @MockBean
+  UserRepository userRepository;
+
+  @Autowired
+  ResponseCache responseCache;
+
+  UCSBDiningCommons carrillo = UCSBDiningCommons.builder()
+      .name("Carrillo").code("carrillo").hasSackMeal(false).hasTakeOutMeal(false).hasDiningCam(true)
+      .latitude(34.409953).longitude(-119.85277).build();
+
+  @BeforeEach
+  public void clearCache() {
+    responseCache.invalidate(UCSBDiningCommons.class);
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void second_get_all_is_served_from_cache_until_invalidated() throws Exception {
+    when(ucsbDiningCommonsRepository.findAll()).thenReturn(List.of(carrillo));
+    String expectedJson = mapper.writeValueAsString(List.of(carrillo));
+
+    MvcResult first = mockMvc.perform(get("/api/ucsbdiningcommons/all")).andExpect(status().isOk()).andReturn();
+    MvcResult second = mockMvc.perform(get("/api/ucsbdiningcommons/all")).andExpect(status().isOk()).andReturn();
+
+    verify(ucsbDiningCommonsRepository, times(1)).findAll();
+    assertEquals(expectedJson, first.getResponse().getContentAsString());
+    assertEquals(expectedJson, second.getResponse().getContentAsString());
+    assertEquals("application/json", second.getResponse().getContentType());
+
+    responseCache.invalidate(UCSBDiningCommons.class);
+    mockMvc.perform(get("/api/ucsbdiningcommons/all")).andExpect(status().isOk());
+    verify(ucsbDiningCommonsRepository, times(2)).findAll();
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void gzip_is_served_to_clients_that_accept_it() throws Exception {
+    when(ucsbDiningCommonsRepository.findById("carrillo")).thenReturn(Optional.of(carrillo));
+    byte[] expected = mapper.writeValueAsBytes(carrillo);
+
+    for (int i = 0; i < 2; i++) {
+      MvcResult response = mockMvc.perform(get("/api/ucsbdiningcommons?code=carrillo")
+          .header("Accept-Encoding", "gzip, deflate"))
+          .andExpect(status().isOk())
+          .andExpect(header().string("Content-Encoding", "gzip"))
+          .andReturn();
+      try (GZIPInputStream in = new GZIPInputStream(
+          new ByteArrayInputStream(response.getResponse().getContentAsByteArray()))) {
+        assertArrayEquals(expected, in.readAllBytes());
+      }
+    }
+    verify(ucsbDiningCommonsRepository, times(1)).findById("carrillo");
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void unknown_query_parameters_share_the_cached_entry() throws Exception {
+    when(ucsbDiningCommonsRepository.findById("carrillo")).thenReturn(Optional.of(carrillo));
+
+    mockMvc.perform(get("/api/ucsbdiningcommons?code=carrillo&junk=1")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/ucsbdiningcommons?junk=2&code=carrillo")).andExpect(status().isOk());
+
+    verify(ucsbDiningCommonsRepository, times(1)).findById("carrillo");
+    assertEquals(1, responseCache.size());
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void not_found_is_never_cached() throws Exception {
+    when(ucsbDiningCommonsRepository.findById("munger-hall")).thenReturn(Optional.empty());
+
+    mockMvc.perform(get("/api/ucsbdiningcommons?code=munger-hall")).andExpect(status().isNotFound());
+    mockMvc.perform(get("/api/ucsbdiningcommons?code=munger-hall")).andExpect(status().isNotFound());
+
+    verify(ucsbDiningCommonsRepository, times(2)).findById("munger-hall");
+  }
+
+  @Test
+  public void logged_out_users_are_still_rejected_after_a_cache_fill() throws Exception {
+    when(ucsbDiningCommonsRepository.findAll()).thenReturn(List.of(carrillo));
+    mockMvc.perform(get("/api/ucsbdiningcommons/all")
+        .with(org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
+            .user("user").roles("USER")))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/api/ucsbdiningcommons/all")).andExpect(status().is(403));
+  }
+}
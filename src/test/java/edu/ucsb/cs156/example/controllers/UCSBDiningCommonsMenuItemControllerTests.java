@@ -4,10 +4,14 @@ import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.ImportRowError;
+import edu.ucsb.cs156.example.models.MenuItemImportResult;
 import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.services.MenuItemImportService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -40,6 +44,45 @@ public class UCSBDiningCommonsMenuItemControllerTests extends ControllerTestCase
         @MockBean
         UserRepository userRepository;
 
+        @MockBean
+        MenuItemImportService menuItemImportService;
+
+        // Tests for POST /api/UCSBDiningCommonsMenuItem/import
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void regular_users_cannot_import() throws Exception {
+                mockMvc.perform(post("/api/UCSBDiningCommonsMenuItem/import")
+                                .contentType("text/csv")
+                                .content("diningCommonsCode,name,station\n")
+                                .with(csrf()))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN", "USER" })
+        @Test
+        public void an_admin_user_can_import_a_csv_body() throws Exception {
+                // arrange
+
+                MenuItemImportResult expected = MenuItemImportResult.builder()
+                                .rowsRead(2).rowsImported(1).rowsRejected(1)
+                                .errors(List.of(ImportRowError.builder().line(3).message("unknown diningCommonsCode 'nowhere'").build()))
+                                .elapsedMillis(5).rowsPerSecond(200.0)
+                                .build();
+                when(menuItemImportService.importCsv(any())).thenReturn(expected);
+
+                // act
+                MvcResult response = mockMvc.perform(post("/api/UCSBDiningCommonsMenuItem/import")
+                                .contentType("text/csv")
+                                .content("diningCommonsCode,name,station\nortega,Cake,Desserts\nnowhere,Pie,Desserts\n")
+                                .with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(menuItemImportService, times(1)).importCsv(any());
+                assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+        }
+
         // Tests for GET /api/UCSBDiningCommonsMenuItem/all
         
         @Test
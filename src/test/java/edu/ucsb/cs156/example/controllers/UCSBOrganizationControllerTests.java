@@ -4,10 +4,14 @@ import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.errors.InvalidRequestException;
+import edu.ucsb.cs156.example.models.OrganizationSyncResult;
 import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+import edu.ucsb.cs156.example.services.OrganizationSyncService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -40,6 +44,89 @@ public class UCSBOrganizationControllerTests extends ControllerTestCase {
         @MockBean
         UserRepository userRepository;
 
+        @MockBean
+        OrganizationSyncService organizationSyncService;
+
+        // Tests for POST /api/ucsborganization/sync
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void regular_users_cannot_sync() throws Exception {
+                mockMvc.perform(post("/api/ucsborganization/sync")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[]")
+                                .with(csrf()))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN", "USER" })
+        @Test
+        public void an_admin_user_can_sync_organizations() throws Exception {
+                // arrange
+
+                UCSBOrganization zpr = UCSBOrganization.builder()
+                                .orgCode("ZPR")
+                                .orgTranslationShort("ZETA PHI RHO")
+                                .orgTranslation("ZETA PHI RHO")
+                                .inactive(false)
+                                .build();
+                OrganizationSyncResult expected = OrganizationSyncResult.builder()
+                                .inserted(1).updated(0).unchanged(0).deactivated(2).elapsedMillis(3)
+                                .build();
+                when(organizationSyncService.sync(eq(List.of(zpr)), eq(true))).thenReturn(expected);
+
+                // act
+                MvcResult response = mockMvc.perform(post("/api/ucsborganization/sync")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(mapper.writeValueAsString(List.of(zpr)))
+                                .with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(organizationSyncService, times(1)).sync(eq(List.of(zpr)), eq(true));
+                assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "ADMIN", "USER" })
+        @Test
+        public void an_admin_user_can_sync_without_deactivating() throws Exception {
+                // arrange
+
+                when(organizationSyncService.sync(eq(List.of()), eq(false)))
+                                .thenReturn(OrganizationSyncResult.builder().build());
+
+                // act
+                mockMvc.perform(post("/api/ucsborganization/sync?deactivateMissing=false")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[]")
+                                .with(csrf()))
+                                .andExpect(status().isOk());
+
+                // assert
+                verify(organizationSyncService, times(1)).sync(eq(List.of()), eq(false));
+        }
+
+        @WithMockUser(roles = { "ADMIN", "USER" })
+        @Test
+        public void sync_with_duplicate_org_codes_is_a_bad_request() throws Exception {
+                // arrange
+
+                when(organizationSyncService.sync(any(), eq(true)))
+                                .thenThrow(new InvalidRequestException("orgCode ZPR appears more than once"));
+
+                // act
+                MvcResult response = mockMvc.perform(post("/api/ucsborganization/sync")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[{\"orgCode\":\"ZPR\"},{\"orgCode\":\"ZPR\"}]")
+                                .with(csrf()))
+                                .andExpect(status().isBadRequest()).andReturn();
+
+                // assert
+                Map<String, Object> json = responseToJson(response);
+                assertEquals("InvalidRequestException", json.get("type"));
+                assertEquals("orgCode ZPR appears more than once", json.get("message"));
+        }
+
         // Tests for GET /api/ucsborganization/all
 
         @Test
@@ -2,17 +2,27 @@ package edu.ucsb.cs156.example.controllers;
 
 import edu.ucsb.cs156.example.ControllerTestCase;
 import edu.ucsb.cs156.example.entities.User;
+import edu.ucsb.cs156.example.models.UserPage;
 import edu.ucsb.cs156.example.repositories.UserRepository;
 import edu.ucsb.cs156.example.testconfig.TestConfig;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 @WebMvcTest(controllers = UsersController.class)
 @Import(TestConfig.class)
@@ -29,6 +40,9 @@ public class UsersControllerTests extends ControllerTestCase {
   @MockBean
   UserRepository userRepository;
 
+  @Autowired
+  UsersController usersController;
+
   @Test
   public void users__logged_out() throws Exception {
     mockMvc.perform(get("/api/admin/users"))
@@ -55,7 +69,7 @@ public class UsersControllerTests extends ControllerTestCase {
     ArrayList<User> expectedUsers = new ArrayList<>();
     expectedUsers.addAll(Arrays.asList(u1, u2, u));
 
-    when(userRepository.findAll()).thenReturn(expectedUsers);
+    when(userRepository.findByIdGreaterThan(eq(Long.MIN_VALUE), any(Pageable.class))).thenReturn(expectedUsers);
     String expectedJson = mapper.writeValueAsString(expectedUsers);
     
     // act
@@ -65,9 +79,142 @@ public class UsersControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(userRepository, times(1)).findAll();
+    verify(userRepository, times(1)).findByIdGreaterThan(eq(Long.MIN_VALUE), any(Pageable.class));
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
 
   }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users__admin_logged_in_streams_in_batches() throws Exception {
+
+    // arrange
+
+    User u1 = User.builder().id(1L).build();
+    User u2 = User.builder().id(2L).build();
+    User u3 = User.builder().id(3L).build();
+
+    ReflectionTestUtils.setField(usersController, "streamBatchSize", 2);
+    when(userRepository.findByIdGreaterThan(eq(Long.MIN_VALUE), eq(PageRequest.of(0, 2, Sort.by("id")))))
+        .thenReturn(List.of(u1, u2));
+    when(userRepository.findByIdGreaterThan(eq(2L), any(Pageable.class))).thenReturn(List.of(u3));
+
+    // act
+
+    MvcResult response;
+    try {
+      response = mockMvc.perform(get("/api/admin/users"))
+          .andExpect(status().isOk()).andReturn();
+    } finally {
+      ReflectionTestUtils.setField(usersController, "streamBatchSize", 500);
+    }
+
+    // assert
+
+    verify(userRepository, times(2)).findByIdGreaterThan(anyLong(), any(Pageable.class));
+    assertEquals(mapper.writeValueAsString(List.of(u1, u2, u3)), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void users_page__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/users/page"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users_page__no_filters() throws Exception {
+
+    // arrange
+
+    User u1 = User.builder().id(1L).build();
+    when(userRepository.findByAdminIn(List.of(true, false), PageRequest.of(0, 50, Sort.by("id"))))
+        .thenReturn(new SliceImpl<>(List.of(u1), PageRequest.of(0, 50), true));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users/page"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    UserPage expected = UserPage.builder().content(List.of(u1)).page(0).size(50).hasNext(true).build();
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users_page__email_prefix_is_lowercased_and_escaped_and_size_is_capped() throws Exception {
+
+    // arrange
+
+    User u1 = User.builder().id(1L).email("cgaucho@ucsb.edu").build();
+    when(userRepository.findByEmailLike("cg\\_%", List.of(true), PageRequest.of(2, 200, Sort.by(Sort.Order.asc("email").ignoreCase()))))
+        .thenReturn(new SliceImpl<>(List.of(u1)));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users/page?page=2&size=100000&emailPrefix=CG_&admin=true"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    UserPage expected = UserPage.builder().content(List.of(u1)).page(2).size(200).hasNext(false).build();
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users_page__name_prefix() throws Exception {
+
+    // arrange
+
+    User u1 = User.builder().id(1L).fullName("Chris Gaucho").build();
+    when(userRepository.findByFullNameLike("Chr%", List.of(false), PageRequest.of(0, 1, Sort.by("fullName"))))
+        .thenReturn(new SliceImpl<>(List.of(u1)));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users/page?size=0&namePrefix=Chr&admin=false&emailPrefix="))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    UserPage expected = UserPage.builder().content(List.of(u1)).page(0).size(1).hasNext(false).build();
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users_page__empty_name_prefix_lists_everyone() throws Exception {
+    when(userRepository.findByAdminIn(List.of(true, false), PageRequest.of(0, 50, Sort.by("id"))))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    mockMvc.perform(get("/api/admin/users/page?namePrefix="))
+        .andExpect(status().isOk());
+
+    verify(userRepository, times(1)).findByAdminIn(List.of(true, false), PageRequest.of(0, 50, Sort.by("id")));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void users_page__negative_page_is_the_first_page() throws Exception {
+
+    // arrange
+
+    when(userRepository.findByAdminIn(List.of(true, false), PageRequest.of(0, 50, Sort.by("id"))))
+        .thenReturn(new SliceImpl<>(List.of()));
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users/page?page=-3"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+
+    UserPage expected = UserPage.builder().content(List.of()).page(0).size(50).hasNext(false).build();
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+  }
 }
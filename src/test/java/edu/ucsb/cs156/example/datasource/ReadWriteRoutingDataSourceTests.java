@@ -0,0 +1,91 @@
+package edu.ucsb.cs156.example.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReadWriteRoutingDataSourceTests {
+
+  private DataSource routed;
+  private TransactionTemplate readOnlyTx;
+  private TransactionTemplate readWriteTx;
+
+  private static DataSource h2(String name) throws Exception {
+    DataSource ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    try (Connection c = ds.getConnection(); Statement s = c.createStatement()) {
+      s.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(16))");
+      s.execute("DELETE FROM whoami");
+      s.execute("INSERT INTO whoami VALUES ('" + name + "')");
+    }
+    return ds;
+  }
+
+  @BeforeEach
+  public void setup() throws Exception {
+    ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+    routing.setTargetDataSources(Map.of(
+        DataSourceRoute.PRIMARY, h2("primary"),
+        DataSourceRoute.REPLICA, h2("replica")));
+    routing.afterPropertiesSet();
+    routed = new LazyConnectionDataSourceProxy(routing);
+
+    DataSourceTransactionManager txManager = new DataSourceTransactionManager(routed);
+    readWriteTx = new TransactionTemplate(txManager);
+    readOnlyTx = new TransactionTemplate(txManager);
+    readOnlyTx.setReadOnly(true);
+  }
+
+  private String whoami(TransactionTemplate tx) {
+    return tx.execute(status -> new JdbcTemplate(routed).queryForObject("SELECT name FROM whoami", String.class));
+  }
+
+  @Test
+  public void without_a_route_reads_go_to_primary() {
+    assertEquals("primary", whoami(readOnlyTx));
+  }
+
+  @Test
+  public void replica_route_and_read_only_transaction_goes_to_replica() {
+    DataSourceRoute previous = RoutingContext.set(DataSourceRoute.REPLICA);
+    try {
+      assertEquals("replica", whoami(readOnlyTx));
+    } finally {
+      RoutingContext.restore(previous);
+    }
+    assertEquals(DataSourceRoute.PRIMARY, RoutingContext.current());
+  }
+
+  @Test
+  public void replica_route_with_read_write_transaction_goes_to_primary() {
+    DataSourceRoute previous = RoutingContext.set(DataSourceRoute.REPLICA);
+    try {
+      assertEquals("primary", whoami(readWriteTx));
+    } finally {
+      RoutingContext.restore(previous);
+    }
+  }
+
+  @Test
+  public void restore_puts_back_an_outer_route() {
+    DataSourceRoute outer = RoutingContext.set(DataSourceRoute.REPLICA);
+    DataSourceRoute inner = RoutingContext.set(DataSourceRoute.PRIMARY);
+    assertEquals(DataSourceRoute.REPLICA, inner);
+    RoutingContext.restore(inner);
+    assertEquals(DataSourceRoute.REPLICA, RoutingContext.current());
+    RoutingContext.restore(outer);
+    assertEquals(DataSourceRoute.PRIMARY, RoutingContext.current());
+  }
+}
@@ -0,0 +1,88 @@
+package edu.ucsb.cs156.example.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+public class RecentWriteTrackerTests {
+
+  private static class MutableClock extends Clock {
+    long millis = 1_000_000L;
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  @Test
+  public void user_who_wrote_stays_on_primary_until_window_passes() {
+    MutableClock clock = new MutableClock();
+    RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofSeconds(5), clock);
+
+    assertFalse(tracker.wroteRecently("alice"));
+    tracker.recordWrite("alice");
+    assertTrue(tracker.wroteRecently("alice"));
+    assertFalse(tracker.wroteRecently("bob"));
+
+    clock.millis += 4_999;
+    assertTrue(tracker.wroteRecently("alice"));
+
+    clock.millis += 1;
+    assertFalse(tracker.wroteRecently("alice"));
+    assertEquals(0, tracker.size());
+  }
+
+  @Test
+  public void anonymous_requests_are_never_tracked() {
+    RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofSeconds(5), new MutableClock());
+    tracker.recordWrite(null);
+    assertFalse(tracker.wroteRecently(null));
+    assertEquals(0, tracker.size());
+  }
+
+  @Test
+  public void evictExpired_drops_only_old_entries() {
+    MutableClock clock = new MutableClock();
+    RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofSeconds(5), clock);
+    tracker.recordWrite("alice");
+    clock.millis += 10_000;
+    tracker.recordWrite("bob");
+
+    tracker.evictExpired();
+
+    assertEquals(1, tracker.size());
+    assertTrue(tracker.wroteRecently("bob"));
+  }
+
+  @Test
+  public void recordWrite_sweeps_expired_entries_once_the_map_is_large() {
+    MutableClock clock = new MutableClock();
+    RecentWriteTracker tracker = new RecentWriteTracker(Duration.ofSeconds(5), clock);
+    for (int i = 0; i < 10_000; i++) {
+      tracker.recordWrite("user" + i);
+    }
+    clock.millis += 10_000;
+
+    tracker.recordWrite("latecomer");
+
+    assertEquals(1, tracker.size());
+  }
+}
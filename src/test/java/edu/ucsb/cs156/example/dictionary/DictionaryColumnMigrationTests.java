@@ -0,0 +1,72 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DictionaryColumnMigrationTests {
+
+  @Autowired
+  DataSource dataSource;
+
+  @Test
+  public void new_schema_has_no_text_columns_left() throws Exception {
+    try (Connection connection = dataSource.getConnection()) {
+      for (DictionaryColumnMigration.EncodedColumn column : DictionaryColumnMigration.COLUMNS) {
+        assertFalse(DictionaryColumnMigration.hasColumn(connection, column.table(), column.textColumn()));
+        assertTrue(DictionaryColumnMigration.hasColumn(connection, column.table(), column.idColumn()));
+      }
+    }
+  }
+
+  @Test
+  public void text_column_is_encoded_and_kept() throws Exception {
+    DictionaryColumnMigration.EncodedColumn column = new DictionaryColumnMigration.EncodedColumn(
+        "legacy_menu", "station", "station_dict_id", "test-migration");
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("drop table if exists legacy_menu");
+      statement.execute("create table legacy_menu (id int primary key, station varchar(255), station_dict_id int)");
+      statement.execute("insert into legacy_menu (id, station) values (1, 'grill'), (2, 'grill'), (3, 'deli'), (4, null)");
+
+      assertTrue(DictionaryColumnMigration.needsMigration(connection, column));
+      DictionaryColumnMigration.migrate(connection, column);
+      assertFalse(DictionaryColumnMigration.needsMigration(connection, column));
+      // a second run has nothing left to fill
+      DictionaryColumnMigration.migrate(connection, column);
+
+      assertTrue(DictionaryColumnMigration.hasColumn(connection, "legacy_menu", "station"));
+      Map<Integer, Integer> ids = new HashMap<>();
+      try (ResultSet rows = statement.executeQuery("select id, station_dict_id from legacy_menu")) {
+        while (rows.next()) {
+          int id = rows.getInt(1);
+          int dictId = rows.getInt(2);
+          ids.put(id, rows.wasNull() ? null : dictId);
+        }
+      }
+      Dictionary dictionary = Dictionaries.get(dataSource, "test-migration");
+      assertEquals("grill", dictionary.decode(ids.get(1)));
+      assertEquals(ids.get(1), ids.get(2));
+      assertEquals("deli", dictionary.decode(ids.get(3)));
+      assertNull(ids.get(4));
+      assertEquals(2, dictionary.size());
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package edu.ucsb.cs156.example.dictionary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DictionaryTests {
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  PlatformTransactionManager transactionManager;
+
+  @Autowired
+  UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @Test
+  public void encode_adds_new_terms_once() {
+    Dictionary dictionary = Dictionaries.get(dataSource, "test-encode");
+
+    int burrito = dictionary.encode("burrito bar");
+    int grill = dictionary.encode("grill");
+
+    assertNotEquals(burrito, grill);
+    assertEquals(burrito, dictionary.encode("burrito bar"));
+    assertEquals("grill", dictionary.decode(grill));
+    assertEquals(2, dictionary.size());
+  }
+
+  @Test
+  public void id_of_never_adds() {
+    Dictionary dictionary = Dictionaries.get(dataSource, "test-lookup");
+
+    assertNull(dictionary.idOf("nowhere"));
+    assertEquals(0, dictionary.size());
+  }
+
+  @Test
+  public void missing_terms_are_not_looked_up_again_until_the_miss_expires() {
+    AtomicLong now = new AtomicLong();
+    Dictionary dictionary = new Dictionary("test-miss", dataSource, now::get);
+
+    assertNull(dictionary.idOf("pizza"));
+    // added by another instance
+    int id = new Dictionary("test-miss", dataSource).encode("pizza");
+
+    assertNull(dictionary.idOf("pizza"));
+    now.addAndGet(TimeUnit.SECONDS.toNanos(Dictionary.MISS_TTL_SECONDS));
+    assertEquals(id, dictionary.idOf("pizza"));
+  }
+
+  @Test
+  public void terms_added_in_a_rolled_back_transaction_are_forgotten() {
+    Dictionary dictionary = Dictionaries.get(dataSource, "test-rollback");
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      int id = dictionary.encode("poke bowl");
+      assertEquals(id, dictionary.idOf("poke bowl"));
+      assertEquals("poke bowl", dictionary.decode(id));
+      status.setRollbackOnly();
+    });
+
+    assertNull(new Dictionary("test-rollback", dataSource).idOf("poke bowl"));
+    assertEquals(0, dictionary.size());
+  }
+
+  @Test
+  public void query_parameters_with_unknown_values_are_not_added() {
+    Dictionary dictionary = Dictionaries.get(dataSource, Dictionaries.STATION);
+    StationConverter converter = new StationConverter(dataSource);
+
+    assertEquals(DictionaryConverter.NO_SUCH_ID, converter.convertToDatabaseColumn("nowhere"));
+    assertNull(dictionary.idOf("nowhere"));
+  }
+
+  @Test
+  public void terms_written_elsewhere_are_loaded_on_first_read() {
+    int id = Dictionaries.get(dataSource, "test-shared").encode("salad bar");
+
+    // a fresh dictionary, as on another instance sharing the database
+    Dictionary other = new Dictionary("test-shared", dataSource);
+
+    assertEquals("salad bar", other.decode(id));
+    assertEquals(id, other.idOf("salad bar"));
+    assertThrows(IllegalStateException.class, () -> other.decode(-1));
+  }
+
+  @Test
+  public void entities_store_ids_and_share_one_string_per_value() throws Exception {
+    ucsbDiningCommonsMenuItemRepository.deleteAll();
+    ucsbDiningCommonsMenuItemRepository.save(UCSBDiningCommonsMenuItem.builder()
+        .diningCommonsCode(new String("ortega")).name("Chicken Caesar Salad").station(new String("Entrees")).build());
+    ucsbDiningCommonsMenuItemRepository.save(UCSBDiningCommonsMenuItem.builder()
+        .diningCommonsCode(new String("ortega")).name("Tofu Banh Mi").station(new String("Entrees")).build());
+
+    List<UCSBDiningCommonsMenuItem> loaded = (List<UCSBDiningCommonsMenuItem>) ucsbDiningCommonsMenuItemRepository.findAll();
+
+    assertEquals("ortega", loaded.get(0).getDiningCommonsCode());
+    assertSame(loaded.get(0).getDiningCommonsCode(), loaded.get(1).getDiningCommonsCode());
+    assertSame(loaded.get(0).getStation(), loaded.get(1).getStation());
+
+    int stationId = Dictionaries.get(dataSource, Dictionaries.STATION).idOf("Entrees");
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet rows = statement.executeQuery("select station_dict_id from ucsbdiningcommonsmenuitem")) {
+      while (rows.next()) {
+        assertEquals(stationId, rows.getInt(1));
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.RateLimitStats;
+
+public class RateLimiterTests {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong now = new AtomicLong();
+
+  private RateLimiter limiter(int maxBuckets) {
+    return new RateLimiter(Map.of(
+        EndpointClass.CHEAP_READ, new RateLimiter.Budget(2, 1),
+        EndpointClass.EXPENSIVE_LIST, new RateLimiter.Budget(1, 1)),
+        maxBuckets, now::get);
+  }
+
+  @Test
+  public void principals_and_endpoint_classes_have_separate_buckets() {
+    RateLimiter limiter = limiter(100);
+
+    assertEquals(0, limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST));
+    assertTrue(limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST) > 0);
+    assertEquals(0, limiter.tryAcquire("user:a", EndpointClass.CHEAP_READ));
+    assertEquals(0, limiter.tryAcquire("user:b", EndpointClass.EXPENSIVE_LIST));
+    assertEquals(3, limiter.size());
+  }
+
+  @Test
+  public void endpoint_class_without_a_budget_is_not_limited() {
+    RateLimiter limiter = limiter(100);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, limiter.tryAcquire("user:a", EndpointClass.ADMIN_WRITE));
+    }
+    assertEquals(0, limiter.size());
+  }
+
+  @Test
+  public void a_full_bucket_makes_room_past_max_buckets() {
+    RateLimiter limiter = limiter(2);
+
+    limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST);
+    now.addAndGet(SECOND / 2);
+    limiter.tryAcquire("user:b", EndpointClass.EXPENSIVE_LIST);
+    now.addAndGet(SECOND / 2);
+    // a has refilled, b is still draining
+    limiter.tryAcquire("user:c", EndpointClass.EXPENSIVE_LIST);
+
+    assertEquals(2, limiter.size());
+    assertTrue(limiter.tryAcquire("user:b", EndpointClass.EXPENSIVE_LIST) > 0);
+    assertTrue(limiter.tryAcquire("user:c", EndpointClass.EXPENSIVE_LIST) > 0);
+  }
+
+  @Test
+  public void without_a_full_bucket_the_one_closest_to_full_is_dropped() {
+    RateLimiter limiter = limiter(2);
+
+    limiter.tryAcquire("user:a", EndpointClass.CHEAP_READ);
+    limiter.tryAcquire("user:b", EndpointClass.CHEAP_READ);
+    limiter.tryAcquire("user:b", EndpointClass.CHEAP_READ);
+    limiter.tryAcquire("user:c", EndpointClass.CHEAP_READ);
+
+    assertEquals(2, limiter.size());
+    // b, which took more tokens, keeps its bucket and stays limited
+    assertTrue(limiter.tryAcquire("user:b", EndpointClass.CHEAP_READ) > 0);
+  }
+
+  @Test
+  public void evict_full_drops_refilled_buckets_and_keeps_refilling_ones() {
+    RateLimiter limiter = limiter(100);
+
+    limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST);
+    now.addAndGet(SECOND);
+    limiter.tryAcquire("user:b", EndpointClass.EXPENSIVE_LIST);
+
+    limiter.evictFull();
+
+    assertEquals(1, limiter.size());
+    assertTrue(limiter.tryAcquire("user:b", EndpointClass.EXPENSIVE_LIST) > 0);
+  }
+
+  @Test
+  public void stats_count_allowed_and_rejected_per_class() {
+    RateLimiter limiter = limiter(100);
+
+    limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST);
+    limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST);
+    limiter.tryAcquire("user:a", EndpointClass.EXPENSIVE_LIST);
+
+    List<RateLimitStats> stats = limiter.getStats();
+    assertEquals(List.of(
+        RateLimitStats.builder().endpointClass("CHEAP_READ").capacity(2).refillPerSecond(1).build(),
+        RateLimitStats.builder().endpointClass("EXPENSIVE_LIST").capacity(1).refillPerSecond(1).allowed(1).rejected(2).build(),
+        RateLimitStats.builder().endpointClass("ADMIN_WRITE").build()), stats);
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTests {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  public void allows_a_burst_of_capacity_then_waits_one_interval() {
+    TokenBucket bucket = new TokenBucket(3, 2, 0);
+
+    assertEquals(0, bucket.tryAcquire(0));
+    assertEquals(0, bucket.tryAcquire(0));
+    assertEquals(0, bucket.tryAcquire(0));
+    assertEquals(SECOND / 2, bucket.tryAcquire(0));
+  }
+
+  @Test
+  public void refills_at_the_configured_rate() {
+    TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+    assertEquals(0, bucket.tryAcquire(0));
+    assertEquals(SECOND / 2, bucket.tryAcquire(0));
+    assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+    assertEquals(0, bucket.tryAcquire(SECOND / 2));
+  }
+
+  @Test
+  public void rejected_requests_do_not_use_tokens() {
+    TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+    assertEquals(0, bucket.tryAcquire(0));
+    for (int i = 0; i < 10; i++) {
+      assertTrue(bucket.tryAcquire(0) > 0);
+    }
+    assertEquals(0, bucket.tryAcquire(SECOND));
+  }
+
+  @Test
+  public void bucket_is_full_again_after_refilling() {
+    TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+    assertTrue(bucket.isFull(0));
+    bucket.tryAcquire(0);
+    bucket.tryAcquire(0);
+    assertFalse(bucket.isFull(SECOND));
+    assertTrue(bucket.isFull(2 * SECOND));
+  }
+}
@@ -0,0 +1,109 @@
+package edu.ucsb.cs156.example.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.HelpRequest;
+import edu.ucsb.cs156.example.models.HelpRequestRow;
+import edu.ucsb.cs156.example.sql.SqlStatementCounter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the projection read path against a real (embedded) database, and
+ * holds an opt-in benchmark of it against {@code findAll()}:
+ *
+ * <pre>
+ * mvn test -Dtest=HelpRequestRowQueryTests -Dbenchmarks=true
+ * </pre>
+ */
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HelpRequestRowQueryTests {
+
+  @Autowired
+  HelpRequestRepository helpRequestRepository;
+
+  private HelpRequest helpRequest(int i) {
+    return HelpRequest.builder()
+        .requesterEmail("user" + i + "@ucsb.edu")
+        .teamId("team-" + (i % 10))
+        .teamOrBreakoutRoom("table-" + (i % 10))
+        .requestTime(LocalDateTime.parse("2022-01-03T00:00:00").plusMinutes(i))
+        .explanation("explanation " + i + " ".repeat(500))
+        .solved(i % 2 == 0)
+        .build();
+  }
+
+  @Test
+  public void rows_match_the_entities_in_one_statement() {
+    helpRequestRepository.deleteAll();
+    HelpRequest saved = helpRequestRepository.save(helpRequest(1));
+
+    SqlStatementCounter.reset();
+    List<HelpRequestRow> rows = helpRequestRepository.findAllRows();
+    assertEquals(1, SqlStatementCounter.get());
+
+    assertEquals(List.of(new HelpRequestRow(saved.getId(), saved.getRequesterEmail(), saved.getTeamId(),
+        saved.getTeamOrBreakoutRoom(), saved.getRequestTime(), saved.getExplanation(), saved.getSolved())), rows);
+  }
+
+  @Test
+  public void rows_without_explanation_leave_it_null() {
+    helpRequestRepository.deleteAll();
+    HelpRequest saved = helpRequestRepository.save(helpRequest(1));
+
+    List<HelpRequestRow> rows = helpRequestRepository.findAllRowsWithoutExplanation();
+
+    assertEquals(1, rows.size());
+    assertEquals(saved.getId().longValue(), rows.get(0).id());
+    assertEquals(saved.getTeamId(), rows.get(0).teamId());
+    assertNull(rows.get(0).explanation());
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+  public void benchmark_projection_against_findAll() {
+    helpRequestRepository.deleteAll();
+    List<HelpRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 5_000; i++) {
+      requests.add(helpRequest(i));
+    }
+    helpRequestRepository.saveAll(requests);
+
+    measure("findAll", () -> helpRequestRepository.findAll());
+    measure("findAllRows", () -> helpRequestRepository.findAllRows());
+    measure("findAllRowsWithoutExplanation", () -> helpRequestRepository.findAllRowsWithoutExplanation());
+  }
+
+  private static void measure(String name, Supplier<?> query) {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    for (int i = 0; i < 20; i++) {
+      query.get();
+    }
+    int runs = 50;
+    long bytes = threads.getThreadAllocatedBytes(thread);
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      query.get();
+    }
+    long nanos = System.nanoTime() - start;
+    bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+    log.info("benchmark query={} meanMillis={} meanAllocatedKiB={}",
+        name, nanos / runs / 1_000_000.0, bytes / runs / 1024);
+  }
+}
@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.example.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+import edu.ucsb.cs156.example.models.ReviewerReviewCount;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MenuItemReviewByReviewerQueryTests {
+
+  private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("dateReviewed"), Sort.Order.desc("id"));
+
+  @Autowired
+  MenuItemReviewRepository menuItemReviewRepository;
+
+  @BeforeEach
+  public void setup() {
+    menuItemReviewRepository.deleteAll();
+    for (int i = 0; i < 5; i++) {
+      save("cgaucho@ucsb.edu", LocalDateTime.parse("2022-01-03T00:00:00").plusDays(i));
+    }
+    save("ldelplaya@ucsb.edu", LocalDateTime.parse("2022-02-01T00:00:00"));
+  }
+
+  private void save(String reviewerEmail, LocalDateTime dateReviewed) {
+    menuItemReviewRepository.save(MenuItemReview.builder()
+        .itemId(1L).reviewerEmail(reviewerEmail).stars(4).dateReviewed(dateReviewed).comments("ok").build());
+  }
+
+  @Test
+  public void pages_through_one_reviewer_newest_first() {
+    Slice<MenuItemReviewRow> first = menuItemReviewRepository.findRowsByReviewerEmail("cgaucho@ucsb.edu",
+        PageRequest.of(0, 2, NEWEST_FIRST));
+    Slice<MenuItemReviewRow> last = menuItemReviewRepository.findRowsByReviewerEmail("cgaucho@ucsb.edu",
+        PageRequest.of(2, 2, NEWEST_FIRST));
+
+    assertEquals(List.of(LocalDateTime.parse("2022-01-07T00:00:00"), LocalDateTime.parse("2022-01-06T00:00:00")),
+        first.getContent().stream().map(MenuItemReviewRow::dateReviewed).toList());
+    assertEquals("ok", first.getContent().get(0).comments());
+    assertTrue(first.hasNext());
+    assertEquals(1, last.getContent().size());
+    assertFalse(last.hasNext());
+  }
+
+  @Test
+  public void counts_by_reviewer_for_seeding() {
+    assertEquals(List.of(new ReviewerReviewCount("cgaucho@ucsb.edu", 5), new ReviewerReviewCount("ldelplaya@ucsb.edu", 1)),
+        menuItemReviewRepository.findCountsByReviewer().stream()
+            .sorted((a, b) -> a.reviewerEmail().compareTo(b.reviewerEmail())).toList());
+    assertEquals(5, menuItemReviewRepository.countByReviewerEmail("cgaucho@ucsb.edu"));
+  }
+}
@@ -0,0 +1,143 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.LeaderboardEntry;
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+public class MenuItemLeaderboardsTests {
+
+  // top 2, at least 2 reviews, prior of 3 stars weighted as 2 reviews
+  private final MenuItemLeaderboards leaderboards = new MenuItemLeaderboards(2, 2, 3.0, 2);
+
+  private static UCSBDiningCommonsMenuItem menuItem(long id, String code) {
+    return UCSBDiningCommonsMenuItem.builder().id(id).diningCommonsCode(code).name("item" + id).station("grill").build();
+  }
+
+  private List<Long> topIds(String code) {
+    return leaderboards.top(code, 10).stream().map(LeaderboardEntry::getItemId).toList();
+  }
+
+  private static MenuItemReviewRow row(long itemId, int stars) {
+    return new MenuItemReviewRow(0, itemId, "cgaucho@ucsb.edu", stars, null);
+  }
+
+  private void review(long itemId, int... stars) {
+    for (int s : stars) {
+      leaderboards.add(row(itemId, s));
+    }
+  }
+
+  @Test
+  public void ranks_by_bayesian_average() {
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+    leaderboards.putMenuItem(menuItem(2, "carrillo"));
+    review(1, 5, 5);
+    review(2, 4, 4, 4, 4, 4, 4, 4, 4);
+
+    // (6 + 10) / 4 = 4.0 vs (6 + 32) / 10 = 3.8
+    List<LeaderboardEntry> top = leaderboards.top("carrillo", 10);
+    assertEquals(List.of(1L, 2L), topIds("carrillo"));
+    assertEquals(LeaderboardEntry.builder().itemId(1).name("item1").station("grill")
+        .reviewCount(2).averageStars(5.0).score(4.0).build(), top.get(0));
+    assertEquals(3.8, top.get(1).getScore(), 1e-9);
+  }
+
+  @Test
+  public void items_below_the_minimum_are_not_ranked() {
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+    review(1, 5);
+
+    assertEquals(List.of(), topIds("carrillo"));
+
+    review(1, 5);
+
+    assertEquals(List.of(1L), topIds("carrillo"));
+  }
+
+  @Test
+  public void keeps_only_the_top_items_and_respects_limit() {
+    for (long id = 1; id <= 4; id++) {
+      leaderboards.putMenuItem(menuItem(id, "ortega"));
+    }
+    review(1, 2, 2);
+    review(2, 5, 5);
+    review(3, 4, 4);
+    review(4, 3, 3);
+
+    assertEquals(List.of(2L, 3L), topIds("ortega"));
+    assertEquals(List.of(2L), leaderboards.top("ortega", 1).stream().map(LeaderboardEntry::getItemId).toList());
+  }
+
+  @Test
+  public void item_falling_out_is_replaced_from_outside_the_top() {
+    for (long id = 1; id <= 3; id++) {
+      leaderboards.putMenuItem(menuItem(id, "ortega"));
+    }
+    review(1, 5, 5);
+    review(2, 4, 4);
+    review(3, 3, 4);
+
+    review(1, 1, 1, 1);
+
+    // item 1 is now (6 + 13) / 7 ~ 2.7, below item 3 at 3.25
+    assertEquals(List.of(2L, 3L), topIds("ortega"));
+  }
+
+  @Test
+  public void removed_reviews_lower_the_score() {
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+    leaderboards.putMenuItem(menuItem(2, "carrillo"));
+    review(1, 5, 5, 5);
+    review(2, 4, 4, 4);
+
+    leaderboards.remove(row(1, 5));
+    leaderboards.remove(row(1, 5));
+
+    assertEquals(List.of(2L), topIds("carrillo"));
+  }
+
+  @Test
+  public void menu_item_moving_commons_moves_its_ranking() {
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+    review(1, 5, 5);
+
+    leaderboards.putMenuItem(menuItem(1, "portola"));
+
+    assertEquals(List.of(), topIds("carrillo"));
+    assertEquals(List.of(1L), topIds("portola"));
+  }
+
+  @Test
+  public void reviews_before_the_menu_item_count_once_it_exists() {
+    leaderboards.addTotals(1L, 4, 20);
+
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+
+    assertEquals(List.of(1L), topIds("carrillo"));
+  }
+
+  @Test
+  public void deleted_menu_items_leave_the_leaderboard() {
+    leaderboards.putMenuItem(menuItem(1, "carrillo"));
+    leaderboards.putMenuItem(menuItem(2, "carrillo"));
+    leaderboards.putMenuItem(menuItem(3, "carrillo"));
+    review(1, 5, 5);
+    review(2, 4, 4);
+    review(3, 3, 3);
+
+    leaderboards.removeMenuItem(menuItem(1, "carrillo"));
+
+    assertEquals(List.of(2L, 3L), topIds("carrillo"));
+  }
+
+  @Test
+  public void unknown_commons_is_empty() {
+    assertEquals(List.of(), leaderboards.top("nowhere", 10));
+  }
+}
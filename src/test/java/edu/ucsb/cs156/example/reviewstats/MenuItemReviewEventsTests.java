@@ -0,0 +1,132 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.MenuItemReview;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.TrendingMenuItem;
+import edu.ucsb.cs156.example.repositories.MenuItemReviewRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MenuItemReviewEventsTests {
+
+  @Autowired
+  EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  MenuItemReviewRepository menuItemReviewRepository;
+
+  @Autowired
+  UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  TrendingMenuItems trending;
+
+  MenuItemLeaderboards leaderboards;
+
+  ReviewerReviewCounts reviewerCounts;
+
+  @BeforeEach
+  public void setup() {
+    menuItemReviewRepository.deleteAll();
+    ucsbDiningCommonsMenuItemRepository.deleteAll();
+    trending = new TrendingMenuItems(Clock.systemDefaultZone());
+    leaderboards = new MenuItemLeaderboards(10, 1, 3.0, 0);
+    reviewerCounts = new ReviewerReviewCounts();
+    new MenuItemReviewEvents(List.of(trending, leaderboards, reviewerCounts)).registerListener(entityManagerFactory);
+  }
+
+  private MenuItemReview saveReview(long itemId, int stars) {
+    return menuItemReviewRepository.save(MenuItemReview.builder()
+        .itemId(itemId).reviewerEmail("cgaucho@ucsb.edu").stars(stars)
+        .dateReviewed(LocalDateTime.now().minusMinutes(1)).comments("ok").build());
+  }
+
+  private static TrendingMenuItem item(long itemId, long reviewCount, double averageStars) {
+    return TrendingMenuItem.builder().itemId(itemId).reviewCount(reviewCount).averageStars(averageStars).build();
+  }
+
+  @Test
+  public void inserts_are_counted_after_commit() {
+    saveReview(1, 4);
+    saveReview(1, 2);
+
+    assertEquals(List.of(item(1, 2, 3.0)), trending.top(TrendingMenuItems.Window.HOUR, 10));
+  }
+
+  @Test
+  public void updates_move_the_review() {
+    MenuItemReview review = saveReview(1, 4);
+
+    review.setItemId(2L);
+    review.setStars(5);
+    menuItemReviewRepository.save(review);
+
+    assertEquals(List.of(item(2, 1, 5.0)), trending.top(TrendingMenuItems.Window.HOUR, 10));
+  }
+
+  @Test
+  public void updates_move_the_reviewer_count() {
+    MenuItemReview review = saveReview(1, 4);
+    saveReview(2, 3);
+
+    review.setReviewerEmail("ldelplaya@ucsb.edu");
+    menuItemReviewRepository.save(review);
+
+    assertEquals(1, reviewerCounts.getCount("cgaucho@ucsb.edu"));
+    assertEquals(1, reviewerCounts.getCount("ldelplaya@ucsb.edu"));
+  }
+
+  @Test
+  public void deletes_are_taken_back() {
+    MenuItemReview review = saveReview(1, 4);
+    saveReview(2, 3);
+
+    menuItemReviewRepository.delete(review);
+
+    assertEquals(List.of(item(2, 1, 3.0)), trending.top(TrendingMenuItems.Window.HOUR, 10));
+  }
+
+  @Test
+  public void seed_query_returns_only_recent_reviews() {
+    saveReview(1, 4);
+    menuItemReviewRepository.save(MenuItemReview.builder()
+        .itemId(2L).reviewerEmail("cgaucho@ucsb.edu").stars(3)
+        .dateReviewed(LocalDateTime.now().minusDays(30)).comments("old").build());
+
+    assertEquals(1, menuItemReviewRepository.findRowsReviewedSince(trending.retainedSince()).size());
+  }
+
+  @Test
+  public void menu_item_writes_reach_the_leaderboards() {
+    UCSBDiningCommonsMenuItem menuItem = ucsbDiningCommonsMenuItemRepository.save(UCSBDiningCommonsMenuItem.builder()
+        .diningCommonsCode("carrillo").name("Tofu Banh Mi").station("Entree Specials").build());
+    saveReview(menuItem.getId(), 4);
+
+    assertEquals(1, leaderboards.top("carrillo", 10).size());
+
+    menuItem.setDiningCommonsCode("ortega");
+    ucsbDiningCommonsMenuItemRepository.save(menuItem);
+
+    assertEquals(0, leaderboards.top("carrillo", 10).size());
+    assertEquals(1, leaderboards.top("ortega", 10).size());
+
+    ucsbDiningCommonsMenuItemRepository.delete(menuItem);
+
+    assertEquals(0, leaderboards.top("ortega", 10).size());
+  }
+}
@@ -0,0 +1,41 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.MenuItemReviewRow;
+
+public class ReviewerReviewCountsTests {
+
+  private final ReviewerReviewCounts counts = new ReviewerReviewCounts();
+
+  private static MenuItemReviewRow row(String reviewerEmail) {
+    return new MenuItemReviewRow(0, 1L, reviewerEmail, 4, null);
+  }
+
+  @Test
+  public void counts_reviews_per_reviewer() {
+    counts.addCount("cgaucho@ucsb.edu", 3);
+    counts.add(row("cgaucho@ucsb.edu"));
+    counts.add(row("ldelplaya@ucsb.edu"));
+
+    assertEquals(4, counts.getCount("cgaucho@ucsb.edu"));
+    assertEquals(1, counts.getCount("ldelplaya@ucsb.edu"));
+    assertEquals(0, counts.getCount("nobody@ucsb.edu"));
+    assertEquals(0, counts.getCount(null));
+  }
+
+  @Test
+  public void removes_never_go_below_zero() {
+    counts.add(row("cgaucho@ucsb.edu"));
+
+    counts.remove(row("cgaucho@ucsb.edu"));
+    counts.remove(row("cgaucho@ucsb.edu"));
+    counts.remove(row("ldelplaya@ucsb.edu"));
+    counts.add(row(null));
+
+    assertEquals(0, counts.getCount("cgaucho@ucsb.edu"));
+    assertEquals(0, counts.getCount("ldelplaya@ucsb.edu"));
+  }
+}
@@ -0,0 +1,83 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowCounterTests {
+
+  private static final long BUCKET = 1000;
+
+  @Test
+  public void sums_reviews_in_the_window() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+
+    counter.add(now, 5, 1, now);
+    counter.add(now - 3 * BUCKET, 3, 1, now);
+    counter.add(now - 3 * BUCKET, 4, 1, now);
+
+    assertEquals(new SlidingWindowCounter.Totals(3, 12), counter.sum(10, now));
+    assertEquals(new SlidingWindowCounter.Totals(1, 5), counter.sum(3, now));
+    assertEquals(4.0, counter.sum(10, now).averageStars());
+  }
+
+  @Test
+  public void reviews_age_out_of_the_window() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+    counter.add(now, 5, 1, now);
+
+    assertEquals(1, counter.sum(10, now + 9 * BUCKET).count());
+    assertEquals(0, counter.sum(10, now + 10 * BUCKET).count());
+    assertTrue(counter.isEmpty(now + 10 * BUCKET));
+  }
+
+  @Test
+  public void reused_slot_starts_from_zero() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+    counter.add(now, 5, 1, now);
+
+    long later = now + 10 * BUCKET;
+    counter.add(later, 2, 1, later);
+
+    assertEquals(new SlidingWindowCounter.Totals(1, 2), counter.sum(10, later));
+  }
+
+  @Test
+  public void reviews_outside_the_window_are_ignored() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+
+    counter.add(now + BUCKET, 5, 1, now);
+    counter.add(now - 10 * BUCKET, 5, 1, now);
+
+    assertTrue(counter.isEmpty(now));
+  }
+
+  @Test
+  public void remove_takes_back_a_counted_review() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+    counter.add(now, 5, 1, now);
+    counter.add(now, 3, 1, now);
+
+    counter.add(now, 5, -1, now);
+
+    assertEquals(new SlidingWindowCounter.Totals(1, 3), counter.sum(10, now));
+    assertFalse(counter.isEmpty(now));
+  }
+
+  @Test
+  public void remove_of_an_uncounted_review_does_nothing() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(BUCKET, 10);
+    long now = 100_000;
+
+    counter.add(now, 5, -1, now);
+
+    assertEquals(new SlidingWindowCounter.Totals(0, 0), counter.sum(10, now));
+  }
+}
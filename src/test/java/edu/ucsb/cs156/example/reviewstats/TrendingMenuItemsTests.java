@@ -0,0 +1,112 @@
+package edu.ucsb.cs156.example.reviewstats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.TrendingMenuItem;
+
+public class TrendingMenuItemsTests {
+
+  private static class MutableClock extends Clock {
+    long millis = LocalDateTime.parse("2022-05-01T12:30:00").toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  private final MutableClock clock = new MutableClock();
+  private final TrendingMenuItems trending = new TrendingMenuItems(clock);
+
+  private LocalDateTime ago(Duration duration) {
+    return LocalDateTime.now(clock).minus(duration);
+  }
+
+  private static TrendingMenuItem item(long itemId, long reviewCount, double averageStars) {
+    return TrendingMenuItem.builder().itemId(itemId).reviewCount(reviewCount).averageStars(averageStars).build();
+  }
+
+  @Test
+  public void ranks_by_review_count_then_average_stars() {
+    trending.add(1L, 3, ago(Duration.ofMinutes(5)));
+    trending.add(2L, 5, ago(Duration.ofMinutes(5)));
+    trending.add(2L, 4, ago(Duration.ofMinutes(10)));
+    trending.add(3L, 5, ago(Duration.ofMinutes(1)));
+
+    assertEquals(List.of(item(2, 2, 4.5), item(3, 1, 5.0), item(1, 1, 3.0)),
+        trending.top(TrendingMenuItems.Window.HOUR, 10));
+    assertEquals(List.of(item(2, 2, 4.5), item(3, 1, 5.0)),
+        trending.top(TrendingMenuItems.Window.HOUR, 2));
+  }
+
+  @Test
+  public void each_window_counts_its_own_period() {
+    trending.add(1L, 5, ago(Duration.ofMinutes(5)));
+    trending.add(2L, 4, ago(Duration.ofHours(3)));
+    trending.add(2L, 4, ago(Duration.ofHours(4)));
+    trending.add(3L, 2, ago(Duration.ofDays(3)));
+    trending.add(3L, 2, ago(Duration.ofDays(4)));
+    trending.add(3L, 2, ago(Duration.ofDays(5)));
+    trending.add(4L, 1, ago(Duration.ofDays(8)));
+
+    assertEquals(List.of(item(1, 1, 5.0)), trending.top(TrendingMenuItems.Window.HOUR, 10));
+    assertEquals(List.of(item(2, 2, 4.0), item(1, 1, 5.0)), trending.top(TrendingMenuItems.Window.DAY, 10));
+    assertEquals(List.of(item(3, 3, 2.0), item(2, 2, 4.0), item(1, 1, 5.0)),
+        trending.top(TrendingMenuItems.Window.WEEK, 10));
+  }
+
+  @Test
+  public void removed_reviews_stop_counting() {
+    LocalDateTime when = ago(Duration.ofMinutes(5));
+    trending.add(1L, 5, when);
+    trending.add(1L, 1, when);
+
+    trending.remove(1L, 1, when);
+
+    assertEquals(List.of(item(1, 1, 5.0)), trending.top(TrendingMenuItems.Window.HOUR, 10));
+  }
+
+  @Test
+  public void items_with_nothing_left_in_the_week_are_dropped() {
+    trending.add(1L, 5, ago(Duration.ofMinutes(5)));
+    trending.add(2L, 5, ago(Duration.ofDays(2)));
+
+    clock.millis += Duration.ofDays(6).toMillis();
+
+    assertEquals(List.of(item(1, 1, 5.0)), trending.top(TrendingMenuItems.Window.WEEK, 10));
+    assertEquals(1, trending.trackedItems());
+
+    clock.millis += Duration.ofDays(2).toMillis();
+
+    assertEquals(List.of(), trending.top(TrendingMenuItems.Window.WEEK, 10));
+    assertEquals(0, trending.trackedItems());
+  }
+
+  @Test
+  public void reviews_without_an_item_or_date_are_ignored() {
+    trending.add(null, 5, ago(Duration.ofMinutes(5)));
+    trending.add(1L, 5, null);
+    trending.remove(null, 5, null);
+
+    assertEquals(0, trending.trackedItems());
+  }
+}
@@ -0,0 +1,46 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+
+public class ConnectionPoolTimeoutCounterTests {
+
+  @Test
+  public void counts_timeouts_per_pool() {
+    ConnectionPoolTimeoutCounter counter = new ConnectionPoolTimeoutCounter();
+    IMetricsTracker primary = counter.create("primary", null);
+    IMetricsTracker replica = counter.create("replica", null);
+
+    primary.recordConnectionTimeout();
+    primary.recordConnectionTimeout();
+    replica.recordConnectionTimeout();
+
+    assertEquals(2, counter.getTimeouts("primary"));
+    assertEquals(1, counter.getTimeouts("replica"));
+    assertEquals(0, counter.getTimeouts("unknown"));
+  }
+
+  @Test
+  public void installs_itself_only_on_hikari_pools_without_a_tracker() {
+    ConnectionPoolTimeoutCounter counter = new ConnectionPoolTimeoutCounter();
+
+    HikariDataSource plain = new HikariDataSource();
+    assertSame(plain, counter.postProcessBeforeInitialization(plain, "plain"));
+    assertSame(counter, plain.getMetricsTrackerFactory());
+
+    MetricsTrackerFactory other = (poolName, poolStats) -> new IMetricsTracker() { };
+    HikariDataSource tracked = new HikariDataSource();
+    tracked.setMetricsTrackerFactory(other);
+    counter.postProcessBeforeInitialization(tracked, "tracked");
+    assertSame(other, tracked.getMetricsTrackerFactory());
+
+    Object notADataSource = new Object();
+    assertSame(notADataSource, counter.postProcessBeforeInitialization(notADataSource, "other"));
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.EntityCacheStats;
+
+public class EntityCacheStatsServiceTests {
+
+  private static CacheRegionStatistics regionStats(long hits, long misses, long puts, long elements) {
+    CacheRegionStatistics stats = mock(CacheRegionStatistics.class);
+    when(stats.getHitCount()).thenReturn(hits);
+    when(stats.getMissCount()).thenReturn(misses);
+    when(stats.getPutCount()).thenReturn(puts);
+    when(stats.getElementCountInMemory()).thenReturn(elements);
+    return stats;
+  }
+
+  @Test
+  public void reports_each_region_sorted_by_name_with_hit_ratio() {
+    Statistics statistics = mock(Statistics.class);
+    when(statistics.getSecondLevelCacheRegionNames()).thenReturn(new String[] { "b.UCSBDate", "a.HelpRequest" });
+    CacheRegionStatistics dateStats = regionStats(3, 1, 1, 1);
+    CacheRegionStatistics helpStats = regionStats(0, 0, 0, 0);
+    when(statistics.getDomainDataRegionStatistics("b.UCSBDate")).thenReturn(dateStats);
+    when(statistics.getDomainDataRegionStatistics("a.HelpRequest")).thenReturn(helpStats);
+
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    when(sessionFactory.getStatistics()).thenReturn(statistics);
+    EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    when(emf.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+    EntityCacheStatsService service = new EntityCacheStatsService();
+    service.entityManagerFactory = emf;
+
+    List<EntityCacheStats> stats = service.getEntityCacheStats();
+
+    assertEquals(List.of(
+        EntityCacheStats.builder().region("a.HelpRequest").hitRatio(0.0).build(),
+        EntityCacheStats.builder().region("b.UCSBDate")
+            .hitCount(3).missCount(1).putCount(1).hitRatio(0.75).elementCountInMemory(1).build()),
+        stats);
+  }
+}
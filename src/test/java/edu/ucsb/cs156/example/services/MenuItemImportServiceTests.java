@@ -0,0 +1,143 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBDiningCommons;
+import edu.ucsb.cs156.example.entities.UCSBDiningCommonsMenuItem;
+import edu.ucsb.cs156.example.models.ImportRowError;
+import edu.ucsb.cs156.example.models.MenuItemImportResult;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsMenuItemRepository;
+import edu.ucsb.cs156.example.repositories.UCSBDiningCommonsRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs imports against the embedded database (batched inserts; COPY is only
+ * used on PostgreSQL). Holds an opt-in throughput benchmark:
+ *
+ * <pre>
+ * mvn test -Dtest=MenuItemImportServiceTests -Dbenchmarks=true
+ * </pre>
+ */
+@Slf4j
+@DataJpaTest
+@Import({ MenuItemImportService.class, BulkWriteNotifier.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MenuItemImportServiceTests {
+
+  @Autowired
+  MenuItemImportService menuItemImportService;
+
+  @Autowired
+  UCSBDiningCommonsRepository ucsbDiningCommonsRepository;
+
+  @Autowired
+  UCSBDiningCommonsMenuItemRepository ucsbDiningCommonsMenuItemRepository;
+
+  @BeforeEach
+  public void setup() {
+    ucsbDiningCommonsMenuItemRepository.deleteAll();
+    ucsbDiningCommonsRepository.deleteAll();
+    ucsbDiningCommonsRepository.save(UCSBDiningCommons.builder().code("ortega").name("Ortega").build());
+    ucsbDiningCommonsRepository.save(UCSBDiningCommons.builder().code("carrillo").name("Carrillo").build());
+    menuItemImportService.batchSize = 2;
+  }
+
+  private List<UCSBDiningCommonsMenuItem> menuItems() {
+    return StreamSupport.stream(ucsbDiningCommonsMenuItemRepository.findAll().spliterator(), false).toList();
+  }
+
+  @Test
+  public void imports_valid_rows_in_batches_and_reports_the_rest() throws Exception {
+    String csv = """
+        station,name,diningCommonsCode
+        Entrees,Tofu Banh Mi,ortega
+        Grill,"Burger, Double",carrillo
+        Entrees,Chicken Caesar Salad,ortega
+        Desserts,Cake,nowhere
+        Desserts,,ortega
+        too,many,fields,here
+        """;
+
+    MenuItemImportResult result = menuItemImportService.importCsv(new StringReader(csv));
+
+    assertEquals(6, result.getRowsRead());
+    assertEquals(3, result.getRowsImported());
+    assertEquals(3, result.getRowsRejected());
+    assertEquals(List.of(
+        ImportRowError.builder().line(5).message("unknown diningCommonsCode 'nowhere'").build(),
+        ImportRowError.builder().line(6).message("name and station are required").build(),
+        ImportRowError.builder().line(7).message("expected 3 fields but found 4").build()),
+        result.getErrors());
+
+    List<UCSBDiningCommonsMenuItem> items = menuItems();
+    assertEquals(3, items.size());
+    assertEquals(List.of("Tofu Banh Mi", "Burger, Double", "Chicken Caesar Salad"),
+        items.stream().map(UCSBDiningCommonsMenuItem::getName).toList());
+    assertEquals(List.of("ortega", "carrillo", "ortega"),
+        items.stream().map(UCSBDiningCommonsMenuItem::getDiningCommonsCode).toList());
+    assertEquals(List.of("Entrees", "Grill", "Entrees"),
+        items.stream().map(UCSBDiningCommonsMenuItem::getStation).toList());
+  }
+
+  @Test
+  public void missing_header_columns_import_nothing() throws Exception {
+    MenuItemImportResult result = menuItemImportService.importCsv(new StringReader("code,name\nortega,Cake\n"));
+
+    assertEquals(0, result.getRowsImported());
+    assertEquals(1, result.getErrors().size());
+    assertEquals(0, menuItems().size());
+  }
+
+  @Test
+  public void malformed_csv_keeps_the_rows_before_it() throws Exception {
+    String csv = "diningCommonsCode,name,station\nortega,Cake,Desserts\nortega,\"Pie\"x,Desserts\n";
+
+    MenuItemImportResult result = menuItemImportService.importCsv(new StringReader(csv));
+
+    assertEquals(1, result.getRowsImported());
+    assertEquals(3, result.getErrors().get(0).getLine());
+    assertEquals(1, menuItems().size());
+  }
+
+  @Test
+  public void reported_errors_are_capped() throws Exception {
+    menuItemImportService.maxReportedErrors = 2;
+    String csv = "diningCommonsCode,name,station\n" + "nowhere,Cake,Desserts\n".repeat(5);
+
+    MenuItemImportResult result = menuItemImportService.importCsv(new StringReader(csv));
+
+    assertEquals(5, result.getRowsRejected());
+    assertEquals(2, result.getErrors().size());
+    menuItemImportService.maxReportedErrors = 100;
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+  public void benchmark_import_throughput() throws Exception {
+    menuItemImportService.batchSize = 1000;
+    int rows = 100_000;
+    StringBuilder csv = new StringBuilder("diningCommonsCode,name,station\n");
+    for (int i = 0; i < rows; i++) {
+      csv.append(i % 2 == 0 ? "ortega" : "carrillo").append(",Item ").append(i).append(",Station ").append(i % 20).append('\n');
+    }
+
+    MenuItemImportResult result = menuItemImportService.importCsv(new StringReader(csv.toString()));
+
+    assertEquals(rows, result.getRowsImported());
+    log.info("benchmark rows={} elapsedMillis={} rowsPerSecond={}",
+        rows, result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+  }
+}
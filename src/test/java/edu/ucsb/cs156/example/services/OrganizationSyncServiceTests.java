@@ -0,0 +1,118 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBOrganization;
+import edu.ucsb.cs156.example.errors.InvalidRequestException;
+import edu.ucsb.cs156.example.models.OrganizationSyncResult;
+import edu.ucsb.cs156.example.repositories.UCSBOrganizationRepository;
+
+@DataJpaTest
+@Import({ OrganizationSyncService.class, BulkWriteNotifier.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OrganizationSyncServiceTests {
+
+  @Autowired
+  OrganizationSyncService organizationSyncService;
+
+  @Autowired
+  UCSBOrganizationRepository ucsbOrganizationRepository;
+
+  private static UCSBOrganization org(String orgCode, String translation, boolean inactive) {
+    return UCSBOrganization.builder()
+        .orgCode(orgCode)
+        .orgTranslationShort(orgCode.toLowerCase())
+        .orgTranslation(translation)
+        .inactive(inactive)
+        .build();
+  }
+
+  private List<UCSBOrganization> stored() {
+    return StreamSupport.stream(ucsbOrganizationRepository.findAll().spliterator(), false)
+        .sorted((a, b) -> a.getOrgCode().compareTo(b.getOrgCode()))
+        .toList();
+  }
+
+  @BeforeEach
+  public void setup() {
+    ucsbOrganizationRepository.deleteAll();
+    ucsbOrganizationRepository.saveAll(List.of(
+        org("KRC", "Korean Radio Club", false),
+        org("OSLI", "Office of Student Life", false),
+        org("ZPR", "Zeta Phi Rho", false),
+        org("OLD", "Disbanded Club", true)));
+    organizationSyncService.batchSize = 2;
+  }
+
+  @Test
+  public void sync_writes_only_new_and_changed_organizations_and_deactivates_the_rest() {
+    List<UCSBOrganization> incoming = List.of(
+        org("KRC", "Korean Radio Club", false),
+        org("OSLI", "Office of Student Life and Leadership", false),
+        org("SKY", "Skydiving Club", false),
+        org("UCSB", "University of California", false));
+
+    OrganizationSyncResult result = organizationSyncService.sync(incoming, true);
+
+    assertEquals(2, result.getInserted());
+    assertEquals(1, result.getUpdated());
+    assertEquals(1, result.getUnchanged());
+    // OLD was already inactive
+    assertEquals(1, result.getDeactivated());
+    assertEquals(List.of(
+        org("KRC", "Korean Radio Club", false),
+        org("OLD", "Disbanded Club", true),
+        org("OSLI", "Office of Student Life and Leadership", false),
+        org("SKY", "Skydiving Club", false),
+        org("UCSB", "University of California", false),
+        org("ZPR", "Zeta Phi Rho", true)), stored());
+  }
+
+  @Test
+  public void syncing_the_same_list_twice_writes_nothing_the_second_time() {
+    List<UCSBOrganization> incoming = List.of(
+        org("KRC", "Korean Radio Club", false),
+        org("SKY", "Skydiving Club", false));
+    organizationSyncService.sync(incoming, true);
+
+    OrganizationSyncResult result = organizationSyncService.sync(incoming, true);
+
+    assertEquals(0, result.getInserted());
+    assertEquals(0, result.getUpdated());
+    assertEquals(2, result.getUnchanged());
+    assertEquals(0, result.getDeactivated());
+  }
+
+  @Test
+  public void missing_organizations_are_left_alone_unless_asked() {
+    OrganizationSyncResult result = organizationSyncService.sync(List.of(org("KRC", "Korean Radio Club", true)), false);
+
+    assertEquals(1, result.getUpdated());
+    assertEquals(0, result.getDeactivated());
+    assertEquals(false, ucsbOrganizationRepository.findById("ZPR").get().getInactive());
+    assertEquals(true, ucsbOrganizationRepository.findById("KRC").get().getInactive());
+  }
+
+  @Test
+  public void duplicate_or_blank_org_codes_are_rejected_before_anything_is_written() {
+    assertThrows(InvalidRequestException.class, () -> organizationSyncService.sync(List.of(
+        org("SKY", "Skydiving Club", false),
+        org("SKY", "Sky Club", false)), true));
+    assertThrows(InvalidRequestException.class, () -> organizationSyncService.sync(List.of(
+        org(" ", "Nameless", false)), true));
+
+    assertEquals(4, stored().size());
+  }
+}
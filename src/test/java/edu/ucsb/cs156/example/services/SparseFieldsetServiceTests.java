@@ -0,0 +1,91 @@
+package edu.ucsb.cs156.example.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBArticles;
+import edu.ucsb.cs156.example.errors.UnknownFieldException;
+import edu.ucsb.cs156.example.repositories.UCSBArticlesRepository;
+import edu.ucsb.cs156.example.sql.SqlStatementCounter;
+
+@DataJpaTest
+@Import(SparseFieldsetService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SparseFieldsetServiceTests {
+
+  @Autowired
+  SparseFieldsetService sparseFieldsetService;
+
+  @Autowired
+  UCSBArticlesRepository ucsbArticlesRepository;
+
+  private UCSBArticles saveArticle() {
+    ucsbArticlesRepository.deleteAll();
+    return ucsbArticlesRepository.save(UCSBArticles.builder()
+        .title("UCSB")
+        .url("https://www.ucsb.edu/")
+        .explanation("UCSB Website")
+        .email("omar@ucsb.edu")
+        .dateAdded(LocalDateTime.parse("2022-01-03T00:00:00"))
+        .build());
+  }
+
+  @Test
+  public void findAll_returns_only_the_requested_fields_id_first() {
+    UCSBArticles saved = saveArticle();
+
+    SqlStatementCounter.reset();
+    List<Map<String, Object>> rows = sparseFieldsetService.findAll(UCSBArticles.class, "url, title");
+
+    assertEquals(1, SqlStatementCounter.get());
+    assertEquals(1, rows.size());
+    assertEquals(List.of("id", "url", "title"), List.copyOf(rows.get(0).keySet()));
+    assertEquals(saved.getId(), rows.get(0).get("id"));
+    assertEquals("https://www.ucsb.edu/", rows.get(0).get("url"));
+    assertEquals("UCSB", rows.get(0).get("title"));
+  }
+
+  @Test
+  public void findById_returns_the_row_or_empty() {
+    UCSBArticles saved = saveArticle();
+
+    Map<String, Object> row = sparseFieldsetService.findById(UCSBArticles.class, saved.getId(), "email").orElseThrow();
+
+    assertEquals(Map.of("id", saved.getId(), "email", "omar@ucsb.edu"), row);
+    assertTrue(sparseFieldsetService.findById(UCSBArticles.class, saved.getId() + 1, "email").isEmpty());
+  }
+
+  @Test
+  public void project_picks_the_same_fields_from_an_unmanaged_entity() {
+    UCSBArticles article = UCSBArticles.builder().id(42).title("UCSB").email("omar@ucsb.edu").build();
+
+    Map<String, Object> row = sparseFieldsetService.project(article, "email,title");
+
+    assertEquals(List.of("id", "email", "title"), List.copyOf(row.keySet()));
+    assertEquals(Map.of("id", 42L, "email", "omar@ucsb.edu", "title", "UCSB"), row);
+  }
+
+  @Test
+  public void id_and_blank_entries_are_not_repeated() {
+    assertEquals(List.of("id", "title"), sparseFieldsetService.parse(UCSBArticles.class, "id,,title,title"));
+  }
+
+  @Test
+  public void unknown_field_is_rejected() {
+    UnknownFieldException e = assertThrows(UnknownFieldException.class,
+        () -> sparseFieldsetService.parse(UCSBArticles.class, "title,password"));
+    assertEquals("UCSBArticles has no field password", e.getMessage());
+  }
+}
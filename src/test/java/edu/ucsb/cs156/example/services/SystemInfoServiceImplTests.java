@@ -1,18 +1,40 @@
 package edu.ucsb.cs156.example.services;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
+import org.mockito.Answers;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import edu.ucsb.cs156.example.models.PerformanceSnapshot;
 import edu.ucsb.cs156.example.models.SystemInfo;
 
 // The unit under test relies on property values
@@ -34,4 +56,95 @@ class SystemInfoServiceImplTests  {
     assertTrue(si.getShowSwaggerUILink());
   }
 
+  @Test
+  void test_getPerformanceSnapshot_outside_a_web_server() {
+    PerformanceSnapshot ps = systemInfoService.getPerformanceSnapshot();
+    assertTrue(ps.getUptimeMillis() > 0);
+    assertTrue(ps.getHeap().getUsedBytes() > 0);
+    assertTrue(ps.getNonHeap().getUsedBytes() > 0);
+    assertFalse(ps.getGarbageCollectors().isEmpty());
+    assertTrue(ps.getThreads().getLive() > 0);
+    assertTrue(ps.getThreads().getByState().get(Thread.State.RUNNABLE) > 0);
+    assertTrue(ps.getConnectionPools().isEmpty());
+    assertNull(ps.getWebServerThreadPool());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void test_connectionPoolStats_skips_pools_that_have_not_started() throws SQLException {
+    HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+    when(mxBean.getActiveConnections()).thenReturn(2);
+    when(mxBean.getIdleConnections()).thenReturn(8);
+    when(mxBean.getTotalConnections()).thenReturn(10);
+    when(mxBean.getThreadsAwaitingConnection()).thenReturn(1);
+
+    HikariDataSource started = mock(HikariDataSource.class);
+    when(started.getPoolName()).thenReturn("primary");
+    when(started.getHikariPoolMXBean()).thenReturn(mxBean);
+    HikariDataSource notStarted = mock(HikariDataSource.class);
+
+    ObjectProvider<DataSource> pools = mock(ObjectProvider.class);
+    // the started pool is also reachable through a wrapper, and is reported once
+    DataSource wrapper = new DelegatingDataSource(started);
+    when(started.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+    when(started.unwrap(HikariDataSource.class)).thenReturn(started);
+    when(pools.orderedStream()).thenAnswer(invocation -> Stream.of(started, notStarted, wrapper));
+
+    ConnectionPoolTimeoutCounter counter = new ConnectionPoolTimeoutCounter();
+    counter.create("primary", null).recordConnectionTimeout();
+    ObjectProvider<ConnectionPoolTimeoutCounter> counterProvider = mock(ObjectProvider.class);
+
+    SystemInfoServiceImpl service = new SystemInfoServiceImpl();
+    ReflectionTestUtils.setField(service, "dataSources", pools);
+    ReflectionTestUtils.setField(service, "connectionPoolTimeoutCounter", counterProvider);
+
+    // without the counter bean, timeouts read as zero
+    List<PerformanceSnapshot.ConnectionPoolStats> stats = service.connectionPoolStats();
+    assertEquals(1, stats.size());
+    assertEquals(0, stats.get(0).getTimeouts());
+
+    when(counterProvider.getIfAvailable()).thenReturn(counter);
+    stats = service.connectionPoolStats();
+    assertEquals(PerformanceSnapshot.ConnectionPoolStats.builder()
+        .poolName("primary").active(2).idle(8).total(10).pending(1).timeouts(1).build(), stats.get(0));
+  }
+
+  @Test
+  void test_webServer_from_servlet_context() {
+    ServletWebServerApplicationContext context = mock(ServletWebServerApplicationContext.class);
+    WebServer webServer = mock(WebServer.class);
+    when(context.getWebServer()).thenReturn(webServer);
+
+    SystemInfoServiceImpl service = new SystemInfoServiceImpl();
+    ReflectionTestUtils.setField(service, "applicationContext", context);
+
+    assertEquals(webServer, service.webServer());
+    assertNull(SystemInfoServiceImpl.webServerThreadPoolStats(webServer));
+  }
+
+  private static TomcatWebServer tomcatWithExecutor(Executor executor) {
+    TomcatWebServer tomcat = mock(TomcatWebServer.class, Answers.RETURNS_DEEP_STUBS);
+    when(tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor()).thenReturn(executor);
+    return tomcat;
+  }
+
+  @Test
+  void test_webServerThreadPoolStats_for_tomcat() {
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(0, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    try {
+      PerformanceSnapshot.WebServerThreadPoolStats stats =
+          SystemInfoServiceImpl.webServerThreadPoolStats(tomcatWithExecutor(pool));
+      assertEquals(PerformanceSnapshot.WebServerThreadPoolStats.builder()
+          .active(0).poolSize(0).maxPoolSize(4).queued(0).saturation(0.0).build(), stats);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void test_webServerThreadPoolStats_for_tomcat_with_unknown_executor() {
+    Executor executor = Runnable::run;
+    assertNull(SystemInfoServiceImpl.webServerThreadPoolStats(tomcatWithExecutor(executor)));
+  }
+
 }
@@ -0,0 +1,180 @@
+package edu.ucsb.cs156.example.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import edu.ucsb.cs156.example.models.SlowQuery;
+
+public class SlowQueryJdbcTests {
+
+  static final String URL = "jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1";
+
+  SlowQueryStore store = new SlowQueryStore(10);
+
+  Connection connection;
+
+  // a zero threshold makes every statement slow
+  private Connection open(Duration threshold, boolean explain) throws SQLException {
+    // explains as soon as asked, so that plans can be checked right after the statement
+    return open(threshold, explain, Runnable::run);
+  }
+
+  private Connection open(Duration threshold, boolean explain, Executor explainExecutor) throws SQLException {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL(URL);
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("slowQueryRecorder",
+        new SlowQueryRecorder(store, threshold, true, 10, explain, 10, explainExecutor));
+    DataSource dataSource = (DataSource) new SlowQueryDataSourcePostProcessor(
+        beanFactory.getBeanProvider(SlowQueryRecorder.class))
+        .postProcessAfterInitialization(h2, SlowQueryDataSourcePostProcessor.DATA_SOURCE_BEAN);
+    // the pool itself is still reachable
+    assertTrue(dataSource.unwrap(JdbcDataSource.class) == h2);
+    return dataSource.getConnection();
+  }
+
+  @BeforeEach
+  public void setup() throws SQLException {
+    try (Connection plain = DriverManager.getConnection(URL); Statement statement = plain.createStatement()) {
+      statement.execute("create table if not exists slow_query_test (id bigint primary key, name varchar(255))");
+      statement.execute("delete from slow_query_test");
+    }
+  }
+
+  @AfterEach
+  public void close() throws SQLException {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  public void prepared_statements_are_recorded_with_parameters_origin_and_plan() throws SQLException {
+    connection = open(Duration.ZERO, true);
+    String previous = QueryOrigin.enter("UCSBDateRepository.findByName");
+    try (PreparedStatement statement = connection.prepareStatement("select * from slow_query_test where name = ?")) {
+      statement.setString(1, "a name longer than ten characters");
+      try (ResultSet rows = statement.executeQuery()) {
+        rows.next();
+      }
+    } finally {
+      QueryOrigin.restore(previous);
+    }
+
+    SlowQuery query = store.recent(1).get(0);
+    assertEquals("select * from slow_query_test where name = ?", query.getSql());
+    assertEquals(List.of("a name lon…"), query.getParameters());
+    assertEquals(0, query.getBatchSize());
+    assertEquals("UCSBDateRepository.findByName", query.getRepositoryMethod());
+    assertEquals("SlowQueryJdbcTests.prepared_statements_are_recorded_with_parameters_origin_and_plan",
+        query.getCaller());
+    assertNull(query.getEndpoint());
+    assertTrue(query.getPlan().toUpperCase().contains("SLOW_QUERY_TEST"), query.getPlan());
+  }
+
+  @Test
+  public void batches_record_their_size_and_first_row_but_are_not_explained() throws SQLException {
+    connection = open(Duration.ZERO, true);
+    try (PreparedStatement statement = connection.prepareStatement("insert into slow_query_test (id, name) values (?, ?)")) {
+      for (long id = 1; id <= 3; id++) {
+        statement.setLong(1, id);
+        statement.setNull(2, Types.VARCHAR);
+        statement.addBatch();
+      }
+      assertEquals(3, Arrays.stream(statement.executeBatch()).sum());
+    }
+
+    SlowQuery query = store.recent(1).get(0);
+    assertEquals(3, query.getBatchSize());
+    assertEquals(Arrays.asList("1", null), query.getParameters());
+    assertNull(query.getPlan());
+  }
+
+  @Test
+  public void plain_statements_are_recorded_inside_a_transaction() throws SQLException {
+    connection = open(Duration.ZERO, true);
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate("insert into slow_query_test (id, name) values (9, 'nine')");
+      statement.executeQuery("select name from slow_query_test where id = 9").close();
+    }
+    connection.commit();
+
+    List<SlowQuery> queries = store.recent(10);
+    assertEquals("select name from slow_query_test where id = 9", queries.get(0).getSql());
+    assertTrue(queries.get(0).getPlan().toUpperCase().contains("SLOW_QUERY_TEST"), queries.get(0).getPlan());
+    assertEquals("insert into slow_query_test (id, name) values (9, 'nine')", queries.get(1).getSql());
+    assertNull(queries.get(1).getPlan());
+  }
+
+  @Test
+  public void queries_are_explained_later_on_another_connection() throws SQLException {
+    List<Runnable> explaining = new ArrayList<>();
+    connection = open(Duration.ZERO, true, explaining::add);
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.executeQuery("select name from slow_query_test where id = 9").close();
+    }
+
+    // the request's connection is not touched: nothing is stored until the plan is worked out
+    assertEquals(0, store.getTotal());
+    connection.commit();
+    explaining.forEach(Runnable::run);
+
+    SlowQuery query = store.recent(1).get(0);
+    assertEquals("select name from slow_query_test where id = 9", query.getSql());
+    assertTrue(query.getPlan().toUpperCase().contains("SLOW_QUERY_TEST"), query.getPlan());
+  }
+
+  @Test
+  public void back_references_answer_the_wrapped_objects() throws SQLException {
+    connection = open(Duration.ofMinutes(1), false);
+    try (PreparedStatement statement = connection.prepareStatement("select count(*) from slow_query_test");
+        ResultSet rows = statement.executeQuery()) {
+      assertTrue(statement.getConnection() == connection);
+      assertTrue(rows.getStatement() == statement);
+      assertTrue(rows.next());
+      assertEquals(0, rows.getInt(1));
+    }
+  }
+
+  @Test
+  public void fast_statements_are_not_recorded() throws SQLException {
+    connection = open(Duration.ofMinutes(1), false);
+    try (Statement statement = connection.createStatement()) {
+      statement.executeQuery("select count(*) from slow_query_test").close();
+    }
+
+    assertEquals(0, store.getTotal());
+  }
+
+  @Test
+  public void only_queries_are_explained() {
+    assertTrue(SlowQueryRecorder.isQuery("  SELECT 1"));
+    assertTrue(SlowQueryRecorder.isQuery("with t as (select 1) select * from t"));
+    assertFalse(SlowQueryRecorder.isQuery("delete from slow_query_test"));
+  }
+}
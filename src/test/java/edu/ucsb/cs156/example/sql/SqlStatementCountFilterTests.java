@@ -0,0 +1,60 @@
+package edu.ucsb.cs156.example.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class SqlStatementCountFilterTests {
+
+  private static MockFilterChain chainIssuing(int statements, boolean commit) {
+    return new MockFilterChain(new javax.servlet.http.HttpServlet() {
+      @Override
+      protected void service(javax.servlet.http.HttpServletRequest req, javax.servlet.http.HttpServletResponse res)
+          throws java.io.IOException {
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        for (int i = 0; i < statements; i++) {
+          assertEquals("select 1", inspector.inspect("select 1"));
+        }
+        if (commit) {
+          res.flushBuffer();
+        }
+      }
+    });
+  }
+
+  @Test
+  public void counts_statements_issued_during_the_request() throws Exception {
+    SqlStatementCounter.increment(); // left over from some earlier work on this thread
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new SqlStatementCountFilter(10).doFilter(request, response, chainIssuing(2, false));
+
+    assertEquals("2", response.getHeader(SqlStatementCountFilter.HEADER));
+    assertEquals(0, SqlStatementCounter.get());
+  }
+
+  @Test
+  public void over_threshold_still_reports_the_count() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new SqlStatementCountFilter(1).doFilter(request, response, chainIssuing(3, false));
+
+    assertEquals("3", response.getHeader(SqlStatementCountFilter.HEADER));
+  }
+
+  @Test
+  public void does_not_touch_a_committed_response() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    new SqlStatementCountFilter().doFilter(request, response, chainIssuing(1, true));
+
+    assertNull(response.getHeader(SqlStatementCountFilter.HEADER));
+  }
+}
@@ -0,0 +1,48 @@
+package edu.ucsb.cs156.example.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.example.entities.UCSBDate;
+import edu.ucsb.cs156.example.repositories.UCSBDateRepository;
+
+/**
+ * Pins the statement counts of the repository calls the controllers make,
+ * against a real (embedded) database with the counting inspector installed.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SqlStatementCountTests {
+
+  @Autowired
+  UCSBDateRepository ucsbDateRepository;
+
+  @Test
+  public void update_handler_pattern_is_three_statements() {
+    UCSBDate saved = ucsbDateRepository.save(UCSBDate.builder()
+        .quarterYYYYQ("20222").name("firstDayOfClasses").localDateTime(LocalDateTime.parse("2022-01-03T00:00:00"))
+        .build());
+
+    SqlStatementCounter.reset();
+    UCSBDate date = ucsbDateRepository.findById(saved.getId()).orElseThrow();
+    date.setName("lastDayOfClasses");
+    ucsbDateRepository.save(date);
+
+    // findById, then save() re-reads the detached row before the update
+    assertEquals(3, SqlStatementCounter.get());
+  }
+
+  @Test
+  public void findAll_is_a_single_statement() {
+    SqlStatementCounter.reset();
+    ucsbDateRepository.findAll();
+    assertEquals(1, SqlStatementCounter.get());
+  }
+}
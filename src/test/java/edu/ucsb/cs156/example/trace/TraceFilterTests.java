@@ -0,0 +1,135 @@
+package edu.ucsb.cs156.example.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import edu.ucsb.cs156.example.models.RequestTrace;
+import edu.ucsb.cs156.example.models.TraceSpan;
+
+public class TraceFilterTests {
+
+  TraceStore store = new TraceStore(10, 2, 10);
+
+  TraceFilter filter = new TraceFilter(store, 4);
+
+  // stands in for the dispatcher: a controller that makes two repository calls, then writes the body
+  @SuppressWarnings("serial")
+  HttpServlet handler = new HttpServlet() {
+    @Override
+    protected void service(HttpServletRequest request, HttpServletResponse response) {
+      assertEquals(Tracer.currentId(), MDC.get(TraceFilter.MDC_KEY));
+      request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/ucsbdates/all");
+      int controller = Tracer.start("controller", "UCSBDatesController.allUCSBDates");
+      for (int i = 0; i < 2; i++) {
+        int repository = Tracer.start("repository", "UCSBDateRepository.findAll");
+        Tracer.finish(repository);
+      }
+      Tracer.finish(controller);
+      Tracer.startSerialization("application/json");
+      Tracer.finishSerialization();
+    }
+  };
+
+  @Test
+  public void a_request_is_traced_with_nested_spans() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain(handler, new TraceFilter.SecurityBoundary()));
+
+    RequestTrace trace = store.recent(1).get(0);
+    assertEquals(response.getHeader(TraceFilter.HEADER), trace.getId());
+    assertEquals("GET /api/ucsbdates/all", trace.getEndpoint());
+    assertEquals(200, trace.getStatus());
+    List<TraceSpan> spans = trace.getSpans();
+    assertEquals(List.of("security", "controller", "repository", "repository"),
+        spans.stream().map(TraceSpan::name).toList());
+    assertEquals(List.of(1, 1, 2, 2), spans.stream().map(TraceSpan::depth).toList());
+    assertTrue(spans.stream().allMatch(span -> span.durationMicros() >= 0));
+    // the serialization span did not fit under max-spans
+    assertEquals(1, trace.getDroppedSpans());
+    assertFalse(Tracer.active());
+    assertNull(MDC.get(TraceFilter.MDC_KEY));
+  }
+
+  @Test
+  public void a_valid_caller_id_is_kept_for_correlation_and_a_rejected_request_still_closes_security()
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+    request.addHeader(TraceFilter.HEADER, "from-the-proxy-42");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // security answers 403 itself, so the boundary filter is never reached
+    filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(403));
+
+    String id = response.getHeader(TraceFilter.HEADER);
+    assertTrue(id.matches("from-the-proxy-42\\.[0-9a-f]{8}"));
+    RequestTrace trace = store.find(id).get();
+    assertEquals("from-the-proxy-42", trace.getCorrelationId());
+    assertEquals(TraceFilter.UNMATCHED, trace.getEndpoint());
+    assertEquals(403, trace.getStatus());
+    assertEquals(1, trace.getSpans().size());
+    assertTrue(trace.getSpans().get(0).durationMicros() >= 0);
+  }
+
+  @Test
+  public void requests_repeating_a_caller_id_get_their_own_traces() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    request.addHeader(TraceFilter.HEADER, "retried");
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    MockHttpServletResponse second = new MockHttpServletResponse();
+
+    filter.doFilter(request, first, new MockFilterChain());
+    filter.doFilter(request, second, new MockFilterChain());
+
+    assertFalse(first.getHeader(TraceFilter.HEADER).equals(second.getHeader(TraceFilter.HEADER)));
+    assertEquals(second.getHeader(TraceFilter.HEADER), store.find(second.getHeader(TraceFilter.HEADER)).get().getId());
+    assertEquals(first.getHeader(TraceFilter.HEADER), store.find(first.getHeader(TraceFilter.HEADER)).get().getId());
+  }
+
+  @Test
+  public void nonstandard_methods_and_unmatched_paths_share_one_endpoint_each() {
+    MockHttpServletRequest junk = new MockHttpServletRequest("XYZZY", "/api/ucsbdates/all");
+    junk.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/ucsbdates/all");
+    MockHttpServletRequest probe = new MockHttpServletRequest("PROPFIND", "/wp-admin/setup.php");
+
+    assertEquals(TraceFilter.OTHER_METHOD + " /api/ucsbdates/all", TraceFilter.endpoint(junk));
+    assertEquals(TraceFilter.UNMATCHED, TraceFilter.endpoint(probe));
+  }
+
+  @Test
+  public void an_unusable_caller_id_is_replaced() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ucsbdates/all");
+    request.addHeader(TraceFilter.HEADER, "not an id\nInjected: header");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    assertTrue(response.getHeader(TraceFilter.HEADER).matches("[0-9a-f]{16}"));
+    assertNull(store.recent(1).get(0).getCorrelationId());
+  }
+
+  @Test
+  public void spans_outside_a_traced_request_are_ignored() {
+    int span = Tracer.start("repository", "UCSBDateRepository.findAll");
+    Tracer.finish(span);
+
+    assertEquals(-1, span);
+    assertNull(Tracer.currentId());
+  }
+}
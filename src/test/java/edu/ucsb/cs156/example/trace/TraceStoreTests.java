@@ -0,0 +1,71 @@
+package edu.ucsb.cs156.example.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.example.models.RequestTrace;
+
+public class TraceStoreTests {
+
+  private static RequestTrace trace(String id, String endpoint, long durationMicros) {
+    return RequestTrace.builder()
+        .id(id)
+        .method("GET")
+        .uri("/api/ucsbdates/all")
+        .endpoint(endpoint)
+        .status(200)
+        .startedAt(Instant.parse("2022-01-03T00:00:00Z"))
+        .durationMicros(durationMicros)
+        .spans(List.of())
+        .build();
+  }
+
+  private static List<String> ids(List<RequestTrace> traces) {
+    return traces.stream().map(RequestTrace::getId).toList();
+  }
+
+  @Test
+  public void only_the_most_recent_are_kept_newest_first() {
+    TraceStore store = new TraceStore(3, 2, 10);
+    for (int i = 1; i <= 5; i++) {
+      store.add(trace("t" + i, "GET /api/ucsbdates/all", i));
+    }
+
+    assertEquals(List.of("t5", "t4", "t3"), ids(store.recent(10)));
+    assertEquals(List.of("t5", "t4"), ids(store.recent(2)));
+  }
+
+  @Test
+  public void the_slowest_of_each_endpoint_are_kept_even_after_they_leave_the_ring() {
+    TraceStore store = new TraceStore(2, 2, 10);
+    store.add(trace("slow", "GET /api/ucsbdates/all", 900));
+    store.add(trace("slower", "GET /api/ucsbdates/all", 1_000));
+    store.add(trace("other", "GET /api/ucsbdates", 50));
+    for (int i = 0; i < 5; i++) {
+      store.add(trace("fast" + i, "GET /api/ucsbdates/all", 10 + i));
+    }
+
+    assertEquals(List.of("slower", "slow"), ids(store.slowest("GET /api/ucsbdates/all")));
+    assertEquals(List.of("GET /api/ucsbdates", "GET /api/ucsbdates/all"), List.copyOf(store.slowest().keySet()));
+    assertEquals(List.of("other"), ids(store.slowest().get("GET /api/ucsbdates")));
+    assertEquals("slower", store.find("slower").get().getId());
+    assertEquals("fast4", store.find("fast4").get().getId());
+    assertTrue(store.find("fast0").isEmpty());
+  }
+
+  @Test
+  public void endpoints_past_the_limit_are_only_kept_in_the_ring() {
+    TraceStore store = new TraceStore(10, 2, 1);
+    store.add(trace("a", "GET /api/ucsbdates/all", 1));
+    store.add(trace("b", "GET /api/ucsbdates", 2));
+
+    assertEquals(List.of("GET /api/ucsbdates/all"), List.copyOf(store.slowest().keySet()));
+    assertEquals(List.of(), store.slowest("GET /api/ucsbdates"));
+    assertEquals(List.of("b", "a"), ids(store.recent(10)));
+  }
+}